@@ -0,0 +1,33 @@
+package ai.falsify.benchmarks;
+
+import java.util.List;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+
+/**
+ * JUL configuration for the forked benchmark JVMs.
+ * <p>
+ * JBoss Logging is pointed at JUL, and JUL is configured by this class to drop
+ * everything below WARNING, so per-call info logging in the parsers does not
+ * dominate the numbers.
+ */
+public class BenchmarkLogging {
+
+    static final List<String> JVM_ARGS = List.of(
+            "-Dorg.jboss.logging.provider=jdk",
+            "-Djava.util.logging.config.class=" + BenchmarkLogging.class.getName());
+
+    /**
+     * Called by {@link LogManager} when it reads its configuration.
+     */
+    public BenchmarkLogging() {
+        LogManager.getLogManager().reset();
+        Logger root = Logger.getLogger("");
+        root.setLevel(Level.WARNING);
+        ConsoleHandler handler = new ConsoleHandler();
+        handler.setLevel(Level.WARNING);
+        root.addHandler(handler);
+    }
+}
@@ -0,0 +1,59 @@
+package ai.falsify.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point of the benchmarks jar.
+ * <p>
+ * Accepts the usual JMH command line, and unless told otherwise runs with the
+ * allocation profiler ({@code -prof gc}) and writes the results as JSON to
+ * {@code target/jmh-result.json}, so runs can be compared across commits.
+ */
+public final class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()
+                || commandLine.shouldListResultFormats() || commandLine.shouldListWithParams()) {
+            // Listing and help are handled by the stock JMH main
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+
+        // The code under test logs through JBoss Logging; keep that out of the measurements
+        List<String> jvmArgs = new ArrayList<>(BenchmarkLogging.JVM_ARGS);
+        if (commandLine.getJvmArgsAppend().hasValue()) {
+            jvmArgs.addAll(commandLine.getJvmArgsAppend().get());
+        }
+        options.jvmArgsAppend(jvmArgs.toArray(String[]::new));
+
+        new Runner(options.build()).run();
+    }
+}
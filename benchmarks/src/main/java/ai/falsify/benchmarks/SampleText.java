@@ -0,0 +1,63 @@
+package ai.falsify.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Deterministic inputs shared by the benchmarks, so results stay comparable between runs.
+ */
+public final class SampleText {
+
+    private static final String[] WORDS = {
+            "הממשלה", "הבחירות", "הקואליציה", "האופוזיציה", "הכנסת", "ראש", "הממשלה", "השר",
+            "תקציב", "ביטחון", "כלכלה", "ריבית", "אינפלציה", "סקר", "מנדטים", "מפלגה",
+            "צפוי", "יתכן", "בשבועות", "הקרובים", "החודשים", "השנה", "הבאה", "לדעתי",
+            "the", "government", "coalition", "election", "budget", "will", "likely", "next",
+            "year", "analysts", "expect", "polls", "show", "support", "for", "the", "party"
+    };
+
+    private SampleText() {
+    }
+
+    /**
+     * Builds article-like text of roughly the given length out of varied sentences.
+     *
+     * @param length the approximate length in characters
+     * @return the text
+     */
+    public static String article(int length) {
+        Random random = new Random(length);
+        StringBuilder text = new StringBuilder(length + 200);
+        while (text.length() < length) {
+            int words = 8 + random.nextInt(12);
+            for (int i = 0; i < words; i++) {
+                if (i > 0) {
+                    text.append(' ');
+                }
+                text.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            text.append(random.nextInt(5) == 0 ? ".\n\n" : ". ");
+        }
+        return text.toString().trim();
+    }
+
+    /**
+     * Reads a classpath resource as UTF-8.
+     *
+     * @param path the resource path
+     * @return the resource content
+     */
+    public static String resource(String path) {
+        try (InputStream input = SampleText.class.getResourceAsStream(path)) {
+            if (input == null) {
+                throw new IllegalArgumentException("Missing resource: " + path);
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
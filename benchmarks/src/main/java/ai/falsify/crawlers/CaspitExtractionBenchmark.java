@@ -0,0 +1,65 @@
+package ai.falsify.crawlers;
+
+import ai.falsify.benchmarks.SampleText;
+import ai.falsify.crawlers.common.model.Article;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Article extraction over the stored Caspit fixture pages: parsing the page,
+ * the JSON-LD path and the HTML fallback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CaspitExtractionBenchmark {
+
+    private static final String URL = "https://www.maariv.co.il/journalists/opinions/Article-1";
+
+    private CaspitCrawler crawler;
+    private String jsonLdPage;
+    private Document jsonLdDocument;
+    private Document htmlDocument;
+
+    @Setup
+    public void setUp() {
+        CaspitCrawlerConfig config = new CaspitCrawlerConfig();
+        config.crawlingMinContentLength = 100;
+        crawler = new CaspitCrawler(null, null, null, null, null, null, null, config, null);
+
+        jsonLdPage = SampleText.resource("/fixtures/sample-article-with-jsonld.html");
+        jsonLdDocument = Jsoup.parse(jsonLdPage, URL);
+        htmlDocument = Jsoup.parse(SampleText.resource("/fixtures/sample-article-html-only.html"), URL);
+
+        if (crawler.extractFromJsonLd(jsonLdDocument, URL) == null
+                || crawler.extractFromHtml(htmlDocument, URL) == null) {
+            throw new IllegalStateException("Fixture pages no longer yield an article");
+        }
+    }
+
+    @Benchmark
+    public Document parse() {
+        return Jsoup.parse(jsonLdPage, URL);
+    }
+
+    @Benchmark
+    public Article extractFromJsonLd() {
+        return crawler.extractFromJsonLd(jsonLdDocument, URL);
+    }
+
+    @Benchmark
+    public Article extractFromHtml() {
+        return crawler.extractFromHtml(htmlDocument, URL);
+    }
+
+    @Benchmark
+    public Article parseAndExtract() {
+        return crawler.extractFromJsonLd(Jsoup.parse(jsonLdPage, URL), URL);
+    }
+}
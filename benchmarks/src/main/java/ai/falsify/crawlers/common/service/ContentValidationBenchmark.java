@@ -0,0 +1,64 @@
+package ai.falsify.crawlers.common.service;
+
+import ai.falsify.benchmarks.SampleText;
+import ai.falsify.crawlers.common.config.CrawlerConfiguration;
+import ai.falsify.crawlers.common.exception.ContentValidationException;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Article validation as run for every crawled article, and the hashing behind it.
+ * Duplicate detection is off so repeated validation of the same text keeps passing;
+ * the hash and fingerprint it relies on are measured on their own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentValidationBenchmark {
+
+    private static final String TITLE = "בן כספית: הניתוח הפוליטי החדש";
+    private static final String URL = "https://www.maariv.co.il/journalists/opinions/Article-1";
+
+    @Param({"2000", "20000"})
+    int length;
+
+    private ContentValidator validator;
+    private String content;
+
+    @Setup
+    public void setUp() {
+        validator = new ContentValidator();
+        validator.config = new SmallRyeConfigBuilder()
+                .withMapping(CrawlerConfiguration.class)
+                .withDefaultValue("crawler.common.content.enable-duplicate-detection", "false")
+                .build()
+                .getConfigMapping(CrawlerConfiguration.class);
+        validator.init();
+        content = SampleText.article(length);
+    }
+
+    @Benchmark
+    public void validateArticle() throws ContentValidationException {
+        validator.validateArticle(TITLE, URL, content);
+    }
+
+    @Benchmark
+    public ContentScanner.Stats scan() {
+        return ContentScanner.scan(content);
+    }
+
+    @Benchmark
+    public String contentHash() {
+        return ContentScanner.contentHash(content);
+    }
+
+    @Benchmark
+    public long simHash() {
+        return SimHash.fingerprint(content);
+    }
+}
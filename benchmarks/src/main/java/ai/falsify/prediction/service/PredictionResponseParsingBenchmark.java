@@ -0,0 +1,99 @@
+package ai.falsify.prediction.service;
+
+import ai.falsify.benchmarks.SampleText;
+import ai.falsify.prediction.model.PredictionResult;
+import ai.falsify.prediction.service.BatchPredictionExtractor.ArticleData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code ---}-separated prediction response parsers of the Gemini extractors
+ * and the batch job monitor, over generated responses of realistic shape.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PredictionResponseParsingBenchmark {
+
+    private static final int BATCH_ARTICLES = 10;
+
+    @Param({"1", "10"})
+    int predictions;
+
+    private GeminiPredictionExtractor geminiExtractor;
+    private GeminiNativePredictionExtractor nativeExtractor;
+    private BatchJobMonitor batchJobMonitor;
+
+    private String articleText;
+    private String response;
+    private String batchResponse;
+    private Map<String, ArticleData> batchArticles;
+
+    @Setup
+    public void setUp() {
+        geminiExtractor = new GeminiPredictionExtractor();
+        nativeExtractor = new GeminiNativePredictionExtractor();
+        batchJobMonitor = new BatchJobMonitor();
+
+        articleText = SampleText.article(5000);
+        response = response(null, predictions);
+
+        batchArticles = new LinkedHashMap<>();
+        StringBuilder batch = new StringBuilder();
+        for (int i = 0; i < BATCH_ARTICLES; i++) {
+            String articleId = "article_" + i;
+            batchArticles.put(articleId, new ArticleData(articleText, "Article " + i));
+            batch.append(response(articleId, predictions));
+        }
+        batchResponse = batch.toString();
+
+        if (geminiExtractor.parsePredictionResponse(response, articleText).size() != predictions) {
+            throw new IllegalStateException("Generated response no longer parses");
+        }
+    }
+
+    @Benchmark
+    public List<PredictionResult> geminiExtractor() {
+        return geminiExtractor.parsePredictionResponse(response, articleText);
+    }
+
+    @Benchmark
+    public List<PredictionResult> geminiNativeExtractor() {
+        return nativeExtractor.parsePredictionResponse(response, articleText);
+    }
+
+    @Benchmark
+    public List<PredictionResult> batchJobMonitor() {
+        return batchJobMonitor.parsePredictionResponse(response, articleText);
+    }
+
+    @Benchmark
+    public Map<String, List<PredictionResult>> geminiExtractorBatch() {
+        return geminiExtractor.parseBatchPredictionResponse(batchResponse, batchArticles);
+    }
+
+    private static String response(String articleId, int count) {
+        StringBuilder response = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (articleId != null) {
+                response.append("ARTICLE_ID: ").append(articleId).append('\n');
+            }
+            response.append("PREDICTION: אני צופה שהממשלה הנוכחית תיפול תוך ").append(i + 2)
+                    .append(" חודשים ושהבחירות יתקיימו לפני סוף השנה\n")
+                    .append("TYPE: political\n")
+                    .append("CONFIDENCE: 0.").append(5 + i % 5).append('\n')
+                    .append("RATING: ").append(2 + i % 3).append(".5\n")
+                    .append("CONTEXT: הפרשן מעריך כי המשבר בקואליציה יחריף בעקבות מחלוקת על התקציב, ")
+                    .append("וכי שותפות בקואליציה יפרשו אם לא תושג פשרה\n")
+                    .append("---\n");
+        }
+        return response.toString();
+    }
+}
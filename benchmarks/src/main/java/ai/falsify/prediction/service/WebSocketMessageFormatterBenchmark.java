@@ -0,0 +1,53 @@
+package ai.falsify.prediction.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of the WebSocket notifications sent while analysis and batch jobs run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebSocketMessageFormatterBenchmark {
+
+    private static final String JOB_ID = "3f0c7a52-5d1e-4b8e-9a44-1c2d3e4f5a6b";
+    private static final String BATCH_ID = "batches/7d9e1f2a3b4c";
+
+    private WebSocketMessageFormatter formatter;
+
+    @Setup
+    public void setUp() {
+        formatter = new WebSocketMessageFormatter();
+    }
+
+    @Benchmark
+    public String jobStatusUpdate() {
+        return formatter.formatJobStatusUpdate(JOB_ID, "RUNNING");
+    }
+
+    @Benchmark
+    public String progressUpdate() {
+        return formatter.formatProgressUpdate(JOB_ID, "1234", 3);
+    }
+
+    @Benchmark
+    public String predictionExtracted() {
+        return formatter.formatPredictionExtracted(JOB_ID, "1234",
+                "אני צופה שהממשלה הנוכחית תיפול תוך שישה חודשים", 4);
+    }
+
+    @Benchmark
+    public String batchProgress() {
+        return formatter.formatBatchProgress(JOB_ID, BATCH_ID, 40, 100, 2);
+    }
+
+    @Benchmark
+    public String jobCompleted() {
+        return formatter.formatJobCompleted(JOB_ID, 100, 37);
+    }
+}
@@ -0,0 +1,378 @@
+package ai.falsify.crawlers;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool of headless Chrome sessions leased to navigation tasks, so that browser startup
+ * and driver resolution are paid once instead of per crawl, and several listings can be
+ * navigated at the same time.
+ * <p>
+ * Up to {@code caspit.crawler.browser-pool.size} sessions exist at once, idle and leased
+ * ones alike: a session is only started after reserving its place. Sessions are
+ * started ahead of time at startup ({@code warm-sessions}), checked before each lease
+ * and replaced once they served {@code max-navigations} leases or their page heap grew
+ * beyond {@code max-memory-mb}. The chromedriver binary is resolved once per pool.
+ */
+@ApplicationScoped
+public class BrowserPool {
+
+    private static final Logger LOG = Logger.getLogger(BrowserPool.class);
+
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+    private static final String HEAP_SCRIPT =
+            "return window.performance && performance.memory ? performance.memory.usedJSHeapSize : 0;";
+
+    private final CaspitCrawlerConfig config;
+    private final Supplier<WebDriver> launcher;
+    private final Semaphore slots;
+    private final BlockingDeque<Session> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger live = new AtomicInteger();
+    private final AtomicInteger ids = new AtomicInteger();
+    private volatile boolean driverResolved;
+    private volatile boolean closed;
+
+    @Inject
+    public BrowserPool(CaspitCrawlerConfig config) {
+        this(config, null);
+    }
+
+    /**
+     * @param launcher starts a browser, null for Chrome as configured
+     */
+    BrowserPool(CaspitCrawlerConfig config, Supplier<WebDriver> launcher) {
+        this.config = config;
+        this.launcher = launcher != null ? launcher : this::launchChrome;
+        this.slots = new Semaphore(config.browserPool().size(), true);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        int warm = config.browserPool().warmSessions();
+        if (config.discovery().mode() == CaspitCrawlerConfig.DiscoveryMode.HTTP) {
+            // Browsers are only needed if browser-free discovery cannot follow the listings
+            LOG.info("Browser-free discovery is enabled, browser sessions will be started on demand");
+            return;
+        }
+        if (warm > 0) {
+            // Chrome takes seconds to start, do not hold up the application for it
+            Thread.ofVirtual().name("browser-pool-warm-up").start(() -> warmUp(warm));
+        }
+    }
+
+    /**
+     * Starts idle sessions until {@code count} are ready, without exceeding the pool size.
+     */
+    void warmUp(int count) {
+        LOG.infof("Warming up %d browser session(s)", count);
+        while (!closed && idle.size() < count && reserve()) {
+            try {
+                idle.offerLast(start());
+            } catch (RuntimeException e) {
+                LOG.warnf("Browser warm-up failed, sessions will be started on demand: %s", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Leases a healthy session, starting one if none is idle. The session goes back to the
+     * pool when closed.
+     *
+     * @throws InterruptedException  if interrupted while waiting for a free session
+     * @throws IllegalStateException if no session became free within the lease timeout,
+     *                               or the pool is closed
+     * @throws RuntimeException      if a new browser failed to start
+     */
+    public Session lease() throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Browser pool is closed");
+        }
+        long timeout = config.browserPool().leaseTimeout();
+        if (!slots.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException(String.format(
+                    "No browser session became free within %d ms (pool size %d)", timeout, config.browserPool().size()));
+        }
+
+        try {
+            while (true) {
+                Session session = idle.pollFirst();
+                if (session == null) {
+                    if (reserve()) {
+                        session = start();
+                        session.leased();
+                        return session;
+                    }
+                    // The pool is full of sessions being warmed up or returned, wait for one of them
+                    session = idle.pollFirst(timeout, TimeUnit.MILLISECONDS);
+                    if (session == null) {
+                        throw new IllegalStateException(String.format(
+                                "No browser session became idle within %d ms (%d live)", timeout, live.get()));
+                    }
+                }
+                if (session.healthy()) {
+                    session.leased();
+                    LOG.debugf("Leased browser session %d (lease %d)", session.id, session.leases);
+                    return session;
+                }
+                LOG.infof("Browser session %d failed its health check, replacing it", session.id);
+                quit(session);
+            }
+        } catch (RuntimeException | InterruptedException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Quits the idle sessions; leased sessions are replaced once returned.
+     */
+    public void recycleIdle() {
+        Session session;
+        while ((session = idle.pollFirst()) != null) {
+            quit(session);
+        }
+        LOG.info("Idle browser sessions recycled");
+    }
+
+    /**
+     * Sessions currently running, idle or leased.
+     */
+    public int liveSessions() {
+        return live.get();
+    }
+
+    /**
+     * Sessions ready to be leased.
+     */
+    public int idleSessions() {
+        return idle.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        closed = true;
+        recycleIdle();
+    }
+
+    private void release(Session session) {
+        try {
+            String reason = session.invalidated ? "invalidated"
+                    : session.leases >= config.browserPool().maxNavigations() ? "served " + session.leases + " navigations"
+                    : session.heapBytes() > config.browserPool().maxMemoryMb() * BYTES_PER_MB ? "outgrew its memory limit"
+                    : live.get() > config.browserPool().size() ? "pool is over its size"
+                    : null;
+            if (closed || reason != null) {
+                if (reason != null) {
+                    LOG.infof("Recycling browser session %d: %s", session.id, reason);
+                }
+                quit(session);
+            } else {
+                idle.offerFirst(session);
+            }
+        } finally {
+            slots.release();
+        }
+    }
+
+    /**
+     * Reserves the place of a session about to be started, if the pool is not full.
+     */
+    private boolean reserve() {
+        int current;
+        do {
+            current = live.get();
+            if (current >= config.browserPool().size()) {
+                return false;
+            }
+        } while (!live.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Starts a session in a place taken by {@link #reserve()}, which is given up if the
+     * browser fails to start.
+     */
+    private Session start() {
+        int maxRetries = 3;
+        RuntimeException lastException = null;
+        for (int attempt = 1; attempt <= maxRetries; attempt++) {
+            try {
+                LOG.infof("Starting browser session (attempt %d/%d)", attempt, maxRetries);
+                long start = System.nanoTime();
+                WebDriver driver = launcher.get();
+                Session session = new Session(ids.incrementAndGet(), driver,
+                        new WebDriverWait(driver, Duration.ofSeconds(Math.max(config.webdriver().elementWait(), 3))));
+                LOG.infof("Browser session %d started in %d ms (%d live)", session.id,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), live.get());
+                return session;
+            } catch (RuntimeException e) {
+                lastException = e;
+                // The cached driver binary may be the problem, resolve it again next time
+                driverResolved = false;
+                LOG.warnf("Browser session failed to start on attempt %d/%d: %s", attempt, maxRetries, e.getMessage());
+                if (attempt < maxRetries) {
+                    try {
+                        Thread.sleep(1000L * attempt); // 1s, 2s
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        LOG.warn("Browser session start retry interrupted");
+                        break;
+                    }
+                }
+            }
+        }
+        live.decrementAndGet();
+        throw new RuntimeException("Failed to start a browser session after " + maxRetries + " attempts", lastException);
+    }
+
+    private void quit(Session session) {
+        live.decrementAndGet();
+        try {
+            session.driver.quit();
+        } catch (Exception e) {
+            LOG.debugf("Error quitting browser session %d: %s", session.id, e.getMessage());
+        }
+    }
+
+    /**
+     * Starts Chrome with the configured options
+     */
+    private WebDriver launchChrome() {
+        if (!driverResolved) {
+            synchronized (this) {
+                if (!driverResolved) {
+                    WebDriverManager.chromedriver().setup();
+                    driverResolved = true;
+                    LOG.debug("Chrome driver binary resolved");
+                }
+            }
+        }
+
+        ChromeOptions options = new ChromeOptions();
+
+        // Configure headless mode based on configuration
+        if (config.webdriver().headless()) {
+            options.addArguments("--headless");
+        }
+
+        // Add stability and security options
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        options.addArguments("--disable-gpu");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--disable-plugins");
+        options.addArguments("--disable-images");
+        options.addArguments("--disable-javascript");
+        options.addArguments("--disable-web-security");
+        options.addArguments("--ignore-certificate-errors");
+        options.addArguments("--ignore-ssl-errors");
+        options.addArguments("--allow-running-insecure-content");
+        options.addArguments(String.format("--window-size=%d,%d",
+                config.webdriver().windowWidth(), config.webdriver().windowHeight()));
+        options.addArguments("--user-agent=" + config.webdriver().userAgent());
+
+        WebDriver driver = new ChromeDriver(options);
+        try {
+            // Configure timeouts with validation
+            driver.manage().timeouts().pageLoadTimeout(Duration.ofMillis(Math.max(config.pageLoadTimeout(), 5000)));
+            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(Math.max(config.webdriver().implicitWait(), 1)));
+        } catch (RuntimeException e) {
+            driver.quit();
+            throw e;
+        }
+        return driver;
+    }
+
+    /**
+     * A browser session leased from the pool. Not thread-safe: one navigation task at a time.
+     */
+    public final class Session implements AutoCloseable {
+
+        private final int id;
+        private final WebDriver driver;
+        private final WebDriverWait wait;
+        private int leases;
+        private boolean invalidated;
+        private boolean returned;
+
+        private Session(int id, WebDriver driver, WebDriverWait wait) {
+            this.id = id;
+            this.driver = driver;
+            this.wait = wait;
+        }
+
+        public WebDriver driver() {
+            return driver;
+        }
+
+        /**
+         * Wait bounded by {@code caspit.crawler.webdriver.element-wait}
+         */
+        public WebDriverWait waitFor() {
+            return wait;
+        }
+
+        /**
+         * Marks the browser as broken, so it is quit instead of returned to the pool.
+         */
+        public void invalidate() {
+            invalidated = true;
+        }
+
+        /**
+         * Returns the session to the pool; only the first call of a lease has an effect.
+         */
+        @Override
+        public void close() {
+            if (!returned) {
+                returned = true;
+                release(this);
+            }
+        }
+
+        private void leased() {
+            leases++;
+            returned = false;
+        }
+
+        private boolean healthy() {
+            try {
+                driver.getWindowHandle();
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        private long heapBytes() {
+            if (!(driver instanceof JavascriptExecutor executor)) {
+                return 0;
+            }
+            try {
+                Object heap = executor.executeScript(HEAP_SCRIPT);
+                return heap instanceof Number number ? number.longValue() : 0;
+            } catch (Exception e) {
+                LOG.debugf("Could not read heap size of browser session %d: %s", id, e.getMessage());
+                return 0;
+            }
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package ai.falsify.crawlers;
 
+import ai.falsify.crawlers.common.config.CrawlerConfiguration;
 import ai.falsify.crawlers.common.exception.ContentValidationException;
 import ai.falsify.crawlers.common.exception.CrawlingException;
+import ai.falsify.crawlers.common.exception.NetworkException;
 import ai.falsify.crawlers.common.model.Article;
 import ai.falsify.crawlers.common.model.ArticleEntity;
 import ai.falsify.crawlers.common.model.AuthorEntity;
 import ai.falsify.crawlers.common.model.CrawlResult;
+import ai.falsify.crawlers.common.service.ArticleService;
 import ai.falsify.crawlers.common.service.ContentValidator;
 import ai.falsify.crawlers.common.service.RetryService;
+import ai.falsify.crawlers.common.service.http.FetchService;
+import ai.falsify.crawlers.common.service.pipeline.CrawlPipeline;
+import ai.falsify.crawlers.common.service.pipeline.CrawlPipeline.StageType;
+import ai.falsify.crawlers.common.service.pipeline.PipelineResult;
 import ai.falsify.crawlers.common.service.redis.DeduplicationService;
 import ai.falsify.crawlers.CaspitPageNavigator;
 import ai.falsify.crawlers.CaspitCrawlerConfig;
@@ -15,7 +22,6 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.jboss.logging.Logger;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -24,189 +30,87 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @ApplicationScoped
 public class CaspitCrawler {
 
     private static final Logger LOG = Logger.getLogger(CaspitCrawler.class);
 
+    // URLs claimed per Redis round trip; small enough that an aborted crawl strands few claims
+    private static final int DEDUP_BATCH_SIZE = 50;
+
     private final DeduplicationService deduplicationService;
     private final ContentValidator contentValidator;
     private final RetryService retryService;
+    private final ArticleService articleService;
     private final CaspitPageNavigator navigator;
+    private final CaspitListingDiscovery listingDiscovery;
+    private final FetchService fetchService;
     private final ObjectMapper objectMapper;
     private final CaspitCrawlerConfig config;
+    private final CrawlerConfiguration crawlerConfig;
 
     @Inject
     public CaspitCrawler(DeduplicationService deduplicationService, ContentValidator contentValidator, 
-                        RetryService retryService, CaspitPageNavigator navigator, 
-                        CaspitCrawlerConfig config) {
+                        RetryService retryService, ArticleService articleService,
+                        CaspitPageNavigator navigator, CaspitListingDiscovery listingDiscovery,
+                        FetchService fetchService, CaspitCrawlerConfig config, CrawlerConfiguration crawlerConfig) {
         this.deduplicationService = deduplicationService;
         this.contentValidator = contentValidator;
         this.retryService = retryService;
+        this.articleService = articleService;
         this.navigator = navigator;
+        this.listingDiscovery = listingDiscovery;
+        this.fetchService = fetchService;
         this.objectMapper = new ObjectMapper();
         this.config = config;
+        this.crawlerConfig = crawlerConfig;
     }
 
     /**
      * Crawl Ben Caspit articles, fetch new articles (deduplicated via Redis) and persist them.
-     * Uses separate transactions for each article to prevent cascading failures.
+     * Articles are stored in batches, each in its own transaction; a failing batch is
+     * retried article by article to prevent cascading failures.
+     * <p>
+     * Discovery streams each page's links into a {@link CrawlPipeline} while it goes on, so
+     * articles are fetched on virtual threads and parsed and validated on small platform
+     * pools, each stage sized by {@code crawler.common.pipeline}, during discovery. With
+     * early termination enabled, discovery stops at the first page whose links were all
+     * processed by earlier crawls.
+     * <p>
+     * {@code caspit.crawler.discovery.mode} picks how links are found for each crawl: over
+     * HTTP by {@link CaspitListingDiscovery}, falling back to browser navigation by
+     * {@link CaspitPageNavigator} when that finds no links, or by navigation only.
      */
     public CrawlResult crawl() throws IOException, CrawlingException {
         LOG.infof("Starting crawl from: %s", config.baseUrl());
-        List<Article> articles = new ArrayList<>();
         long startTime = System.currentTimeMillis();
-        int processedCount = 0;
-        int skippedCount = 0;
-        int failedCount = 0;
+        CrawlState state = new CrawlState();
 
         // Validate configuration before starting
         if (config.baseUrl() == null || config.baseUrl().trim().isEmpty()) {
             throw new IllegalArgumentException("Base URL configuration is required for crawling");
         }
 
-        // Get all article URLs using the page navigator with error handling
-        List<String> articleUrls = null;
         try {
-            try {
-                articleUrls = navigator.getAllArticleLinks(config.baseUrl());
-                LOG.infof("Found %d article URLs to process.", articleUrls.size());
-                
-                if (articleUrls.isEmpty()) {
-                    LOG.warn("No article URLs found - this may indicate a problem with the site structure or navigation");
-                    return new CrawlResult.Builder()
-                            .totalArticlesFound(0)
-                            .articlesProcessed(0)
-                            .articlesSkipped(0)
-                            .articlesFailed(0)
-                            .processingTimeMs(System.currentTimeMillis() - startTime)
-                            .articles(articles)
-                            .startTime(java.time.Instant.ofEpochMilli(startTime))
-                            .endTime(java.time.Instant.now())
-                            .crawlerSource(config.crawlerSource())
-                            .errors(java.util.List.of("No article URLs found"))
-                            .build();
-                }
-            } catch (Exception navigationException) {
-                LOG.errorf("Failed to retrieve article URLs from navigator: %s", navigationException.getMessage());
-                throw new IOException("Article URL collection failed", navigationException);
-            }
-
-            // Process each article URL with comprehensive error handling
-            for (int i = 0; i < articleUrls.size(); i++) {
-                String url = articleUrls.get(i);
-                
-                // Validate URL before processing
-                if (url == null || url.trim().isEmpty()) {
-                    LOG.warnf("Skipping invalid URL at index %d: %s", i, url);
-                    skippedCount++;
-                    continue;
-                }
-                
-                String cleanUrl = url.trim();
-                
-                LOG.infof("Processing article %d/%d: %s", i + 1, articleUrls.size(), cleanUrl);
-
-                try {
-                    // Check deduplication using common service with retry logic
-                    boolean isNew;
-                    try {
-                        isNew = retryService.executeWithRetry(() -> {
-                            return deduplicationService.isNewUrl(config.crawlerSource(), cleanUrl);
-                        }, "dedup_check_" + cleanUrl, RuntimeException.class);
-                    } catch (CrawlingException redisException) {
-                        LOG.warnf("Redis deduplication check failed for URL: %s - Error: %s. Proceeding without deduplication.", 
-                                 cleanUrl, redisException.getMessage());
-                        isNew = true; // Assume new article if Redis fails
-                    }
-                    
-                    if (!isNew) {
-                        LOG.infof("Article already exists in Redis, skipping: %s", cleanUrl);
-                        skippedCount++;
-                        continue;
-                    }
-
-                    // Fetch article content with error handling
-                    Article article;
-                    try {
-                        article = fetchArticle(cleanUrl);
-                    } catch (Exception fetchException) {
-                        LOG.errorf("Failed to fetch article content: %s - Error: %s", cleanUrl, fetchException.getMessage());
-                        failedCount++;
-                        
-                        // Note: Deduplication service will prevent re-processing of consistently failing articles
-                        
-                        continue; // Continue with next article
-                    }
-                    
-                    if (article != null) {
-                        LOG.infof("Successfully fetched article (%d chars): %s", 
-                                 article.text() != null ? article.text().length() : 0, article.title());
-
-                        // Validate article content using common service
-                        try {
-                            contentValidator.validateArticle(article.title(), article.url(), article.text());
-                            LOG.debugf("Content validation passed for article: %s", article.url());
-                        } catch (ContentValidationException validationException) {
-                            LOG.warnf("Content validation failed for article: %s - Error: %s", 
-                                     article.title(), validationException.getMessage());
-                            failedCount++;
-                            continue;
-                        }
-
-                        articles.add(article);
-                        processedCount++;
-
-                        // Persist article to DB with comprehensive error handling
-                        try {
-                            persistArticleWithRetry(article);
-                            LOG.infof("Successfully persisted article to database: %s", article.title());
-                        } catch (Exception persistException) {
-                            LOG.errorf("Failed to persist article to database: %s - Error: %s", 
-                                     article.title(), persistException.getMessage());
-                            
-                            // Log additional context for debugging
-                            LOG.debugf("Persistence failure context - URL: %s, Title length: %d, Content length: %d", 
-                                      article.url(), 
-                                      article.title() != null ? article.title().length() : 0,
-                                      article.text() != null ? article.text().length() : 0);
-                            
-                            failedCount++;
-                            
-                            // Remove from articles list since persistence failed
-                            articles.remove(article);
-                            
-                            // Don't throw exception here - continue processing other articles
-                            continue;
-                        }
-                        
-                    } else {
-                        LOG.warnf("Failed to fetch or parse article content at: %s", cleanUrl);
-                        failedCount++;
-                        
-                        // Note: Deduplication service will prevent re-processing of unparseable articles
-                    }
-                    
-                } catch (Exception articleException) {
-                    LOG.errorf("Unexpected error processing article: %s - Error: %s", cleanUrl, articleException.getMessage());
-                    failedCount++;
-                    
-                    // Note: Deduplication service will prevent re-processing of articles that cause unexpected errors
-                    
-                    // Continue processing other articles
-                    continue;
-                }
-                
-                // Add small delay between articles to be respectful to the target site
-                try {
-                    Thread.sleep(100); // 100ms delay between articles
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    LOG.warn("Crawl interrupted during article processing delay");
-                    break;
-                }
+            CrawlerConfiguration.PipelineConfig pipelineConfig = crawlerConfig.pipeline();
+            PipelineResult result = CrawlPipeline.builder("caspit", emitter -> discoverArticles(emitter, state))
+                    .stage("fetch", StageType.IO, pipelineConfig.fetchWorkers(), this::fetchArticlePage)
+                    .stage("parse", StageType.CPU, pipelineConfig.parseWorkers(), this::extractArticle)
+                    .stage("validate", StageType.CPU, pipelineConfig.validateWorkers(), this::validateArticle)
+                    .configure(pipelineConfig)
+                    .onDiscarded((url, stage, cause) -> articleDiscarded(state, url, stage, cause))
+                    .sink(crawlerConfig.performance().batchSize(), batch -> persistValidated(state, batch))
+                    .run();
+
+            if (result.discoveryFailure().isPresent()) {
+                LOG.errorf("Failed to retrieve article URLs from navigator: %s", result.discoveryFailure().get().getMessage());
+                throw new IOException("Article URL collection failed", result.discoveryFailure().get());
             }
 
         } catch (Exception e) {
@@ -214,16 +118,38 @@ public class CaspitCrawler {
             
             // Log additional context for debugging
             LOG.errorf("Crawl failure context - Processed: %d, Skipped: %d, Failed: %d, Total URLs: %d", 
-                      processedCount, skippedCount, failedCount, 
-                      articles.size() + processedCount + skippedCount + failedCount);
+                      state.processed.get(), state.skipped.get(), state.failed.get(), state.found.get());
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             
             throw new IOException("Crawling failed", e);
         }
 
+        if (state.found.get() == 0) {
+            LOG.warn("No article URLs found - this may indicate a problem with the site structure or navigation");
+            return new CrawlResult.Builder()
+                    .totalArticlesFound(0)
+                    .articlesProcessed(0)
+                    .articlesSkipped(0)
+                    .articlesFailed(0)
+                    .processingTimeMs(System.currentTimeMillis() - startTime)
+                    .articles(state.articles)
+                    .startTime(java.time.Instant.ofEpochMilli(startTime))
+                    .endTime(java.time.Instant.now())
+                    .crawlerSource(config.crawlerSource())
+                    .errors(java.util.List.of("No article URLs found"))
+                    .build();
+        }
+
+        int processedCount = state.processed.get();
+        int skippedCount = state.skipped.get();
+        int failedCount = state.failed.get();
+
         // Log comprehensive completion statistics
         long duration = System.currentTimeMillis() - startTime;
         LOG.infof("Crawling completed in %d ms. Statistics - Successfully processed: %d, Skipped (duplicates): %d, Failed: %d, Total articles fetched: %d", 
-                 duration, processedCount, skippedCount, failedCount, articles.size());
+                 duration, processedCount, skippedCount, failedCount, state.articles.size());
         
         // Log performance metrics
         if (duration > 0) {
@@ -243,12 +169,12 @@ public class CaspitCrawler {
         
         // Build and return CrawlResult
         return new CrawlResult.Builder()
-                .totalArticlesFound(articleUrls != null ? articleUrls.size() : 0)
+                .totalArticlesFound(state.found.get())
                 .articlesProcessed(processedCount)
                 .articlesSkipped(skippedCount)
                 .articlesFailed(failedCount)
                 .processingTimeMs(duration)
-                .articles(articles)
+                .articles(state.articles)
                 .startTime(java.time.Instant.ofEpochMilli(startTime))
                 .endTime(java.time.Instant.now())
                 .crawlerSource(config.crawlerSource())
@@ -257,44 +183,192 @@ public class CaspitCrawler {
     }
 
     /**
-     * Fetch and parse an individual article from the given URL using JSON-LD structured data
-     * @param url The article URL to fetch
-     * @return Article record with title, URL, and content, or null if parsing fails
+     * Finds the author's article links and emits the new URLs of each page as it loads.
+     * Runs as the discovery of the pipeline.
      */
-    private Article fetchArticle(String url) {
-        try {
-            Document doc = Jsoup.connect(url)
-                .userAgent(config.webdriver().userAgent())
-                .timeout(config.crawling().connectionTimeout())
-                .get();
-
-            // First try to extract content from JSON-LD structured data
-            Article jsonLdArticle = extractFromJsonLd(doc, url);
-            if (jsonLdArticle != null) {
-                LOG.debugf("Successfully extracted article from JSON-LD: %s", url);
-                return jsonLdArticle;
+    private void discoverArticles(CrawlPipeline.Emitter emitter, CrawlState state) throws InterruptedException {
+        CaspitPageNavigator.PageLinksListener listener = (page, links) -> {
+            state.found.addAndGet(links.size());
+            int emitted = emitNewUrls(emitter, links, state);
+            LOG.infof("Page %d: %d article links, %d new", page, links.size(), emitted);
+
+            // Newest articles come first, so a page without new ones ends an incremental crawl
+            if (emitted == 0 && config.crawling().earlyTerminationEnabled()) {
+                LOG.infof("Early termination: all article links of page %d were processed before", page);
+                return false;
             }
+            return true;
+        };
+
+        CaspitCrawlerConfig.DiscoveryMode mode = config.discovery().mode();
+        if (mode == CaspitCrawlerConfig.DiscoveryMode.BROWSER) {
+            int linkCount = navigator.streamArticleLinks(config.baseUrl(), listener);
+            LOG.infof("Found %d article URLs to process (discovery mode: %s).", linkCount, mode);
+            return;
+        }
 
-            // Fallback to HTML parsing if JSON-LD extraction fails
-            LOG.debugf("JSON-LD extraction failed, falling back to HTML parsing: %s", url);
-            return extractFromHtml(doc, url);
+        // Links handed over so far, so browser navigation after HTTP discovery only passes on the others
+        Set<String> handedOver = ConcurrentHashMap.newKeySet();
+        CaspitListingDiscovery.Result discovered = listingDiscovery.streamArticleLinks(config.baseUrl(),
+                (page, links) -> {
+                    handedOver.addAll(links);
+                    return listener.onPageLinks(page, links);
+                });
+        if (discovered.linkCount() == 0) {
+            LOG.warn("Browser-free discovery found no article links, falling back to browser navigation");
+        } else if (!discovered.complete()) {
+            LOG.warnf("Browser-free discovery found no next listing page after %d links and "
+                    + "caspit.crawler.discovery.listing-url is not set, continuing with browser navigation",
+                    discovered.linkCount());
+        }
+        if (discovered.linkCount() == 0 || !discovered.complete()) {
+            navigator.streamArticleLinks(config.baseUrl(), (page, links) -> {
+                List<String> unseen = links.stream().filter(handedOver::add).toList();
+                return unseen.isEmpty() || listener.onPageLinks(page, unseen);
+            });
+        }
+        LOG.infof("Found %d article URLs to process (discovery mode: %s).", handedOver.size(), mode);
+    }
+
+    /**
+     * Emits the article URLs not processed before, checking them in Redis in batches.
+     * @return The number of URLs emitted
+     */
+    private int emitNewUrls(CrawlPipeline.Emitter emitter, List<String> articleUrls, CrawlState state)
+            throws InterruptedException {
+        int emitted = 0;
+        Set<String> newUrls = Set.of();
+        for (int i = 0; i < articleUrls.size(); i++) {
+            String url = articleUrls.get(i);
+
+            // Check deduplication for the next batch of URLs in a single Redis round trip
+            if (i % DEDUP_BATCH_SIZE == 0) {
+                newUrls = findNewUrls(articleUrls.subList(i, Math.min(i + DEDUP_BATCH_SIZE, articleUrls.size())));
+            }
             
-        } catch (IOException e) {
-            LOG.errorf("Failed to fetch article: %s - %s", url, e.getMessage());
-            return null;
-        } catch (Exception e) {
-            LOG.errorf("Unexpected error parsing article: %s - %s", url, e.getMessage());
-            return null;
+            // Validate URL before processing
+            if (url == null || url.trim().isEmpty()) {
+                LOG.warnf("Skipping invalid URL at index %d: %s", i, url);
+                state.skipped.incrementAndGet();
+                continue;
+            }
+            
+            String cleanUrl = url.trim();
+            if (!newUrls.contains(cleanUrl)) {
+                LOG.infof("Article already exists in Redis, skipping: %s", cleanUrl);
+                state.skipped.incrementAndGet();
+                continue;
+            }
+
+            LOG.infof("Processing article %d/%d: %s", i + 1, articleUrls.size(), cleanUrl);
+            emitter.emit(cleanUrl);
+            emitted++;
+        }
+        return emitted;
+    }
+
+    /**
+     * Counts an article that did not make it through the pipeline.
+     * Note: Deduplication service will prevent re-processing of consistently failing articles
+     */
+    private void articleDiscarded(CrawlState state, String url, String stage, Exception cause) {
+        state.failed.incrementAndGet();
+        if (cause == null) {
+            LOG.warnf("Failed to fetch or parse article content at: %s", url);
+        } else if (cause instanceof ContentValidationException) {
+            LOG.warnf("Content validation failed for article: %s - Error: %s", url, cause.getMessage());
+        } else {
+            LOG.errorf("Failed to %s article: %s - Error: %s", stage, url, cause.getMessage());
+        }
+    }
+
+    /**
+     * Stores a batch of validated articles. Runs as the sink of the pipeline.
+     */
+    private void persistValidated(CrawlState state, List<Article> batch) {
+        state.articles.addAll(batch);
+
+        // Stored as one batch so the author is resolved once per batch
+        BatchOutcome outcome = flushPendingArticles(new ArrayList<>(batch), state.articles);
+        // Each article is counted once: stored, already stored, or failed
+        state.processed.addAndGet(batch.size() - outcome.existing() - outcome.failed());
+        state.skipped.addAndGet(outcome.existing());
+        state.failed.addAndGet(outcome.failed());
+    }
+
+    /**
+     * Claims a batch of article URLs in Redis with one pipelined round trip.
+     * @param urls The article URLs to check, blank entries are ignored
+     * @return URLs (trimmed) that have not been processed before; all of them if Redis fails
+     */
+    private Set<String> findNewUrls(List<String> urls) {
+        List<String> cleanUrls = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            if (url != null && !url.trim().isEmpty()) {
+                cleanUrls.add(url.trim());
+            }
+        }
+
+        // One token for all attempts, so a retry keeps the URLs an earlier attempt had claimed
+        String claimToken = DeduplicationService.newClaimToken();
+        try {
+            return retryService.executeWithRetry(() -> {
+                return deduplicationService.isNewUrls(config.crawlerSource(), cleanUrls, null, claimToken);
+            }, "dedup_check_batch", RuntimeException.class);
+        } catch (CrawlingException redisException) {
+            LOG.warnf("Redis deduplication check failed for %d URLs - Error: %s. Proceeding without deduplication.", 
+                     cleanUrls.size(), redisException.getMessage());
+            return new HashSet<>(cleanUrls); // Assume new articles if Redis fails
         }
     }
 
+    /**
+     * Fetch an article page. Runs as the fetch stage of the pipeline.
+     * @param url The article URL to fetch
+     * @return The fetched page
+     */
+    private FetchedPage fetchArticlePage(String url) throws NetworkException {
+        // Only new URLs are fetched, so the body is always wanted: no conditional request
+        return new FetchedPage(url, fetchService.fetch(url, false).document());
+    }
+
+    /**
+     * Parse an article page using JSON-LD structured data, falling back to the HTML.
+     * Runs as the parse stage of the pipeline.
+     * @param page The fetched article page
+     * @return Article record with title, URL, and content, or null if parsing fails
+     */
+    private Article extractArticle(FetchedPage page) {
+        // First try to extract content from JSON-LD structured data
+        Article jsonLdArticle = extractFromJsonLd(page.document(), page.url());
+        if (jsonLdArticle != null) {
+            LOG.debugf("Successfully extracted article from JSON-LD: %s", page.url());
+            return jsonLdArticle;
+        }
+
+        // Fallback to HTML parsing if JSON-LD extraction fails
+        LOG.debugf("JSON-LD extraction failed, falling back to HTML parsing: %s", page.url());
+        return extractFromHtml(page.document(), page.url());
+    }
+
+    /**
+     * Validate article content using the common service. Runs as the validate stage of the pipeline.
+     */
+    private Article validateArticle(Article article) throws ContentValidationException {
+        LOG.infof("Successfully fetched article (%d chars): %s", 
+                 article.text() != null ? article.text().length() : 0, article.title());
+        contentValidator.validateArticle(article.title(), article.url(), article.text());
+        LOG.debugf("Content validation passed for article: %s", article.url());
+        return article;
+    }
+
     /**
      * Extract article content from JSON-LD structured data
      * @param doc The parsed HTML document
      * @param url The article URL for logging
      * @return Article record or null if extraction fails
      */
-    private Article extractFromJsonLd(Document doc, String url) {
+    Article extractFromJsonLd(Document doc, String url) {
         try {
             // Find all script elements with type="application/ld+json"
             Elements jsonLdScripts = doc.select("script[type=application/ld+json]");
@@ -351,7 +425,7 @@ public class CaspitCrawler {
      * @param url The article URL for logging
      * @return Article record or null if extraction fails
      */
-    private Article extractFromHtml(Document doc, String url) {
+    Article extractFromHtml(Document doc, String url) {
         try {
             // Try multiple selectors for article content (Maariv site structure)
             Element contentEl = doc.selectFirst("div.article-content, div.entry-content, div.content, article .text, .article-body");
@@ -389,6 +463,57 @@ public class CaspitCrawler {
         }
     }
 
+    /**
+     * Stores the pending articles as one batch. Falls back to storing them one by one
+     * if the batch keeps failing, so a single bad article does not fail the whole batch.
+     * @param pending The validated articles waiting to be stored, cleared afterwards
+     * @param articles The crawl result list, articles that were not stored are removed from it
+     * @return The number of articles that already existed and that failed
+     */
+    private BatchOutcome flushPendingArticles(List<Article> pending, List<Article> articles) {
+        if (pending.isEmpty()) {
+            return new BatchOutcome(0, 0);
+        }
+
+        int existing = 0;
+        int failed = 0;
+        try {
+            ArticleService.IngestResult result = retryService.executeWithRetry(
+                    () -> articleService.ingestBatch(pending, config.crawlerSource(),
+                            config.author().name(), config.author().avatarUrl().orElse(null)),
+                    "persist_article_batch", Exception.class);
+
+            Set<String> existingUrls = new HashSet<>(result.existingUrls());
+            for (Article article : pending) {
+                if (existingUrls.contains(article.url().trim())) {
+                    LOG.warnf("Article with URL already exists in database, skipping: %s", article.url());
+                    articles.remove(article);
+                    existing++;
+                }
+            }
+            LOG.infof("Successfully persisted %d articles to database", result.newUrls().size());
+
+        } catch (Exception batchException) {
+            LOG.warnf("Failed to persist batch of %d articles, persisting one by one - Error: %s",
+                     pending.size(), batchException.getMessage());
+            for (Article article : pending) {
+                try {
+                    persistArticleWithRetry(article);
+                    LOG.infof("Successfully persisted article to database: %s", article.title());
+                } catch (Exception persistException) {
+                    LOG.errorf("Failed to persist article to database: %s - Error: %s", 
+                             article.title(), persistException.getMessage());
+                    failed++;
+                    // Remove from articles list since persistence failed
+                    articles.remove(article);
+                }
+            }
+        }
+
+        pending.clear();
+        return new BatchOutcome(existing, failed);
+    }
+
     /**
      * Persist an article to the database using retry logic and the common ArticleEntity structure.
      * Uses a separate transaction for each article to prevent cascading failures.
@@ -473,10 +598,11 @@ public class CaspitCrawler {
             ArticleEntity entity = new ArticleEntity(article, config.crawlerSource(), author);
             
             LOG.debugf("Attempting to persist article: title='%s', url='%s', text_length=%d, crawler_source='%s', author='%s'", 
-                      entity.title, entity.url, entity.text.length(), entity.crawlerSource, entity.author.name);
+                      entity.title, entity.url, entity.textLength, entity.crawlerSource, entity.author.name);
             
             // Persist to database
             entity.persist();
+            articleService.indexForSearch(entity);
             
             LOG.infof("Successfully persisted article with ID: %d, URL: %s, Author: %s", 
                      entity.id, entity.url, entity.author.name);
@@ -524,4 +650,28 @@ public class CaspitCrawler {
 
 
 
-}
\ No newline at end of file
+
+    /**
+     * Articles of a batch that were already stored or could not be stored.
+     */
+    private record BatchOutcome(int existing, int failed) {
+    }
+
+    /**
+     * An article page on its way from the fetch to the parse stage.
+     */
+    private record FetchedPage(String url, Document document) {
+    }
+
+    /**
+     * Counters and results of one crawl, shared by the stages of its pipeline.
+     */
+    private static final class CrawlState {
+        final AtomicInteger found = new AtomicInteger();
+        final AtomicInteger processed = new AtomicInteger();
+        final AtomicInteger skipped = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        // Only touched by the sink
+        final List<Article> articles = new ArrayList<>();
+    }
+}
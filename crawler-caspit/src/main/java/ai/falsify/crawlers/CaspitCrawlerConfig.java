@@ -6,8 +6,12 @@ import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Configuration properties for the Ben Caspit crawler using Quarkus declarative approach.
@@ -51,13 +55,16 @@ public class CaspitCrawlerConfig {
     @ConfigProperty(name = "caspit.crawler.webdriver.element-wait", defaultValue = "5")
     int webdriverElementWait;
 
-    // Crawling behavior configuration
+    // Crawling behavior configuration, page and scroll delays bound the waits for new content
     @ConfigProperty(name = "caspit.crawler.crawling.page-delay", defaultValue = "2000")
     int crawlingPageDelay;
 
     @ConfigProperty(name = "caspit.crawler.crawling.scroll-delay", defaultValue = "3000")
     int crawlingScrollDelay;
 
+    @ConfigProperty(name = "caspit.crawler.crawling.network-idle", defaultValue = "500")
+    int crawlingNetworkIdle;
+
     @ConfigProperty(name = "caspit.crawler.crawling.connection-timeout", defaultValue = "10000")
     int crawlingConnectionTimeout;
 
@@ -67,6 +74,35 @@ public class CaspitCrawlerConfig {
     @ConfigProperty(name = "caspit.crawler.crawling.early-termination-enabled", defaultValue = "true")
     boolean crawlingEarlyTerminationEnabled;
 
+    // Browser pool configuration
+    @ConfigProperty(name = "caspit.crawler.browser-pool.size", defaultValue = "2")
+    int browserPoolSize;
+
+    @ConfigProperty(name = "caspit.crawler.browser-pool.warm-sessions", defaultValue = "1")
+    int browserPoolWarmSessions;
+
+    @ConfigProperty(name = "caspit.crawler.browser-pool.max-navigations", defaultValue = "20")
+    int browserPoolMaxNavigations;
+
+    @ConfigProperty(name = "caspit.crawler.browser-pool.max-memory-mb", defaultValue = "512")
+    int browserPoolMaxMemoryMb;
+
+    @ConfigProperty(name = "caspit.crawler.browser-pool.lease-timeout", defaultValue = "120000")
+    int browserPoolLeaseTimeout;
+
+    // Article discovery configuration
+    @ConfigProperty(name = "caspit.crawler.discovery.mode", defaultValue = "http")
+    String discoveryMode;
+
+    @ConfigProperty(name = "caspit.crawler.discovery.listing-url")
+    Optional<String> discoveryListingUrl;
+
+    @ConfigProperty(name = "caspit.crawler.discovery.sitemap-urls")
+    Optional<List<String>> discoverySitemapUrls;
+
+    @ConfigProperty(name = "caspit.crawler.discovery.sitemap-url-pattern")
+    Optional<String> discoverySitemapUrlPattern;
+
     // Author metadata configuration
     @ConfigProperty(name = "caspit.crawler.author.name", defaultValue = "Unknown Author")
     String authorName;
@@ -130,6 +166,16 @@ public class CaspitCrawlerConfig {
         return new CrawlingConfig();
     }
 
+    // Discovery configuration getters
+    public DiscoveryConfig discovery() {
+        return new DiscoveryConfig();
+    }
+
+    // Browser pool configuration getters
+    public BrowserPoolConfig browserPool() {
+        return new BrowserPoolConfig();
+    }
+
     // Author configuration getters
     public AuthorConfig author() {
         return new AuthorConfig();
@@ -144,6 +190,10 @@ public class CaspitCrawlerConfig {
             return crawlingScrollDelay;
         }
 
+        public int networkIdle() {
+            return crawlingNetworkIdle;
+        }
+
         public int connectionTimeout() {
             return crawlingConnectionTimeout;
         }
@@ -157,6 +207,60 @@ public class CaspitCrawlerConfig {
         }
     }
 
+    /**
+     * How article links are found: by reading listings and sitemaps over HTTP, or by
+     * navigating the author page in a browser
+     */
+    public enum DiscoveryMode {
+        HTTP, BROWSER
+    }
+
+    public class DiscoveryConfig {
+        public DiscoveryMode mode() {
+            return DiscoveryMode.valueOf(discoveryMode.trim().toUpperCase(Locale.ROOT));
+        }
+
+        /**
+         * Listing page URL with a {@code {page}} placeholder, for pages after the first
+         */
+        public Optional<String> listingUrl() {
+            return discoveryListingUrl;
+        }
+
+        public List<String> sitemapUrls() {
+            return discoverySitemapUrls.orElse(List.of());
+        }
+
+        /**
+         * Regular expression sitemap entries must contain to count as the author's articles
+         */
+        public Optional<String> sitemapUrlPattern() {
+            return discoverySitemapUrlPattern;
+        }
+    }
+
+    public class BrowserPoolConfig {
+        public int size() {
+            return browserPoolSize;
+        }
+
+        public int warmSessions() {
+            return browserPoolWarmSessions;
+        }
+
+        public int maxNavigations() {
+            return browserPoolMaxNavigations;
+        }
+
+        public int maxMemoryMb() {
+            return browserPoolMaxMemoryMb;
+        }
+
+        public int leaseTimeout() {
+            return browserPoolLeaseTimeout;
+        }
+    }
+
     public class AuthorConfig {
         public String name() {
             return authorName != null && !authorName.trim().isEmpty() ? authorName : authorFallbackName;
@@ -192,6 +296,12 @@ public class CaspitCrawlerConfig {
             // Validate crawling behavior configurations
             validateCrawlingConfigurations();
             
+            // Validate discovery configurations
+            validateDiscoveryConfigurations();
+            
+            // Validate browser pool configurations
+            validateBrowserPoolConfigurations();
+            
             // Validate author metadata configurations
             validateAuthorConfigurations();
             
@@ -290,6 +400,9 @@ public class CaspitCrawlerConfig {
         if (crawlingScrollDelay < 0 || crawlingScrollDelay > 30000) {
             throw new IllegalArgumentException("Scroll delay must be between 0 and 30000ms. Current value: " + crawlingScrollDelay);
         }
+        if (crawlingNetworkIdle < 50 || crawlingNetworkIdle > crawlingPageDelay) {
+            throw new IllegalArgumentException("Network idle time must be between 50ms and the page delay (" + crawlingPageDelay + "ms). Current value: " + crawlingNetworkIdle);
+        }
         
         // Validate connection timeout
         if (crawlingConnectionTimeout < 1000 || crawlingConnectionTimeout > 60000) {
@@ -303,7 +416,7 @@ public class CaspitCrawlerConfig {
         
         // Warn about potentially problematic configurations
         if (crawlingPageDelay < 1000) {
-            LOG.warnf("Page delay is very short (%dms) - this may overwhelm the target site", crawlingPageDelay);
+            LOG.warnf("Page delay is very short (%dms) - slow pages may be given up on before new content loads", crawlingPageDelay);
         }
         if (crawlingScrollDelay < 1000) {
             LOG.warnf("Scroll delay is very short (%dms) - this may not allow sufficient time for content loading", crawlingScrollDelay);
@@ -313,6 +426,72 @@ public class CaspitCrawlerConfig {
                   crawlingPageDelay, crawlingScrollDelay, crawlingConnectionTimeout, crawlingMinContentLength);
     }
     
+    /**
+     * Validate article discovery configuration values
+     */
+    private void validateDiscoveryConfigurations() {
+        try {
+            discovery().mode();
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Discovery mode must be 'http' or 'browser'. Current value: " + discoveryMode);
+        }
+        
+        if (discoveryListingUrl.isPresent() && !discoveryListingUrl.get().contains("{page}")) {
+            throw new IllegalArgumentException("Discovery listing URL must contain a {page} placeholder. Current value: " + discoveryListingUrl.get());
+        }
+        
+        for (String sitemapUrl : discovery().sitemapUrls()) {
+            if (!sitemapUrl.startsWith("http://") && !sitemapUrl.startsWith("https://")) {
+                throw new IllegalArgumentException("Sitemap URL must start with http:// or https://. Current value: " + sitemapUrl);
+            }
+        }
+        
+        if (discoverySitemapUrlPattern.isPresent()) {
+            try {
+                Pattern.compile(discoverySitemapUrlPattern.get());
+            } catch (PatternSyntaxException e) {
+                throw new IllegalArgumentException("Sitemap URL pattern is not a valid regular expression: " + e.getMessage());
+            }
+        } else if (!discovery().sitemapUrls().isEmpty()) {
+            LOG.warn("Sitemaps are configured without a sitemap URL pattern - every article in them will be crawled");
+        }
+
+        if (discovery().mode() == DiscoveryMode.HTTP && discoveryListingUrl.isEmpty()) {
+            LOG.warn("HTTP discovery without a listing URL - listings without a next-page link are continued in a browser");
+        }
+        
+        LOG.debugf("Discovery configuration validation passed - mode: %s, listingUrl: %s, sitemaps: %d",
+                  discoveryMode, discoveryListingUrl.orElse("not configured"), discovery().sitemapUrls().size());
+    }
+    
+    /**
+     * Validate browser pool configuration values
+     */
+    private void validateBrowserPoolConfigurations() {
+        if (browserPoolSize < 1 || browserPoolSize > 16) {
+            throw new IllegalArgumentException("Browser pool size must be between 1 and 16. Current value: " + browserPoolSize);
+        }
+        if (browserPoolWarmSessions < 0 || browserPoolWarmSessions > browserPoolSize) {
+            throw new IllegalArgumentException("Browser pool warm sessions must be between 0 and the pool size (" + browserPoolSize + "). Current value: " + browserPoolWarmSessions);
+        }
+        if (browserPoolMaxNavigations < 1) {
+            throw new IllegalArgumentException("Browser pool max navigations must be positive. Current value: " + browserPoolMaxNavigations);
+        }
+        if (browserPoolMaxMemoryMb < 64) {
+            throw new IllegalArgumentException("Browser pool max memory must be at least 64MB. Current value: " + browserPoolMaxMemoryMb);
+        }
+        if (browserPoolLeaseTimeout < 1000) {
+            throw new IllegalArgumentException("Browser pool lease timeout must be at least 1000ms. Current value: " + browserPoolLeaseTimeout);
+        }
+        
+        if (browserPoolSize > 4) {
+            LOG.warnf("Browser pool size is high (%d) - each Chrome session uses several hundred MB of memory", browserPoolSize);
+        }
+        
+        LOG.debugf("Browser pool configuration validation passed - size: %d, warm: %d, maxNavigations: %d, maxMemory: %dMB",
+                  browserPoolSize, browserPoolWarmSessions, browserPoolMaxNavigations, browserPoolMaxMemoryMb);
+    }
+    
     /**
      * Validate author metadata configuration values
      */
@@ -358,8 +537,14 @@ public class CaspitCrawlerConfig {
         LOG.infof("  WebDriver: headless=%s, window=%dx%d, waits=implicit:%ds/element:%ds", 
                  webdriverHeadless, webdriverWindowWidth, webdriverWindowHeight, 
                  webdriverImplicitWait, webdriverElementWait);
-        LOG.infof("  Crawling: pageDelay=%dms, scrollDelay=%dms, connectionTimeout=%dms, minContentLength=%d, earlyTermination=%s", 
-                 crawlingPageDelay, crawlingScrollDelay, crawlingConnectionTimeout, crawlingMinContentLength, crawlingEarlyTerminationEnabled);
+        LOG.infof("  Crawling: pageDelay=%dms, scrollDelay=%dms, networkIdle=%dms, connectionTimeout=%dms, minContentLength=%d, earlyTermination=%s", 
+                 crawlingPageDelay, crawlingScrollDelay, crawlingNetworkIdle, crawlingConnectionTimeout, crawlingMinContentLength, crawlingEarlyTerminationEnabled);
+        LOG.infof("  Discovery: mode=%s, listingUrl=%s, sitemaps=%d, sitemapPattern=%s",
+                 discoveryMode, discoveryListingUrl.orElse("not configured"), discovery().sitemapUrls().size(),
+                 discoverySitemapUrlPattern.orElse("not configured"));
+        LOG.infof("  Browser Pool: size=%d, warm=%d, maxNavigations=%d, maxMemory=%dMB, leaseTimeout=%dms",
+                 browserPoolSize, browserPoolWarmSessions, browserPoolMaxNavigations, browserPoolMaxMemoryMb,
+                 browserPoolLeaseTimeout);
         LOG.infof("  Author: name=%s, avatarUrl=%s, fallback=%s", 
                  authorName, authorAvatarUrl.orElse("not configured"), authorFallbackName);
     }
@@ -388,10 +573,12 @@ public class CaspitCrawlerConfig {
         currentConfig.put("pageLoadTimeout", pageLoadTimeout);
         currentConfig.put("webdriverHeadless", webdriverHeadless);
         currentConfig.put("webdriverWindowSize", webdriverWindowWidth + "x" + webdriverWindowHeight);
-        currentConfig.put("crawlingDelays", "page:" + crawlingPageDelay + "ms, scroll:" + crawlingScrollDelay + "ms");
+        currentConfig.put("crawlingDelays", "page:" + crawlingPageDelay + "ms, scroll:" + crawlingScrollDelay + "ms, idle:" + crawlingNetworkIdle + "ms");
         currentConfig.put("connectionTimeout", crawlingConnectionTimeout);
         currentConfig.put("minContentLength", crawlingMinContentLength);
         currentConfig.put("earlyTerminationEnabled", crawlingEarlyTerminationEnabled);
+        currentConfig.put("discoveryMode", discoveryMode);
+        currentConfig.put("browserPoolSize", browserPoolSize);
         currentConfig.put("authorName", authorName);
         currentConfig.put("authorAvatarUrl", authorAvatarUrl.orElse("not configured"));
         currentConfig.put("authorFallbackName", authorFallbackName);
@@ -0,0 +1,319 @@
+package ai.falsify.crawlers;
+
+import ai.falsify.crawlers.common.exception.NetworkException;
+import ai.falsify.crawlers.common.service.http.FetchService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Finds Ben Caspit article links without a browser, by reading the author's listing pages
+ * and the configured sitemaps over plain HTTP.
+ * <p>
+ * Listing pages are followed through {@code caspit.crawler.discovery.listing-url} if set,
+ * otherwise through the next-page or "load more" link of each page. Pages that load more
+ * articles by script have no such link; the result then reports discovery as incomplete,
+ * so the crawler can go on in a browser. A page may be HTML or
+ * the JSON of an AJAX endpoint; links are taken from article anchors, JSON string values
+ * and HTML fragments within them. Sitemaps (and sitemap indexes) are read after the
+ * listings unless the listener stopped discovery, keeping the entries that match
+ * {@code caspit.crawler.discovery.sitemap-url-pattern}.
+ */
+@ApplicationScoped
+public class CaspitListingDiscovery {
+
+    private static final Logger LOG = Logger.getLogger(CaspitListingDiscovery.class);
+
+    private static final String PAGE_PLACEHOLDER = "{page}";
+
+    // Where listings link to their next page, in order of preference
+    private static final List<String> NEXT_PAGE_SELECTORS = List.of(
+            "link[rel=next]",
+            "a[rel=next]",
+            "[class*='load-more']",
+            "[class*='show-more']",
+            ".pagination a[class*='next']",
+            ".more-articles",
+            ".load-next");
+
+    private static final List<String> NEXT_PAGE_ATTRIBUTES = List.of("data-url", "data-href", "data-next", "href");
+
+    private final CaspitCrawlerConfig config;
+    private final FetchService fetchService;
+    private final ObjectMapper objectMapper;
+
+    @Inject
+    public CaspitListingDiscovery(CaspitCrawlerConfig config, FetchService fetchService) {
+        this.config = config;
+        this.fetchService = fetchService;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    /**
+     * Read the listing pages from {@code baseUrl}, then the sitemaps, and hand each page's
+     * new article links to the listener. Pages are numbered across listings and sitemaps
+     * and bounded by {@code caspit.crawler.max-pages}.
+     *
+     * @param baseUrl  The base URL for Ben Caspit's author page
+     * @param listener Receives the links of each page and decides whether to go on
+     * @return Number of unique article links handed to the listener, and whether the listings could be followed
+     * @throws InterruptedException if interrupted while fetching or by the listener
+     */
+    public Result streamArticleLinks(String baseUrl, CaspitPageNavigator.PageLinksListener listener)
+            throws InterruptedException {
+        LOG.infof("Starting browser-free link discovery from: %s", baseUrl);
+        Set<String> allLinks = new HashSet<>();
+        Progress progress = new Progress();
+
+        if (baseUrl == null || baseUrl.trim().isEmpty()) {
+            LOG.error("Base URL is null or empty, cannot proceed with link discovery");
+            return new Result(0, true);
+        }
+
+        if (readListings(baseUrl.trim(), listener, allLinks, progress) && !config.discovery().sitemapUrls().isEmpty()) {
+            readSitemaps(listener, allLinks, progress);
+        }
+
+        LOG.infof("Browser-free discovery completed. %d unique article links from %d pages", allLinks.size(),
+                progress.pages);
+        return new Result(allLinks.size(), !progress.noNextPage);
+    }
+
+    /**
+     * Follows the listing pages until one has no new links or no next page
+     *
+     * @return false if the listener stopped discovery
+     */
+    private boolean readListings(String baseUrl, CaspitPageNavigator.PageLinksListener listener, Set<String> allLinks,
+            Progress progress) throws InterruptedException {
+        Set<String> visited = new HashSet<>();
+        String pageUrl = baseUrl;
+        int listingPage = 1;
+
+        while (pageUrl != null && visited.add(pageUrl) && progress.pages < config.maxPages()) {
+            Document document = fetch(pageUrl);
+            if (document == null) {
+                break;
+            }
+            progress.pages++;
+
+            List<String> newLinks = newLinks(listingLinks(document), allLinks);
+            LOG.infof("Listing page %d: %d new article links (total: %d) from %s", listingPage, newLinks.size(),
+                    allLinks.size(), pageUrl);
+            if (newLinks.isEmpty()) {
+                break;
+            }
+            if (!listener.onPageLinks(progress.pages, newLinks)) {
+                LOG.infof("Discovery stopped by the link listener after listing page %d", listingPage);
+                return false;
+            }
+
+            listingPage++;
+            pageUrl = nextListingUrl(document, listingPage);
+            progress.noNextPage = pageUrl == null && config.discovery().listingUrl().isEmpty();
+        }
+        return true;
+    }
+
+    /**
+     * Reads the configured sitemaps, descending into sitemap indexes
+     */
+    private void readSitemaps(CaspitPageNavigator.PageLinksListener listener, Set<String> allLinks, Progress progress)
+            throws InterruptedException {
+        Optional<Pattern> pattern = config.discovery().sitemapUrlPattern().map(Pattern::compile);
+        Deque<String> pending = new ArrayDeque<>(config.discovery().sitemapUrls());
+        Set<String> visited = new HashSet<>();
+
+        while (!pending.isEmpty() && progress.pages < config.maxPages()) {
+            String sitemapUrl = pending.poll();
+            if (!visited.add(sitemapUrl)) {
+                continue;
+            }
+            Document document = fetch(sitemapUrl);
+            if (document == null) {
+                continue;
+            }
+            progress.pages++;
+
+            // A sitemap index lists further sitemaps, newest first on news sites
+            Elements nestedSitemaps = document.select("sitemap > loc");
+            List<String> nested = new ArrayList<>();
+            for (Element loc : nestedSitemaps) {
+                nested.add(loc.text().trim());
+            }
+            for (int i = nested.size() - 1; i >= 0; i--) {
+                pending.addFirst(nested.get(i));
+            }
+
+            List<String> entries = new ArrayList<>();
+            for (Element loc : document.select("url > loc")) {
+                String url = loc.text().trim();
+                if ((pattern.isEmpty() || pattern.get().matcher(url).find()) && CaspitPageNavigator.isValidArticleUrl(url)) {
+                    entries.add(url);
+                }
+            }
+            List<String> newLinks = newLinks(entries, allLinks);
+            LOG.infof("Sitemap %s: %d nested sitemaps, %d new article links (total: %d)", sitemapUrl, nested.size(),
+                    newLinks.size(), allLinks.size());
+
+            if (!newLinks.isEmpty() && !listener.onPageLinks(progress.pages, newLinks)) {
+                LOG.infof("Discovery stopped by the link listener at sitemap %s", sitemapUrl);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Fetches a listing page or sitemap
+     *
+     * @return the document, null if it could not be fetched
+     */
+    private Document fetch(String url) throws InterruptedException {
+        try {
+            // Listings change with every new article, fetch them in full
+            return fetchService.fetch(url, false).document();
+        } catch (NetworkException e) {
+            // FetchService reports an interrupted request as a connection failure
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Interrupted fetching " + url);
+            }
+            LOG.warnf("Failed to fetch %s: %s", url, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Article links of a listing page, from its HTML or, for an AJAX endpoint, its JSON
+     */
+    private List<String> listingLinks(Document document) {
+        Set<String> links = new LinkedHashSet<>();
+        anchorLinks(document, links);
+
+        String text = document.body() != null ? document.body().wholeText().trim() : "";
+        if (text.startsWith("{") || text.startsWith("[")) {
+            try {
+                jsonLinks(objectMapper.readTree(text), document.location(), links);
+            } catch (IOException e) {
+                LOG.debugf("Listing response looked like JSON but did not parse: %s", e.getMessage());
+            }
+        }
+        return new ArrayList<>(links);
+    }
+
+    private void anchorLinks(Document document, Set<String> links) {
+        Elements anchors = document.select("section.four-articles-in-row a[href]");
+        for (String selector : CaspitPageNavigator.FALLBACK_LINK_SELECTORS) {
+            if (!anchors.isEmpty()) {
+                break;
+            }
+            anchors = document.select(selector);
+        }
+        for (Element anchor : anchors) {
+            addLink(anchor.absUrl("href"), links);
+        }
+    }
+
+    private void jsonLinks(JsonNode node, String baseUri, Set<String> links) {
+        if (node.isContainerNode()) {
+            for (JsonNode child : node) {
+                jsonLinks(child, baseUri, links);
+            }
+        } else if (node.isTextual()) {
+            String value = node.asText().trim();
+            if (value.contains("<a")) {
+                // Rendered listing markup
+                anchorLinks(Jsoup.parseBodyFragment(value, baseUri), links);
+            } else if (value.startsWith("http://") || value.startsWith("https://") || value.startsWith("/")) {
+                addLink(resolve(baseUri, value), links);
+            }
+        }
+    }
+
+    private static void addLink(String url, Set<String> links) {
+        if (url != null && !url.isBlank() && CaspitPageNavigator.isValidArticleUrl(url.trim())) {
+            links.add(url.trim());
+        }
+    }
+
+    /**
+     * URL of the next listing page: the configured template, otherwise the page's own
+     * next-page link
+     */
+    private String nextListingUrl(Document document, int page) {
+        Optional<String> template = config.discovery().listingUrl();
+        if (template.isPresent()) {
+            return template.get().replace(PAGE_PLACEHOLDER, String.valueOf(page));
+        }
+
+        for (String selector : NEXT_PAGE_SELECTORS) {
+            for (Element element : document.select(selector)) {
+                for (String attribute : NEXT_PAGE_ATTRIBUTES) {
+                    String url = element.absUrl(attribute);
+                    if (!url.isEmpty() && !url.contains("#") && url.startsWith("http")) {
+                        return url;
+                    }
+                }
+            }
+        }
+        LOG.debugf("No next listing page found after page %d", page - 1);
+        return null;
+    }
+
+    private static String resolve(String baseUri, String url) {
+        if (baseUri == null || baseUri.isEmpty()) {
+            return url;
+        }
+        try {
+            return URI.create(baseUri).resolve(url).toString();
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private static List<String> newLinks(List<String> links, Set<String> allLinks) {
+        List<String> newLinks = new ArrayList<>();
+        for (String link : links) {
+            if (allLinks.add(link)) {
+                newLinks.add(link);
+            }
+        }
+        return newLinks;
+    }
+
+    /**
+     * Outcome of browser-free discovery
+     *
+     * @param linkCount Number of unique article links handed to the listener
+     * @param complete  False if the listings ended at a page without a next-page link while no
+     *                  {@code listing-url} is configured, so older articles were out of reach
+     */
+    public record Result(int linkCount, boolean complete) {
+    }
+
+    /**
+     * Pages read so far, listings and sitemaps together
+     */
+    private static final class Progress {
+        private int pages;
+        // The last listing page read had new links but no next page to follow
+        private boolean noNextPage;
+    }
+}
@@ -1,8 +1,6 @@
 package ai.falsify.crawlers;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
-import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
+import ai.falsify.crawlers.common.service.http.PolitenessScheduler;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
@@ -10,12 +8,13 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
+import java.net.URI;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -27,34 +26,45 @@ public class CaspitPageNavigator {
 
     private static final Logger LOG = Logger.getLogger(CaspitPageNavigator.class);
 
-    private final CaspitCrawlerConfig config;
-    private WebDriver driver;
-    private WebDriverWait wait;
+    // Article link selectors tried when a page has no four-articles-in-row sections
+    static final List<String> FALLBACK_LINK_SELECTORS = List.of(
+            "article a",
+            ".article-item a",
+            ".story-item a",
+            ".item-title a",
+            ".article-link",
+            ".news-item a",
+            ".content-item a");
+
+    // How often page conditions are checked while waiting for new content
+    private static final Duration CONDITION_POLL_INTERVAL = Duration.ofMillis(100);
 
-    // Metrics tracking for empty pages
-    private int emptyPagesCount = 0;
+    private final CaspitCrawlerConfig config;
+    private final PolitenessScheduler scheduler;
+    private final BrowserPool browserPool;
 
     @Inject
-    public CaspitPageNavigator(CaspitCrawlerConfig config) {
+    public CaspitPageNavigator(CaspitCrawlerConfig config, PolitenessScheduler scheduler, BrowserPool browserPool) {
         this.config = config;
+        this.scheduler = scheduler;
+        this.browserPool = browserPool;
     }
 
-    @PostConstruct
-    public void init() {
-        LOG.info("Initializing CaspitPageNavigator with Chrome WebDriver");
-        setupWebDriver();
-    }
-
-    @PreDestroy
-    public void cleanup() {
-        LOG.info("Cleaning up WebDriver resources");
-        if (driver != null) {
-            try {
-                driver.quit();
-            } catch (Exception e) {
-                LOG.warn("Error during WebDriver cleanup", e);
-            }
-        }
+    /**
+     * Receives the article links of the author page as navigation loads them.
+     */
+    @FunctionalInterface
+    public interface PageLinksListener {
+        /**
+         * Called on the navigating thread once a page of links is loaded, before the next
+         * "load more" step.
+         *
+         * @param page     number of the page, starting at 1
+         * @param newLinks links not seen on earlier pages of this navigation, in page order
+         * @return false to stop navigating
+         * @throws InterruptedException to stop navigating, the interruption is passed on
+         */
+        boolean onPageLinks(int page, List<String> newLinks) throws InterruptedException;
     }
 
     /**
@@ -65,208 +75,267 @@ public class CaspitPageNavigator {
      * @return List of article URLs found across all pages
      */
     public List<String> getAllArticleLinks(String baseUrl) {
-        LOG.infof("Starting to collect article links from: %s", baseUrl);
-        Set<String> allLinks = new HashSet<>();
-        int maxRetries = 3;
-        int navigationRetryCount = 0;
+        List<String> allLinks = new ArrayList<>();
+        try {
+            streamArticleLinks(baseUrl, (page, newLinks) -> {
+                allLinks.addAll(newLinks);
+                return true;
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Link collection interrupted");
+        }
 
-        // Reset metrics for this crawl session
-        emptyPagesCount = 0;
+        // Validate results before returning
+        if (allLinks.isEmpty()) {
+            LOG.warn(
+                    "No article links were collected - this may indicate a problem with the site structure or selectors");
+        } else {
+            LOG.infof("Successfully collected %d unique article links", allLinks.size());
+        }
+
+        return allLinks;
+    }
+
+    /**
+     * Navigate the Ben Caspit author page, handling dynamic pagination, and hand each
+     * page's new article links to the listener as soon as the page is loaded, so that
+     * the links can be processed while navigation goes on.
+     * <p>
+     * Each call navigates in its own browser session leased from the {@link BrowserPool},
+     * so several pages can be navigated concurrently.
+     *
+     * @param baseUrl  The base URL for Ben Caspit's author page
+     * @param listener Receives the links of each page and decides whether to go on
+     * @return Number of unique article links handed to the listener
+     * @throws InterruptedException if interrupted while navigating or by the listener
+     */
+    public int streamArticleLinks(String baseUrl, PageLinksListener listener) throws InterruptedException {
+        LOG.infof("Starting to collect article links from: %s", baseUrl);
 
         // Validate input
         if (baseUrl == null || baseUrl.trim().isEmpty()) {
             LOG.error("Base URL is null or empty, cannot proceed with link collection");
-            return new ArrayList<>();
+            return 0;
         }
 
-        // Ensure WebDriver is available
-        if (driver == null) {
-            LOG.error("WebDriver is not initialized, attempting to reinitialize");
-            try {
-                setupWebDriver();
-            } catch (Exception e) {
-                LOG.errorf("Failed to initialize WebDriver for link collection: %s", e.getMessage());
-                return new ArrayList<>();
-            }
+        // Lease a browser for the whole navigation
+        BrowserPool.Session session;
+        try {
+            session = browserPool.lease();
+        } catch (RuntimeException e) {
+            LOG.errorf("No browser session available for link collection: %s", e.getMessage());
+            return 0;
         }
 
-        while (navigationRetryCount < maxRetries) {
-            try {
-                LOG.infof("Navigating to base URL (attempt %d/%d): %s", navigationRetryCount + 1, maxRetries, baseUrl);
-
-                // Navigate to the base URL with timeout handling
-                driver.get(baseUrl);
+        return navigate(baseUrl, listener, session);
+    }
 
-                // Wait for page to load with explicit timeout
-                try {
-                    wait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("body")));
-                    LOG.debug("Page loaded successfully, body element found");
-                } catch (TimeoutException e) {
-                    LOG.warnf("Timeout waiting for page body to load on attempt %d: %s", navigationRetryCount + 1,
-                            e.getMessage());
-                    if (navigationRetryCount < maxRetries - 1) {
-                        navigationRetryCount++;
-                        Thread.sleep(2000); // Wait before retry
-                        continue;
-                    } else {
-                        throw e;
-                    }
-                }
+    /**
+     * Navigate the author page in the given browser session, which is returned to the
+     * pool afterwards
+     */
+    private int navigate(String baseUrl, PageLinksListener listener, BrowserPool.Session session)
+            throws InterruptedException {
+        try {
+            Set<String> allLinks = new HashSet<>();
+            int maxRetries = 3;
+            int navigationRetryCount = 0;
+            WebDriver driver = session.driver();
+            WebDriverWait wait = session.waitFor();
 
-                // Successfully navigated, break out of retry loop
-                break;
+            // Metrics tracking for empty pages
+            int emptyPagesCount = 0;
 
-            } catch (Exception e) {
-                navigationRetryCount++;
-                LOG.warnf("Navigation failed on attempt %d/%d: %s", navigationRetryCount, maxRetries, e.getMessage());
+            while (navigationRetryCount < maxRetries) {
+                try {
+                    LOG.infof("Navigating to base URL (attempt %d/%d): %s", navigationRetryCount + 1, maxRetries, baseUrl);
 
-                if (navigationRetryCount >= maxRetries) {
-                    LOG.errorf("Failed to navigate to base URL after %d attempts: %s", maxRetries, e.getMessage());
+                    // Navigate to the base URL with timeout handling
+                    try (PolitenessScheduler.Permit ignored = scheduler.acquire(host(baseUrl))) {
+                        driver.get(baseUrl);
+                    }
 
-                    // Try to reinitialize WebDriver as last resort
+                    // Wait for page to load with explicit timeout
                     try {
-                        LOG.info("Attempting WebDriver reinitialization as recovery measure");
-                        reinitializeWebDriver();
-                        driver.get(baseUrl);
                         wait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("body")));
-                        LOG.info("WebDriver reinitialization successful, navigation recovered");
-                        break;
-                    } catch (Exception recoveryException) {
-                        LOG.errorf("WebDriver recovery failed: %s", recoveryException.getMessage());
-                        return new ArrayList<>();
+                        LOG.debug("Page loaded successfully, body element found");
+                    } catch (TimeoutException e) {
+                        LOG.warnf("Timeout waiting for page body to load on attempt %d: %s", navigationRetryCount + 1,
+                                e.getMessage());
+                        if (navigationRetryCount < maxRetries - 1) {
+                            navigationRetryCount++;
+                            // Give the slow load a little longer before navigating again
+                            if (waitUntil(driver, PageConditions.documentReady(), 2000)) {
+                                LOG.debug("Page finished loading after the body timeout");
+                                break;
+                            }
+                            continue;
+                        } else {
+                            throw e;
+                        }
                     }
-                }
-
-                // Wait before retry
-                try {
-                    Thread.sleep(1000 * navigationRetryCount);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    LOG.warn("Navigation retry interrupted");
-                    return new ArrayList<>();
-                }
-            }
-        }
 
-        // Main pagination loop with comprehensive error handling
-        try {
-            int pageCount = 0;
-            boolean hasMorePages = true;
-            int consecutiveFailures = 0;
-            final int maxConsecutiveFailures = 3;
-            boolean earlyTerminated = false;
+                    // Successfully navigated, break out of retry loop
+                    break;
 
-            while (hasMorePages && pageCount < config.maxPages() && consecutiveFailures < maxConsecutiveFailures) {
-                pageCount++;
-                LOG.infof("Processing page %d (max: %d, consecutive failures: %d)", pageCount, config.maxPages(),
-                        consecutiveFailures);
+                } catch (InterruptedException e) {
+                    LOG.warn("Navigation interrupted");
+                    throw e;
+                } catch (Exception e) {
+                    navigationRetryCount++;
+                    LOG.warnf("Navigation failed on attempt %d/%d: %s", navigationRetryCount, maxRetries, e.getMessage());
 
-                try {
-                    // Extract links from current page
-                    List<String> currentPageLinks = extractCurrentPageLinks();
-                    int newLinksCount = 0;
+                    if (navigationRetryCount >= maxRetries) {
+                        LOG.errorf("Failed to navigate to base URL after %d attempts: %s", maxRetries, e.getMessage());
 
-                    for (String link : currentPageLinks) {
-                        if (link != null && !link.trim().isEmpty() && allLinks.add(link.trim())) {
-                            newLinksCount++;
+                        // Try a fresh browser as last resort
+                        try {
+                            LOG.info("Attempting navigation in a fresh browser session as recovery measure");
+                            session.invalidate();
+                            session.close();
+                            session = browserPool.lease();
+                            driver = session.driver();
+                            wait = session.waitFor();
+                            driver.get(baseUrl);
+                            wait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("body")));
+                            LOG.info("Fresh browser session successful, navigation recovered");
+                            break;
+                        } catch (InterruptedException ie) {
+                            throw ie;
+                        } catch (Exception recoveryException) {
+                            LOG.errorf("WebDriver recovery failed: %s", recoveryException.getMessage());
+                            return 0;
                         }
                     }
 
-                    LOG.infof("Found %d new article links on page %d (total: %d)",
-                            newLinksCount, pageCount, allLinks.size());
-
-                    // Track empty pages for metrics
-                    if (newLinksCount == 0) {
-                        emptyPagesCount++;
-                        LOG.debugf("Empty page detected: page %d had no new articles (total empty pages: %d)",
-                                pageCount, emptyPagesCount);
+                    // Let the browser settle before retrying
+                    try {
+                        waitUntil(driver, PageConditions.networkIdle(config.crawling().networkIdle()),
+                                1000L * navigationRetryCount);
+                    } catch (InterruptedException ie) {
+                        LOG.warn("Navigation retry interrupted");
+                        throw ie;
                     }
+                }
+            }
 
-                    // Check for early termination if no new articles found
-                    if (config.crawling().earlyTerminationEnabled() && newLinksCount == 0) {
-                        LOG.infof(
-                                "Early termination triggered: No new articles found on page %d (early termination enabled)",
-                                pageCount);
-                        LOG.infof("Stopping pagination to prevent unnecessary crawling. Total articles collected: %d",
-                                allLinks.size());
-                        earlyTerminated = true;
-                        break;
-                    }
+            // Main pagination loop with comprehensive error handling
+            try {
+                int pageCount = 0;
+                boolean hasMorePages = true;
+                int consecutiveFailures = 0;
+                final int maxConsecutiveFailures = 3;
+                boolean earlyTerminated = false;
+                boolean stoppedByListener = false;
+
+                while (hasMorePages && pageCount < config.maxPages() && consecutiveFailures < maxConsecutiveFailures) {
+                    pageCount++;
+                    LOG.infof("Processing page %d (max: %d, consecutive failures: %d)", pageCount, config.maxPages(),
+                            consecutiveFailures);
 
-                    // Reset consecutive failures on successful page processing
-                    if (newLinksCount > 0 || currentPageLinks.size() > 0) {
-                        consecutiveFailures = 0;
-                    }
+                    try {
+                        // Extract links from current page
+                        List<String> currentPageLinks = extractCurrentPageLinks(driver, wait);
+                        List<String> newLinks = new ArrayList<>();
+
+                        for (String link : currentPageLinks) {
+                            if (link != null && !link.trim().isEmpty() && allLinks.add(link.trim())) {
+                                newLinks.add(link.trim());
+                            }
+                        }
+                        int newLinksCount = newLinks.size();
 
-                    // Try to load more articles
-                    hasMorePages = loadMoreArticles();
+                        LOG.infof("Found %d new article links on page %d (total: %d)",
+                                newLinksCount, pageCount, allLinks.size());
 
-                    if (hasMorePages) {
-                        // Wait for content to load with configurable delay
-                        try {
-                            Thread.sleep(config.crawling().pageDelay());
-                        } catch (InterruptedException ie) {
-                            Thread.currentThread().interrupt();
-                            LOG.warn("Page delay interrupted, stopping pagination");
+                        // Track empty pages for metrics
+                        if (newLinksCount == 0) {
+                            emptyPagesCount++;
+                            LOG.debugf("Empty page detected: page %d had no new articles (total empty pages: %d)",
+                                    pageCount, emptyPagesCount);
+                        }
+
+                        // Hand the page over before loading the next one
+                        if (newLinksCount > 0 && !listener.onPageLinks(pageCount, newLinks)) {
+                            LOG.infof("Navigation stopped by the link listener after page %d", pageCount);
+                            stoppedByListener = true;
                             break;
                         }
-                    }
 
-                } catch (Exception pageException) {
-                    consecutiveFailures++;
-                    LOG.warnf("Error processing page %d (consecutive failures: %d/%d): %s",
-                            pageCount, consecutiveFailures, maxConsecutiveFailures, pageException.getMessage());
+                        // Check for early termination if no new articles found
+                        if (config.crawling().earlyTerminationEnabled() && newLinksCount == 0) {
+                            LOG.infof(
+                                    "Early termination triggered: No new articles found on page %d (early termination enabled)",
+                                    pageCount);
+                            LOG.infof("Stopping pagination to prevent unnecessary crawling. Total articles collected: %d",
+                                    allLinks.size());
+                            earlyTerminated = true;
+                            break;
+                        }
 
-                    if (consecutiveFailures >= maxConsecutiveFailures) {
-                        LOG.errorf("Too many consecutive page processing failures (%d), stopping pagination",
-                                consecutiveFailures);
-                        break;
-                    }
+                        // Reset consecutive failures on successful page processing
+                        if (newLinksCount > 0 || currentPageLinks.size() > 0) {
+                            consecutiveFailures = 0;
+                        }
+
+                        // Try to load more articles, paced like any other request to the site
+                        hasMorePages = loadMoreArticles(driver, host(baseUrl));
 
-                    // Try to recover by waiting and continuing
-                    try {
-                        Thread.sleep(2000);
                     } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        LOG.warn("Recovery wait interrupted");
-                        break;
+                        LOG.warn("Link collection interrupted, stopping pagination");
+                        throw ie;
+                    } catch (Exception pageException) {
+                        consecutiveFailures++;
+                        LOG.warnf("Error processing page %d (consecutive failures: %d/%d): %s",
+                                pageCount, consecutiveFailures, maxConsecutiveFailures, pageException.getMessage());
+
+                        if (consecutiveFailures >= maxConsecutiveFailures) {
+                            LOG.errorf("Too many consecutive page processing failures (%d), stopping pagination",
+                                    consecutiveFailures);
+                            break;
+                        }
+
+                        // Try to recover by letting the page settle and continuing
+                        try {
+                            waitUntil(driver, PageConditions.networkIdle(config.crawling().networkIdle()), 2000);
+                        } catch (InterruptedException ie) {
+                            LOG.warn("Recovery wait interrupted");
+                            throw ie;
+                        }
                     }
                 }
-            }
 
-            // Log completion status with detailed reason
-            if (earlyTerminated) {
-                LOG.infof(
-                        "Pagination completed - early termination due to no new articles found (optimization enabled)");
-            } else if (pageCount >= config.maxPages()) {
-                LOG.infof("Pagination completed - reached maximum pages limit (%d)", config.maxPages());
-            } else if (consecutiveFailures >= maxConsecutiveFailures) {
-                LOG.warnf("Pagination stopped due to consecutive failures (%d)", consecutiveFailures);
-            } else {
-                LOG.infof("Pagination completed naturally - no more pages available");
-            }
+                // Log completion status with detailed reason
+                if (stoppedByListener) {
+                    LOG.infof("Pagination completed - stopped once the listener knew all links of a page");
+                } else if (earlyTerminated) {
+                    LOG.infof(
+                            "Pagination completed - early termination due to no new articles found (optimization enabled)");
+                } else if (pageCount >= config.maxPages()) {
+                    LOG.infof("Pagination completed - reached maximum pages limit (%d)", config.maxPages());
+                } else if (consecutiveFailures >= maxConsecutiveFailures) {
+                    LOG.warnf("Pagination stopped due to consecutive failures (%d)", consecutiveFailures);
+                } else {
+                    LOG.infof("Pagination completed naturally - no more pages available");
+                }
 
-            LOG.infof("Link collection completed. Total unique article links found: %d", allLinks.size());
-            LOG.infof("Pagination metrics: %d pages processed, %d empty pages encountered", pageCount, emptyPagesCount);
+                LOG.infof("Link collection completed. Total unique article links found: %d", allLinks.size());
+                LOG.infof("Pagination metrics: %d pages processed, %d empty pages encountered", pageCount, emptyPagesCount);
 
-        } catch (Exception e) {
-            LOG.errorf("Critical error during pagination process: %s", e.getMessage(), e);
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                LOG.errorf("Critical error during pagination process: %s", e.getMessage(), e);
 
-            // Log additional context for debugging
-            LOG.debugf("Error context - Current page count: %d, Total links collected: %d, WebDriver status: %s",
-                    0, allLinks.size(), driver != null ? "Available" : "Null");
-        }
+                // Log additional context for debugging
+                LOG.debugf("Error context - Current page count: %d, Total links collected: %d", 0, allLinks.size());
+            }
 
-        // Validate results before returning
-        List<String> result = new ArrayList<>(allLinks);
-        if (result.isEmpty()) {
-            LOG.warn(
-                    "No article links were collected - this may indicate a problem with the site structure or selectors");
-        } else {
-            LOG.infof("Successfully collected %d unique article links", result.size());
+            return allLinks.size();
+        } finally {
+            session.close();
         }
-
-        return result;
     }
 
     /**
@@ -274,17 +343,11 @@ public class CaspitPageNavigator {
      * 
      * @return List of article URLs found on the current page
      */
-    private List<String> extractCurrentPageLinks() {
+    private List<String> extractCurrentPageLinks(WebDriver driver, WebDriverWait wait) {
         List<String> links = new ArrayList<>();
         int maxRetries = 2;
         int retryCount = 0;
 
-        // Validate WebDriver state
-        if (driver == null) {
-            LOG.error("WebDriver is null, cannot extract links from current page");
-            return links;
-        }
-
         while (retryCount < maxRetries) {
             try {
                 LOG.debugf("Extracting links from current page (attempt %d/%d)", retryCount + 1, maxRetries);
@@ -296,7 +359,7 @@ public class CaspitPageNavigator {
                     LOG.warnf("Timeout waiting for page body during link extraction (attempt %d)", retryCount + 1);
                     if (retryCount < maxRetries - 1) {
                         retryCount++;
-                        Thread.sleep(1000);
+                        waitUntil(driver, PageConditions.documentReady(), 1000);
                         continue;
                     }
                     throw e;
@@ -354,17 +417,7 @@ public class CaspitPageNavigator {
                 if (links.isEmpty()) {
                     LOG.debug("No articles found in four-articles-in-row sections, trying fallback selectors");
 
-                    String[] fallbackSelectors = {
-                            "article a",
-                            ".article-item a",
-                            ".story-item a",
-                            ".item-title a",
-                            ".article-link",
-                            ".news-item a",
-                            ".content-item a"
-                    };
-
-                    for (String selector : fallbackSelectors) {
+                    for (String selector : FALLBACK_LINK_SELECTORS) {
                         try {
                             List<WebElement> fallbackElements = driver.findElements(By.cssSelector(selector));
                             LOG.debugf("Fallback selector '%s' found %d elements", selector, fallbackElements.size());
@@ -411,9 +464,9 @@ public class CaspitPageNavigator {
                     break;
                 }
 
-                // Wait before retry
+                // Let the page settle before retrying
                 try {
-                    Thread.sleep(1000);
+                    waitUntil(driver, PageConditions.networkIdle(config.crawling().networkIdle()), 1000);
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
                     LOG.warn("Link extraction retry interrupted");
@@ -434,16 +487,12 @@ public class CaspitPageNavigator {
 
     /**
      * Attempt to load more articles by clicking pagination buttons or "load more"
-     * buttons with comprehensive error handling
+     * buttons with comprehensive error handling. Only the click or scroll that makes
+     * the page request more articles holds a permit of the host, not the waits for them.
      * 
      * @return true if more content was loaded, false if no more pages available
      */
-    private boolean loadMoreArticles() {
-        if (driver == null) {
-            LOG.error("WebDriver is null, cannot attempt to load more articles");
-            return false;
-        }
-
+    private boolean loadMoreArticles(WebDriver driver, String host) {
         try {
             LOG.debug("Attempting to load more articles using various strategies");
 
@@ -476,16 +525,24 @@ public class CaspitPageNavigator {
                             ((org.openqa.selenium.JavascriptExecutor) driver)
                                     .executeScript("arguments[0].scrollIntoView(true);", loadMoreButton);
 
-                            // Wait a moment for any animations
-                            Thread.sleep(500);
+                            // Wait for any animations to leave the button clickable
+                            waitUntil(driver, ExpectedConditions.elementToBeClickable(loadMoreButton), 500);
 
                             // Click the button
-                            loadMoreButton.click();
+                            long articlesBefore = PageConditions.articleCount(driver);
+                            paced(host, loadMoreButton::click);
                             LOG.infof("Successfully clicked load more button: %s", selector);
 
-                            // Wait for new content to load with timeout
+                            // Wait for new content to load, at most the page delay
                             int waitTime = Math.max(config.crawling().pageDelay(), 1000);
-                            Thread.sleep(waitTime);
+                            if (waitUntil(driver, ExpectedConditions.or(
+                                    PageConditions.articleCountIncreased(articlesBefore),
+                                    ExpectedConditions.invisibilityOf(loadMoreButton)), waitTime)) {
+                                // The batch may still be rendering, take it once the page is quiet
+                                waitUntil(driver, PageConditions.networkIdle(config.crawling().networkIdle()), waitTime);
+                            } else {
+                                LOG.debugf("No new articles appeared within %dms of clicking load more", waitTime);
+                            }
 
                             // Verify that content actually loaded by checking if button is still there
                             // If button disappeared, content likely loaded
@@ -503,6 +560,10 @@ public class CaspitPageNavigator {
                             LOG.debug("Load more button still present after click - assuming content loaded");
                             return true;
 
+                        } catch (InterruptedException ie) {
+                            Thread.currentThread().interrupt();
+                            LOG.warn("Waiting for more articles interrupted");
+                            return false;
                         } catch (Exception clickException) {
                             LOG.warnf("Error clicking load more button '%s': %s", selector,
                                     clickException.getMessage());
@@ -524,7 +585,7 @@ public class CaspitPageNavigator {
 
             LOG.debug("No clickable load more buttons found, trying infinite scroll");
             // If no load more button found, try scrolling to trigger infinite scroll
-            return tryInfiniteScroll();
+            return tryInfiniteScroll(driver, host);
 
         } catch (Exception e) {
             LOG.warnf("Critical error attempting to load more articles: %s", e.getMessage());
@@ -548,12 +609,7 @@ public class CaspitPageNavigator {
      * 
      * @return true if new content appears to have loaded
      */
-    private boolean tryInfiniteScroll() {
-        if (driver == null) {
-            LOG.error("WebDriver is null, cannot attempt infinite scroll");
-            return false;
-        }
-
+    private boolean tryInfiniteScroll(WebDriver driver, String host) {
         try {
             LOG.debug("Attempting infinite scroll to load more content");
 
@@ -582,25 +638,40 @@ public class CaspitPageNavigator {
 
             // Perform scroll with multiple strategies
             try {
+                ExpectedCondition<Boolean> contentGrew = ExpectedConditions.or(
+                        PageConditions.scrollHeightChanged(initialHeight),
+                        PageConditions.articleCountIncreased(PageConditions.articleCount(driver)));
+
                 // Strategy 1: Scroll to bottom
-                jsExecutor.executeScript("window.scrollTo(0, document.body.scrollHeight);");
+                paced(host, () -> jsExecutor.executeScript("window.scrollTo(0, document.body.scrollHeight);"));
                 LOG.debug("Executed scroll to bottom");
 
-                // Wait for potential new content with configurable delay
+                // Wait for new content, at most the configured scroll delay
                 int scrollDelay = Math.max(config.crawling().scrollDelay(), 1000);
-                Thread.sleep(scrollDelay);
+                boolean grew = waitUntil(driver, contentGrew, scrollDelay);
 
                 // Strategy 2: Additional scroll attempts if needed
-                for (int i = 0; i < 3; i++) {
+                for (int i = 0; i < 3 && !grew; i++) {
                     try {
                         // Scroll down by viewport height
-                        jsExecutor.executeScript("window.scrollBy(0, window.innerHeight);");
-                        Thread.sleep(500);
+                        paced(host, () -> jsExecutor.executeScript("window.scrollBy(0, window.innerHeight);"));
+                        grew = waitUntil(driver, contentGrew, 500);
+                    } catch (InterruptedException ie) {
+                        throw ie;
                     } catch (Exception scrollException) {
                         LOG.debugf("Error in additional scroll attempt %d: %s", i + 1, scrollException.getMessage());
                     }
                 }
 
+                if (grew) {
+                    // The batch may still be rendering, measure it once the page is quiet
+                    waitUntil(driver, PageConditions.networkIdle(config.crawling().networkIdle()), scrollDelay);
+                }
+
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                LOG.warn("Waiting for infinite scroll content interrupted");
+                return false;
             } catch (Exception scrollException) {
                 LOG.warnf("Error during scroll execution: %s", scrollException.getMessage());
                 return false;
@@ -649,13 +720,59 @@ public class CaspitPageNavigator {
         }
     }
 
+    /**
+     * Run a page action that requests content from the host under one of its permits
+     *
+     * @throws InterruptedException if interrupted while waiting for the permit
+     */
+    private void paced(String host, Runnable action) throws InterruptedException {
+        try (PolitenessScheduler.Permit ignored = scheduler.acquire(host)) {
+            action.run();
+        }
+    }
+
+    /**
+     * Wait until the condition holds, at most {@code maxMillis}
+     *
+     * @return true if the condition held in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static boolean waitUntil(WebDriver driver, ExpectedCondition<?> condition, long maxMillis)
+            throws InterruptedException {
+        try {
+            new WebDriverWait(driver, Duration.ofMillis(maxMillis), CONDITION_POLL_INTERVAL).until(condition);
+            return true;
+        } catch (TimeoutException e) {
+            LOG.debugf("Gave up after %dms waiting for %s", maxMillis, condition);
+            return false;
+        } catch (WebDriverException e) {
+            // WebDriverWait reports an interrupted wait as a WebDriverException
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Interrupted waiting for " + condition);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Host the politeness scheduler paces the page's requests under
+     */
+    private static String host(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
     /**
      * Check if a URL appears to be a valid article URL
      * 
      * @param url The URL to validate
      * @return true if the URL appears to be an article
      */
-    private boolean isValidArticleUrl(String url) {
+    static boolean isValidArticleUrl(String url) {
         if (url == null || url.isEmpty()) {
             return false;
         }
@@ -683,123 +800,10 @@ public class CaspitPageNavigator {
     }
 
     /**
-     * Setup Chrome WebDriver with appropriate options
-     */
-    private void setupWebDriver() {
-        int maxRetries = 3;
-        int retryCount = 0;
-        Exception lastException = null;
-
-        while (retryCount < maxRetries) {
-            try {
-                LOG.infof("Initializing WebDriver (attempt %d/%d)", retryCount + 1, maxRetries);
-
-                // Setup WebDriverManager to handle Chrome driver
-                WebDriverManager.chromedriver().setup();
-                LOG.debug("WebDriverManager setup completed");
-
-                // Configure Chrome options
-                ChromeOptions options = new ChromeOptions();
-
-                // Configure headless mode based on configuration
-                if (config.webdriver().headless()) {
-                    options.addArguments("--headless");
-                    LOG.debug("WebDriver configured for headless mode");
-                }
-
-                // Add stability and security options
-                options.addArguments("--no-sandbox");
-                options.addArguments("--disable-dev-shm-usage");
-                options.addArguments("--disable-gpu");
-                options.addArguments("--disable-extensions");
-                options.addArguments("--disable-plugins");
-                options.addArguments("--disable-images");
-                options.addArguments("--disable-javascript");
-                options.addArguments("--disable-web-security");
-                options.addArguments("--ignore-certificate-errors");
-                options.addArguments("--ignore-ssl-errors");
-                options.addArguments("--allow-running-insecure-content");
-                options.addArguments(String.format("--window-size=%d,%d",
-                        config.webdriver().windowWidth(), config.webdriver().windowHeight()));
-                options.addArguments("--user-agent=" + config.webdriver().userAgent());
-
-                LOG.debugf("Chrome options configured: headless=%s, window-size=%dx%d",
-                        config.webdriver().headless(),
-                        config.webdriver().windowWidth(),
-                        config.webdriver().windowHeight());
-
-                // Create WebDriver instance
-                driver = new ChromeDriver(options);
-                LOG.debug("ChromeDriver instance created successfully");
-
-                // Configure timeouts with validation
-                Duration pageLoadTimeout = Duration.ofMillis(Math.max(config.pageLoadTimeout(), 5000));
-                Duration implicitWaitTimeout = Duration.ofSeconds(Math.max(config.webdriver().implicitWait(), 1));
-                Duration elementWaitTimeout = Duration.ofSeconds(Math.max(config.webdriver().elementWait(), 3));
-
-                driver.manage().timeouts().pageLoadTimeout(pageLoadTimeout);
-                driver.manage().timeouts().implicitlyWait(implicitWaitTimeout);
-
-                LOG.debugf("WebDriver timeouts configured: pageLoad=%dms, implicitWait=%ds",
-                        pageLoadTimeout.toMillis(), implicitWaitTimeout.getSeconds());
-
-                // Create WebDriverWait instance
-                wait = new WebDriverWait(driver, elementWaitTimeout);
-
-                LOG.infof("Chrome WebDriver initialized successfully on attempt %d", retryCount + 1);
-                return; // Success, exit retry loop
-
-            } catch (Exception e) {
-                lastException = e;
-                retryCount++;
-
-                LOG.warnf("WebDriver initialization failed on attempt %d/%d: %s",
-                        retryCount, maxRetries, e.getMessage());
-
-                // Clean up any partially created driver
-                if (driver != null) {
-                    try {
-                        driver.quit();
-                        LOG.debug("Cleaned up partially initialized WebDriver");
-                    } catch (Exception cleanupException) {
-                        LOG.debugf("Error during WebDriver cleanup: %s", cleanupException.getMessage());
-                    }
-                    driver = null;
-                }
-
-                // Wait before retry (exponential backoff)
-                if (retryCount < maxRetries) {
-                    try {
-                        long waitTime = 1000L * retryCount; // 1s, 2s, 3s
-                        LOG.debugf("Waiting %dms before retry", waitTime);
-                        Thread.sleep(waitTime);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        LOG.warn("WebDriver initialization retry interrupted");
-                        break;
-                    }
-                }
-            }
-        }
-
-        // All retries failed
-        String errorMessage = String.format("Failed to initialize WebDriver after %d attempts", maxRetries);
-        LOG.errorf("%s. Last error: %s", errorMessage,
-                lastException != null ? lastException.getMessage() : "Unknown error");
-
-        if (lastException != null) {
-            throw new RuntimeException(errorMessage, lastException);
-        } else {
-            throw new RuntimeException(errorMessage);
-        }
-    }
-
-    /**
-     * Reinitialize WebDriver if needed (for error recovery)
+     * Replace the idle browser sessions (for error recovery)
      */
     public void reinitializeWebDriver() {
         LOG.info("Reinitializing WebDriver");
-        cleanup();
-        setupWebDriver();
+        browserPool.recycleIdle();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,153 @@
+package ai.falsify.crawlers;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+/**
+ * Expected conditions the navigator waits on instead of fixed delays, so each step goes on
+ * as soon as the page changed. All conditions read the page through JavaScript, which is
+ * not slowed down by the driver's implicit wait, and are false while the page can not be
+ * read.
+ */
+final class PageConditions {
+
+    /**
+     * Links the navigator collects articles from, in the four-articles-in-row sections and
+     * the fallback listings
+     */
+    static final String ARTICLE_LINKS_SELECTOR =
+            "section.four-articles-in-row a, article a, .article-item a, .story-item a, .news-item a";
+
+    private static final String ARTICLE_COUNT_SCRIPT =
+            "return document.querySelectorAll(arguments[0]).length;";
+
+    private static final String SCROLL_HEIGHT_SCRIPT =
+            "return document.body ? document.body.scrollHeight : 0;";
+
+    private static final String READY_STATE_SCRIPT =
+            "return document.readyState;";
+
+    // Installs the observers once per document and answers how long the page has been quiet
+    private static final String QUIET_TIME_SCRIPT = """
+            var activity = window.__falsifyActivity;
+            if (!activity) {
+                activity = window.__falsifyActivity = { last: performance.now() };
+                var touch = function () { activity.last = performance.now(); };
+                new MutationObserver(touch).observe(document, { childList: true, subtree: true });
+                if (window.PerformanceObserver) {
+                    try {
+                        new PerformanceObserver(touch).observe({ type: 'resource' });
+                    } catch (e) {
+                        // resource timing not observable, DOM changes still count
+                    }
+                }
+            }
+            return performance.now() - activity.last;
+            """;
+
+    private PageConditions() {
+    }
+
+    /**
+     * Number of article links on the page, -1 if the page can not be read
+     */
+    static long articleCount(WebDriver driver) {
+        return number(driver, ARTICLE_COUNT_SCRIPT, ARTICLE_LINKS_SELECTOR);
+    }
+
+    /**
+     * Height of the page body in pixels, -1 if the page can not be read
+     */
+    static long scrollHeight(WebDriver driver) {
+        return number(driver, SCROLL_HEIGHT_SCRIPT);
+    }
+
+    /**
+     * More article links are on the page than {@code before}
+     */
+    static ExpectedCondition<Boolean> articleCountIncreased(long before) {
+        return new ExpectedCondition<>() {
+            @Override
+            public Boolean apply(WebDriver driver) {
+                return articleCount(driver) > before;
+            }
+
+            @Override
+            public String toString() {
+                return "article count to exceed " + before;
+            }
+        };
+    }
+
+    /**
+     * The page body is no longer {@code before} pixels high
+     */
+    static ExpectedCondition<Boolean> scrollHeightChanged(long before) {
+        return new ExpectedCondition<>() {
+            @Override
+            public Boolean apply(WebDriver driver) {
+                long height = scrollHeight(driver);
+                return height >= 0 && height != before;
+            }
+
+            @Override
+            public String toString() {
+                return "scroll height to change from " + before;
+            }
+        };
+    }
+
+    /**
+     * The document finished loading
+     */
+    static ExpectedCondition<Boolean> documentReady() {
+        return new ExpectedCondition<>() {
+            @Override
+            public Boolean apply(WebDriver driver) {
+                return "complete".equals(script(driver, READY_STATE_SCRIPT));
+            }
+
+            @Override
+            public String toString() {
+                return "document to be ready";
+            }
+        };
+    }
+
+    /**
+     * Neither the DOM changed nor a request completed for {@code quietMillis}. The observers
+     * are installed on first evaluation, so a page is quiet at the earliest
+     * {@code quietMillis} after the wait started.
+     */
+    static ExpectedCondition<Boolean> networkIdle(long quietMillis) {
+        return new ExpectedCondition<>() {
+            @Override
+            public Boolean apply(WebDriver driver) {
+                Object quiet = script(driver, QUIET_TIME_SCRIPT);
+                return quiet instanceof Number number && number.doubleValue() >= quietMillis;
+            }
+
+            @Override
+            public String toString() {
+                return "page to be quiet for " + quietMillis + " ms";
+            }
+        };
+    }
+
+    private static long number(WebDriver driver, String script, Object... args) {
+        Object value = script(driver, script, args);
+        return value instanceof Number number ? number.longValue() : -1;
+    }
+
+    private static Object script(WebDriver driver, String script, Object... args) {
+        if (!(driver instanceof JavascriptExecutor executor)) {
+            return null;
+        }
+        try {
+            return executor.executeScript(script, args);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package ai.falsify.crawlers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BrowserPool with mocked browsers.
+ */
+@ExtendWith(MockitoExtension.class)
+class BrowserPoolTest {
+
+    @Mock(lenient = true)
+    private CaspitCrawlerConfig config;
+
+    @Mock(lenient = true)
+    private CaspitCrawlerConfig.WebDriverConfig webDriverConfig;
+
+    @Mock(lenient = true)
+    private CaspitCrawlerConfig.BrowserPoolConfig poolConfig;
+
+    private final List<WebDriver> launched = new ArrayList<>();
+
+    private BrowserPool pool;
+
+    @BeforeEach
+    void setUp() {
+        when(config.webdriver()).thenReturn(webDriverConfig);
+        when(config.browserPool()).thenReturn(poolConfig);
+        when(webDriverConfig.elementWait()).thenReturn(3);
+        when(poolConfig.size()).thenReturn(2);
+        when(poolConfig.warmSessions()).thenReturn(1);
+        when(poolConfig.maxNavigations()).thenReturn(3);
+        when(poolConfig.maxMemoryMb()).thenReturn(100);
+        when(poolConfig.leaseTimeout()).thenReturn(1000);
+
+        pool = new BrowserPool(config, () -> {
+            WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+            launched.add(driver);
+            return driver;
+        });
+    }
+
+    @Test
+    @DisplayName("Should reuse a returned session")
+    void testSessionReused() throws InterruptedException {
+        WebDriver first;
+        try (BrowserPool.Session session = pool.lease()) {
+            first = session.driver();
+        }
+        try (BrowserPool.Session session = pool.lease()) {
+            assertSame(first, session.driver());
+        }
+
+        assertEquals(1, launched.size());
+        assertEquals(1, pool.idleSessions());
+        verify(first, never()).quit();
+    }
+
+    @Test
+    @DisplayName("Should start sessions ahead of the first lease")
+    void testWarmUp() throws InterruptedException {
+        pool.warmUp(1);
+
+        assertEquals(1, launched.size());
+        assertEquals(1, pool.idleSessions());
+        try (BrowserPool.Session session = pool.lease()) {
+            assertSame(launched.get(0), session.driver());
+        }
+        assertEquals(1, launched.size());
+    }
+
+    @Test
+    @DisplayName("Should recycle a session after the maximum number of navigations")
+    void testRecycledAfterMaxNavigations() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            pool.lease().close();
+        }
+
+        assertEquals(1, launched.size());
+        verify(launched.get(0)).quit();
+        assertEquals(0, pool.liveSessions());
+
+        pool.lease().close();
+        assertEquals(2, launched.size());
+    }
+
+    @Test
+    @DisplayName("Should recycle a session whose page heap outgrew the limit")
+    void testRecycledOnMemoryGrowth() throws InterruptedException {
+        BrowserPool.Session session = pool.lease();
+        when(((JavascriptExecutor) session.driver()).executeScript(anyString())).thenReturn(200L * 1024 * 1024);
+        session.close();
+
+        verify(session.driver()).quit();
+        assertEquals(0, pool.idleSessions());
+    }
+
+    @Test
+    @DisplayName("Should replace invalidated and unhealthy sessions")
+    void testBrokenSessionsReplaced() throws InterruptedException {
+        BrowserPool.Session invalidated = pool.lease();
+        invalidated.invalidate();
+        invalidated.close();
+        verify(invalidated.driver()).quit();
+
+        BrowserPool.Session crashed = pool.lease();
+        when(crashed.driver().getWindowHandle()).thenThrow(new NoSuchSessionException("browser crashed"));
+        crashed.close();
+
+        try (BrowserPool.Session session = pool.lease()) {
+            assertNotSame(crashed.driver(), session.driver());
+        }
+        verify(crashed.driver()).quit();
+        assertEquals(3, launched.size());
+        assertEquals(1, pool.liveSessions());
+    }
+
+    @Test
+    @DisplayName("Should not lease more sessions than the pool size")
+    void testLeaseTimeout() throws InterruptedException {
+        BrowserPool.Session first = pool.lease();
+        BrowserPool.Session second = pool.lease();
+
+        assertThrows(IllegalStateException.class, pool::lease);
+
+        first.close();
+        first.close();
+        try (BrowserPool.Session third = pool.lease()) {
+            assertSame(first.driver(), third.driver());
+        }
+        second.close();
+        assertEquals(2, pool.idleSessions());
+    }
+
+    @Test
+    @DisplayName("Should count leased sessions against the pool size when warming up")
+    void testWarmUpWithinPoolSize() throws InterruptedException {
+        BrowserPool.Session leased = pool.lease();
+
+        pool.warmUp(2);
+
+        assertEquals(2, launched.size());
+        assertEquals(2, pool.liveSessions());
+        assertEquals(1, pool.idleSessions());
+
+        try (BrowserPool.Session warmed = pool.lease()) {
+            assertSame(launched.get(1), warmed.driver());
+        }
+        leased.close();
+        assertEquals(2, pool.liveSessions());
+        assertEquals(2, launched.size());
+    }
+
+    @Test
+    @DisplayName("Should quit idle sessions when recycled or closed")
+    void testRecycleAndClose() throws InterruptedException {
+        pool.lease().close();
+        pool.recycleIdle();
+        verify(launched.get(0)).quit();
+
+        BrowserPool.Session session = pool.lease();
+        pool.close();
+        session.close();
+
+        verify(launched.get(1)).quit();
+        assertEquals(0, pool.liveSessions());
+        assertThrows(IllegalStateException.class, pool::lease);
+    }
+}
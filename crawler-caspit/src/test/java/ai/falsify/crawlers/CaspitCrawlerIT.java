@@ -124,10 +124,10 @@ class CaspitCrawlerIT {
             for (ArticleEntity article : persistedArticles) {
                 assertNotNull(article.url, "Article URL should not be null");
                 assertNotNull(article.title, "Article title should not be null");
-                assertNotNull(article.text, "Article text should not be null");
+                assertNotNull(article.getText(), "Article text should not be null");
                 assertFalse(article.url.trim().isEmpty(), "Article URL should not be empty");
                 assertFalse(article.title.trim().isEmpty(), "Article title should not be empty");
-                assertFalse(article.text.trim().isEmpty(), "Article text should not be empty");
+                assertFalse(article.getText().trim().isEmpty(), "Article text should not be empty");
                 
                 System.out.println("Verified article: " + article.title + " (ID: " + article.id + ")");
             }
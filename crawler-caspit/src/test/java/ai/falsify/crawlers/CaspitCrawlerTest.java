@@ -1,5 +1,6 @@
 package ai.falsify.crawlers;
 
+import ai.falsify.crawlers.common.config.CrawlerConfiguration;
 import ai.falsify.crawlers.common.model.Article;
 import ai.falsify.crawlers.common.model.ArticleEntity;
 import ai.falsify.crawlers.common.model.CrawlResult;
@@ -8,6 +9,7 @@ import ai.falsify.crawlers.common.exception.CrawlingException;
 
 import io.quarkus.redis.datasource.RedisDataSource;
 import io.quarkus.redis.datasource.string.StringCommands;
+import io.smallrye.config.SmallRyeConfigBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +19,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,6 +43,9 @@ class CaspitCrawlerTest {
     @Mock(lenient = true)
     private CaspitPageNavigator navigator;
 
+    @Mock(lenient = true)
+    private CaspitListingDiscovery listingDiscovery;
+
     @Mock(lenient = true)
     private ai.falsify.crawlers.common.service.redis.DeduplicationService deduplicationService;
 
@@ -49,6 +55,12 @@ class CaspitCrawlerTest {
     @Mock(lenient = true)
     private ai.falsify.crawlers.common.service.RetryService retryService;
 
+    @Mock(lenient = true)
+    private ai.falsify.crawlers.common.service.ArticleService articleService;
+
+    @Mock(lenient = true)
+    private ai.falsify.crawlers.common.service.http.FetchService fetchService;
+
     @Mock(lenient = true)
     private CaspitCrawlerConfig config;
 
@@ -61,10 +73,13 @@ class CaspitCrawlerTest {
     @Mock(lenient = true)
     private CaspitCrawlerConfig.AuthorConfig authorConfig;
 
+    @Mock(lenient = true)
+    private CaspitCrawlerConfig.DiscoveryConfig discoveryConfig;
+
     private CaspitCrawler crawler;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws Exception {
         // Setup config mocks
         when(config.baseUrl()).thenReturn("https://www.maariv.co.il/Ben-Caspit/ExpertAuthor-10");
         when(config.webdriver()).thenReturn(webDriverConfig);
@@ -73,6 +88,8 @@ class CaspitCrawlerTest {
         when(crawlingConfig.connectionTimeout()).thenReturn(10000);
         when(crawlingConfig.minContentLength()).thenReturn(100);
         when(config.crawlerSource()).thenReturn("caspit");
+        when(config.discovery()).thenReturn(discoveryConfig);
+        when(discoveryConfig.mode()).thenReturn(CaspitCrawlerConfig.DiscoveryMode.BROWSER);
 
         // Setup author config mock
         when(config.author()).thenReturn(authorConfig);
@@ -83,23 +100,32 @@ class CaspitCrawlerTest {
         // Setup Redis mock
         when(redisDataSource.string(String.class)).thenReturn(redis);
 
+        // Article pages are not found
+        when(fetchService.fetch(anyString(), anyBoolean())).thenAnswer(invocation -> {
+            throw ai.falsify.crawlers.common.exception.NetworkException.invalidResponse(invocation.getArgument(0), 404);
+        });
+
+        CrawlerConfiguration crawlerConfig = new SmallRyeConfigBuilder()
+                .withMapping(CrawlerConfiguration.class)
+                .build()
+                .getConfigMapping(CrawlerConfiguration.class);
+
         // Create crawler instance with mocked dependencies
-        crawler = new CaspitCrawler(deduplicationService, contentValidator, retryService, navigator, config);
+        crawler = new CaspitCrawler(deduplicationService, contentValidator, retryService, articleService, navigator,
+                listingDiscovery, fetchService, config, crawlerConfig);
     }
 
     @Test
-    void testCrawlSuccessfulFlow() throws IOException, CrawlingException {
+    void testCrawlSuccessfulFlow() throws Exception {
         // Arrange
         List<String> articleUrls = Arrays.asList(
                 "https://www.maariv.co.il/Ben-Caspit/article-1",
                 "https://www.maariv.co.il/Ben-Caspit/article-2");
 
-        when(navigator.getAllArticleLinks(anyString())).thenReturn(articleUrls);
-        when(deduplicationService.isNewUrl(anyString(), anyString())).thenReturn(true);
-        doAnswer(invocation -> {
-            java.util.function.Supplier<?> supplier = invocation.getArgument(0);
-            return supplier.get();
-        }).when(retryService).executeWithRetry(any(java.util.function.Supplier.class), anyString(), any(Class.class));
+        stubNavigatorPages(articleUrls);
+        when(deduplicationService.isNewUrls(anyString(), anyList(), isNull(), anyString()))
+                .thenAnswer(invocation -> new LinkedHashSet<String>(invocation.getArgument(1)));
+        stubRetryPassThrough();
 
 
         // Act
@@ -110,8 +136,9 @@ class CaspitCrawlerTest {
         assertEquals(2, result.totalArticlesFound());
         assertEquals(2, result.articlesFailed()); // Articles fail to fetch due to 404
         assertEquals(0, result.articlesProcessed()); // No articles successfully processed
-        verify(navigator).getAllArticleLinks(config.baseUrl());
-        verify(deduplicationService, times(2)).isNewUrl(anyString(), anyString());
+        verify(navigator).streamArticleLinks(eq(config.baseUrl()), any());
+        // Both URLs are checked in a single batched call
+        verify(deduplicationService, times(1)).isNewUrls(anyString(), eq(articleUrls), isNull(), anyString());
     }
 
     /*
@@ -160,9 +187,9 @@ class CaspitCrawlerTest {
      */
 
     @Test
-    void testEmptyArticleUrlsList() throws IOException, CrawlingException {
+    void testEmptyArticleUrlsList() throws Exception {
         // Arrange
-        when(navigator.getAllArticleLinks(anyString())).thenReturn(Arrays.asList());
+        stubNavigatorPages();
 
         // Act
         CrawlResult result = crawler.crawl();
@@ -170,7 +197,8 @@ class CaspitCrawlerTest {
         // Assert
         assertNotNull(result);
         assertEquals(0, result.totalArticlesFound());
-        verify(navigator).getAllArticleLinks(config.baseUrl());
+        assertEquals(List.of("No article URLs found"), result.errors());
+        verify(navigator).streamArticleLinks(eq(config.baseUrl()), any());
         verify(redis, never()).setnx(anyString(), anyString());
     }
 
@@ -201,21 +229,154 @@ class CaspitCrawlerTest {
     }
 
     @Test
-    void testDeduplicationServiceIntegration() throws IOException, CrawlingException {
+    void testDeduplicationServiceIntegration() throws Exception {
         // Test that deduplication service is called correctly
         List<String> articleUrls = Arrays.asList("https://www.maariv.co.il/Ben-Caspit/article-1");
-        when(navigator.getAllArticleLinks(anyString())).thenReturn(articleUrls);
-        when(deduplicationService.isNewUrl(anyString(), anyString())).thenReturn(true);
-        doAnswer(invocation -> {
-            java.util.function.Supplier<?> supplier = invocation.getArgument(0);
-            return supplier.get();
-        }).when(retryService).executeWithRetry(any(java.util.function.Supplier.class), anyString(), any(Class.class));
+        stubNavigatorPages(articleUrls);
+        when(deduplicationService.isNewUrls(anyString(), anyList(), isNull(), anyString()))
+                .thenAnswer(invocation -> new LinkedHashSet<String>(invocation.getArgument(1)));
+        stubRetryPassThrough();
 
         // Act
         crawler.crawl();
 
         // Assert - verify deduplication service is called with correct parameters
-        verify(deduplicationService).isNewUrl(eq("caspit"), eq("https://www.maariv.co.il/Ben-Caspit/article-1"));
+        verify(deduplicationService).isNewUrls(eq("caspit"), eq(List.of("https://www.maariv.co.il/Ben-Caspit/article-1")),
+                isNull(), anyString());
+    }
+
+    @Test
+    void testNavigationStopsAtPageWithoutNewArticles() throws Exception {
+        // Arrange - the second page only links to articles of earlier crawls
+        List<String> firstPage = List.of("https://www.maariv.co.il/Ben-Caspit/article-1");
+        List<String> secondPage = List.of("https://www.maariv.co.il/Ben-Caspit/article-2");
+        List<String> thirdPage = List.of("https://www.maariv.co.il/Ben-Caspit/article-3");
+        stubNavigatorPages(firstPage, secondPage, thirdPage);
+        when(crawlingConfig.earlyTerminationEnabled()).thenReturn(true);
+        when(deduplicationService.isNewUrls(anyString(), anyList(), isNull(), anyString()))
+                .thenAnswer(invocation -> new LinkedHashSet<String>(invocation.getArgument(1)))
+                .thenReturn(new LinkedHashSet<String>());
+        stubRetryPassThrough();
+
+        // Act
+        CrawlResult result = crawler.crawl();
+
+        // Assert - the third page is never loaded
+        assertEquals(2, result.totalArticlesFound());
+        assertEquals(0, result.articlesProcessed());
+        assertEquals(1, result.articlesSkipped());
+        assertEquals(1, result.articlesFailed());
+        verify(deduplicationService, times(2)).isNewUrls(anyString(), anyList(), isNull(), anyString());
+        verify(fetchService).fetch(eq(firstPage.get(0)), anyBoolean());
+        verify(fetchService, never()).fetch(eq(thirdPage.get(0)), anyBoolean());
+    }
+
+    @Test
+    void testHttpDiscoveryWithoutBrowser() throws Exception {
+        // Arrange
+        List<String> articleUrls = List.of("https://www.maariv.co.il/Ben-Caspit/article-1");
+        when(discoveryConfig.mode()).thenReturn(CaspitCrawlerConfig.DiscoveryMode.HTTP);
+        stubListingPages(articleUrls);
+        when(deduplicationService.isNewUrls(anyString(), anyList(), isNull(), anyString()))
+                .thenAnswer(invocation -> new LinkedHashSet<String>(invocation.getArgument(1)));
+        stubRetryPassThrough();
+
+        // Act
+        CrawlResult result = crawler.crawl();
+
+        // Assert - the browser is never used
+        assertEquals(1, result.totalArticlesFound());
+        verify(listingDiscovery).streamArticleLinks(eq(config.baseUrl()), any());
+        verify(navigator, never()).streamArticleLinks(anyString(), any());
+    }
+
+    @Test
+    void testHttpDiscoveryFallsBackToBrowser() throws Exception {
+        // Arrange - listings and sitemaps yield no links
+        List<String> articleUrls = List.of("https://www.maariv.co.il/Ben-Caspit/article-1");
+        when(discoveryConfig.mode()).thenReturn(CaspitCrawlerConfig.DiscoveryMode.HTTP);
+        stubListingPages();
+        stubNavigatorPages(articleUrls);
+        when(deduplicationService.isNewUrls(anyString(), anyList(), isNull(), anyString()))
+                .thenAnswer(invocation -> new LinkedHashSet<String>(invocation.getArgument(1)));
+        stubRetryPassThrough();
+
+        // Act
+        CrawlResult result = crawler.crawl();
+
+        // Assert
+        assertEquals(1, result.totalArticlesFound());
+        verify(listingDiscovery).streamArticleLinks(eq(config.baseUrl()), any());
+        verify(navigator).streamArticleLinks(eq(config.baseUrl()), any());
+    }
+
+    @Test
+    void testIncompleteHttpDiscoveryContinuesInBrowser() throws Exception {
+        // Arrange - the listing has no next-page link, the browser loads older articles
+        String first = "https://www.maariv.co.il/Ben-Caspit/article-1";
+        String older = "https://www.maariv.co.il/Ben-Caspit/article-2";
+        when(discoveryConfig.mode()).thenReturn(CaspitCrawlerConfig.DiscoveryMode.HTTP);
+        stubListingPages(false, List.of(first));
+        stubNavigatorPages(List.of(first), List.of(first, older));
+        when(deduplicationService.isNewUrls(anyString(), anyList(), isNull(), anyString()))
+                .thenAnswer(invocation -> new LinkedHashSet<String>(invocation.getArgument(1)));
+        stubRetryPassThrough();
+
+        // Act
+        CrawlResult result = crawler.crawl();
+
+        // Assert - links already found over HTTP are not handed over again
+        assertEquals(2, result.totalArticlesFound());
+        verify(navigator).streamArticleLinks(eq(config.baseUrl()), any());
+        verify(deduplicationService).isNewUrls(anyString(), eq(List.of(first)), isNull(), anyString());
+        verify(deduplicationService).isNewUrls(anyString(), eq(List.of(older)), isNull(), anyString());
+    }
+
+    /**
+     * Makes the navigator hand out the given pages of links until its listener stops it.
+     */
+    @SafeVarargs
+    private void stubNavigatorPages(List<String>... pages) throws InterruptedException {
+        when(navigator.streamArticleLinks(anyString(), any()))
+                .thenAnswer(invocation -> handOutPages(invocation.getArgument(1), pages));
+    }
+
+    /**
+     * Makes the browser-free discovery hand out the given pages of links.
+     */
+    @SafeVarargs
+    private void stubListingPages(List<String>... pages) throws InterruptedException {
+        stubListingPages(true, pages);
+    }
+
+    /**
+     * Makes the browser-free discovery hand out the given pages of links, reporting
+     * whether it could follow the listings to their end.
+     */
+    @SafeVarargs
+    private void stubListingPages(boolean complete, List<String>... pages) throws InterruptedException {
+        when(listingDiscovery.streamArticleLinks(anyString(), any()))
+                .thenAnswer(invocation -> new CaspitListingDiscovery.Result(
+                        handOutPages(invocation.getArgument(1), pages), complete));
+    }
+
+    private static int handOutPages(CaspitPageNavigator.PageLinksListener listener, List<String>[] pages)
+            throws InterruptedException {
+        int links = 0;
+        for (int page = 0; page < pages.length; page++) {
+            links += pages[page].size();
+            if (!listener.onPageLinks(page + 1, pages[page])) {
+                break;
+            }
+        }
+        return links;
+    }
+
+    private void stubRetryPassThrough() throws CrawlingException {
+        doAnswer(invocation -> {
+            java.util.function.Supplier<?> supplier = invocation.getArgument(0);
+            return supplier.get();
+        }).when(retryService).executeWithRetry(any(java.util.function.Supplier.class), anyString(), any(Class.class));
     }
 
     @Test
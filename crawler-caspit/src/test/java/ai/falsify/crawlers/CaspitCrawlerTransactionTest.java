@@ -58,7 +58,7 @@ class CaspitCrawlerTransactionTest {
         assertNotNull(persistedArticle, "Article should be persisted");
         assertEquals(testArticle.title(), persistedArticle.title);
         assertEquals(testArticle.url(), persistedArticle.url);
-        assertEquals(testArticle.text(), persistedArticle.text);
+        assertEquals(testArticle.text(), persistedArticle.getText());
 
         // Verify author was created
         assertNotNull(persistedArticle.author, "Article should have an author");
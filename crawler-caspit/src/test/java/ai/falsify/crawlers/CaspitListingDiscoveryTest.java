@@ -0,0 +1,180 @@
+package ai.falsify.crawlers;
+
+import ai.falsify.crawlers.common.exception.NetworkException;
+import ai.falsify.crawlers.common.service.http.FetchResult;
+import ai.falsify.crawlers.common.service.http.FetchService;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the browser-free Caspit link discovery.
+ */
+@ExtendWith(MockitoExtension.class)
+class CaspitListingDiscoveryTest {
+
+    private static final String BASE_URL = "https://www.maariv.co.il/Ben-Caspit";
+
+    @Mock(lenient = true)
+    CaspitCrawlerConfig config;
+
+    @Mock(lenient = true)
+    CaspitCrawlerConfig.DiscoveryConfig discoveryConfig;
+
+    @Mock(lenient = true)
+    FetchService fetchService;
+
+    private CaspitListingDiscovery discovery;
+    private final List<List<String>> pages = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(config.maxPages()).thenReturn(10);
+        when(config.discovery()).thenReturn(discoveryConfig);
+        when(discoveryConfig.listingUrl()).thenReturn(Optional.empty());
+        when(discoveryConfig.sitemapUrls()).thenReturn(List.of());
+        when(discoveryConfig.sitemapUrlPattern()).thenReturn(Optional.empty());
+        when(fetchService.fetch(anyString(), anyBoolean()))
+                .thenThrow(NetworkException.invalidResponse("unexpected", 404));
+
+        discovery = new CaspitListingDiscovery(config, fetchService);
+    }
+
+    @Test
+    @DisplayName("Should follow next-page links until a page has no new articles")
+    void testFollowsNextPageLinks() throws Exception {
+        serve(BASE_URL, listing(BASE_URL + "?page=2", "article-1", "article-2"));
+        serve(BASE_URL + "?page=2", listing(BASE_URL + "?page=3", "article-2", "article-3"));
+        serve(BASE_URL + "?page=3", listing(BASE_URL + "?page=4", "article-3"));
+
+        int links = discovery.streamArticleLinks(BASE_URL, this::collect).linkCount();
+
+        assertEquals(3, links);
+        assertEquals(List.of(List.of(article("article-1"), article("article-2")), List.of(article("article-3"))),
+                pages);
+        verify(fetchService, never()).fetch(eq(BASE_URL + "?page=4"), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should report listings without a next-page link as incomplete")
+    void testIncompleteWithoutNextPage() throws Exception {
+        serve(BASE_URL, listing(null, "article-1", "article-2"));
+
+        CaspitListingDiscovery.Result result = discovery.streamArticleLinks(BASE_URL, this::collect);
+
+        assertEquals(2, result.linkCount());
+        assertFalse(result.complete());
+    }
+
+    @Test
+    @DisplayName("Should report listings that ran out of new articles as complete")
+    void testCompleteWhenNoNewArticles() throws Exception {
+        serve(BASE_URL, listing(BASE_URL + "?page=2", "article-1"));
+        serve(BASE_URL + "?page=2", listing(null, "article-1"));
+
+        assertTrue(discovery.streamArticleLinks(BASE_URL, this::collect).complete());
+    }
+
+    @Test
+    @DisplayName("Should stop when the listener has enough")
+    void testListenerStopsDiscovery() throws Exception {
+        when(discoveryConfig.sitemapUrls()).thenReturn(List.of("https://www.maariv.co.il/sitemap.xml"));
+        serve(BASE_URL, listing(BASE_URL + "?page=2", "article-1"));
+
+        int links = discovery.streamArticleLinks(BASE_URL, (page, pageLinks) -> false).linkCount();
+
+        assertEquals(1, links);
+        verify(fetchService, times(1)).fetch(anyString(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should page through a JSON listing endpoint")
+    void testJsonListingTemplate() throws Exception {
+        when(discoveryConfig.listingUrl()).thenReturn(Optional.of(BASE_URL + "/more?page={page}"));
+        serve(BASE_URL, listing(null, "article-1"));
+        serve(BASE_URL + "/more?page=2", "{\"items\":[{\"url\":\"/Ben-Caspit/article-2\"},"
+                + "{\"html\":\"<article><a href='/Ben-Caspit/article-3'>Title</a></article>\"}]}");
+        serve(BASE_URL + "/more?page=3", "{\"items\":[]}");
+
+        int links = discovery.streamArticleLinks(BASE_URL, this::collect).linkCount();
+
+        assertEquals(3, links);
+        assertEquals(Set.of(article("article-2"), article("article-3")), new HashSet<>(pages.get(1)));
+    }
+
+    @Test
+    @DisplayName("Should read sitemap indexes and keep the entries matching the pattern")
+    void testSitemaps() throws Exception {
+        String index = "https://www.maariv.co.il/sitemap-index.xml";
+        String news = "https://www.maariv.co.il/sitemap-news.xml";
+        when(discoveryConfig.sitemapUrls()).thenReturn(List.of(index));
+        when(discoveryConfig.sitemapUrlPattern()).thenReturn(Optional.of("/Ben-Caspit/"));
+        serve(BASE_URL, listing(null, "article-1"));
+        serve(index, "<sitemapindex><sitemap><loc>" + news + "</loc></sitemap></sitemapindex>");
+        serve(news, "<urlset>"
+                + "<url><loc>" + article("article-1") + "</loc></url>"
+                + "<url><loc>" + article("article-2") + "</loc></url>"
+                + "<url><loc>https://www.maariv.co.il/sport/article-9</loc></url>"
+                + "</urlset>");
+
+        int links = discovery.streamArticleLinks(BASE_URL, this::collect).linkCount();
+
+        assertEquals(2, links);
+        assertEquals(List.of(List.of(article("article-1")), List.of(article("article-2"))), pages);
+    }
+
+    @Test
+    @DisplayName("Should report an interrupted fetch")
+    void testInterruptedFetch() throws Exception {
+        when(fetchService.fetch(eq(BASE_URL), anyBoolean())).thenAnswer(invocation -> {
+            Thread.currentThread().interrupt();
+            throw NetworkException.connectionFailed(BASE_URL, new InterruptedException());
+        });
+
+        assertThrows(InterruptedException.class, () -> discovery.streamArticleLinks(BASE_URL, this::collect));
+        assertFalse(Thread.interrupted());
+    }
+
+    private boolean collect(int page, List<String> links) {
+        pages.add(links);
+        return true;
+    }
+
+    private void serve(String url, String body) throws NetworkException {
+        doReturn(new FetchResult(url, URI.create(url), 200, Jsoup.parse(body, url), Duration.ZERO, null))
+                .when(fetchService).fetch(eq(url), anyBoolean());
+    }
+
+    private static String listing(String nextPage, String... slugs) {
+        StringBuilder html = new StringBuilder("<html><head>");
+        if (nextPage != null) {
+            html.append("<link rel=\"next\" href=\"").append(nextPage).append("\">");
+        }
+        html.append("</head><body><section class=\"four-articles-in-row\">");
+        for (String slug : slugs) {
+            html.append("<a href=\"/Ben-Caspit/").append(slug).append("\">").append(slug).append("</a>");
+        }
+        return html.append("</section></body></html>").toString();
+    }
+
+    private static String article(String slug) {
+        return BASE_URL + "/" + slug;
+    }
+}
@@ -1,5 +1,6 @@
 package ai.falsify.crawlers;
 
+import ai.falsify.crawlers.common.service.http.PolitenessScheduler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -47,6 +48,12 @@ class CaspitPageNavigatorTest {
     @Mock(lenient = true)
     private JavascriptExecutor jsExecutor;
 
+    @Mock(lenient = true)
+    private PolitenessScheduler scheduler;
+
+    @Mock(lenient = true)
+    private BrowserPool browserPool;
+
     private CaspitPageNavigator navigator;
 
     @BeforeEach
@@ -69,7 +76,7 @@ class CaspitPageNavigatorTest {
         when(crawlingConfig.scrollDelay()).thenReturn(3000);
 
         // Create navigator with mocked config
-        navigator = new CaspitPageNavigator(config);
+        navigator = new CaspitPageNavigator(config, scheduler, browserPool);
     }
 
     @Test
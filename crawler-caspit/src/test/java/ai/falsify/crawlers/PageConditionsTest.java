@@ -0,0 +1,78 @@
+package ai.falsify.crawlers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Unit tests for the page conditions the navigator waits on.
+ */
+class PageConditionsTest {
+
+    @Test
+    @DisplayName("Should detect more article links than before")
+    void testArticleCountIncreased() {
+        WebDriver driver = page(script -> 12L);
+
+        assertEquals(12, PageConditions.articleCount(driver));
+        assertTrue(PageConditions.articleCountIncreased(8).apply(driver));
+        assertFalse(PageConditions.articleCountIncreased(12).apply(driver));
+    }
+
+    @Test
+    @DisplayName("Should detect a changed page height")
+    void testScrollHeightChanged() {
+        WebDriver driver = page(script -> 2400L);
+
+        assertTrue(PageConditions.scrollHeightChanged(1800).apply(driver));
+        assertFalse(PageConditions.scrollHeightChanged(2400).apply(driver));
+    }
+
+    @Test
+    @DisplayName("Should detect a finished document")
+    void testDocumentReady() {
+        assertTrue(PageConditions.documentReady().apply(page(script -> "complete")));
+        assertFalse(PageConditions.documentReady().apply(page(script -> "interactive")));
+    }
+
+    @Test
+    @DisplayName("Should report a page quiet only after the quiet time")
+    void testNetworkIdle() {
+        assertTrue(PageConditions.networkIdle(500).apply(page(script -> 640.5)));
+        assertFalse(PageConditions.networkIdle(500).apply(page(script -> 120.0)));
+    }
+
+    @Test
+    @DisplayName("Should treat an unreadable page as unchanged")
+    void testUnreadablePage() {
+        WebDriver failing = page(script -> {
+            throw new JavascriptException("document unavailable");
+        });
+        WebDriver noJavaScript = mock(WebDriver.class);
+
+        for (WebDriver driver : new WebDriver[] {failing, noJavaScript}) {
+            assertEquals(-1, PageConditions.articleCount(driver));
+            assertFalse(PageConditions.articleCountIncreased(0).apply(driver));
+            assertFalse(PageConditions.scrollHeightChanged(1000).apply(driver));
+            assertFalse(PageConditions.documentReady().apply(driver));
+            assertFalse(PageConditions.networkIdle(500).apply(driver));
+        }
+    }
+
+    // Driver whose scripts all answer with the given function
+    private static WebDriver page(Function<String, Object> scripts) {
+        return mock(WebDriver.class, withSettings()
+                .extraInterfaces(JavascriptExecutor.class)
+                .defaultAnswer(invocation -> invocation.getMethod().getName().equals("executeScript")
+                        ? scripts.apply(invocation.getArgument(0))
+                        : null));
+    }
+}
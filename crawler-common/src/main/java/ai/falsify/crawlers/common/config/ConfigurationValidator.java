@@ -141,6 +141,10 @@ public class ConfigurationValidator {
         if (performance.requestDelay().compareTo(Duration.ofMillis(100)) < 0) {
             warnings.add("Very short request delay (<100ms) may overwhelm target servers");
         }
+
+        if (performance.maxRequestDelay().compareTo(performance.requestDelay()) < 0) {
+            errors.add("Maximum request delay must not be shorter than the request delay");
+        }
         
         // Validate batch size
         if (performance.batchSize() > 100) {
@@ -184,6 +188,14 @@ public class ConfigurationValidator {
             warnings.add("Very long circuit breaker timeout (>10 minutes) may delay recovery");
         }
         
+        if (retry.circuitBreakerFailureRate() <= 0.0 || retry.circuitBreakerFailureRate() > 1.0) {
+            errors.add("Circuit breaker failure rate must be greater than 0 and at most 1");
+        }
+        
+        if (retry.circuitBreakerWindow().toMillis() < 1000) {
+            errors.add("Circuit breaker window must be at least 1 second");
+        }
+        
         LOG.debug("Retry configuration validated successfully");
     }
 
@@ -241,17 +253,24 @@ public class ConfigurationValidator {
         LOG.info("=== Configuration Summary ===");
         
         CrawlerConfiguration.NetworkConfig network = config.network();
-        LOG.infof("Network: timeout=%s, user-agent=%s", 
-                network.connectionTimeout(), network.userAgent());
+        LOG.infof("Network: timeout=%s, user-agent=%s, per-host=%d, conditional=%s", 
+                network.connectionTimeout(), network.userAgent(), network.maxConnectionsPerHost(),
+                network.enableConditionalRequests());
         
         CrawlerConfiguration.ContentConfig content = config.content();
         LOG.infof("Content: min-length=%d, max-length=%d, validation=%s", 
                 content.minContentLength(), content.maxContentLength(), content.enableContentValidation());
         
         CrawlerConfiguration.PerformanceConfig performance = config.performance();
-        LOG.infof("Performance: concurrent=%d, delay=%s, metrics=%s", 
-                performance.maxConcurrentRequests(), performance.requestDelay(), performance.enableMetrics());
-        
+        LOG.infof("Performance: concurrent=%d, delay=%s, burst=%d, max-delay=%s, metrics=%s", 
+                performance.maxConcurrentRequests(), performance.requestDelay(), performance.requestBurst(),
+                performance.maxRequestDelay(), performance.enableMetrics());
+
+        CrawlerConfiguration.PipelineConfig pipeline = config.pipeline();
+        LOG.infof("Pipeline: queue=%d, fetch=%d, parse=%d, validate=%d, flush=%s",
+                pipeline.queueCapacity(), pipeline.fetchWorkers(), pipeline.parseWorkers(),
+                pipeline.validateWorkers(), pipeline.flushInterval());
+
         CrawlerConfiguration.RetryConfig retry = config.retry();
         LOG.infof("Retry: max-attempts=%d, circuit-breaker=%s", 
                 retry.maxAttempts(), retry.enableCircuitBreaker());
@@ -32,6 +32,11 @@ public interface CrawlerConfiguration {
      */
     PerformanceConfig performance();
 
+    /**
+     * Staged crawl pipeline configuration
+     */
+    PipelineConfig pipeline();
+
     /**
      * Retry and resilience configuration
      */
@@ -77,6 +82,38 @@ public interface CrawlerConfiguration {
         @WithName("ignore-ssl-errors")
         @WithDefault("false")
         boolean ignoreSslErrors();
+
+        /**
+         * Maximum number of concurrent requests to one host
+         */
+        @Min(1)
+        @Max(64)
+        @WithName("max-connections-per-host")
+        @WithDefault("4")
+        int maxConnectionsPerHost();
+
+        /**
+         * Whether pages are re-fetched with If-None-Match/If-Modified-Since
+         */
+        @WithName("enable-conditional-requests")
+        @WithDefault("true")
+        boolean enableConditionalRequests();
+
+        /**
+         * How long the ETag/Last-Modified validators of a fetched page are kept
+         */
+        @NotNull
+        @WithName("validator-ttl")
+        @WithDefault("P30D")
+        Duration validatorTtl();
+
+        /**
+         * Largest page body, in bytes, that is read and decoded; larger pages fail the fetch
+         */
+        @Min(1024)
+        @WithName("max-body-size")
+        @WithDefault("10485760")
+        int maxBodySize();
     }
 
     interface ContentConfig {
@@ -105,6 +142,23 @@ public interface CrawlerConfiguration {
         @WithDefault("P7D")
         Duration duplicateCacheTtl();
 
+        @Min(100)
+        @WithName("duplicate-cache-local-size")
+        @WithDefault("10000")
+        int duplicateCacheLocalSize();
+
+        @WithName("enable-near-duplicate-detection")
+        @WithDefault("false")
+        boolean enableNearDuplicateDetection();
+
+        /**
+         * SimHash similarity from which two articles count as near-duplicates.
+         * Matches are guaranteed to be found from 0.95 (3 differing bits) upwards.
+         */
+        @WithName("near-duplicate-threshold")
+        @WithDefault("0.9")
+        double nearDuplicateThreshold();
+
         @Min(1)
         @Max(100)
         @WithName("min-word-count")
@@ -129,6 +183,24 @@ public interface CrawlerConfiguration {
         @WithDefault("PT1S")
         Duration requestDelay();
 
+        /**
+         * Requests a host may receive back to back before request-delay paces them
+         */
+        @Min(1)
+        @Max(100)
+        @WithName("request-burst")
+        @WithDefault("3")
+        int requestBurst();
+
+        /**
+         * Longest delay between requests to a host that is slowed down after
+         * throttling responses or rising latency
+         */
+        @NotNull
+        @WithName("max-request-delay")
+        @WithDefault("PT30S")
+        Duration maxRequestDelay();
+
         @Min(1)
         @Max(1000)
         @WithName("batch-size")
@@ -151,6 +223,47 @@ public interface CrawlerConfiguration {
         int maxMemoryUsageMb();
     }
 
+    interface PipelineConfig {
+
+        /**
+         * Items that may wait in front of each stage before the stage before it blocks
+         */
+        @Min(1)
+        @Max(10000)
+        @WithName("queue-capacity")
+        @WithDefault("100")
+        int queueCapacity();
+
+        /**
+         * Pages fetched at once; requests stay paced per host by the politeness scheduler
+         */
+        @Min(1)
+        @Max(256)
+        @WithName("fetch-workers")
+        @WithDefault("5")
+        int fetchWorkers();
+
+        @Min(1)
+        @Max(64)
+        @WithName("parse-workers")
+        @WithDefault("2")
+        int parseWorkers();
+
+        @Min(1)
+        @Max(64)
+        @WithName("validate-workers")
+        @WithDefault("2")
+        int validateWorkers();
+
+        /**
+         * How long a partial batch waits for more articles before it is stored
+         */
+        @NotNull
+        @WithName("flush-interval")
+        @WithDefault("PT5S")
+        Duration flushInterval();
+    }
+
     interface RetryConfig {
         
         @Min(0)
@@ -188,6 +301,15 @@ public interface CrawlerConfiguration {
         @WithDefault("PT60S")
         Duration circuitBreakerTimeout();
 
+        @NotNull
+        @WithName("circuit-breaker-window")
+        @WithDefault("PT60S")
+        Duration circuitBreakerWindow();
+
+        @WithName("circuit-breaker-failure-rate")
+        @WithDefault("0.5")
+        double circuitBreakerFailureRate();
+
         @WithName("enable-jitter")
         @WithDefault("true")
         boolean enableJitter();
@@ -228,6 +350,36 @@ public interface CrawlerConfiguration {
         @WithName("health-check-interval")
         @WithDefault("PT30S")
         Duration healthCheckInterval();
+
+        @WithName("enable-local-bloom-filter")
+        @WithDefault("false")
+        boolean enableLocalBloomFilter();
+
+        @Min(1000)
+        @WithName("bloom-filter-expected-urls")
+        @WithDefault("100000")
+        int bloomFilterExpectedUrls();
+
+        @NotNull
+        @WithName("url-storage-mode")
+        @WithDefault("keys")
+        UrlStorageMode urlStorageMode();
+
+        @Min(4)
+        @Max(20)
+        @WithName("url-hash-bucket-bits")
+        @WithDefault("14")
+        int urlHashBucketBits();
+
+        /**
+         * How processed URLs are laid out in Redis.
+         */
+        enum UrlStorageMode {
+            /** One top-level key per URL, {@code crawler:<name>:url:<url>} */
+            KEYS,
+            /** 64-bit URL fingerprints grouped into hash buckets, {@code crawler:<name>:urls:<bucket>} */
+            HASHED
+        }
     }
 
     interface LoggingConfig {
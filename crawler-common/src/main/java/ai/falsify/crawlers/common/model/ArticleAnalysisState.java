@@ -0,0 +1,9 @@
+package ai.falsify.crawlers.common.model;
+
+/**
+ * Enumeration of article analysis states.
+ */
+public enum ArticleAnalysisState {
+    PENDING,
+    ANALYZED
+}
@@ -0,0 +1,161 @@
+package ai.falsify.crawlers.common.model;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Article body, stored apart from the {@code articles} table and compressed.
+ * Article rows stay small for listings and scans; the body is only read when
+ * the text itself is needed, through {@link ArticleEntity#getText()}.
+ */
+@Entity
+@Table(name = "article_content")
+@EntityListeners(ArticleContentSearchListener.class)
+public class ArticleContentEntity extends PanacheEntityBase {
+
+    // Bodies shorter than this are stored as is; deflate gains little on them
+    static final int MIN_COMPRESSED_BYTES = 512;
+
+    @Id
+    @Column(name = "article_id")
+    public Long articleId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "article_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    public ArticleEntity article;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "encoding", nullable = false, length = 16)
+    public Encoding encoding;
+
+    @Column(name = "body", columnDefinition = "BYTEA")
+    public byte[] body;
+
+    // Decoded body, kept so repeated reads inflate once
+    @Transient
+    private String text;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public ArticleContentEntity() {
+    }
+
+    /**
+     * Constructor for the body of an article.
+     *
+     * @param article the article owning the body
+     * @param text the body text (optional)
+     */
+    public ArticleContentEntity(ArticleEntity article, String text) {
+        this.article = article;
+        setText(text);
+    }
+
+    /**
+     * Gets the body text, decompressing it on first access.
+     *
+     * @return the body text, or null if the article has none
+     */
+    public String getText() {
+        if (text == null && body != null) {
+            text = decode(encoding, body);
+        }
+        return text;
+    }
+
+    /**
+     * Replaces the body text, compressing it when that pays off.
+     *
+     * @param text the body text (optional)
+     */
+    public void setText(String text) {
+        this.text = text;
+        if (text == null) {
+            this.encoding = Encoding.NONE;
+            this.body = null;
+            return;
+        }
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = raw.length >= MIN_COMPRESSED_BYTES ? deflate(raw) : null;
+        if (compressed != null && compressed.length < raw.length) {
+            this.encoding = Encoding.DEFLATE;
+            this.body = compressed;
+        } else {
+            this.encoding = Encoding.NONE;
+            this.body = raw;
+        }
+    }
+
+    /**
+     * Decodes a stored body.
+     *
+     * @param encoding how the body was stored
+     * @param body the stored bytes
+     * @return the body text
+     * @throws IllegalStateException if the bytes cannot be decoded
+     */
+    public static String decode(Encoding encoding, byte[] body) {
+        if (body == null) {
+            return null;
+        }
+        byte[] raw = encoding == Encoding.DEFLATE ? inflate(body) : body;
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(raw.length / 2);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(compressed.length * 3);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated article body");
+                }
+                output.write(buffer, 0, count);
+            }
+            return output.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt article body", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * How a body is stored.
+     */
+    public enum Encoding {
+        /** UTF-8 bytes */
+        NONE,
+        /** Deflate-compressed UTF-8 bytes (zlib format) */
+        DEFLATE
+    }
+}
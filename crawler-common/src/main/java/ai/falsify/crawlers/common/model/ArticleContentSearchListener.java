@@ -0,0 +1,20 @@
+package ai.falsify.crawlers.common.model;
+
+import ai.falsify.crawlers.common.service.SearchService;
+import io.quarkus.arc.Arc;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Keeps {@code articles.search_vector} in line with the article body. The database cannot
+ * read compressed bodies, so every write of an {@code article_content} row rewrites the
+ * search document of its article in the same flush, whichever code path set the text.
+ */
+public class ArticleContentSearchListener {
+
+    @PostPersist
+    @PostUpdate
+    void reindex(ArticleContentEntity content) {
+        Arc.container().instance(SearchService.class).get().indexContent(content);
+    }
+}
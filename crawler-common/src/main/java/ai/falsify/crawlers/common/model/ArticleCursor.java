@@ -0,0 +1,82 @@
+package ai.falsify.crawlers.common.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Keyset position in the article listing order (createdAt DESC, id DESC).
+ * Serialized as an opaque, URL-safe token so clients never depend on its layout.
+ */
+public record ArticleCursor(
+    Instant createdAt,
+    Long id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    public ArticleCursor {
+        if (createdAt == null || id == null) {
+            throw new IllegalArgumentException("Cursor requires both createdAt and id");
+        }
+    }
+
+    /**
+     * Creates a cursor pointing at the given article. The timestamp is cut to the
+     * microseconds the database stores, even for an article not yet persisted.
+     *
+     * @param article the last article of a page
+     * @return cursor positioned after the article
+     */
+    public static ArticleCursor of(ArticleEntity article) {
+        return new ArticleCursor(article.createdAt.truncatedTo(ChronoUnit.MICROS), article.id);
+    }
+
+    /**
+     * Creates a cursor pointing at the given listed article.
+     *
+     * @param article the last article summary of a page
+     * @return cursor positioned after the article
+     */
+    public static ArticleCursor of(ArticleSummary article) {
+        return new ArticleCursor(article.createdAt(), article.id());
+    }
+
+    /**
+     * Encodes this cursor as an opaque token.
+     *
+     * @return URL-safe cursor token
+     */
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token produced by {@link #encode()}.
+     *
+     * @param token the cursor token, may be null or blank for the first page
+     * @return the decoded cursor, or null if no token was given
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static ArticleCursor decode(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            if (separatorIndex <= 0 || separatorIndex == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            Instant createdAt = Instant.parse(raw.substring(0, separatorIndex));
+            Long id = Long.parseLong(raw.substring(separatorIndex + 1));
+            return new ArticleCursor(createdAt, id);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,7 +20,9 @@ import java.util.List;
     @Index(name = "idx_article_url", columnList = "url"),
     @Index(name = "idx_article_crawler_source", columnList = "crawler_source"),
     @Index(name = "idx_article_created_at", columnList = "created_at"),
+    @Index(name = "idx_article_created_at_id", columnList = "created_at DESC, id DESC"),
     @Index(name = "idx_article_author", columnList = "author_id")
+    // The partial index over pending rows is created by the V006 migration
 })
 public class ArticleEntity extends PanacheEntity {
 
@@ -33,8 +36,9 @@ public class ArticleEntity extends PanacheEntity {
     @Column(nullable = false, length = 1000)
     public String title;
 
-    @Column(columnDefinition = "TEXT")
-    public String text;
+    // Body length in characters; the body itself lives in article_content
+    @Column(name = "text_length")
+    public Integer textLength;
 
     @Size(max = 50, message = "Crawler source cannot exceed 50 characters")
     @Column(name = "crawler_source", length = 50)
@@ -43,11 +47,26 @@ public class ArticleEntity extends PanacheEntity {
     @Column(name = "created_at", columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
     public Instant createdAt;
 
+    // Denormalized from prediction_instances so unanalyzed listings need no subquery.
+    // The default lets schema updates add the column to a populated table
+    @Enumerated(EnumType.STRING)
+    @Column(name = "analysis_state", nullable = false, length = 20,
+            columnDefinition = "varchar(20) default 'PENDING' not null")
+    public ArticleAnalysisState analysisState;
+
+    @Column(name = "last_analyzed_at")
+    public Instant lastAnalyzedAt;
+
     // Many-to-one relationship with author
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id")
     public AuthorEntity author;
 
+    // Compressed body, loaded on first access to the text
+    @OneToOne(mappedBy = "article", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore
+    public ArticleContentEntity content;
+
     // Many-to-many relationship with predictions
     @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(
@@ -66,7 +85,8 @@ public class ArticleEntity extends PanacheEntity {
      * Default constructor for JPA.
      */
     public ArticleEntity() {
-        this.createdAt = Instant.now();
+        this.createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        this.analysisState = ArticleAnalysisState.PENDING;
     }
 
     /**
@@ -80,7 +100,7 @@ public class ArticleEntity extends PanacheEntity {
         this();
         this.url = sanitizeUrl(article.url());
         this.title = sanitizeTitle(article.title());
-        this.text = sanitizeText(article.text());
+        setText(article.text());
         this.crawlerSource = sanitizeCrawlerSource(crawlerSource);
         this.author = author != null ? author : AuthorEntity.getUnknownAuthor(); // Author must not be null when persisting
     }
@@ -98,18 +118,57 @@ public class ArticleEntity extends PanacheEntity {
         this();
         this.url = sanitizeUrl(article.url());
         this.title = sanitizeTitle(article.title());
-        this.text = sanitizeText(article.text());
+        setText(article.text());
         this.crawlerSource = sanitizeCrawlerSource(crawlerSource);
         this.author = AuthorEntity.getUnknownAuthor(); // Caller must set author
     }
 
+    /**
+     * Keeps createdAt at the microsecond precision of the database column, so cursors built
+     * from an entity in memory match the row as stored.
+     */
+    @PrePersist
+    @PreUpdate
+    void truncateCreatedAt() {
+        if (createdAt != null) {
+            createdAt = createdAt.truncatedTo(ChronoUnit.MICROS);
+        }
+    }
+
     /**
      * Converts this entity to an Article record.
      * 
      * @return Article record representation
      */
     public Article toArticle() {
-        return new Article(title, url, text);
+        return new Article(title, url, getText());
+    }
+
+    /**
+     * Gets the article text, loading and decompressing the stored body on first access.
+     * 
+     * @return the article text, or null if the article has none
+     */
+    public String getText() {
+        return content != null ? content.getText() : null;
+    }
+
+    /**
+     * Sets the article text; the body is stored compressed in {@code article_content}.
+     * 
+     * @param text the raw text
+     */
+    public void setText(String text) {
+        String sanitized = sanitizeText(text);
+        this.textLength = sanitized != null ? sanitized.length() : null;
+        if (content == null) {
+            if (sanitized == null) {
+                return;
+            }
+            content = new ArticleContentEntity(this, sanitized);
+        } else {
+            content.setText(sanitized);
+        }
     }
 
     /**
@@ -179,6 +238,8 @@ public class ArticleEntity extends PanacheEntity {
 
     /**
      * Finds articles for analysis with optional filtering.
+     * The title filter is an unindexed LIKE; use {@code ArticleService} or
+     * {@code SearchService} for indexed title search.
      * 
      * @param authorId optional author ID filter
      * @param titleSearch optional title search filter
@@ -259,11 +320,12 @@ public class ArticleEntity extends PanacheEntity {
 
     /**
      * Checks if this article has been analyzed for predictions.
+     * Reads the analysis state without loading the prediction instances.
      * 
-     * @return true if the article has prediction instances
+     * @return true if prediction instances have been stored for the article
      */
     public boolean hasBeenAnalyzed() {
-        return predictionInstances != null && !predictionInstances.isEmpty();
+        return analysisState == ArticleAnalysisState.ANALYZED;
     }
 
     /**
@@ -272,14 +334,19 @@ public class ArticleEntity extends PanacheEntity {
      * @return the most recent analysis date, or null if never analyzed
      */
     public Instant getLastAnalysisDate() {
-        if (predictionInstances == null || predictionInstances.isEmpty()) {
-            return null;
+        return lastAnalyzedAt;
+    }
+
+    /**
+     * Marks this article as analyzed, keeping the latest analysis date.
+     * 
+     * @param analyzedAt when the prediction instances were stored
+     */
+    public void markAnalyzed(Instant analyzedAt) {
+        this.analysisState = ArticleAnalysisState.ANALYZED;
+        if (analyzedAt != null && (lastAnalyzedAt == null || analyzedAt.isAfter(lastAnalyzedAt))) {
+            this.lastAnalyzedAt = analyzedAt;
         }
-        return predictionInstances.stream()
-            .map(instance -> instance.extractedAt)
-            .filter(date -> date != null)
-            .max(Instant::compareTo)
-            .orElse(null);
     }
 
     /**
@@ -339,7 +406,7 @@ public class ArticleEntity extends PanacheEntity {
             return null;
         }
         
-        // Just trim for text content, no length limit as it's TEXT column
+        // Just trim for text content, no length limit as the body is stored separately
         return text.trim();
     }
 
@@ -0,0 +1,22 @@
+package ai.falsify.crawlers.common.model;
+
+import java.util.List;
+
+/**
+ * A keyset-paginated slice of an article listing.
+ *
+ * @param <T> the item type of the page
+ */
+public record ArticlePage<T>(
+    List<T> items,
+    String nextCursor,
+    boolean hasMore
+) {
+
+    /**
+     * Creates an empty last page.
+     */
+    public static <T> ArticlePage<T> empty() {
+        return new ArticlePage<>(List.of(), null, false);
+    }
+}
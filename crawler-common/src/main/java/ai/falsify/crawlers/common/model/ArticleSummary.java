@@ -0,0 +1,43 @@
+package ai.falsify.crawlers.common.model;
+
+import java.time.Instant;
+
+/**
+ * Lean article projection for listings.
+ * Carries the text length instead of the article body, and the author fields
+ * instead of the lazy author association.
+ */
+public record ArticleSummary(
+    Long id,
+    String title,
+    String url,
+    String crawlerSource,
+    Instant createdAt,
+    Author author,
+    ArticleAnalysisState analysisState,
+    Instant lastAnalyzedAt,
+    int textLength
+) {
+
+    /**
+     * Flat constructor used by query constructor expressions.
+     */
+    public ArticleSummary(Long id, String title, String url, String crawlerSource, Instant createdAt,
+                          Long authorId, String authorName, String authorAvatarUrl,
+                          ArticleAnalysisState analysisState, Instant lastAnalyzedAt,
+                          Integer textLength) {
+        this(id, title, url, crawlerSource, createdAt,
+             authorId != null ? new Author(authorId, authorName, authorAvatarUrl) : null,
+             analysisState, lastAnalyzedAt,
+             textLength != null ? textLength : 0);
+    }
+
+    /**
+     * Author fields of a listed article.
+     */
+    public record Author(
+        Long id,
+        String name,
+        String avatarUrl
+    ) {}
+}
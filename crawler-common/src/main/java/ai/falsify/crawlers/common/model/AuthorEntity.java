@@ -19,6 +19,11 @@ import java.util.List;
 })
 public class AuthorEntity extends PanacheEntity {
 
+    /**
+     * Name of the author assigned to articles without a known author.
+     */
+    public static final String UNKNOWN_AUTHOR_NAME = "Unknown Author";
+
     @NotBlank(message = "Author name cannot be empty")
     @Size(max = 255, message = "Author name cannot exceed 255 characters")
     @Column(nullable = false, length = 255)
@@ -85,6 +90,8 @@ public class AuthorEntity extends PanacheEntity {
      * Finds or creates an author with the given name and avatar URL.
      * This method implements the find-or-create pattern for author entities.
      * Note: This method should be called within an existing transaction context.
+     * Concurrent creation of the same name fails on the unique LOWER(name) index;
+     * use {@link ai.falsify.crawlers.common.service.AuthorCache} where that can happen.
      * 
      * @param name the author's name (required)
      * @param avatarUrl the author's avatar URL (optional)
@@ -119,9 +126,9 @@ public class AuthorEntity extends PanacheEntity {
      * @return the default unknown author entity
      */
     public static AuthorEntity getUnknownAuthor() {
-        AuthorEntity unknown = findByName("Unknown Author");
+        AuthorEntity unknown = findByName(UNKNOWN_AUTHOR_NAME);
         if (unknown == null) {
-            unknown = new AuthorEntity("Unknown Author", null);
+            unknown = new AuthorEntity(UNKNOWN_AUTHOR_NAME, null);
             unknown.persist();
         }
         return unknown;
@@ -0,0 +1,47 @@
+package ai.falsify.crawlers.common.model;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Precomputed per-author totals, kept up to date by the article and prediction
+ * persistence paths so author listings do not aggregate the articles table.
+ */
+@Entity
+@Table(name = "author_stats")
+public class AuthorStatsEntity extends PanacheEntityBase {
+
+    @Id
+    @Column(name = "author_id")
+    public Long authorId;
+
+    @Column(name = "article_count", nullable = false)
+    public long articleCount;
+
+    @Column(name = "latest_article_at")
+    public Instant latestArticleAt;
+
+    @Column(name = "prediction_count", nullable = false)
+    public long predictionCount;
+
+    @Column(name = "updated_at", columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
+    public Instant updatedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public AuthorStatsEntity() {
+        this.updatedAt = Instant.now();
+    }
+
+    /**
+     * Constructor for an author without recorded totals.
+     *
+     * @param authorId the author's ID
+     */
+    public AuthorStatsEntity(Long authorId) {
+        this();
+        this.authorId = authorId;
+    }
+}
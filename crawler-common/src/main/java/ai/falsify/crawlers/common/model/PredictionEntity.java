@@ -6,9 +6,19 @@ import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * Entity representing a prediction extracted from articles.
@@ -16,12 +26,15 @@ import java.util.List;
  */
 @Entity
 @Table(name = "predictions", indexes = {
-    @Index(name = "idx_prediction_text", columnList = "prediction_text"),
+    @Index(name = "uq_prediction_text_hash", columnList = "text_hash", unique = true),
     @Index(name = "idx_prediction_type", columnList = "prediction_type"),
     @Index(name = "idx_prediction_created_at", columnList = "created_at")
 })
 public class PredictionEntity extends PanacheEntity {
 
+    private static final Pattern WHITESPACE = Pattern.compile("(?U)\\s+");
+    private static final HexFormat HEX = HexFormat.of();
+
     @NotBlank(message = "Prediction text cannot be empty")
     @Column(name = "prediction_text", columnDefinition = "TEXT", nullable = false)
     public String predictionText;
@@ -33,6 +46,11 @@ public class PredictionEntity extends PanacheEntity {
     @Column(name = "created_at", columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
     public Instant createdAt;
 
+    // SHA-256 of the normalized text; predictions are deduplicated on it instead of on the TEXT column
+    @Column(name = "text_hash", length = 64)
+    @JsonIgnore
+    public String textHash;
+
     // Many-to-many relationship with articles
     @ManyToMany(mappedBy = "predictions", fetch = FetchType.LAZY)
     public List<ArticleEntity> articles = new ArrayList<>();
@@ -59,10 +77,28 @@ public class PredictionEntity extends PanacheEntity {
         this();
         this.predictionText = sanitizePredictionText(predictionText);
         this.predictionType = sanitizePredictionType(predictionType);
+        this.textHash = hashStoredText(this.predictionText);
+    }
+
+    /**
+     * Keeps the text hash in line with the prediction text.
+     */
+    @PrePersist
+    @PreUpdate
+    void updateTextHash() {
+        this.textHash = hashStoredText(predictionText);
     }
 
     /**
-     * Finds a prediction by its text.
+     * Key identifying a prediction to find or create in bulk.
+     *
+     * @param predictionText the prediction text
+     * @param predictionType the prediction type (optional)
+     */
+    public record PredictionKey(String predictionText, String predictionType) {}
+
+    /**
+     * Finds a prediction by its text, ignoring case and whitespace differences.
      * 
      * @param predictionText the prediction text to search for
      * @return the PredictionEntity or null if not found
@@ -71,7 +107,7 @@ public class PredictionEntity extends PanacheEntity {
         if (predictionText == null || predictionText.trim().isEmpty()) {
             return null;
         }
-        return find("predictionText", predictionText.trim()).firstResult();
+        return find("textHash", hashText(predictionText)).firstResult();
     }
 
     /**
@@ -96,6 +132,117 @@ public class PredictionEntity extends PanacheEntity {
         return newPrediction;
     }
 
+    /**
+     * Finds or creates predictions for a batch of texts, e.g. all results of an analysis job.
+     * Existing predictions are resolved with one {@code IN} query on the text hash; the missing
+     * ones are inserted with one {@code INSERT ... ON CONFLICT DO NOTHING}, so a
+     * concurrent job storing the same text neither fails the caller's transaction nor needs a
+     * retry, and are then read back by hash together with any rows such a job inserted.
+     * Texts differing only in case or whitespace resolve to the same prediction, whose type
+     * is taken from the first key.
+     * 
+     * @param keys the prediction texts and types
+     * @return predictions keyed by the given prediction texts
+     */
+    public static Map<String, PredictionEntity> findOrCreateAll(Collection<PredictionKey> keys) {
+        Map<String, PredictionEntity> byText = new LinkedHashMap<>();
+        if (keys == null || keys.isEmpty()) {
+            return byText;
+        }
+
+        Map<String, String> hashByText = new LinkedHashMap<>();
+        Map<String, PredictionKey> keyByHash = new LinkedHashMap<>();
+        for (PredictionKey key : keys) {
+            if (key == null || key.predictionText() == null || key.predictionText().trim().isEmpty()) {
+                throw new IllegalArgumentException("Prediction text cannot be null or empty");
+            }
+            String hash = hashText(key.predictionText());
+            hashByText.put(key.predictionText(), hash);
+            keyByHash.putIfAbsent(hash, key);
+        }
+
+        Map<String, PredictionEntity> byHash = new HashMap<>();
+        for (PredictionEntity existing : PredictionEntity.<PredictionEntity>list("textHash IN ?1", keyByHash.keySet())) {
+            byHash.put(existing.textHash, existing);
+        }
+
+        Map<String, PredictionKey> missing = new LinkedHashMap<>(keyByHash);
+        missing.keySet().removeAll(byHash.keySet());
+        if (!missing.isEmpty()) {
+            insertMissing(missing);
+            for (PredictionEntity created : PredictionEntity.<PredictionEntity>list("textHash IN ?1", missing.keySet())) {
+                byHash.put(created.textHash, created);
+            }
+        }
+
+        hashByText.forEach((text, hash) -> byText.put(text, byHash.get(hash)));
+        return byText;
+    }
+
+    /**
+     * Inserts predictions for the given text hashes, skipping hashes that are already stored.
+     * Written in HQL so Hibernate assigns the IDs from the entity's sequence; on PostgreSQL it
+     * is rendered as a native {@code ON CONFLICT DO NOTHING}. The conflict target is left out,
+     * as Hibernate only emulates the clause without one on H2, where a conflict may skip
+     * the whole statement rather than the row; H2 is only used by tests, which do not race.
+     */
+    private static void insertMissing(Map<String, PredictionKey> missing) {
+        StringBuilder hql = new StringBuilder(
+                "INSERT INTO PredictionEntity (predictionText, predictionType, createdAt, textHash) VALUES ");
+        int parameter = 0;
+        for (int i = 0; i < missing.size(); i++) {
+            hql.append(i == 0 ? "" : ", ")
+                    .append("(?").append(++parameter)
+                    .append(", ?").append(++parameter)
+                    .append(", ?").append(++parameter)
+                    .append(", ?").append(++parameter)
+                    .append(')');
+        }
+        hql.append(" ON CONFLICT DO NOTHING");
+
+        Query insert = getEntityManager().createQuery(hql.toString());
+        Instant now = Instant.now();
+        parameter = 0;
+        for (PredictionKey key : missing.values()) {
+            String text = sanitizePredictionText(key.predictionText());
+            insert.setParameter(++parameter, text)
+                    .setParameter(++parameter, sanitizePredictionType(key.predictionType()))
+                    .setParameter(++parameter, now)
+                    .setParameter(++parameter, hashStoredText(text));
+        }
+        insert.executeUpdate();
+    }
+
+    /**
+     * Computes the deduplication hash for raw prediction text.
+     * 
+     * @param predictionText the raw prediction text
+     * @return hex SHA-256 of the sanitized, normalized text
+     */
+    public static String hashText(String predictionText) {
+        return hashStoredText(sanitizePredictionText(predictionText));
+    }
+
+    /**
+     * Hashes already sanitized text, e.g. as read from the database: whitespace runs collapse
+     * to one space and case is ignored. Kept in line with the backfill in the V008 migration.
+     *
+     * @param storedText the stored prediction text
+     * @return hex SHA-256 of the normalized text, or null for null text
+     */
+    public static String hashStoredText(String storedText) {
+        if (storedText == null) {
+            return null;
+        }
+        String normalized = WHITESPACE.matcher(storedText.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HEX.formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     /**
      * Finds predictions by type.
      * 
@@ -111,6 +258,7 @@ public class PredictionEntity extends PanacheEntity {
 
     /**
      * Finds predictions containing specific text (case-insensitive).
+     * This is an unindexed LIKE scan; use {@code SearchService} for ranked, indexed search.
      * 
      * @param searchText the text to search for
      * @return list of predictions containing the search text
@@ -0,0 +1,88 @@
+package ai.falsify.crawlers.common.service;
+
+import ai.falsify.crawlers.common.model.ArticleContentEntity;
+import ai.falsify.crawlers.common.model.ArticleEntity;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.validation.constraints.NotNull;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Reads article bodies in batches for long-running consumers such as analysis jobs.
+ * <p>
+ * Each batch is loaded with one query in its own short transaction when the stream
+ * reaches it, and is returned as plain records, so only the batch being processed is
+ * held in memory and no persistence context grows across the run.
+ */
+@ApplicationScoped
+public class ArticleContentReader {
+
+    private static final Logger LOG = Logger.getLogger(ArticleContentReader.class);
+
+    /**
+     * Streams the bodies of the given articles, one batch per element, in the given order.
+     * Articles that no longer exist are left out.
+     *
+     * @param articleIds the article IDs
+     * @param batchSize the number of articles per batch
+     * @return lazy stream of batches
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public Stream<List<ArticleBody>> streamBodies(@NotNull List<Long> articleIds, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        List<Long> ids = List.copyOf(articleIds);
+        int batches = (ids.size() + batchSize - 1) / batchSize;
+        return IntStream.range(0, batches)
+                .mapToObj(batch -> ids.subList(batch * batchSize, Math.min(ids.size(), (batch + 1) * batchSize)))
+                .map(batchIds -> QuarkusTransaction.requiringNew().call(() -> readBatch(batchIds)));
+    }
+
+    private List<ArticleBody> readBatch(List<Long> articleIds) {
+        List<Object[]> rows = ArticleEntity.getEntityManager()
+                .createQuery("SELECT a.id, a.title, a.url, a.crawlerSource, c.encoding, c.body "
+                        + "FROM ArticleEntity a LEFT JOIN a.content c WHERE a.id IN :ids", Object[].class)
+                .setParameter("ids", articleIds)
+                .getResultList();
+
+        Map<Long, ArticleBody> byId = new HashMap<>();
+        for (Object[] row : rows) {
+            ArticleBody body = new ArticleBody(
+                    (Long) row[0],
+                    (String) row[1],
+                    (String) row[2],
+                    (String) row[3],
+                    ArticleContentEntity.decode((ArticleContentEntity.Encoding) row[4], (byte[]) row[5]));
+            byId.put(body.id(), body);
+        }
+
+        List<ArticleBody> batch = new ArrayList<>(byId.size());
+        for (Long id : articleIds) {
+            ArticleBody body = byId.get(id);
+            if (body != null) {
+                batch.add(body);
+            }
+        }
+        LOG.debugf("Read %d of %d article bodies", batch.size(), articleIds.size());
+        return batch;
+    }
+
+    /**
+     * Article text with the fields needed to process it.
+     */
+    public record ArticleBody(
+        Long id,
+        String title,
+        String url,
+        String crawlerSource,
+        String text
+    ) {}
+}
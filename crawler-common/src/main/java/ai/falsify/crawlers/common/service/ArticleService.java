@@ -1,16 +1,27 @@
 package ai.falsify.crawlers.common.service;
 
 import ai.falsify.crawlers.common.model.*;
+import ai.falsify.crawlers.common.service.redis.NearDuplicateIndex;
+import ai.falsify.crawlers.common.service.redis.NearDuplicateIndex.NearDuplicate;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.jpa.HibernateHints;
 import org.jboss.logging.Logger;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * Service for managing articles with enhanced filtering and author support.
@@ -21,6 +32,32 @@ public class ArticleService {
     
     private static final Logger LOG = Logger.getLogger(ArticleService.class);
     
+    private static final Duration COUNT_CACHE_TTL = Duration.ofSeconds(30);
+    private static final int COUNT_CACHE_MAX_ENTRIES = 500;
+    private static final int STREAM_FETCH_SIZE = 200;
+    
+    // Listing projection: author fields come from the same (inner) join, the body is never read
+    private static final String SUMMARY_SELECT = "SELECT new " + ArticleSummary.class.getName() + "("
+            + "id, title, url, crawlerSource, createdAt, author.id, author.name, author.avatarUrl, "
+            + "analysisState, lastAnalyzedAt, textLength) "
+            + "FROM ArticleEntity";
+    private static final String LISTING_ORDER = " ORDER BY createdAt DESC, id DESC";
+    
+    // Short-lived totals per filter so paging does not re-run COUNT(*) on every request
+    private final Map<ArticleFilter, CachedCount> countCache = new ConcurrentHashMap<>();
+    
+    @Inject
+    NearDuplicateIndex nearDuplicateIndex;
+    
+    @Inject
+    AuthorCache authorCache;
+    
+    @Inject
+    AuthorStatsService authorStatsService;
+    
+    @Inject
+    SearchService searchService;
+    
     /**
      * Gets articles for analysis with filtering support.
      * Supports filtering by author, title search, and date range with pagination.
@@ -63,6 +100,95 @@ public class ArticleService {
         }
     }
     
+    /**
+     * Gets article summaries for analysis listings with filtering support.
+     * Same filtering, ordering and pagination as {@link #getArticlesForAnalysis(ArticleFilter)},
+     * but loads only the listed columns and the author in one query, never the full text.
+     * 
+     * @param filter the filter criteria
+     * @return list of filtered article summaries
+     */
+    public List<ArticleSummary> getArticleSummariesForAnalysis(@NotNull ArticleFilter filter) {
+        LOG.debugf("Getting article summaries for analysis with filter: %s", filter);
+        
+        try {
+            StringBuilder queryBuilder = new StringBuilder();
+            List<Object> parameters = new ArrayList<>();
+            
+            // Build the WHERE clause
+            buildWhereClause(filter, queryBuilder, parameters);
+            
+            int size = filter.getSizeOrDefault();
+            List<ArticleSummary> results = createSummaryQuery(queryBuilder.toString(), parameters)
+                    .setFirstResult(filter.getPageOrDefault() * size)
+                    .setMaxResults(size)
+                    .getResultList();
+            
+            LOG.debugf("Found %d article summaries for analysis", results.size());
+            return results;
+            
+        } catch (Exception e) {
+            LOG.errorf(e, "Error getting article summaries for analysis with filter: %s", filter);
+            throw new RuntimeException("Failed to retrieve articles for analysis", e);
+        }
+    }
+    
+    /**
+     * Gets a page of article summaries using keyset pagination.
+     * 
+     * @param filter the filter criteria (page number is ignored, size is the page size)
+     * @param cursor opaque cursor from the previous page, or null for the first page
+     * @return page of article summaries with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public ArticlePage<ArticleSummary> getArticleSummariesAfterCursor(@NotNull ArticleFilter filter, String cursor) {
+        ArticleCursor position = ArticleCursor.decode(cursor);
+        LOG.debugf("Getting article summaries after cursor %s with filter: %s", position, filter);
+        
+        try {
+            StringBuilder queryBuilder = new StringBuilder();
+            List<Object> parameters = new ArrayList<>();
+            buildCursorWhereClause(filter, position, false, queryBuilder, parameters);
+            
+            int size = filter.getSizeOrDefault();
+            List<ArticleSummary> results = createSummaryQuery(queryBuilder.toString(), parameters)
+                    .setMaxResults(size + 1)
+                    .getResultList();
+            
+            boolean hasMore = results.size() > size;
+            if (hasMore) {
+                results = new ArrayList<>(results.subList(0, size));
+            }
+            String nextCursor = hasMore ? ArticleCursor.of(results.get(results.size() - 1)).encode() : null;
+            
+            LOG.debugf("Loaded summary cursor page (hasMore=%s) with %d articles", hasMore, results.size());
+            return new ArticlePage<>(results, nextCursor, hasMore);
+            
+        } catch (Exception e) {
+            LOG.errorf(e, "Error getting article summaries after cursor with filter: %s", filter);
+            throw new RuntimeException("Failed to retrieve articles for analysis", e);
+        }
+    }
+    
+    /**
+     * Gets a single article with its full text and author.
+     * 
+     * @param articleId the article ID
+     * @return the article, or null if not found
+     */
+    public ArticleEntity getArticleWithText(@NotNull Long articleId) {
+        LOG.debugf("Getting article with text: %d", articleId);
+        
+        try {
+            return ArticleEntity.<ArticleEntity>find("FROM ArticleEntity a JOIN FETCH a.author LEFT JOIN FETCH a.content WHERE a.id = ?1", articleId)
+                    .firstResult();
+            
+        } catch (Exception e) {
+            LOG.errorf(e, "Error getting article: %d", articleId);
+            throw new RuntimeException("Failed to retrieve article", e);
+        }
+    }
+    
     /**
      * Gets the total count of articles matching the filter criteria.
      * 
@@ -95,6 +221,114 @@ public class ArticleService {
         }
     }
     
+    /**
+     * Gets the total count of articles matching the filter, served from a short-lived cache.
+     * Totals may lag behind inserts by up to the cache TTL, which is acceptable for
+     * pagination headers and avoids a full COUNT(*) on every page request.
+     * 
+     * @param filter the filter criteria (pagination fields are ignored)
+     * @return approximate count of matching articles
+     */
+    public long getCachedArticleCountForAnalysis(@NotNull ArticleFilter filter) {
+        ArticleFilter key = new ArticleFilter(filter.authorId(), filter.getSanitizedTitleSearch(),
+                filter.fromDate(), filter.toDate(), null, null);
+        Instant now = Instant.now();
+        
+        CachedCount cached = countCache.get(key);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return cached.count();
+        }
+        
+        long count = getArticleCountForAnalysis(filter);
+        if (countCache.size() >= COUNT_CACHE_MAX_ENTRIES) {
+            countCache.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+            if (countCache.size() >= COUNT_CACHE_MAX_ENTRIES) {
+                countCache.clear();
+            }
+        }
+        countCache.put(key, new CachedCount(count, now.plus(COUNT_CACHE_TTL)));
+        return count;
+    }
+    
+    /**
+     * Clears cached article totals (e.g. after bulk imports or cleanup).
+     */
+    public void invalidateArticleCounts() {
+        countCache.clear();
+    }
+    
+    /**
+     * Gets a page of articles for analysis using keyset pagination.
+     * Uses the (createdAt, id) position of the previous page instead of OFFSET,
+     * so every page costs the same index range scan regardless of depth.
+     * 
+     * @param filter the filter criteria (page number is ignored, size is the page size)
+     * @param cursor opaque cursor from the previous page, or null for the first page
+     * @return page of articles with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public ArticlePage<ArticleEntity> getArticlesAfterCursor(@NotNull ArticleFilter filter, String cursor) {
+        ArticleCursor position = ArticleCursor.decode(cursor);
+        LOG.debugf("Getting articles for analysis after cursor %s with filter: %s", position, filter);
+        
+        try {
+            return findPageAfterCursor(filter, position, false);
+            
+        } catch (Exception e) {
+            LOG.errorf(e, "Error getting articles after cursor with filter: %s", filter);
+            throw new RuntimeException("Failed to retrieve articles for analysis", e);
+        }
+    }
+    
+    /**
+     * Gets a page of unanalyzed articles using keyset pagination.
+     * 
+     * @param filter the filter criteria (page number is ignored, size is the page size)
+     * @param cursor opaque cursor from the previous page, or null for the first page
+     * @return page of unanalyzed articles with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public ArticlePage<ArticleEntity> getUnanalyzedArticlesAfterCursor(@NotNull ArticleFilter filter, String cursor) {
+        ArticleCursor position = ArticleCursor.decode(cursor);
+        LOG.debugf("Getting unanalyzed articles after cursor %s with filter: %s", position, filter);
+        
+        try {
+            return findPageAfterCursor(filter, position, true);
+            
+        } catch (Exception e) {
+            LOG.errorf(e, "Error getting unanalyzed articles after cursor with filter: %s", filter);
+            throw new RuntimeException("Failed to retrieve unanalyzed articles", e);
+        }
+    }
+    
+    /**
+     * Streams all articles matching the filter in listing order for batch consumers.
+     * Rows are fetched from the database in chunks as the stream is consumed.
+     * Note: must be called within a transaction and the stream must be closed by the caller.
+     * 
+     * @param filter the filter criteria (pagination fields are ignored)
+     * @return stream of matching articles
+     */
+    public Stream<ArticleEntity> streamArticlesForAnalysis(@NotNull ArticleFilter filter) {
+        LOG.debugf("Streaming articles for analysis with filter: %s", filter);
+        
+        StringBuilder queryBuilder = new StringBuilder();
+        List<Object> parameters = new ArrayList<>();
+        buildWhereClause(filter, queryBuilder, parameters);
+        
+        PanacheQuery<ArticleEntity> panacheQuery;
+        if (parameters.isEmpty()) {
+            panacheQuery = ArticleEntity.findAll(keysetSort());
+        } else {
+            panacheQuery = ArticleEntity.find(queryBuilder.toString(), keysetSort(), parameters.toArray());
+        }
+        
+        return panacheQuery
+                .withHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream();
+    }
+    
     /**
      * Gets all authors ordered by name for filter dropdowns.
      * 
@@ -116,20 +350,30 @@ public class ArticleService {
     
     /**
      * Gets authors with article counts for enhanced filtering.
+     * Reads the precomputed totals when author statistics are enabled, otherwise
+     * counts with one grouped query.
      * 
-     * @return list of authors with their article counts
+     * @return list of authors with their article counts, ordered by name
      */
     public List<AuthorWithCount> getAuthorsWithCounts() {
         LOG.debug("Getting authors with article counts");
         
         try {
-            List<AuthorEntity> authors = AuthorEntity.findAllOrderedByName();
             List<AuthorWithCount> authorsWithCounts = new ArrayList<>();
-            
-            for (AuthorEntity author : authors) {
-                long articleCount = author.getArticleCount();
-                AuthorInfo authorInfo = new AuthorInfo(author.id, author.name, author.avatarUrl);
-                authorsWithCounts.add(new AuthorWithCount(authorInfo, articleCount));
+            if (authorStatsService.isEnabled()) {
+                for (AuthorStats stats : getAuthorStats()) {
+                    authorsWithCounts.add(new AuthorWithCount(stats.author(), stats.articleCount()));
+                }
+            } else {
+                List<Object[]> rows = AuthorEntity.getEntityManager()
+                        .createQuery("SELECT a.id, a.name, a.avatarUrl, COUNT(ar.id) FROM AuthorEntity a "
+                                + "LEFT JOIN ArticleEntity ar ON ar.author = a "
+                                + "GROUP BY a.id, a.name, a.avatarUrl ORDER BY a.name ASC", Object[].class)
+                        .getResultList();
+                for (Object[] row : rows) {
+                    AuthorInfo authorInfo = new AuthorInfo((Long) row[0], (String) row[1], (String) row[2]);
+                    authorsWithCounts.add(new AuthorWithCount(authorInfo, (Long) row[3]));
+                }
             }
             
             LOG.debugf("Found %d authors with counts", authorsWithCounts.size());
@@ -141,9 +385,42 @@ public class ArticleService {
         }
     }
     
+    /**
+     * Gets every author with the totals maintained in {@code author_stats}, in one query.
+     * Authors without recorded totals are returned with zero counts.
+     * 
+     * @return list of authors with their statistics, ordered by name
+     */
+    public List<AuthorStats> getAuthorStats() {
+        LOG.debug("Getting author statistics");
+        
+        try {
+            List<Object[]> rows = AuthorEntity.getEntityManager()
+                    .createQuery("SELECT a.id, a.name, a.avatarUrl, s.articleCount, s.latestArticleAt, s.predictionCount "
+                            + "FROM AuthorEntity a LEFT JOIN AuthorStatsEntity s ON s.authorId = a.id "
+                            + "ORDER BY a.name ASC", Object[].class)
+                    .getResultList();
+            
+            List<AuthorStats> authorStats = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                AuthorInfo authorInfo = new AuthorInfo((Long) row[0], (String) row[1], (String) row[2]);
+                authorStats.add(new AuthorStats(authorInfo,
+                        row[3] != null ? (Long) row[3] : 0L,
+                        (Instant) row[4],
+                        row[5] != null ? (Long) row[5] : 0L));
+            }
+            return authorStats;
+            
+        } catch (Exception e) {
+            LOG.error("Error getting author statistics", e);
+            throw new RuntimeException("Failed to retrieve author statistics", e);
+        }
+    }
+    
     /**
      * Creates an article with author relationship.
-     * Implements find-or-create pattern for authors.
+     * The author is resolved through the {@link AuthorCache}, like in
+     * {@link #ingestBatch(List, String, String, String)}.
      * 
      * @param article the article data
      * @param crawlerSource the crawler source name
@@ -161,13 +438,16 @@ public class ArticleService {
         
         try {
             // Find or create the author
-            AuthorEntity author = AuthorEntity.findOrCreate(authorName, avatarUrl);
+            AuthorEntity author = authorCache.resolve(authorName, avatarUrl);
             
             // Create the article with author relationship
             ArticleEntity articleEntity = new ArticleEntity(article, crawlerSource, author);
             articleEntity.persist();
+            searchService.indexArticles(List.of(articleEntity));
+            authorStatsService.recordArticles(author.id, 1, articleEntity.createdAt);
             
-            LOG.debugf("Created article with ID: %d, author: %s", articleEntity.id, author.name);
+            // The author is an unloaded reference, so log the name it was resolved by
+            LOG.debugf("Created article with ID: %d, author: %s", articleEntity.id, authorName);
             return articleEntity;
             
         } catch (Exception e) {
@@ -175,7 +455,100 @@ public class ArticleService {
             throw new RuntimeException("Failed to create article with author", e);
         }
     }
-    
+
+    /**
+     * Stores a batch of crawled articles by the same author in one transaction.
+     * The author is resolved once through the {@link AuthorCache}, URLs already stored (or repeated within the batch)
+     * are found with a single query and skipped, and the remaining inserts are flushed
+     * together so Hibernate can send them as JDBC batches
+     * ({@code quarkus.hibernate-orm.jdbc.statement-batch-size}).
+     * <p>
+     * Runs in its own transaction so a failed batch does not roll back batches
+     * already stored by the caller; a batch that lost a race for a URL can simply be
+     * retried, as the retry will see that URL as existing.
+     *
+     * @param articles the articles to store
+     * @param crawlerSource the crawler source name
+     * @param authorName the author's name
+     * @param avatarUrl the author's avatar URL (optional)
+     * @return the URLs that were inserted and those that already existed
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public IngestResult ingestBatch(@NotNull List<Article> articles,
+                                    @NotNull String crawlerSource,
+                                    String authorName,
+                                    String avatarUrl) {
+        if (articles.isEmpty()) {
+            return new IngestResult(List.of(), List.of());
+        }
+        LOG.debugf("Ingesting batch of %d articles from crawler: %s", articles.size(), crawlerSource);
+
+        try {
+            AuthorEntity author;
+            try {
+                author = authorCache.resolve(authorName, avatarUrl);
+            } catch (Exception e) {
+                LOG.warnf("Failed to find or create author '%s', using unknown author: %s", authorName, e.getMessage());
+                author = AuthorEntity.getUnknownAuthor();
+            }
+
+            // Keyed by the sanitized URL, which is what the unique constraint sees
+            Map<String, ArticleEntity> candidates = new LinkedHashMap<>();
+            List<String> existingUrls = new ArrayList<>();
+            for (Article article : articles) {
+                ArticleEntity entity = new ArticleEntity(article, crawlerSource, author);
+                if (candidates.putIfAbsent(entity.url, entity) != null) {
+                    existingUrls.add(entity.url);
+                }
+            }
+
+            List<String> storedUrls = ArticleEntity.getEntityManager()
+                    .createQuery("SELECT a.url FROM ArticleEntity a WHERE a.url IN :urls", String.class)
+                    .setParameter("urls", candidates.keySet())
+                    .getResultList();
+            for (String url : storedUrls) {
+                candidates.remove(url);
+                existingUrls.add(url);
+            }
+
+            List<ArticleEntity> inserted = new ArrayList<>(candidates.values());
+            ArticleEntity.persist(inserted);
+            ArticleEntity.flush();
+            searchService.indexArticles(inserted);
+
+            // Keep the persistence context small for long-running crawl transactions
+            List<String> newUrls = new ArrayList<>(inserted.size());
+            Instant latestCreatedAt = null;
+            for (ArticleEntity entity : inserted) {
+                newUrls.add(entity.url);
+                if (latestCreatedAt == null || entity.createdAt.isAfter(latestCreatedAt)) {
+                    latestCreatedAt = entity.createdAt;
+                }
+                ArticleEntity.getEntityManager().detach(entity);
+            }
+
+            if (!newUrls.isEmpty()) {
+                authorStatsService.recordArticles(author.id, newUrls.size(), latestCreatedAt);
+                invalidateArticleCounts();
+            }
+            LOG.debugf("Ingested batch from %s: %d new, %d existing", crawlerSource, newUrls.size(), existingUrls.size());
+            return new IngestResult(newUrls, existingUrls);
+
+        } catch (Exception e) {
+            LOG.errorf(e, "Error ingesting batch of %d articles from crawler: %s", articles.size(), crawlerSource);
+            throw new RuntimeException("Failed to ingest article batch", e);
+        }
+    }
+
+    /**
+     * Writes the search document of an article stored outside this service.
+     * 
+     * @param article the stored article
+     */
+    public void indexForSearch(@NotNull ArticleEntity article) {
+        searchService.indexArticles(List.of(article));
+    }
+
     /**
      * Gets articles by specific IDs for batch operations.
      * 
@@ -200,6 +573,44 @@ public class ArticleService {
         }
     }
     
+    /**
+     * Finds stored articles whose text is a near-duplicate of the given text,
+     * e.g. to skip prediction extraction for a syndicated copy of an analyzed column.
+     * Only articles indexed by content validation within the duplicate cache TTL are found.
+     * 
+     * @param text the article text
+     * @param threshold the minimum SimHash similarity, between 0 and 1
+     * @return the matching articles, most similar first
+     */
+    public List<ArticleEntity> findNearDuplicateArticles(@NotNull String text, double threshold) {
+        List<NearDuplicate> matches = nearDuplicateIndex.findNearDuplicates(text, threshold);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        
+        try {
+            List<String> urls = matches.stream().map(NearDuplicate::url).toList();
+            Map<String, ArticleEntity> byUrl = new java.util.HashMap<>();
+            for (ArticleEntity article : ArticleEntity.<ArticleEntity>list("url in ?1", urls)) {
+                byUrl.put(article.url, article);
+            }
+            
+            List<ArticleEntity> articles = new ArrayList<>(byUrl.size());
+            for (String url : urls) {
+                ArticleEntity article = byUrl.get(url);
+                if (article != null) {
+                    articles.add(article);
+                }
+            }
+            LOG.debugf("Found %d stored near-duplicate articles for %d index matches", articles.size(), matches.size());
+            return articles;
+            
+        } catch (Exception e) {
+            LOG.errorf(e, "Error getting near-duplicate articles for %d index matches", matches.size());
+            throw new RuntimeException("Failed to retrieve near-duplicate articles", e);
+        }
+    }
+    
     /**
      * Gets articles that haven't been analyzed yet.
      * 
@@ -217,21 +628,13 @@ public class ArticleService {
             buildWhereClause(filter, queryBuilder, parameters);
             
             // Add condition for unanalyzed articles
-            if (queryBuilder.length() > 0) {
-                queryBuilder.append(" AND ");
-            }
-            queryBuilder.append("size(predictionInstances) = 0");
+            appendPendingCondition(queryBuilder, parameters);
             
             // Create the query with sorting
             String query = queryBuilder.toString();
             Sort sort = Sort.by("createdAt").descending();
             
-            PanacheQuery<ArticleEntity> panacheQuery;
-            if (parameters.isEmpty() && query.equals("size(predictionInstances) = 0")) {
-                panacheQuery = ArticleEntity.find("size(predictionInstances) = 0", sort);
-            } else {
-                panacheQuery = ArticleEntity.find(query, sort, parameters.toArray());
-            }
+            PanacheQuery<ArticleEntity> panacheQuery = ArticleEntity.find(query, sort, parameters.toArray());
             
             // Apply pagination
             Page page = Page.of(filter.getPageOrDefault(), filter.getSizeOrDefault());
@@ -246,6 +649,96 @@ public class ArticleService {
         }
     }
     
+    /**
+     * Restricts a query to articles without stored predictions. Uses the denormalized
+     * analysis state, served by the partial index over pending rows, rather than
+     * counting prediction instances per article.
+     */
+    private void appendPendingCondition(StringBuilder queryBuilder, List<Object> parameters) {
+        if (queryBuilder.length() > 0) {
+            queryBuilder.append(" AND ");
+        }
+        queryBuilder.append("analysisState = ?").append(parameters.size() + 1);
+        parameters.add(ArticleAnalysisState.PENDING);
+    }
+    
+    /**
+     * Runs a keyset page query, fetching one extra row to determine whether more pages exist.
+     */
+    private ArticlePage<ArticleEntity> findPageAfterCursor(ArticleFilter filter, ArticleCursor cursor, 
+                                                           boolean unanalyzedOnly) {
+        StringBuilder queryBuilder = new StringBuilder();
+        List<Object> parameters = new ArrayList<>();
+        buildCursorWhereClause(filter, cursor, unanalyzedOnly, queryBuilder, parameters);
+        
+        String query = queryBuilder.toString();
+        PanacheQuery<ArticleEntity> panacheQuery;
+        if (query.isEmpty()) {
+            panacheQuery = ArticleEntity.findAll(keysetSort());
+        } else {
+            panacheQuery = ArticleEntity.find(query, keysetSort(), parameters.toArray());
+        }
+        
+        int size = filter.getSizeOrDefault();
+        List<ArticleEntity> results = panacheQuery.range(0, size).list();
+        
+        boolean hasMore = results.size() > size;
+        if (hasMore) {
+            results = new ArrayList<>(results.subList(0, size));
+        }
+        String nextCursor = hasMore ? ArticleCursor.of(results.get(results.size() - 1)).encode() : null;
+        
+        LOG.debugf("Loaded cursor page (hasMore=%s) with %d articles", hasMore, results.size());
+        return new ArticlePage<>(results, nextCursor, hasMore);
+    }
+    
+    /**
+     * Builds the WHERE clause of a keyset page query: the filter, optionally the
+     * unanalyzed condition, and the position after the cursor.
+     */
+    private void buildCursorWhereClause(ArticleFilter filter, ArticleCursor cursor, boolean unanalyzedOnly,
+                                        StringBuilder queryBuilder, List<Object> parameters) {
+        // Build the WHERE clause
+        buildWhereClause(filter, queryBuilder, parameters);
+        
+        if (unanalyzedOnly) {
+            appendPendingCondition(queryBuilder, parameters);
+        }
+        
+        // Seek past the previous page instead of skipping rows with OFFSET
+        if (cursor != null) {
+            if (queryBuilder.length() > 0) {
+                queryBuilder.append(" AND ");
+            }
+            int createdAtParam = parameters.size() + 1;
+            int idParam = parameters.size() + 2;
+            queryBuilder.append("(createdAt < ?").append(createdAtParam)
+                        .append(" OR (createdAt = ?").append(createdAtParam)
+                        .append(" AND id < ?").append(idParam).append("))");
+            parameters.add(cursor.createdAt());
+            parameters.add(cursor.id());
+        }
+    }
+    
+    /**
+     * Creates the listing projection query for the given WHERE clause, in listing order.
+     */
+    private TypedQuery<ArticleSummary> createSummaryQuery(String whereClause, List<Object> parameters) {
+        String query = SUMMARY_SELECT + (whereClause.isEmpty() ? "" : " WHERE " + whereClause) + LISTING_ORDER;
+        TypedQuery<ArticleSummary> typedQuery = ArticleEntity.getEntityManager().createQuery(query, ArticleSummary.class);
+        for (int i = 0; i < parameters.size(); i++) {
+            typedQuery.setParameter(i + 1, parameters.get(i));
+        }
+        return typedQuery;
+    }
+    
+    /**
+     * Sort order matching the (created_at DESC, id DESC) composite index.
+     */
+    private static Sort keysetSort() {
+        return Sort.by("createdAt").descending().and("id").descending();
+    }
+    
     /**
      * Builds the WHERE clause for article filtering.
      * 
@@ -269,7 +762,7 @@ public class ArticleService {
             if (hasConditions) {
                 queryBuilder.append(" AND ");
             }
-            queryBuilder.append("LOWER(title) LIKE LOWER(?").append(parameters.size() + 1).append(")");
+            queryBuilder.append(searchService.titleContainsCondition(parameters.size() + 1));
             parameters.add("%" + titleSearch + "%");
             hasConditions = true;
         }
@@ -302,6 +795,16 @@ public class ArticleService {
         long articleCount
     ) {}
     
+    /**
+     * Record for author with precomputed statistics.
+     */
+    public record AuthorStats(
+        AuthorInfo author,
+        long articleCount,
+        Instant latestArticleAt,
+        long predictionCount
+    ) {}
+    
     /**
      * Record for author information.
      */
@@ -310,4 +813,23 @@ public class ArticleService {
         String name,
         String avatarUrl
     ) {}
+    
+    /**
+     * Outcome of a batch ingest.
+     *
+     * @param newUrls URLs of the articles inserted by the batch, in input order
+     * @param existingUrls URLs that were already stored or repeated within the batch
+     */
+    public record IngestResult(
+        List<String> newUrls,
+        List<String> existingUrls
+    ) {}
+
+    /**
+     * Cached article total with its expiry time.
+     */
+    private record CachedCount(
+        long count,
+        Instant expiresAt
+    ) {}
 }
\ No newline at end of file
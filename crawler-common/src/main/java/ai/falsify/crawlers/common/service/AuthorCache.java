@@ -0,0 +1,92 @@
+package ai.falsify.crawlers.common.service;
+
+import ai.falsify.crawlers.common.model.AuthorEntity;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-local cache of author ids by case-insensitive name, so resolving the author
+ * of crawled articles is a map lookup instead of a {@code LOWER(name)} query per article.
+ * <p>
+ * Only committed state is cached: lookups, creation and avatar updates run in their own
+ * transactions, so an entry never points at a row that the caller's rollback removed.
+ * Creation relies on the unique index on {@code LOWER(name)}; a crawler that loses the
+ * race to create an author fails its insert and then reads the winner's row.
+ */
+@ApplicationScoped
+public class AuthorCache {
+
+    private static final Logger LOG = Logger.getLogger(AuthorCache.class);
+
+    private final Map<String, CachedAuthor> authors = new ConcurrentHashMap<>();
+
+    /**
+     * Resolves an author for the current transaction, creating it if needed.
+     * The returned entity is a reference that is only loaded if its fields are read,
+     * which is all that is needed to link articles to it. An avatar URL different from
+     * the cached one is written to the author and refreshes the entry.
+     *
+     * @param name the author's name; blank names resolve to the unknown author
+     * @param avatarUrl the author's avatar URL (optional)
+     * @return reference to the stored author
+     */
+    public AuthorEntity resolve(String name, String avatarUrl) {
+        String authorName = name == null || name.trim().isEmpty() ? AuthorEntity.UNKNOWN_AUTHOR_NAME : name.trim();
+        String requestedAvatarUrl = name == null || name.trim().isEmpty() ? null : avatarUrl;
+        String key = authorName.toLowerCase(Locale.ROOT);
+
+        CachedAuthor cached = authors.get(key);
+        if (cached == null || (requestedAvatarUrl != null && !requestedAvatarUrl.equals(cached.avatarUrl()))) {
+            cached = load(authorName, requestedAvatarUrl);
+            authors.put(key, cached);
+        }
+        return AuthorEntity.getEntityManager().getReference(AuthorEntity.class, cached.id());
+    }
+
+    /**
+     * Drops the cached entry of an author, e.g. after the author was edited elsewhere.
+     *
+     * @param name the author's name
+     */
+    public void invalidate(String name) {
+        if (name != null) {
+            authors.remove(name.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Drops all cached authors.
+     */
+    public void invalidateAll() {
+        authors.clear();
+    }
+
+    private CachedAuthor load(String name, String avatarUrl) {
+        try {
+            return QuarkusTransaction.requiringNew().call(() -> findOrCreate(name, avatarUrl));
+        } catch (RuntimeException e) {
+            // Most likely another crawler created the same author concurrently
+            LOG.debugf("Author '%s' could not be created, reading the stored author: %s", name, e.getMessage());
+            return QuarkusTransaction.requiringNew().call(() -> findOrCreate(name, avatarUrl));
+        }
+    }
+
+    private static CachedAuthor findOrCreate(String name, String avatarUrl) {
+        AuthorEntity author = AuthorEntity.findOrCreate(name, avatarUrl);
+        LOG.debugf("Resolved author '%s' to ID: %d", name, author.id);
+        return new CachedAuthor(author.id, avatarUrl != null ? avatarUrl : author.avatarUrl);
+    }
+
+    /**
+     * Cached author id with the avatar URL it was last resolved with.
+     */
+    private record CachedAuthor(
+        long id,
+        String avatarUrl
+    ) {}
+}
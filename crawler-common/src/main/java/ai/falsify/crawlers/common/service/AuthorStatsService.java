@@ -0,0 +1,155 @@
+package ai.falsify.crawlers.common.service;
+
+import ai.falsify.crawlers.common.model.AuthorStatsEntity;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the {@code author_stats} table incrementally.
+ * <p>
+ * Every article and prediction insert adds to its author's row in the same transaction,
+ * so the totals stay exact without re-aggregating. Enable it on all services that
+ * store articles or predictions at once, then call {@link #rebuild()} (or run the
+ * migration backfill) so the totals start from the current data.
+ * <p>
+ * An author's row is created on its first write in a separate transaction, so concurrent
+ * first writes for the same author cannot fail the caller's batch on the primary key.
+ */
+@ApplicationScoped
+public class AuthorStatsService {
+
+    private static final Logger LOG = Logger.getLogger(AuthorStatsService.class);
+
+    @ConfigProperty(name = "articles.author-stats.enabled", defaultValue = "false")
+    boolean enabled;
+
+    /**
+     * Checks whether the totals are maintained and can be read instead of aggregating.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Adds stored articles to an author's totals.
+     *
+     * @param authorId the author's ID
+     * @param count number of articles stored
+     * @param latestCreatedAt creation time of the newest of them
+     */
+    @Transactional
+    public void recordArticles(Long authorId, int count, Instant latestCreatedAt) {
+        if (!enabled || authorId == null || count <= 0) {
+            return;
+        }
+
+        if (addArticles(authorId, count, latestCreatedAt) == 0) {
+            createRow(authorId);
+            if (addArticles(authorId, count, latestCreatedAt) == 0) {
+                AuthorStatsEntity stats = new AuthorStatsEntity(authorId);
+                stats.articleCount = count;
+                stats.latestArticleAt = latestCreatedAt;
+                stats.persist();
+            }
+        }
+        LOG.debugf("Recorded %d articles for author ID: %d", count, authorId);
+    }
+
+    /**
+     * Adds stored predictions to an author's totals.
+     *
+     * @param authorId the author's ID
+     * @param count number of prediction instances stored
+     */
+    @Transactional
+    public void recordPredictions(Long authorId, int count) {
+        if (!enabled || authorId == null || count <= 0) {
+            return;
+        }
+
+        if (addPredictions(authorId, count) == 0) {
+            createRow(authorId);
+            if (addPredictions(authorId, count) == 0) {
+                AuthorStatsEntity stats = new AuthorStatsEntity(authorId);
+                stats.predictionCount = count;
+                stats.persist();
+            }
+        }
+        LOG.debugf("Recorded %d predictions for author ID: %d", count, authorId);
+    }
+
+    private static int addArticles(Long authorId, int count, Instant latestCreatedAt) {
+        return AuthorStatsEntity.update(
+                "articleCount = articleCount + ?1, "
+                        + "latestArticleAt = CASE WHEN latestArticleAt IS NULL OR latestArticleAt < ?2 THEN ?2 ELSE latestArticleAt END, "
+                        + "updatedAt = ?3 WHERE authorId = ?4",
+                (long) count, latestCreatedAt, Instant.now(), authorId);
+    }
+
+    private static int addPredictions(Long authorId, int count) {
+        return AuthorStatsEntity.update(
+                "predictionCount = predictionCount + ?1, updatedAt = ?2 WHERE authorId = ?3",
+                (long) count, Instant.now(), authorId);
+    }
+
+    /**
+     * Creates an empty row for an author in its own transaction, so that losing the race
+     * against another first write only fails this insert and the caller's update can be retried.
+     * If the row still cannot be seen afterwards (e.g. the author itself is not committed yet),
+     * the caller falls back to inserting it in its own transaction.
+     */
+    private static void createRow(Long authorId) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                if (AuthorStatsEntity.findById(authorId) == null) {
+                    new AuthorStatsEntity(authorId).persist();
+                }
+            });
+        } catch (RuntimeException e) {
+            LOG.debugf("Stats row for author ID %d was not created, retrying the update: %s", authorId, e.getMessage());
+        }
+    }
+
+    /**
+     * Recomputes all totals from the articles and prediction instances,
+     * e.g. after enabling the table on existing data or after bulk deletes.
+     *
+     * @return number of authors with totals
+     */
+    @Transactional
+    public int rebuild() {
+        LOG.info("Rebuilding author statistics");
+        Map<Long, AuthorStatsEntity> stats = new HashMap<>();
+
+        List<Object[]> articleTotals = AuthorStatsEntity.getEntityManager()
+                .createQuery("SELECT a.author.id, COUNT(a), MAX(a.createdAt) FROM ArticleEntity a GROUP BY a.author.id",
+                        Object[].class)
+                .getResultList();
+        for (Object[] row : articleTotals) {
+            AuthorStatsEntity entry = stats.computeIfAbsent((Long) row[0], AuthorStatsEntity::new);
+            entry.articleCount = (Long) row[1];
+            entry.latestArticleAt = (Instant) row[2];
+        }
+
+        List<Object[]> predictionTotals = AuthorStatsEntity.getEntityManager()
+                .createQuery("SELECT p.article.author.id, COUNT(p) FROM PredictionInstanceEntity p GROUP BY p.article.author.id",
+                        Object[].class)
+                .getResultList();
+        for (Object[] row : predictionTotals) {
+            stats.computeIfAbsent((Long) row[0], AuthorStatsEntity::new).predictionCount = (Long) row[1];
+        }
+
+        AuthorStatsEntity.deleteAll();
+        AuthorStatsEntity.persist(stats.values());
+        LOG.infof("Rebuilt author statistics for %d authors", stats.size());
+        return stats.size();
+    }
+}
@@ -0,0 +1,117 @@
+package ai.falsify.crawlers.common.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe, fixed-size Bloom filter over strings.
+ * A negative answer from {@link #mightContain(String)} is definitive, a positive
+ * answer is wrong with roughly the configured false positive probability once
+ * the expected number of values has been added.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    /**
+     * Creates a filter sized for the given load.
+     *
+     * @param expectedInsertions number of values the filter is expected to hold
+     * @param falsePositiveRate  acceptable false positive probability, between 0 and 1
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive: " + expectedInsertions);
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int words = (int) Math.max(1, (optimalBits + 63) / 64);
+
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+    }
+
+    /**
+     * Adds a value to the filter.
+     *
+     * @param value the value to add
+     */
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a value may have been added.
+     *
+     * @param value the value to check
+     * @return false if the value was definitely never added
+     */
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes all values from the filter.
+     */
+    public void clear() {
+        for (int i = 0; i < bits.length(); i++) {
+            bits.set(i, 0L);
+        }
+    }
+
+    /**
+     * Gets the size of the bit array, for monitoring memory use.
+     */
+    public long bitSize() {
+        return bitCount;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units, finished with a mixing step so
+     * that the low bits are usable for indexing.
+     */
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
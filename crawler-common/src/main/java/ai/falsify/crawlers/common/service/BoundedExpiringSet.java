@@ -0,0 +1,169 @@
+package ai.falsify.crawlers.common.service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-capacity, thread-safe set of strings with per-entry expiration.
+ * Entries are spread over independently locked LRU segments, so memory stays
+ * flat regardless of how many values are offered and contention is limited
+ * to values that hash to the same segment.
+ */
+public final class BoundedExpiringSet {
+
+    private static final int DEFAULT_SEGMENTS = 16;
+
+    private final Segment[] segments;
+    private final long ttlMillis;
+    private final int capacity;
+    private final LongSupplier clock;
+
+    /**
+     * Creates a new set.
+     *
+     * @param capacity maximum number of entries kept in memory
+     * @param ttl      how long an entry stays valid after it was added
+     */
+    public BoundedExpiringSet(int capacity, Duration ttl) {
+        this(capacity, ttl, System::currentTimeMillis);
+    }
+
+    BoundedExpiringSet(int capacity, Duration ttl, LongSupplier clock) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("TTL must be positive: " + ttl);
+        }
+
+        int segmentCount = Math.min(DEFAULT_SEGMENTS, capacity);
+        int segmentCapacity = (capacity + segmentCount - 1) / segmentCount;
+
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+        this.capacity = segmentCapacity * segmentCount;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Adds a value unless a non-expired copy is already present.
+     *
+     * @param value the value to add
+     * @return true if the value was added, false if it was already present
+     */
+    public boolean add(String value) {
+        long now = clock.getAsLong();
+        Segment segment = segmentFor(value);
+        synchronized (segment) {
+            Long expiresAt = segment.get(value);
+            if (expiresAt != null && expiresAt > now) {
+                return false;
+            }
+            segment.put(value, now + ttlMillis);
+            return true;
+        }
+    }
+
+    /**
+     * Checks whether a non-expired copy of the value is present.
+     *
+     * @param value the value to check
+     * @return true if the value is present
+     */
+    public boolean contains(String value) {
+        long now = clock.getAsLong();
+        Segment segment = segmentFor(value);
+        synchronized (segment) {
+            Long expiresAt = segment.get(value);
+            if (expiresAt == null) {
+                return false;
+            }
+            if (expiresAt <= now) {
+                segment.remove(value);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param value the value to remove
+     * @return true if the value was present
+     */
+    public boolean remove(String value) {
+        Segment segment = segmentFor(value);
+        synchronized (segment) {
+            return segment.remove(value) != null;
+        }
+    }
+
+    /**
+     * Gets the number of non-expired entries, purging expired ones on the way.
+     */
+    public int size() {
+        long now = clock.getAsLong();
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                Iterator<Long> iterator = segment.values().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next() <= now) {
+                        iterator.remove();
+                    }
+                }
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets the maximum number of entries this set can hold.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private Segment segmentFor(String value) {
+        int hash = value.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[Math.floorMod(hash, segments.length)];
+    }
+
+    /**
+     * Access-ordered map that evicts its least recently used entry once full.
+     */
+    private static final class Segment extends LinkedHashMap<String, Long> {
+
+        private final int maxEntries;
+
+        Segment(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
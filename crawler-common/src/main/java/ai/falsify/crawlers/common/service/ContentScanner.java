@@ -0,0 +1,399 @@
+package ai.falsify.crawlers.common.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Single-pass scanner that collects the content quality statistics used by
+ * {@link ContentValidator}: HTML tag ratio, script/style blocks, runs of whitespace,
+ * word and sentence counts of the tag-free text, and the normalized content hash.
+ * <p>
+ * Every statistic matches what the equivalent regular expressions report on the same
+ * text, so validation outcomes do not depend on which implementation computed them,
+ * but the text is walked once and no intermediate strings are built.
+ */
+public final class ContentScanner {
+
+    // 128 bits of SHA-256 keep accidental collisions negligible at crawl scale
+    private static final int HASH_BYTES = 16;
+    private static final HexFormat HEX = HexFormat.of();
+
+    // Only used for text whose lower-casing depends on context, see Normalizer
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+    private static final Pattern PUNCTUATION_PATTERN = Pattern.compile("[\\p{Punct}&&[^.!?]]");
+
+    private static final String SCRIPT_OPEN = "<script";
+    private static final String SCRIPT_CLOSE = "</script>";
+    private static final String STYLE_OPEN = "<style";
+    private static final String STYLE_CLOSE = "</style>";
+
+    private ContentScanner() {
+    }
+
+    /**
+     * Scans a text.
+     *
+     * @param content the text to scan
+     * @return the collected statistics
+     */
+    public static Stats scan(String content) {
+        int length = content.length();
+        Normalizer normalizer = new Normalizer();
+        BlockMatcher script = new BlockMatcher(SCRIPT_OPEN, SCRIPT_CLOSE);
+        BlockMatcher style = new BlockMatcher(STYLE_OPEN, STYLE_CLOSE);
+        SentenceCounter sentences = new SentenceCounter();
+
+        int tagChars = 0;
+        int tagEnd = -1;
+        int nextGreaterThan = -2; // -2: not looked up yet, -1: none left
+
+        int whitespaceRun = 0;
+        boolean excessiveWhitespace = false;
+
+        int words = 0;
+        boolean inWord = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = content.charAt(i);
+            boolean whitespace = isWhitespace(c);
+
+            // Raw text: normalized hash, whitespace runs and script/style blocks
+            normalizer.accept(c, whitespace);
+            whitespaceRun = whitespace ? whitespaceRun + 1 : 0;
+            excessiveWhitespace |= whitespaceRun >= 3;
+            script.accept(content, i, c);
+            style.accept(content, i, c);
+
+            // Same tags as <[^>]+>: a '<' up to the next '>', with at least one character between
+            if (i > tagEnd && c == '<') {
+                if (nextGreaterThan != -1 && nextGreaterThan <= i) {
+                    nextGreaterThan = content.indexOf('>', i + 1);
+                }
+                if (nextGreaterThan > i + 1) {
+                    tagEnd = nextGreaterThan;
+                }
+            }
+            if (i <= tagEnd) {
+                tagChars++;
+                continue;
+            }
+
+            // Tag-free text: words and sentences
+            if (whitespace) {
+                inWord = false;
+            } else if (!inWord) {
+                inWord = true;
+                words++;
+            }
+            sentences.accept(c);
+        }
+        sentences.finish();
+
+        return new Stats(
+                length == 0 ? 0.0 : (double) tagChars / length,
+                script.matched(),
+                style.matched(),
+                excessiveWhitespace,
+                Math.max(1, words),
+                sentences.count,
+                sentences.duplicates,
+                normalizer.finish(content));
+    }
+
+    /**
+     * Computes the normalized content hash alone: whitespace runs collapsed, punctuation
+     * other than sentence endings removed, lower-cased and trimmed, then the first
+     * 128 bits of its SHA-256 digest as hex.
+     *
+     * @param content the text to hash
+     * @return the content hash
+     */
+    public static String contentHash(String content) {
+        Normalizer normalizer = new Normalizer();
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            normalizer.accept(c, isWhitespace(c));
+        }
+        return normalizer.finish(content);
+    }
+
+    /**
+     * Same characters as {@code \s} in {@link Pattern}.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    /**
+     * Same characters as {@code [\p{Punct}&&[^.!?]]} in {@link Pattern}.
+     */
+    private static boolean isRemovedPunctuation(char c) {
+        return c < 128 && c != '.' && c != '!' && c != '?'
+                && ((c >= '!' && c <= '/') || (c >= ':' && c <= '@') || (c >= '[' && c <= '`') || (c >= '{' && c <= '~'));
+    }
+
+    /**
+     * Case-insensitive like {@link Pattern#CASE_INSENSITIVE}, which only folds US-ASCII.
+     */
+    private static boolean startsWithIgnoreAsciiCase(String content, int offset, String lowerCasePrefix) {
+        if (offset + lowerCasePrefix.length() > content.length()) {
+            return false;
+        }
+        for (int i = 0; i < lowerCasePrefix.length(); i++) {
+            char c = content.charAt(offset + i);
+            if (c >= 128 || asciiLowerCase(c) != lowerCasePrefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char asciiLowerCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static boolean isSentenceEnd(char c) {
+        return c == '.' || c == '!' || c == '?';
+    }
+
+    /**
+     * Statistics of a scanned text.
+     *
+     * @param htmlRatio share of characters inside HTML tags
+     * @param hasScriptTags whether a complete script block is present
+     * @param hasStyleTags whether a complete style block is present
+     * @param hasExcessiveWhitespace whether three or more whitespace characters follow each other
+     * @param wordCount number of whitespace-separated words in the tag-free text, at least 1
+     * @param sentenceCount number of sentences in the tag-free text
+     * @param duplicateSentences number of repeated sentences longer than 10 characters
+     * @param contentHash the normalized content hash, see {@link #contentHash(String)}
+     */
+    public record Stats(double htmlRatio,
+                        boolean hasScriptTags,
+                        boolean hasStyleTags,
+                        boolean hasExcessiveWhitespace,
+                        int wordCount,
+                        int sentenceCount,
+                        int duplicateSentences,
+                        String contentHash) {
+    }
+
+    /**
+     * Matches {@code <open[^>]*>.*?close}, case-insensitively.
+     * Only the first opening tag matters: if it has no complete block after it,
+     * no later one has either.
+     */
+    private static final class BlockMatcher {
+
+        private final String open;
+        private final String close;
+        private int state;
+        private int closeFrom;
+
+        BlockMatcher(String open, String close) {
+            this.open = open;
+            this.close = close;
+        }
+
+        void accept(String content, int i, char c) {
+            switch (state) {
+                case 0 -> {
+                    if (c == '<' && startsWithIgnoreAsciiCase(content, i, open)) {
+                        state = 1;
+                        closeFrom = i + open.length();
+                    }
+                }
+                case 1 -> {
+                    if (c == '>' && i >= closeFrom) {
+                        state = 2;
+                        closeFrom = i + 1;
+                    }
+                }
+                case 2 -> {
+                    if (c == '<' && i >= closeFrom && startsWithIgnoreAsciiCase(content, i, close)) {
+                        state = 3;
+                    }
+                }
+                default -> {
+                    // Matched
+                }
+            }
+        }
+
+        boolean matched() {
+            return state == 3;
+        }
+    }
+
+    /**
+     * Splits the tag-free text like {@code split("[.!?]+")} and counts repeated
+     * sentences, compared trimmed and lower-cased through a 64-bit hash.
+     */
+    private static final class SentenceCounter {
+
+        private final Set<Long> seen = new HashSet<>();
+        private final StringBuilder pendingSpace = new StringBuilder();
+        private int count;
+        private int duplicates;
+
+        private boolean inDelimiter;
+        private boolean any;
+        private long hash;
+        private int trimmedLength;
+
+        SentenceCounter() {
+            reset();
+        }
+
+        void accept(char c) {
+            any = true;
+            if (isSentenceEnd(c)) {
+                if (!inDelimiter) {
+                    endSentence();
+                    inDelimiter = true;
+                }
+                return;
+            }
+            inDelimiter = false;
+
+            if (c <= ' ') {
+                // Kept only if more text follows, which is what trim() drops
+                if (trimmedLength > 0) {
+                    pendingSpace.append(c);
+                }
+                return;
+            }
+            for (int i = 0; i < pendingSpace.length(); i++) {
+                add(pendingSpace.charAt(i));
+            }
+            pendingSpace.setLength(0);
+            add(Character.toLowerCase(c));
+        }
+
+        void finish() {
+            // A trailing delimiter leaves an empty last piece, which split() drops
+            if (!inDelimiter || !any) {
+                endSentence();
+            }
+        }
+
+        private void add(char c) {
+            hash = (hash ^ c) * 0x100000001B3L;
+            trimmedLength++;
+        }
+
+        private void endSentence() {
+            count++;
+            if (trimmedLength > 10 && !seen.add(hash)) {
+                duplicates++;
+            }
+            reset();
+        }
+
+        private void reset() {
+            hash = 0xCBF29CE484222325L;
+            trimmedLength = 0;
+            pendingSpace.setLength(0);
+        }
+    }
+
+    /**
+     * Streams the normalized text into SHA-256 as UTF-8.
+     * Lower-casing is done per character, which agrees with {@link String#toLowerCase()}
+     * except for a few context-dependent letters and supplementary characters; texts
+     * containing those are hashed through the regular expressions instead.
+     */
+    private static final class Normalizer {
+
+        private final MessageDigest digest = sha256();
+        private final byte[] buffer = new byte[4096];
+        private final StringBuilder pendingSpace = new StringBuilder();
+        private int position;
+        private boolean started;
+        private boolean previousWhitespace;
+        private boolean fallback;
+
+        void accept(char c, boolean whitespace) {
+            if (whitespace) {
+                if (!previousWhitespace) {
+                    emit(' ');
+                }
+                previousWhitespace = true;
+                return;
+            }
+            previousWhitespace = false;
+
+            if (isRemovedPunctuation(c)) {
+                return;
+            }
+            if (Character.isSurrogate(c) || c == '\u0130' || c == '\u03A3') {
+                fallback = true;
+                return;
+            }
+            emit(c < 128 ? asciiLowerCase(c) : Character.toLowerCase(c));
+        }
+
+        String finish(String content) {
+            if (fallback) {
+                return slowContentHash(content);
+            }
+            digest.update(buffer, 0, position);
+            return HEX.formatHex(digest.digest(), 0, HASH_BYTES);
+        }
+
+        private void emit(char c) {
+            if (c <= ' ') {
+                // Trimmed unless followed by more text
+                if (started) {
+                    pendingSpace.append(c);
+                }
+                return;
+            }
+            for (int i = 0; i < pendingSpace.length(); i++) {
+                write(pendingSpace.charAt(i));
+            }
+            pendingSpace.setLength(0);
+            started = true;
+            write(c);
+        }
+
+        private void write(char c) {
+            if (position + 3 > buffer.length) {
+                digest.update(buffer, 0, position);
+                position = 0;
+            }
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+
+        private static String slowContentHash(String content) {
+            String normalized = WHITESPACE_PATTERN.matcher(content).replaceAll(" ");
+            normalized = PUNCTUATION_PATTERN.matcher(normalized).replaceAll("");
+            normalized = normalized.toLowerCase().trim();
+
+            byte[] hash = sha256().digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HEX.formatHex(hash, 0, HASH_BYTES);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
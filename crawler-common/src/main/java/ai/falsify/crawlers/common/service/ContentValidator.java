@@ -2,13 +2,17 @@ package ai.falsify.crawlers.common.service;
 
 import ai.falsify.crawlers.common.config.CrawlerConfiguration;
 import ai.falsify.crawlers.common.exception.ContentValidationException;
+import ai.falsify.crawlers.common.service.redis.ContentHashCache;
+import ai.falsify.crawlers.common.service.redis.NearDuplicateIndex;
+import ai.falsify.crawlers.common.service.redis.NearDuplicateIndex.NearDuplicate;
+import ai.falsify.crawlers.common.service.redis.RedisServiceImpl.RedisOperationException;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
-import java.util.HashSet;
-import java.util.Set;
-import java.util.regex.Pattern;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * Service for validating crawled content quality and integrity.
@@ -20,20 +24,29 @@ public class ContentValidator {
 
     private static final Logger LOG = Logger.getLogger(ContentValidator.class);
 
+    // How long to stop calling Redis after it failed, relying on the local tier only
+    private static final Duration REDIS_RETRY_INTERVAL = Duration.ofSeconds(30);
+
     @Inject
     CrawlerConfiguration config;
 
-    // Cache for duplicate content detection (in production, this should be backed
-    // by Redis)
-    private final Set<String> contentHashes = new HashSet<>();
+    @Inject
+    ContentHashCache contentHashCache;
+
+    @Inject
+    NearDuplicateIndex nearDuplicateIndex;
+
+    // Bounded in-process tier in front of the shared Redis hash cache
+    private BoundedExpiringSet contentHashes;
+
+    private volatile long redisRetryAt;
 
-    // Patterns for detecting malformed content
-    private static final Pattern HTML_TAG_PATTERN = Pattern.compile("<[^>]+>");
-    private static final Pattern EXCESSIVE_WHITESPACE_PATTERN = Pattern.compile("\\s{3,}");
-    private static final Pattern SCRIPT_TAG_PATTERN = Pattern.compile("<script[^>]*>.*?</script>",
-            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
-    private static final Pattern STYLE_TAG_PATTERN = Pattern.compile("<style[^>]*>.*?</style>",
-            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    @PostConstruct
+    void init() {
+        contentHashes = new BoundedExpiringSet(
+                config.content().duplicateCacheLocalSize(),
+                config.content().duplicateCacheTtl());
+    }
 
     /**
      * Validates an article's content according to configured rules.
@@ -53,8 +66,11 @@ public class ContentValidator {
 
         validateRequiredFields(title, url, content);
         validateContentLength(content);
-        validateContentQuality(content);
-        validateNoDuplication(content, url);
+
+        // One pass over the text collects everything the quality and duplication checks need
+        ContentScanner.Stats stats = ContentScanner.scan(content);
+        validateContentQuality(stats);
+        validateNoDuplication(content, url, stats.contentHash());
 
         LOG.debugf("Content validation passed for URL: %s", url);
     }
@@ -104,10 +120,9 @@ public class ContentValidator {
     /**
      * Validates content quality by detecting malformed or low-quality content.
      */
-    private void validateContentQuality(String content) throws ContentValidationException {
+    private void validateContentQuality(ContentScanner.Stats stats) throws ContentValidationException {
         // Check for excessive HTML tags (indicates poor content extraction)
-        String htmlTagsRemoved = HTML_TAG_PATTERN.matcher(content).replaceAll("");
-        double htmlRatio = (double) (content.length() - htmlTagsRemoved.length()) / content.length();
+        double htmlRatio = stats.htmlRatio();
 
         if (htmlRatio > 0.3) { // More than 30% HTML tags
             throw new ContentValidationException(
@@ -118,14 +133,14 @@ public class ContentValidator {
         }
 
         // Check for script or style tags (should be cleaned during extraction)
-        if (SCRIPT_TAG_PATTERN.matcher(content).find()) {
+        if (stats.hasScriptTags()) {
             throw new ContentValidationException(
                     ContentValidationException.ErrorCode.CONTENT_VALIDATION_FAILED,
                     "Content contains script tags, indicating incomplete cleaning",
                     "content.scriptTags");
         }
 
-        if (STYLE_TAG_PATTERN.matcher(content).find()) {
+        if (stats.hasStyleTags()) {
             throw new ContentValidationException(
                     ContentValidationException.ErrorCode.CONTENT_VALIDATION_FAILED,
                     "Content contains style tags, indicating incomplete cleaning",
@@ -133,21 +148,21 @@ public class ContentValidator {
         }
 
         // Check for excessive whitespace
-        if (EXCESSIVE_WHITESPACE_PATTERN.matcher(content).find()) {
+        if (stats.hasExcessiveWhitespace()) {
             LOG.warn("Content contains excessive whitespace, may indicate formatting issues");
         }
 
         // Check for minimum word count (rough estimate)
-        String[] words = htmlTagsRemoved.trim().split("\\s+");
-        if (words.length < 10) {
+        int wordCount = stats.wordCount();
+        if (wordCount < 10) {
             throw new ContentValidationException(
                     ContentValidationException.ErrorCode.CONTENT_VALIDATION_FAILED,
-                    String.format("Content has too few words (%d), may not be meaningful", words.length),
+                    String.format("Content has too few words (%d), may not be meaningful", wordCount),
                     "content.wordCount");
         }
 
         // Check for repetitive content patterns
-        if (hasRepetitivePatterns(htmlTagsRemoved)) {
+        if (hasRepetitivePatterns(stats)) {
             throw new ContentValidationException(
                     ContentValidationException.ErrorCode.CONTENT_VALIDATION_FAILED,
                     "Content appears to have repetitive patterns, may be auto-generated",
@@ -159,73 +174,82 @@ public class ContentValidator {
      * Validates that the content is not a duplicate of previously processed
      * content.
      */
-    private void validateNoDuplication(String content, String url) throws ContentValidationException {
-        String contentHash = generateContentHash(content);
+    private void validateNoDuplication(String content, String url, String contentHash) throws ContentValidationException {
+        if (!config.content().enableDuplicateDetection()) {
+            return;
+        }
 
-        if (contentHashes.contains(contentHash)) {
+        // The local tier answers repeats seen by this process without a round trip;
+        // only locally new hashes are claimed in Redis, which is shared by all crawlers
+        boolean isNew = contentHashes.add(contentHash) && claimSharedHash(contentHash, url);
+
+        if (!isNew) {
             throw new ContentValidationException(
                     ContentValidationException.ErrorCode.CONTENT_VALIDATION_FAILED,
                     "Duplicate content detected for URL: " + url,
                     "content.duplicate");
         }
 
-        // Add to cache for future duplicate detection
-        contentHashes.add(contentHash);
-
-        // Prevent memory growth by limiting cache size (in production, use Redis with
-        // TTL)
-        if (contentHashes.size() > 10000) {
-            LOG.warn("Content hash cache is getting large, consider using Redis for production");
-            // Remove oldest entries (simple approach - in production use LRU cache)
-            if (contentHashes.size() > 15000) {
-                contentHashes.clear();
-                LOG.info("Cleared content hash cache to prevent memory issues");
+        if (config.content().enableNearDuplicateDetection()) {
+            validateNoNearDuplication(content, url);
+        }
+    }
+
+    /**
+     * Validates that the content is not a lightly edited copy of previously processed
+     * content, e.g. the same column under a new headline or with an appended correction.
+     * New content is added to the index once it passes.
+     */
+    private void validateNoNearDuplication(String content, String url) throws ContentValidationException {
+        long fingerprint = SimHash.fingerprint(content);
+        List<NearDuplicate> matches = nearDuplicateIndex.findNearDuplicates(
+                fingerprint, config.content().nearDuplicateThreshold());
+
+        for (NearDuplicate match : matches) {
+            if (!match.url().equals(url)) {
+                throw new ContentValidationException(
+                        ContentValidationException.ErrorCode.CONTENT_VALIDATION_FAILED,
+                        String.format("Near-duplicate content detected for URL: %s (%.0f%% similar to %s)",
+                                url, match.similarity() * 100, match.url()),
+                        "content.nearDuplicate");
             }
         }
+
+        nearDuplicateIndex.add(fingerprint, url);
     }
 
     /**
-     * Generates a hash for content deduplication.
-     * Uses a normalized version of the content to handle minor formatting
-     * differences.
+     * Atomically records the hash in Redis with the configured TTL.
+     * Falls back to the local tier alone while Redis is unavailable.
+     *
+     * @return true if no other process has seen the content
      */
-    private String generateContentHash(String content) {
-        // Normalize content for hashing
-        String normalized = content
-                .replaceAll("\\s+", " ") // Normalize whitespace
-                .replaceAll("[\\p{Punct}&&[^.!?]]", "") // Remove punctuation except sentence endings
-                .toLowerCase()
-                .trim();
-
-        return String.valueOf(normalized.hashCode());
+    private boolean claimSharedHash(String contentHash, String url) {
+        if (System.currentTimeMillis() < redisRetryAt) {
+            return true;
+        }
+
+        try {
+            return contentHashCache.addContentHash(contentHash, url, null, config.content().duplicateCacheTtl());
+        } catch (RedisOperationException e) {
+            redisRetryAt = System.currentTimeMillis() + REDIS_RETRY_INTERVAL.toMillis();
+            LOG.warnf("Redis unavailable for duplicate detection, using local cache only for %s: %s",
+                    REDIS_RETRY_INTERVAL, e.getMessage());
+            return true;
+        }
     }
 
     /**
      * Detects repetitive patterns in content that might indicate auto-generated
      * text.
      */
-    private boolean hasRepetitivePatterns(String content) {
-        String[] sentences = content.split("[.!?]+");
-
-        if (sentences.length < 3) {
+    private boolean hasRepetitivePatterns(ContentScanner.Stats stats) {
+        if (stats.sentenceCount() < 3) {
             return false;
         }
 
-        // Check for repeated sentences
-        Set<String> uniqueSentences = new HashSet<>();
-        int duplicateSentences = 0;
-
-        for (String sentence : sentences) {
-            String normalizedSentence = sentence.trim().toLowerCase();
-            if (normalizedSentence.length() > 10) { // Only check meaningful sentences
-                if (!uniqueSentences.add(normalizedSentence)) {
-                    duplicateSentences++;
-                }
-            }
-        }
-
         // If more than 20% of sentences are duplicates, consider it repetitive
-        double duplicateRatio = (double) duplicateSentences / sentences.length;
+        double duplicateRatio = (double) stats.duplicateSentences() / stats.sentenceCount();
         return duplicateRatio > 0.2;
     }
 
@@ -234,11 +258,17 @@ public class ContentValidator {
      */
     public void clearContentCache() {
         contentHashes.clear();
+        nearDuplicateIndex.clear();
+        try {
+            contentHashCache.clearCache();
+        } catch (RedisOperationException e) {
+            LOG.warnf("Failed to clear shared content hash cache: %s", e.getMessage());
+        }
         LOG.info("Content hash cache cleared");
     }
 
     /**
-     * Gets the current size of the content hash cache (for monitoring).
+     * Gets the current size of the local content hash cache (for monitoring).
      */
     public int getContentCacheSize() {
         return contentHashes.size();
@@ -2,18 +2,34 @@ package ai.falsify.crawlers.common.service;
 
 import ai.falsify.crawlers.common.config.CrawlerConfiguration;
 import ai.falsify.crawlers.common.exception.CrawlingException;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 /**
  * Service for handling retry logic with exponential backoff and circuit breaker pattern.
  * Provides configurable retry mechanisms for network operations and other fallible operations.
+ * <p>
+ * Each operation class gets its own circuit breaker, keyed by the operation name with any
+ * trailing URL reduced to its host (see {@link #circuitBreakerKey(String)}), so a failing
+ * Redis or site does not stop unrelated work.
  */
 @ApplicationScoped
 public class RetryService {
@@ -23,7 +39,19 @@ public class RetryService {
     @Inject
     CrawlerConfiguration config;
 
-    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+    final Map<String, SlidingWindowCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    // Only schedules retries; the operations themselves must not block this thread
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "retry-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    void shutdown() {
+        retryScheduler.shutdownNow();
+    }
 
     /**
      * Executes an operation with retry logic and exponential backoff.
@@ -40,6 +68,8 @@ public class RetryService {
 
     /**
      * Executes an operation with retry logic, only retrying on specific exception types.
+     * The calling thread sleeps between attempts; use
+     * {@link #executeWithRetryAsync(Supplier, String, Class)} where that would cap throughput.
      *
      * @param operation the operation to execute
      * @param operationName descriptive name for logging
@@ -55,20 +85,14 @@ public class RetryService {
             Class<E> retryableExceptionType) throws CrawlingException {
 
         CrawlerConfiguration.RetryConfig retryConfig = config.retry();
+        SlidingWindowCircuitBreaker circuitBreaker = getCircuitBreaker(operationName);
         
         // Check circuit breaker first
-        if (retryConfig.enableCircuitBreaker() && circuitBreaker.isOpen()) {
-            throw new CrawlingException(
-                CrawlingException.ErrorCode.OPERATION_CANCELLED,
-                "Circuit breaker is open, operation cancelled: " + operationName
-            );
+        if (circuitBreaker != null && !circuitBreaker.allowRequest()) {
+            throw circuitOpen(operationName);
         }
 
         int maxAttempts = retryConfig.maxAttempts();
-        Duration initialDelay = retryConfig.initialDelay();
-        Duration maxDelay = retryConfig.maxDelay();
-        double backoffMultiplier = retryConfig.backoffMultiplier();
-
         Exception lastException = null;
         
         for (int attempt = 1; attempt <= maxAttempts; attempt++) {
@@ -77,8 +101,7 @@ public class RetryService {
                 
                 T result = operation.get();
                 
-                // Success - reset circuit breaker if enabled
-                if (retryConfig.enableCircuitBreaker()) {
+                if (circuitBreaker != null) {
                     circuitBreaker.recordSuccess();
                 }
                 
@@ -91,34 +114,11 @@ public class RetryService {
             } catch (Exception e) {
                 lastException = e;
                 
-                // Check if this exception type should trigger a retry
-                if (!retryableExceptionType.isAssignableFrom(e.getClass())) {
-                    LOG.debugf("Exception %s is not retryable for operation %s", e.getClass().getSimpleName(), operationName);
-                    break;
-                }
-                
-                // Record failure for circuit breaker
-                if (retryConfig.enableCircuitBreaker()) {
-                    circuitBreaker.recordFailure();
-                    
-                    // Check if circuit breaker should open
-                    if (circuitBreaker.shouldOpen(retryConfig.circuitBreakerFailureThreshold())) {
-                        LOG.warnf("Circuit breaker opened after %d failures", retryConfig.circuitBreakerFailureThreshold());
-                        break;
-                    }
-                }
-                
-                if (attempt == maxAttempts) {
-                    LOG.errorf("Operation %s failed after %d attempts", operationName, maxAttempts);
+                Duration delay = nextDelay(e, operationName, attempt, retryableExceptionType, circuitBreaker);
+                if (delay == null) {
                     break;
                 }
                 
-                // Calculate delay for next attempt
-                Duration delay = calculateDelay(attempt, initialDelay, maxDelay, backoffMultiplier);
-                
-                LOG.warnf("Operation %s failed on attempt %d/%d, retrying in %s. Error: %s", 
-                    operationName, attempt, maxAttempts, delay, e.getMessage());
-                
                 try {
                     Thread.sleep(delay.toMillis());
                 } catch (InterruptedException ie) {
@@ -129,15 +129,198 @@ public class RetryService {
                         ie
                     );
                 }
+            } catch (Error e) {
+                if (circuitBreaker != null) {
+                    circuitBreaker.releaseTrial();
+                }
+                throw e;
             }
         }
         
-        // All attempts failed
+        throw retriesExhausted(operationName, maxAttempts, lastException);
+    }
+
+    /**
+     * Executes an asynchronous operation with retry logic and exponential backoff.
+     *
+     * @param operation supplies a new attempt of the operation
+     * @param operationName descriptive name for logging
+     * @param <T> the result type
+     * @return completes with the first successful result, or a {@link CrawlingException}
+     * @see #executeWithRetryAsync(Supplier, String, Class)
+     */
+    public <T> CompletionStage<T> executeWithRetryAsync(
+            Supplier<? extends CompletionStage<T>> operation, 
+            String operationName) {
+        return executeWithRetryAsync(operation, operationName, Exception.class);
+    }
+
+    /**
+     * Executes an asynchronous operation with retry logic, only retrying on specific exception types.
+     * Backoff delays are scheduled on a timer instead of sleeping, so no thread is held
+     * while waiting. Retry attempts are started from the timer thread, so the supplier
+     * must only start the operation, not block on it.
+     *
+     * @param operation supplies a new attempt of the operation
+     * @param operationName descriptive name for logging
+     * @param retryableExceptionType the type of exception that should trigger a retry
+     * @param <T> the result type
+     * @param <E> the exception type to retry on
+     * @return completes with the first successful result, or a {@link CrawlingException}
+     */
+    public <T, E extends Exception> CompletionStage<T> executeWithRetryAsync(
+            Supplier<? extends CompletionStage<T>> operation, 
+            String operationName, 
+            Class<E> retryableExceptionType) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attemptAsync(operation, operationName, retryableExceptionType, getCircuitBreaker(operationName), 1, null, result);
+        return result;
+    }
+
+    /**
+     * Mutiny variant of {@link #executeWithRetryAsync(Supplier, String, Class)}.
+     * Every subscription runs the whole retry sequence again.
+     *
+     * @param operation supplies a new attempt of the operation
+     * @param operationName descriptive name for logging
+     * @param retryableExceptionType the type of exception that should trigger a retry
+     * @param <T> the result type
+     * @param <E> the exception type to retry on
+     * @return emits the first successful result, or fails with a {@link CrawlingException}
+     */
+    public <T, E extends Exception> Uni<T> executeWithRetryUni(
+            Supplier<Uni<T>> operation, 
+            String operationName, 
+            Class<E> retryableExceptionType) {
+        return Uni.createFrom().completionStage(() -> executeWithRetryAsync(
+                () -> operation.get().subscribeAsCompletionStage(), operationName, retryableExceptionType));
+    }
+
+    private <T, E extends Exception> void attemptAsync(
+            Supplier<? extends CompletionStage<T>> operation,
+            String operationName,
+            Class<E> retryableExceptionType,
+            SlidingWindowCircuitBreaker circuitBreaker,
+            int attempt,
+            Exception previousException,
+            CompletableFuture<T> result) {
+
+        if (circuitBreaker != null && !circuitBreaker.allowRequest()) {
+            result.completeExceptionally(attempt == 1
+                    ? circuitOpen(operationName)
+                    : retriesExhausted(operationName, attempt - 1, previousException));
+            return;
+        }
+
+        int maxAttempts = config.retry().maxAttempts();
+        LOG.debugf("Executing %s asynchronously (attempt %d/%d)", operationName, attempt, maxAttempts);
+
+        CompletionStage<T> stage;
+        try {
+            stage = operation.get();
+        } catch (Exception e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+
+        stage.whenComplete((value, error) -> {
+            if (error == null) {
+                if (circuitBreaker != null) {
+                    circuitBreaker.recordSuccess();
+                }
+                if (attempt > 1) {
+                    LOG.infof("Operation %s succeeded on attempt %d/%d", operationName, attempt, maxAttempts);
+                }
+                result.complete(value);
+                return;
+            }
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (!(cause instanceof Exception exception)) {
+                if (circuitBreaker != null) {
+                    circuitBreaker.releaseTrial();
+                }
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            Duration delay = nextDelay(exception, operationName, attempt, retryableExceptionType, circuitBreaker);
+            if (delay == null) {
+                result.completeExceptionally(retriesExhausted(operationName, maxAttempts, exception));
+                return;
+            }
+
+            try {
+                retryScheduler.schedule(
+                        () -> attemptAsync(operation, operationName, retryableExceptionType, circuitBreaker,
+                                attempt + 1, exception, result),
+                        delay.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(new CrawlingException(
+                        CrawlingException.ErrorCode.OPERATION_CANCELLED,
+                        "Retry scheduler shut down, operation cancelled: " + operationName,
+                        e));
+            }
+        });
+    }
+
+    /**
+     * Records a failed attempt and decides whether to try again.
+     *
+     * @return the delay before the next attempt, or null to give up
+     */
+    private <E extends Exception> Duration nextDelay(
+            Exception e,
+            String operationName,
+            int attempt,
+            Class<E> retryableExceptionType,
+            SlidingWindowCircuitBreaker circuitBreaker) {
+
+        CrawlerConfiguration.RetryConfig retryConfig = config.retry();
+        int maxAttempts = retryConfig.maxAttempts();
+
+        // Check if this exception type should trigger a retry
+        if (!retryableExceptionType.isAssignableFrom(e.getClass())) {
+            LOG.debugf("Exception %s is not retryable for operation %s", e.getClass().getSimpleName(), operationName);
+            if (circuitBreaker != null) {
+                circuitBreaker.releaseTrial();
+            }
+            return null;
+        }
+        
+        // Record failure for circuit breaker
+        if (circuitBreaker != null && circuitBreaker.recordFailure()) {
+            LOG.warnf("Circuit breaker %s is open after %d failures", 
+                circuitBreakerKey(operationName), circuitBreaker.getFailureCount());
+            return null;
+        }
+        
+        if (attempt >= maxAttempts) {
+            LOG.errorf("Operation %s failed after %d attempts", operationName, maxAttempts);
+            return null;
+        }
+        
+        // Calculate delay for next attempt
+        Duration delay = calculateDelay(attempt, retryConfig.initialDelay(), retryConfig.maxDelay(), 
+            retryConfig.backoffMultiplier());
+        
+        LOG.warnf("Operation %s failed on attempt %d/%d, retrying in %s. Error: %s", 
+            operationName, attempt, maxAttempts, delay, e.getMessage());
+        return delay;
+    }
+
+    private CrawlingException circuitOpen(String operationName) {
+        return new CrawlingException(
+            CrawlingException.ErrorCode.OPERATION_CANCELLED,
+            "Circuit breaker is open, operation cancelled: " + operationName
+        );
+    }
+
+    private CrawlingException retriesExhausted(String operationName, int maxAttempts, Exception lastException) {
         CrawlingException.ErrorCode errorCode = (lastException instanceof CrawlingException) 
             ? ((CrawlingException) lastException).getErrorCode()
             : CrawlingException.ErrorCode.UNKNOWN_ERROR;
             
-        throw new CrawlingException(
+        return new CrawlingException(
             errorCode,
             String.format("Operation %s failed after %d attempts", operationName, maxAttempts),
             operationName,
@@ -145,6 +328,50 @@ public class RetryService {
         );
     }
 
+    /**
+     * Gets the circuit breaker guarding an operation, creating it on first use.
+     *
+     * @return the breaker, or null if circuit breakers are disabled
+     */
+    private SlidingWindowCircuitBreaker getCircuitBreaker(String operationName) {
+        CrawlerConfiguration.RetryConfig retryConfig = config.retry();
+        if (!retryConfig.enableCircuitBreaker()) {
+            return null;
+        }
+        return circuitBreakers.computeIfAbsent(circuitBreakerKey(operationName), key -> new SlidingWindowCircuitBreaker(
+                retryConfig.circuitBreakerWindow(),
+                retryConfig.circuitBreakerFailureThreshold(),
+                retryConfig.circuitBreakerFailureRate(),
+                retryConfig.circuitBreakerTimeout()));
+    }
+
+    /**
+     * Gets the circuit breaker key of an operation. Operation names often end with the
+     * URL they work on (e.g. {@code fetch_article_https://host/path}); such URLs are
+     * reduced to their host, so there is one breaker per operation and site rather
+     * than per article.
+     *
+     * @param operationName the operation name
+     * @return the circuit breaker key
+     */
+    static String circuitBreakerKey(String operationName) {
+        int schemeEnd = operationName.indexOf("://");
+        if (schemeEnd < 0) {
+            return operationName;
+        }
+
+        int schemeStart = schemeEnd;
+        while (schemeStart > 0 && Character.isLetter(operationName.charAt(schemeStart - 1))) {
+            schemeStart--;
+        }
+        int hostStart = schemeEnd + 3;
+        int hostEnd = hostStart;
+        while (hostEnd < operationName.length() && "/?#".indexOf(operationName.charAt(hostEnd)) < 0) {
+            hostEnd++;
+        }
+        return operationName.substring(0, schemeStart) + operationName.substring(hostStart, hostEnd);
+    }
+
     /**
      * Calculates the delay for the next retry attempt using exponential backoff with jitter.
      */
@@ -163,67 +390,54 @@ public class RetryService {
     }
 
     /**
-     * Gets the current circuit breaker status for monitoring.
+     * Gets the combined circuit breaker status for monitoring: open if any breaker is open,
+     * with the failures of all breakers' current windows.
      */
     public CircuitBreakerStatus getCircuitBreakerStatus() {
-        return new CircuitBreakerStatus(
-            circuitBreaker.isOpen(),
-            circuitBreaker.getFailureCount(),
-            circuitBreaker.getLastFailureTime()
-        );
+        boolean open = false;
+        int failures = 0;
+        Instant lastFailure = null;
+        for (SlidingWindowCircuitBreaker circuitBreaker : circuitBreakers.values()) {
+            open |= circuitBreaker.isOpen();
+            failures += circuitBreaker.getFailureCount();
+            Instant failureTime = circuitBreaker.getLastFailureTime();
+            if (failureTime != null && (lastFailure == null || failureTime.isAfter(lastFailure))) {
+                lastFailure = failureTime;
+            }
+        }
+        return new CircuitBreakerStatus(open, failures, lastFailure);
     }
 
     /**
-     * Manually resets the circuit breaker (for administrative purposes).
+     * Gets the status of each circuit breaker for monitoring, by key.
      */
-    public void resetCircuitBreaker() {
-        circuitBreaker.reset();
-        LOG.info("Circuit breaker manually reset");
+    public Map<String, CircuitBreakerStatus> getCircuitBreakerStatuses() {
+        Map<String, CircuitBreakerStatus> statuses = new TreeMap<>();
+        circuitBreakers.forEach((key, circuitBreaker) -> statuses.put(key, new CircuitBreakerStatus(
+                circuitBreaker.isOpen(),
+                circuitBreaker.getFailureCount(),
+                circuitBreaker.getLastFailureTime())));
+        return statuses;
     }
 
     /**
-     * Simple circuit breaker implementation
+     * Manually resets all circuit breakers (for administrative purposes).
      */
-    private static class CircuitBreaker {
-        private volatile boolean isOpen = false;
-        private volatile int failureCount = 0;
-        private volatile Instant lastFailureTime = null;
-
-        public boolean isOpen() {
-            return isOpen;
-        }
-
-        public void recordSuccess() {
-            failureCount = 0;
-            isOpen = false;
-            lastFailureTime = null;
-        }
-
-        public void recordFailure() {
-            failureCount++;
-            lastFailureTime = Instant.now();
-        }
-
-        public boolean shouldOpen(int threshold) {
-            if (failureCount >= threshold) {
-                isOpen = true;
-                return true;
-            }
-            return false;
-        }
-
-        public void reset() {
-            isOpen = false;
-            failureCount = 0;
-            lastFailureTime = null;
-        }
-
-        public int getFailureCount() {
-            return failureCount;
-        }
+    public void resetCircuitBreaker() {
+        circuitBreakers.values().forEach(SlidingWindowCircuitBreaker::reset);
+        LOG.info("Circuit breakers manually reset");
+    }
 
-        public Instant getLastFailureTime() {
-            return lastFailureTime;
+    /**
+     * Manually resets the circuit breaker of one key (for administrative purposes).
+     *
+     * @param key the circuit breaker key, as reported by {@link #getCircuitBreakerStatuses()}
+     */
+    public void resetCircuitBreaker(String key) {
+        SlidingWindowCircuitBreaker circuitBreaker = circuitBreakers.get(key);
+        if (circuitBreaker != null) {
+            circuitBreaker.reset();
+            LOG.infof("Circuit breaker %s manually reset", key);
         }
     }
 
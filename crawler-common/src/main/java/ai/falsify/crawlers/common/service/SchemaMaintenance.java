@@ -0,0 +1,398 @@
+package ai.falsify.crawlers.common.service;
+
+import ai.falsify.crawlers.common.model.ArticleContentEntity;
+import ai.falsify.crawlers.common.model.AuthorEntity;
+import ai.falsify.crawlers.common.model.PredictionEntity;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Startup bean that brings an existing PostgreSQL database in line with what the code relies on.
+ * <p>
+ * The schema is maintained by Hibernate's {@code update} generation, which adds missing tables
+ * and columns but no functional indexes and no data, and the scripts in {@code db/migration}
+ * are not applied automatically. Each step here does the part of such a migration that the
+ * code depends on. Steps are idempotent, run in their own transaction under an advisory lock
+ * so concurrently starting services do not race, and a failing step is logged without
+ * stopping the application. Other databases (H2 in tests) are left alone.
+ */
+@ApplicationScoped
+public class SchemaMaintenance {
+
+    private static final Logger LOG = Logger.getLogger(SchemaMaintenance.class);
+
+    // Arbitrary key of the advisory lock taken by every step
+    private static final long LOCK_KEY = 0x66616c7369667931L;
+
+    // Predictions hashed per query while backfilling text hashes
+    private static final int TEXT_HASH_BATCH_SIZE = 500;
+
+    // Articles read per query while backfilling search documents
+    private static final int SEARCH_BATCH_SIZE = 500;
+
+    // The search schema of the V007 migration, with the article document written by the
+    // application as in V009. Run over plain JDBC, as the regular expressions contain '?'.
+    private static final List<String> SEARCH_SCHEMA = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            """
+            CREATE OR REPLACE FUNCTION search_normalize(input TEXT) RETURNS TEXT
+            LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+                SELECT translate(
+                    regexp_replace(
+                        regexp_replace(
+                            replace(replace(replace(replace(replace(lower(coalesce(input, '')),
+                                '&quot;', '"'), '&#x27;', ''''), '&lt;', '<'), '&gt;', '>'), '&amp;', '&'),
+                            '[\\u0591-\\u05BD\\u05BF\\u05C1\\u05C2\\u05C4\\u05C5\\u05C7]', '', 'g'),
+                        '([א-ת])["''׳״]+(?=[א-ת])', '\\1', 'g'),
+                    'ךםןףץ', 'כמנפצ')
+            $$""",
+            """
+            CREATE OR REPLACE FUNCTION search_document(input TEXT) RETURNS tsvector
+            LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+                SELECT to_tsvector('simple', normalized)
+                    || to_tsvector('simple', regexp_replace(normalized,
+                           '(^|[^א-ת])[והבכלמש](?=[א-ת]{3})', '\\1', 'g'))
+                    || to_tsvector('simple', regexp_replace(normalized,
+                           '(^|[^א-ת])[והבכלמש]{2}(?=[א-ת]{3})', '\\1', 'g'))
+                FROM search_normalize(input) AS normalized
+            $$""",
+            "ALTER TABLE articles ADD COLUMN IF NOT EXISTS search_vector tsvector",
+            """
+            ALTER TABLE predictions ADD COLUMN IF NOT EXISTS search_vector tsvector
+                GENERATED ALWAYS AS (search_document(prediction_text)) STORED""",
+            "CREATE INDEX IF NOT EXISTS idx_article_search_vector ON articles USING GIN (search_vector)",
+            "CREATE INDEX IF NOT EXISTS idx_prediction_search_vector ON predictions USING GIN (search_vector)",
+            """
+            CREATE INDEX IF NOT EXISTS idx_article_title_trgm
+                ON articles USING GIN (search_normalize(title) gin_trgm_ops)""",
+            """
+            CREATE INDEX IF NOT EXISTS idx_prediction_text_trgm
+                ON predictions USING GIN (search_normalize(prediction_text) gin_trgm_ops)""");
+
+    @Inject
+    SearchService searchService;
+
+    /**
+     * Runs the maintenance steps on application startup.
+     *
+     * @param event the startup event
+     */
+    void onStart(@Observes StartupEvent event) {
+        if (!isPostgreSql()) {
+            LOG.debug("Database is not PostgreSQL, skipping schema maintenance");
+            return;
+        }
+        runStep("unique author names", this::ensureUniqueAuthorNames);
+        runStep("article analysis state", this::backfillAnalysisState);
+        runStep("prediction text hashes", this::backfillPredictionTextHashes);
+        runStep("legacy article text", this::moveLegacyArticleText);
+        runStep("search schema", this::installSearchSchema);
+        // Search may have been detected as unavailable before the schema was installed
+        searchService.resetSearchSchemaDetection();
+    }
+
+    /**
+     * Makes author names unique regardless of case, as in the V004 migration: authors whose
+     * names only differ in case are merged into the oldest one, then the unique index on
+     * {@code LOWER(name)} is created, so concurrent creation of an author fails instead of
+     * producing a duplicate.
+     */
+    private void ensureUniqueAuthorNames(EntityManager entityManager) {
+        if (indexExists(entityManager, "uq_author_lower_name")) {
+            return;
+        }
+
+        entityManager.createNativeQuery("""
+                CREATE TEMPORARY TABLE author_merge ON COMMIT DROP AS
+                SELECT dup.id AS dup_id, keep.id AS keep_id
+                FROM authors dup
+                JOIN (
+                    SELECT LOWER(name) AS lower_name, MIN(id) AS id
+                    FROM authors
+                    GROUP BY LOWER(name)
+                    HAVING COUNT(*) > 1
+                ) keep ON LOWER(dup.name) = keep.lower_name AND dup.id <> keep.id""").executeUpdate();
+        entityManager.createNativeQuery("""
+                UPDATE articles a SET author_id = m.keep_id
+                FROM author_merge m
+                WHERE a.author_id = m.dup_id""").executeUpdate();
+        entityManager.createNativeQuery("""
+                INSERT INTO author_stats (author_id, article_count, latest_article_at, prediction_count, updated_at)
+                SELECT m.keep_id, SUM(s.article_count), MAX(s.latest_article_at), SUM(s.prediction_count), NOW()
+                FROM author_stats s
+                JOIN author_merge m ON m.dup_id = s.author_id
+                GROUP BY m.keep_id
+                ON CONFLICT (author_id) DO UPDATE SET
+                    article_count = author_stats.article_count + EXCLUDED.article_count,
+                    latest_article_at = GREATEST(author_stats.latest_article_at, EXCLUDED.latest_article_at),
+                    prediction_count = author_stats.prediction_count + EXCLUDED.prediction_count,
+                    updated_at = EXCLUDED.updated_at""").executeUpdate();
+        entityManager.createNativeQuery(
+                "DELETE FROM author_stats WHERE author_id IN (SELECT dup_id FROM author_merge)").executeUpdate();
+        int merged = entityManager.createNativeQuery(
+                "DELETE FROM authors WHERE id IN (SELECT dup_id FROM author_merge)").executeUpdate();
+        entityManager.createNativeQuery(
+                "CREATE UNIQUE INDEX IF NOT EXISTS uq_author_lower_name ON authors(LOWER(name))").executeUpdate();
+
+        LOG.infof("Created unique index on author names, merged %d case-duplicate authors", merged);
+    }
+
+    /**
+     * Marks articles with prediction instances as analyzed, as in the V006 migration. When the
+     * column was added by a schema update every existing row defaulted to pending, which would
+     * list analyzed articles as unanalyzed. Once backfilled no pending row has instances, so
+     * later runs update nothing. Also creates the partial index over pending rows.
+     */
+    private void backfillAnalysisState(EntityManager entityManager) {
+        int backfilled = entityManager.createNativeQuery("""
+                UPDATE articles a
+                SET analysis_state = 'ANALYZED',
+                    last_analyzed_at = pi.last_extracted_at
+                FROM (
+                    SELECT article_id, MAX(extracted_at) AS last_extracted_at
+                    FROM prediction_instances
+                    GROUP BY article_id
+                ) pi
+                WHERE pi.article_id = a.id AND a.analysis_state = 'PENDING'""").executeUpdate();
+        entityManager.createNativeQuery("""
+                CREATE INDEX IF NOT EXISTS idx_article_pending_created_at_id
+                    ON articles(created_at DESC, id DESC)
+                    WHERE analysis_state = 'PENDING'""").executeUpdate();
+
+        if (backfilled > 0) {
+            LOG.infof("Marked %d articles with prediction instances as analyzed", backfilled);
+        }
+    }
+
+    /**
+     * Fills {@code text_hash} of predictions stored before the column existed, as in the V008
+     * migration, so lookups by hash find them instead of inserting duplicates. Hashes are
+     * computed with {@link PredictionEntity#hashStoredText(String)} so they match the ones the
+     * entity writes. A prediction whose hash is already taken is merged into the prediction
+     * holding it: its instances and article links move over and it is deleted. The old
+     * {@code idx_prediction_text} index is dropped.
+     */
+    private void backfillPredictionTextHashes(EntityManager entityManager) {
+        int hashed = 0;
+        int merged = 0;
+        List<Object[]> rows;
+        do {
+            rows = entityManager.createNativeQuery(
+                            "SELECT id, prediction_text FROM predictions WHERE text_hash IS NULL ORDER BY id")
+                    .setMaxResults(TEXT_HASH_BATCH_SIZE)
+                    .getResultList();
+            for (Object[] row : rows) {
+                long id = ((Number) row[0]).longValue();
+                String hash = PredictionEntity.hashStoredText((String) row[1]);
+                List<?> holders = entityManager.createNativeQuery("SELECT id FROM predictions WHERE text_hash = ?1")
+                        .setParameter(1, hash)
+                        .getResultList();
+                if (holders.isEmpty()) {
+                    entityManager.createNativeQuery("UPDATE predictions SET text_hash = ?1 WHERE id = ?2")
+                            .setParameter(1, hash)
+                            .setParameter(2, id)
+                            .executeUpdate();
+                    hashed++;
+                } else {
+                    mergePrediction(entityManager, id, ((Number) holders.get(0)).longValue());
+                    merged++;
+                }
+            }
+        } while (rows.size() == TEXT_HASH_BATCH_SIZE);
+        // The old index over prediction_text, superseded by the hash, as dropped by V008
+        entityManager.createNativeQuery("DROP INDEX IF EXISTS idx_prediction_text").executeUpdate();
+
+        if (hashed > 0 || merged > 0) {
+            LOG.infof("Backfilled text hashes of %d predictions, merged %d duplicates", hashed, merged);
+        }
+    }
+
+    /**
+     * Moves bodies still stored in {@code articles.text} to {@code article_content}, as in the
+     * V009 migration. Hibernate's update generation creates the new table but leaves the old
+     * column in place, so without this step articles stored before the move read as having no
+     * text. Bodies are copied as UTF-8, their length and search document are filled in, and the
+     * old column is dropped, so later runs find nothing to do. A {@code search_vector} generated
+     * from {@code text} by V007 is first turned into a plain column, as the application now writes it.
+     */
+    private void moveLegacyArticleText(EntityManager entityManager) {
+        if (!columnExists(entityManager, "articles", "text")) {
+            return;
+        }
+
+        boolean searchVector = columnExists(entityManager, "articles", "search_vector");
+        if (searchVector && isGeneratedColumn(entityManager, "articles", "search_vector")) {
+            entityManager.createNativeQuery("DROP INDEX IF EXISTS idx_article_search_vector").executeUpdate();
+            entityManager.createNativeQuery("ALTER TABLE articles DROP COLUMN search_vector").executeUpdate();
+            entityManager.createNativeQuery("ALTER TABLE articles ADD COLUMN search_vector tsvector").executeUpdate();
+            entityManager.createNativeQuery(
+                    "CREATE INDEX IF NOT EXISTS idx_article_search_vector ON articles USING GIN (search_vector)")
+                    .executeUpdate();
+        }
+
+        int moved = entityManager.createNativeQuery("""
+                INSERT INTO article_content (article_id, encoding, body)
+                SELECT a.id, 'NONE', convert_to(a.text, 'UTF8')
+                FROM articles a
+                WHERE a.text IS NOT NULL
+                  AND NOT EXISTS (SELECT 1 FROM article_content c WHERE c.article_id = a.id)""").executeUpdate();
+        entityManager.createNativeQuery(
+                "UPDATE articles SET text_length = length(text) WHERE text IS NOT NULL AND text_length IS NULL")
+                .executeUpdate();
+        if (searchVector && functionExists(entityManager, "search_document")) {
+            entityManager.createNativeQuery("""
+                    UPDATE articles
+                    SET search_vector = setweight(search_document(title), 'A') || setweight(search_document(text), 'B')
+                    WHERE text IS NOT NULL""").executeUpdate();
+        }
+        entityManager.createNativeQuery("ALTER TABLE articles DROP COLUMN text").executeUpdate();
+
+        LOG.infof("Moved %d legacy article bodies to article_content", moved);
+    }
+
+    /**
+     * Installs the search schema of the V007 migration: the {@code pg_trgm} extension, the
+     * {@code search_normalize} and {@code search_document} functions, the {@code search_vector}
+     * columns and the GIN and trigram indexes. Without them {@link SearchService} falls back to
+     * unindexed LIKE queries. As in V009, the article document is a plain column written by the
+     * application, so documents missing from stored articles are filled in here, decoding the
+     * compressed bodies; the predictions' document is generated by PostgreSQL. Runs after the
+     * legacy text move, which turns a generated V007 article column into a plain one.
+     */
+    private void installSearchSchema(EntityManager entityManager) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : SEARCH_SCHEMA) {
+                    statement.execute(sql);
+                }
+            }
+        });
+
+        int indexed = 0;
+        long lastId = 0;
+        List<Object[]> rows;
+        do {
+            rows = entityManager.createNativeQuery("""
+                            SELECT a.id, c.encoding, c.body
+                            FROM articles a
+                            LEFT JOIN article_content c ON c.article_id = a.id
+                            WHERE a.search_vector IS NULL AND a.id > ?1
+                            ORDER BY a.id""")
+                    .setParameter(1, lastId)
+                    .setMaxResults(SEARCH_BATCH_SIZE)
+                    .getResultList();
+            for (Object[] row : rows) {
+                lastId = ((Number) row[0]).longValue();
+                String text = row[1] != null
+                        ? ArticleContentEntity.decode(ArticleContentEntity.Encoding.valueOf((String) row[1]), (byte[]) row[2])
+                        : null;
+                entityManager.createNativeQuery("""
+                                UPDATE articles
+                                SET search_vector = setweight(search_document(title), 'A') || setweight(search_document(?1), 'B')
+                                WHERE id = ?2""")
+                        .setParameter(1, text != null ? text : "")
+                        .setParameter(2, lastId)
+                        .executeUpdate();
+                indexed++;
+            }
+        } while (rows.size() == SEARCH_BATCH_SIZE);
+
+        if (indexed > 0) {
+            LOG.infof("Wrote search documents of %d articles", indexed);
+        }
+    }
+
+    private static void mergePrediction(EntityManager entityManager, long duplicateId, long keepId) {
+        entityManager.createNativeQuery("UPDATE prediction_instances SET prediction_id = ?1 WHERE prediction_id = ?2")
+                .setParameter(1, keepId)
+                .setParameter(2, duplicateId)
+                .executeUpdate();
+        entityManager.createNativeQuery("""
+                        INSERT INTO article_predictions (article_id, prediction_id)
+                        SELECT DISTINCT ap.article_id, ?1
+                        FROM article_predictions ap
+                        WHERE ap.prediction_id = ?2
+                          AND NOT EXISTS (SELECT 1 FROM article_predictions kept
+                                          WHERE kept.article_id = ap.article_id AND kept.prediction_id = ?1)""")
+                .setParameter(1, keepId)
+                .setParameter(2, duplicateId)
+                .executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM article_predictions WHERE prediction_id = ?1")
+                .setParameter(1, duplicateId)
+                .executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM predictions WHERE id = ?1")
+                .setParameter(1, duplicateId)
+                .executeUpdate();
+    }
+
+    private static boolean indexExists(EntityManager entityManager, String indexName) {
+        return !entityManager.createNativeQuery("SELECT 1 FROM pg_indexes WHERE indexname = ?1")
+                .setParameter(1, indexName)
+                .getResultList()
+                .isEmpty();
+    }
+
+    private static boolean columnExists(EntityManager entityManager, String table, String column) {
+        return !entityManager.createNativeQuery(
+                        "SELECT 1 FROM information_schema.columns WHERE table_schema = current_schema() "
+                                + "AND table_name = ?1 AND column_name = ?2")
+                .setParameter(1, table)
+                .setParameter(2, column)
+                .getResultList()
+                .isEmpty();
+    }
+
+    private static boolean isGeneratedColumn(EntityManager entityManager, String table, String column) {
+        return !entityManager.createNativeQuery(
+                        "SELECT 1 FROM information_schema.columns WHERE table_schema = current_schema() "
+                                + "AND table_name = ?1 AND column_name = ?2 AND is_generated = 'ALWAYS'")
+                .setParameter(1, table)
+                .setParameter(2, column)
+                .getResultList()
+                .isEmpty();
+    }
+
+    private static boolean functionExists(EntityManager entityManager, String name) {
+        return !entityManager.createNativeQuery("SELECT 1 FROM pg_proc WHERE proname = ?1")
+                .setParameter(1, name)
+                .getResultList()
+                .isEmpty();
+    }
+
+    private void runStep(String name, Consumer<EntityManager> step) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                EntityManager entityManager = AuthorEntity.getEntityManager();
+                entityManager.createNativeQuery("SELECT 1 FROM (SELECT pg_advisory_xact_lock(?1)) l")
+                        .setParameter(1, LOCK_KEY)
+                        .getSingleResult();
+                step.accept(entityManager);
+            });
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Schema maintenance step '%s' failed, continuing without it", name);
+        }
+    }
+
+    private boolean isPostgreSql() {
+        try {
+            String product = QuarkusTransaction.requiringNew().call(() -> AuthorEntity.getEntityManager()
+                    .unwrap(Session.class)
+                    .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName()));
+            return product != null && product.toLowerCase(Locale.ROOT).contains("postgresql");
+        } catch (RuntimeException e) {
+            LOG.debugf("Could not detect the database, skipping schema maintenance: %s", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,461 @@
+package ai.falsify.crawlers.common.service;
+
+import ai.falsify.crawlers.common.model.ArticleContentEntity;
+import ai.falsify.crawlers.common.model.ArticleEntity;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Ranked search over articles and predictions.
+ * <p>
+ * Uses the {@code search_vector} columns and GIN indexes of the V007 migration, installed at
+ * startup by {@link SchemaMaintenance} (articles' column is written by the application since
+ * V009, see {@link #indexContent(ArticleContentEntity)}): word queries match by prefix and are ranked with {@code ts_rank_cd}; when no
+ * word matches, the query is retried as a substring match served by the {@code pg_trgm}
+ * indexes. Text is normalized by the database's {@code search_normalize} function on both
+ * sides, so Hebrew points, gershayim and final letters do not affect matching.
+ * <p>
+ * When the search schema is not present (e.g. H2 or a database without the migration),
+ * searches fall back to unindexed case-insensitive LIKE queries over titles and prediction text.
+ */
+@ApplicationScoped
+public class SearchService {
+
+    private static final Logger LOG = Logger.getLogger(SearchService.class);
+
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MIN_SUBSTRING_LENGTH = 3;
+
+    // Kept in line with search_normalize() in the V007 migration
+    private static final Pattern HEBREW_MARKS = Pattern.compile("[\\u0591-\\u05BD\\u05BF\\u05C1\\u05C2\\u05C4\\u05C5\\u05C7]");
+    private static final Pattern GERSHAYIM = Pattern.compile("([\\u05D0-\\u05EA])[\"'\\u05F3\\u05F4]+(?=[\\u05D0-\\u05EA])");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final String ARTICLE_FULL_TEXT_QUERY = """
+            SELECT a.id, a.title, a.url, au.name, a.created_at, ts_rank_cd(a.search_vector, query) AS rank
+            FROM articles a
+            LEFT JOIN authors au ON au.id = a.author_id,
+            to_tsquery('simple', search_normalize(?1)) query
+            WHERE a.search_vector @@ query
+            ORDER BY rank DESC, a.created_at DESC, a.id DESC
+            LIMIT ?2 OFFSET ?3""";
+
+    private static final String ARTICLE_SUBSTRING_QUERY = """
+            SELECT a.id, a.title, a.url, au.name, a.created_at,
+                   similarity(search_normalize(a.title), search_normalize(?1)) AS rank
+            FROM articles a
+            LEFT JOIN authors au ON au.id = a.author_id
+            WHERE search_normalize(a.title) LIKE '%' || search_normalize(?2) || '%' ESCAPE '\\'
+            ORDER BY rank DESC, a.created_at DESC, a.id DESC
+            LIMIT ?3 OFFSET ?4""";
+
+    private static final String PREDICTION_FULL_TEXT_QUERY = """
+            SELECT p.id, p.prediction_text, p.prediction_type, p.created_at, ts_rank_cd(p.search_vector, query) AS rank
+            FROM predictions p,
+            to_tsquery('simple', search_normalize(?1)) query
+            WHERE p.search_vector @@ query
+            ORDER BY rank DESC, p.created_at DESC, p.id DESC
+            LIMIT ?2 OFFSET ?3""";
+
+    private static final String PREDICTION_SUBSTRING_QUERY = """
+            SELECT p.id, p.prediction_text, p.prediction_type, p.created_at,
+                   similarity(search_normalize(p.prediction_text), search_normalize(?1)) AS rank
+            FROM predictions p
+            WHERE search_normalize(p.prediction_text) LIKE '%' || search_normalize(?2) || '%' ESCAPE '\\'
+            ORDER BY rank DESC, p.created_at DESC, p.id DESC
+            LIMIT ?3 OFFSET ?4""";
+
+    // Bodies are compressed in article_content, so the text is passed in rather than read by the database
+    private static final String ARTICLE_INDEX_UPDATE = """
+            UPDATE articles
+            SET search_vector = setweight(search_document(title), 'A') || setweight(search_document(?1), 'B')
+            WHERE id = ?2""";
+
+    // Same document, run over JDBC while the session flushes, with the title passed in as well
+    private static final String ARTICLE_CONTENT_INDEX_UPDATE = """
+            UPDATE articles
+            SET search_vector = setweight(search_document(?), 'A') || setweight(search_document(?), 'B')
+            WHERE id = ?""";
+
+    private static final String SEARCH_SCHEMA_QUERY = "SELECT COUNT(*) FROM information_schema.columns "
+            + "WHERE LOWER(table_name) IN ('articles', 'predictions') AND LOWER(column_name) = 'search_vector'";
+
+    private volatile Boolean searchSchemaAvailable;
+
+    /**
+     * Checks whether the search columns, functions and indexes have been installed.
+     * The result is determined once and cached.
+     *
+     * @return true if indexed search queries can be used
+     */
+    public boolean isSearchSchemaAvailable() {
+        Boolean available = searchSchemaAvailable;
+        if (available == null) {
+            available = detectSearchSchema();
+            searchSchemaAvailable = available;
+        }
+        return available;
+    }
+
+    /**
+     * Forgets the cached result of {@link #isSearchSchemaAvailable()}, so the next call checks
+     * the database again. Called by {@link SchemaMaintenance} once it has installed the schema.
+     */
+    void resetSearchSchemaDetection() {
+        searchSchemaAvailable = null;
+    }
+
+    /**
+     * Writes the search documents of stored articles that have no body, so their titles
+     * are searchable. Articles with a body are indexed by {@link #indexContent(ArticleContentEntity)}
+     * whenever the body is written. Does nothing when the search schema is not installed.
+     *
+     * @param articles the stored articles
+     */
+    public void indexArticles(@NotNull Collection<ArticleEntity> articles) {
+        if (articles.isEmpty() || !isSearchSchemaAvailable()) {
+            return;
+        }
+
+        EntityManager entityManager = ArticleEntity.getEntityManager();
+        entityManager.flush();
+        int indexed = 0;
+        for (ArticleEntity article : articles) {
+            if (article.content != null) {
+                continue;
+            }
+            entityManager.createNativeQuery(ARTICLE_INDEX_UPDATE)
+                    .setParameter(1, "")
+                    .setParameter(2, article.id)
+                    .executeUpdate();
+            indexed++;
+        }
+        LOG.debugf("Indexed %d articles without text for search", indexed);
+    }
+
+    /**
+     * Writes the search document of an article whose body has just been written. Called by
+     * the entity listener on {@link ArticleContentEntity} while the session flushes, so the
+     * update runs on the session's JDBC connection instead of a query that would flush again.
+     * Does nothing when the search schema is not installed.
+     *
+     * @param content the written body
+     */
+    public void indexContent(@NotNull ArticleContentEntity content) {
+        if (!isSearchSchemaAvailable()) {
+            return;
+        }
+
+        String title = content.article != null ? content.article.title : null;
+        String text = content.getText();
+        ArticleEntity.getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(ARTICLE_CONTENT_INDEX_UPDATE)) {
+                statement.setString(1, title != null ? title : "");
+                statement.setString(2, text != null ? text : "");
+                statement.setLong(3, content.articleId);
+                statement.executeUpdate();
+            }
+        });
+        LOG.debugf("Indexed article %d for search", content.articleId);
+    }
+
+    /**
+     * Searches article titles and text, best matches first.
+     *
+     * @param query the search query
+     * @param page the page number (0-based)
+     * @param size the page size
+     * @return the page of matching articles
+     */
+    public SearchResults<ArticleHit> searchArticles(@NotNull String query, int page, int size) {
+        LOG.debugf("Searching articles: query=%s, page=%d, size=%d", query, page, size);
+
+        try {
+            if (!isSearchSchemaAvailable()) {
+                List<Object[]> rows = ArticleEntity.getEntityManager()
+                        .createQuery("SELECT a.id, a.title, a.url, au.name, a.createdAt FROM ArticleEntity a "
+                                + "LEFT JOIN a.author au WHERE LOWER(a.title) LIKE LOWER(?1) ESCAPE '\\' "
+                                + "ORDER BY a.createdAt DESC, a.id DESC", Object[].class)
+                        .setParameter(1, "%" + escapeLike(query.trim()) + "%")
+                        .setFirstResult(page * size)
+                        .setMaxResults(size + 1)
+                        .getResultList();
+                return toResults(rows, page, size, SearchMode.LIKE, this::toArticleHit);
+            }
+
+            String prefixQuery = toPrefixQuery(query);
+            if (prefixQuery != null) {
+                List<Object[]> rows = runPage(ARTICLE_FULL_TEXT_QUERY, page, size, prefixQuery);
+                if (!rows.isEmpty() || (page > 0 && hasFullTextMatch("articles", prefixQuery))) {
+                    return toResults(rows, page, size, SearchMode.FULL_TEXT, this::toArticleHit);
+                }
+            }
+
+            String substring = query.trim();
+            if (substring.length() < MIN_SUBSTRING_LENGTH) {
+                return SearchResults.empty(page, size, SearchMode.SUBSTRING);
+            }
+            List<Object[]> rows = runPage(ARTICLE_SUBSTRING_QUERY, page, size, substring, escapeLike(substring));
+            return toResults(rows, page, size, SearchMode.SUBSTRING, this::toArticleHit);
+
+        } catch (Exception e) {
+            LOG.errorf(e, "Error searching articles: %s", query);
+            throw new RuntimeException("Failed to search articles", e);
+        }
+    }
+
+    /**
+     * Searches prediction text, best matches first.
+     *
+     * @param query the search query
+     * @param page the page number (0-based)
+     * @param size the page size
+     * @return the page of matching predictions
+     */
+    public SearchResults<PredictionHit> searchPredictions(@NotNull String query, int page, int size) {
+        LOG.debugf("Searching predictions: query=%s, page=%d, size=%d", query, page, size);
+
+        try {
+            if (!isSearchSchemaAvailable()) {
+                List<Object[]> rows = ArticleEntity.getEntityManager()
+                        .createQuery("SELECT p.id, p.predictionText, p.predictionType, p.createdAt FROM PredictionEntity p "
+                                + "WHERE LOWER(p.predictionText) LIKE LOWER(?1) ESCAPE '\\' "
+                                + "ORDER BY p.createdAt DESC, p.id DESC", Object[].class)
+                        .setParameter(1, "%" + escapeLike(query.trim()) + "%")
+                        .setFirstResult(page * size)
+                        .setMaxResults(size + 1)
+                        .getResultList();
+                return toResults(rows, page, size, SearchMode.LIKE, this::toPredictionHit);
+            }
+
+            String prefixQuery = toPrefixQuery(query);
+            if (prefixQuery != null) {
+                List<Object[]> rows = runPage(PREDICTION_FULL_TEXT_QUERY, page, size, prefixQuery);
+                if (!rows.isEmpty() || (page > 0 && hasFullTextMatch("predictions", prefixQuery))) {
+                    return toResults(rows, page, size, SearchMode.FULL_TEXT, this::toPredictionHit);
+                }
+            }
+
+            String substring = query.trim();
+            if (substring.length() < MIN_SUBSTRING_LENGTH) {
+                return SearchResults.empty(page, size, SearchMode.SUBSTRING);
+            }
+            List<Object[]> rows = runPage(PREDICTION_SUBSTRING_QUERY, page, size, substring, escapeLike(substring));
+            return toResults(rows, page, size, SearchMode.SUBSTRING, this::toPredictionHit);
+
+        } catch (Exception e) {
+            LOG.errorf(e, "Error searching predictions: %s", query);
+            throw new RuntimeException("Failed to search predictions", e);
+        }
+    }
+
+    /**
+     * Builds the HQL condition for a case-insensitive title substring filter. Uses the
+     * normalized, trigram-indexed title expression when the search schema is installed.
+     *
+     * @param parameterIndex the positional parameter index to bind the pattern to
+     * @return the HQL condition
+     */
+    public String titleContainsCondition(int parameterIndex) {
+        if (isSearchSchemaAvailable()) {
+            return "function('search_normalize' as String, title) LIKE function('search_normalize' as String, ?"
+                    + parameterIndex + ")";
+        }
+        return "LOWER(title) LIKE LOWER(?" + parameterIndex + ")";
+    }
+
+    /**
+     * Turns free text into a prefix-matching {@code tsquery} that requires every term.
+     * Terms are reduced to letters and digits, so no tsquery operators can be injected.
+     *
+     * @param query the free-text query
+     * @return the tsquery text, or null if the query has no usable terms
+     */
+    static String toPrefixQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+        String cleaned = HEBREW_MARKS.matcher(query).replaceAll("");
+        cleaned = GERSHAYIM.matcher(cleaned).replaceAll("$1");
+
+        List<String> terms = Arrays.stream(NON_WORD.split(cleaned.toLowerCase(Locale.ROOT)))
+                .filter(term -> term.length() >= MIN_TERM_LENGTH)
+                .distinct()
+                .limit(MAX_QUERY_TERMS)
+                .map(term -> term + ":*")
+                .toList();
+        return terms.isEmpty() ? null : String.join(" & ", terms);
+    }
+
+    /**
+     * Escapes LIKE wildcards so user input is matched literally.
+     */
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private boolean detectSearchSchema() {
+        try {
+            // Plain JDBC, as the first check may happen while the session flushes
+            int columns = ArticleEntity.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(SEARCH_SCHEMA_QUERY);
+                     ResultSet result = statement.executeQuery()) {
+                    return result.next() ? result.getInt(1) : 0;
+                }
+            });
+            boolean available = columns == 2;
+            if (available) {
+                LOG.info("Full-text search schema detected, using indexed search");
+            } else {
+                LOG.warn("Full-text search schema not found (V007 migration), falling back to LIKE search");
+            }
+            return available;
+        } catch (Exception e) {
+            LOG.warnf("Could not detect full-text search schema, falling back to LIKE search: %s", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean hasFullTextMatch(String table, String prefixQuery) {
+        List<?> rows = ArticleEntity.getEntityManager()
+                .createNativeQuery("SELECT 1 FROM " + table
+                        + " WHERE search_vector @@ to_tsquery('simple', search_normalize(?1)) LIMIT 1")
+                .setParameter(1, prefixQuery)
+                .getResultList();
+        return !rows.isEmpty();
+    }
+
+    /**
+     * Runs a native search query; the last three positional parameters are the
+     * search arguments followed by limit (one extra row to detect more pages) and offset.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object[]> runPage(String sql, int page, int size, Object... arguments) {
+        EntityManager entityManager = ArticleEntity.getEntityManager();
+        var nativeQuery = entityManager.createNativeQuery(sql);
+        int index = 1;
+        for (Object argument : arguments) {
+            nativeQuery.setParameter(index++, argument);
+        }
+        nativeQuery.setParameter(index++, size + 1);
+        nativeQuery.setParameter(index, page * size);
+        return nativeQuery.getResultList();
+    }
+
+    private <T> SearchResults<T> toResults(List<Object[]> rows, int page, int size, SearchMode mode,
+                                           java.util.function.Function<Object[], T> mapper) {
+        boolean hasMore = rows.size() > size;
+        List<T> hits = new ArrayList<>(Math.min(rows.size(), size));
+        for (int i = 0; i < rows.size() && i < size; i++) {
+            hits.add(mapper.apply(rows.get(i)));
+        }
+        LOG.debugf("Search (%s) returned %d hits (hasMore=%s)", mode, hits.size(), hasMore);
+        return new SearchResults<>(hits, page, size, hasMore, mode);
+    }
+
+    private ArticleHit toArticleHit(Object[] row) {
+        return new ArticleHit(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                (String) row[2],
+                (String) row[3],
+                toInstant(row[4]),
+                row.length > 5 ? ((Number) row[5]).doubleValue() : 0.0);
+    }
+
+    private PredictionHit toPredictionHit(Object[] row) {
+        return new PredictionHit(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                (String) row[2],
+                toInstant(row[3]),
+                row.length > 4 ? ((Number) row[4]).doubleValue() : 0.0);
+    }
+
+    private static Instant toInstant(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Instant instant) {
+            return instant;
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant();
+        }
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime.toInstant(ZoneOffset.UTC);
+        }
+        throw new IllegalArgumentException("Unsupported timestamp type: " + value.getClass());
+    }
+
+    /**
+     * How a search was matched.
+     */
+    public enum SearchMode {
+        /** Prefix word match over the tsvector columns, ranked by ts_rank_cd */
+        FULL_TEXT,
+        /** Substring match over the trigram-indexed normalized text, ranked by similarity */
+        SUBSTRING,
+        /** Unindexed LIKE match, newest first; used without the search schema */
+        LIKE
+    }
+
+    /**
+     * Record for a page of ranked search results.
+     */
+    public record SearchResults<T>(
+        List<T> hits,
+        int page,
+        int size,
+        boolean hasMore,
+        SearchMode mode
+    ) {
+        static <T> SearchResults<T> empty(int page, int size, SearchMode mode) {
+            return new SearchResults<>(List.of(), page, size, false, mode);
+        }
+    }
+
+    /**
+     * Record for an article search hit.
+     */
+    public record ArticleHit(
+        Long id,
+        String title,
+        String url,
+        String authorName,
+        Instant createdAt,
+        double rank
+    ) {}
+
+    /**
+     * Record for a prediction search hit.
+     */
+    public record PredictionHit(
+        Long id,
+        String predictionText,
+        String predictionType,
+        Instant createdAt,
+        double rank
+    ) {}
+}
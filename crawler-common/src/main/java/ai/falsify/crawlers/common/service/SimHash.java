@@ -0,0 +1,130 @@
+package ai.falsify.crawlers.common.service;
+
+/**
+ * 64-bit SimHash fingerprints of article text.
+ * Texts that share most of their word 3-grams get fingerprints that differ in only
+ * a few bits, so a new headline, an appended correction or a block of ad text moves
+ * the fingerprint by a small Hamming distance instead of changing it completely.
+ * <p>
+ * Words are runs of letters and digits, compared case-insensitively; combining
+ * marks such as Hebrew niqqud are ignored, so pointed and unpointed spellings match.
+ */
+public final class SimHash {
+
+    /**
+     * Number of bits in a fingerprint.
+     */
+    public static final int BITS = 64;
+
+    private static final int SHINGLE_SIZE = 3;
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private SimHash() {
+    }
+
+    /**
+     * Computes the fingerprint of a text in one pass, without allocating per word.
+     *
+     * @param text the text
+     * @return the fingerprint, 0 for text without words
+     */
+    public static long fingerprint(String text) {
+        if (text == null) {
+            return 0L;
+        }
+
+        int[] weights = new int[BITS];
+        long[] window = new long[SHINGLE_SIZE];
+        int words = 0;
+
+        long wordHash = FNV_OFFSET;
+        boolean inWord = false;
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                wordHash = (wordHash ^ Character.toLowerCase(c)) * FNV_PRIME;
+                inWord = true;
+            } else if (inWord && Character.getType(c) != Character.NON_SPACING_MARK) {
+                window[words % SHINGLE_SIZE] = mix(wordHash);
+                words++;
+                if (words >= SHINGLE_SIZE) {
+                    addFeature(weights, shingle(window, words));
+                }
+                wordHash = FNV_OFFSET;
+                inWord = false;
+            }
+        }
+
+        if (words == 0) {
+            return 0L;
+        }
+        if (words < SHINGLE_SIZE) {
+            // Too short for 3-grams, fall back to the single words
+            for (int i = 0; i < words; i++) {
+                addFeature(weights, window[i]);
+            }
+        }
+
+        long fingerprint = 0L;
+        for (int bit = 0; bit < BITS; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Gets the number of differing bits of two fingerprints.
+     */
+    public static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    /**
+     * Gets the similarity of two fingerprints, from 0 (all bits differ) to 1 (equal).
+     */
+    public static double similarity(long first, long second) {
+        return 1.0 - (double) distance(first, second) / BITS;
+    }
+
+    /**
+     * Gets the largest Hamming distance that still reaches the given similarity.
+     *
+     * @param threshold the similarity, between 0 and 1
+     * @return the maximum number of differing bits
+     */
+    public static int maxDistance(double threshold) {
+        if (threshold < 0 || threshold > 1) {
+            throw new IllegalArgumentException("Similarity threshold must be between 0 and 1: " + threshold);
+        }
+        return (int) Math.floor((1.0 - threshold) * BITS + 1e-9);
+    }
+
+    /**
+     * Combines the last three word hashes in order, so "a b c" and "c b a" differ.
+     */
+    private static long shingle(long[] window, int words) {
+        long first = window[words % SHINGLE_SIZE];
+        long second = window[(words + 1) % SHINGLE_SIZE];
+        long third = window[(words + 2) % SHINGLE_SIZE];
+        return mix(first ^ Long.rotateLeft(second, 21) ^ Long.rotateLeft(third, 42));
+    }
+
+    private static void addFeature(int[] weights, long hash) {
+        for (int bit = 0; bit < BITS; bit++) {
+            weights[bit] += ((hash >>> bit) & 1L) != 0 ? 1 : -1;
+        }
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
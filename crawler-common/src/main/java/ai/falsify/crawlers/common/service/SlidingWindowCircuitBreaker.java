@@ -0,0 +1,216 @@
+package ai.falsify.crawlers.common.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free circuit breaker driven by the failure rate over a sliding time window.
+ * <p>
+ * The window is split into buckets, each packed into one {@code long} holding the
+ * bucket's epoch and its failure and success counts, so recording an outcome is a
+ * single CAS and stale buckets are reset by the first writer that reaches them.
+ * The breaker opens once the window holds at least the minimum number of failures
+ * and the failure rate reaches the threshold. After the open duration one trial
+ * call is let through (half-open); its outcome closes or re-opens the breaker.
+ */
+public final class SlidingWindowCircuitBreaker {
+
+    private static final int BUCKETS = 10;
+    private static final long CLOSED = 0L;
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final int EPOCH_SHIFT = 2 * COUNT_BITS;
+    private static final long EPOCH_MASK = (1L << (Long.SIZE - EPOCH_SHIFT)) - 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final long bucketMillis;
+    private final int minimumFailures;
+    private final double failureRateThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    private final AtomicLong openUntil = new AtomicLong(CLOSED);
+    private final AtomicBoolean trialInFlight = new AtomicBoolean();
+    private volatile long lastFailureMillis;
+
+    /**
+     * Creates a closed breaker.
+     *
+     * @param window               time span over which the failure rate is computed
+     * @param minimumFailures      failures the window must hold before the breaker can open
+     * @param failureRateThreshold failure rate, between 0 and 1, from which the breaker opens
+     * @param openDuration         how long the breaker stays open before a trial call
+     */
+    public SlidingWindowCircuitBreaker(Duration window, int minimumFailures, double failureRateThreshold,
+                                       Duration openDuration) {
+        this(window, minimumFailures, failureRateThreshold, openDuration, System::currentTimeMillis);
+    }
+
+    SlidingWindowCircuitBreaker(Duration window, int minimumFailures, double failureRateThreshold,
+                                Duration openDuration, LongSupplier clock) {
+        if (window.toMillis() < BUCKETS) {
+            throw new IllegalArgumentException("Window must be at least " + BUCKETS + " ms: " + window);
+        }
+        if (minimumFailures < 1) {
+            throw new IllegalArgumentException("Minimum failures must be positive: " + minimumFailures);
+        }
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("Failure rate threshold must be in (0, 1]: " + failureRateThreshold);
+        }
+
+        this.bucketMillis = window.toMillis() / BUCKETS;
+        this.minimumFailures = minimumFailures;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMillis = openDuration.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Checks whether a call may proceed. While half-open, only one caller gets true
+     * until that call's outcome has been recorded.
+     */
+    public boolean allowRequest() {
+        long until = openUntil.get();
+        if (until == CLOSED) {
+            return true;
+        }
+        if (clock.getAsLong() < until) {
+            return false;
+        }
+        return trialInFlight.compareAndSet(false, true);
+    }
+
+    /**
+     * Records a successful call, closing the breaker if it was the half-open trial.
+     */
+    public void recordSuccess() {
+        record(false, clock.getAsLong());
+        if (openUntil.get() != CLOSED && trialInFlight.compareAndSet(true, false)) {
+            clearWindow();
+            openUntil.set(CLOSED);
+        }
+    }
+
+    /**
+     * Records a failed call.
+     *
+     * @return true if the breaker is open after this failure
+     */
+    public boolean recordFailure() {
+        long now = clock.getAsLong();
+        record(true, now);
+        lastFailureMillis = now;
+
+        if (openUntil.get() != CLOSED) {
+            if (trialInFlight.compareAndSet(true, false)) {
+                // The trial call failed, stay open for another period
+                openUntil.set(now + openMillis);
+            }
+            return true;
+        }
+
+        long[] counts = counts(now);
+        long failures = counts[0];
+        long calls = failures + counts[1];
+        if (failures >= minimumFailures && (double) failures / calls >= failureRateThreshold) {
+            openUntil.compareAndSet(CLOSED, now + openMillis);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Ends a half-open trial whose outcome says nothing about the protected resource,
+     * such as a call rejected by a non-retryable error. The breaker stays open and the
+     * next caller gets the trial; without this the breaker would never close again.
+     */
+    public void releaseTrial() {
+        trialInFlight.set(false);
+    }
+
+    /**
+     * Checks whether calls are currently rejected, including while a half-open trial runs.
+     */
+    public boolean isOpen() {
+        long until = openUntil.get();
+        return until != CLOSED && (clock.getAsLong() < until || trialInFlight.get());
+    }
+
+    /**
+     * Gets the number of failures in the current window.
+     */
+    public int getFailureCount() {
+        return (int) counts(clock.getAsLong())[0];
+    }
+
+    /**
+     * Gets the time of the most recent failure, or null if none was recorded.
+     */
+    public Instant getLastFailureTime() {
+        long millis = lastFailureMillis;
+        return millis == 0L ? null : Instant.ofEpochMilli(millis);
+    }
+
+    /**
+     * Closes the breaker and forgets all recorded calls.
+     */
+    public void reset() {
+        clearWindow();
+        lastFailureMillis = 0L;
+        openUntil.set(CLOSED);
+        trialInFlight.set(false);
+    }
+
+    private void record(boolean failure, long now) {
+        long epoch = (now / bucketMillis) & EPOCH_MASK;
+        int index = (int) ((now / bucketMillis) % BUCKETS);
+        int shift = failure ? COUNT_BITS : 0;
+
+        while (true) {
+            long current = buckets.get(index);
+            long updated;
+            if (current >>> EPOCH_SHIFT == epoch) {
+                if (((current >>> shift) & COUNT_MASK) == COUNT_MASK) {
+                    return; // Saturated, the rate is what matters at this volume
+                }
+                updated = current + (1L << shift);
+            } else {
+                updated = (epoch << EPOCH_SHIFT) | (1L << shift);
+            }
+            if (buckets.compareAndSet(index, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sums the buckets that belong to the window ending now.
+     *
+     * @return failures and successes
+     */
+    private long[] counts(long now) {
+        long epoch = (now / bucketMillis) & EPOCH_MASK;
+        long failures = 0;
+        long successes = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucket = buckets.get(i);
+            long age = (epoch - (bucket >>> EPOCH_SHIFT)) & EPOCH_MASK;
+            if (bucket != 0L && age < BUCKETS) {
+                failures += (bucket >>> COUNT_BITS) & COUNT_MASK;
+                successes += bucket & COUNT_MASK;
+            }
+        }
+        return new long[] {failures, successes};
+    }
+
+    private void clearWindow() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0L);
+        }
+    }
+}
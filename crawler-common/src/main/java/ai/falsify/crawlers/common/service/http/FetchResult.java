@@ -0,0 +1,36 @@
+package ai.falsify.crawlers.common.service.http;
+
+import org.jsoup.nodes.Document;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Outcome of a page fetch.
+ *
+ * @param url the requested URL
+ * @param finalUri the URI the page was served from, after redirects
+ * @param statusCode the HTTP status code
+ * @param document the parsed page, or null if the page was not modified
+ * @param elapsed time from sending the request to having parsed the page
+ * @param validators the ETag and Last-Modified of the page, or null if it sent none or was not modified;
+ *                   stored by {@link FetchService#storeValidators(FetchResult)}
+ */
+public record FetchResult(
+    String url,
+    URI finalUri,
+    int statusCode,
+    Document document,
+    Duration elapsed,
+    ValidatorStore.Validators validators
+) {
+
+    public static final int NOT_MODIFIED = 304;
+
+    /**
+     * Whether the server confirmed that the page did not change since it was last fetched.
+     */
+    public boolean notModified() {
+        return statusCode == NOT_MODIFIED;
+    }
+}
@@ -0,0 +1,473 @@
+package ai.falsify.crawlers.common.service.http;
+
+import ai.falsify.crawlers.common.config.CrawlerConfiguration;
+import ai.falsify.crawlers.common.exception.CrawlingException;
+import ai.falsify.crawlers.common.exception.NetworkException;
+import ai.falsify.crawlers.common.service.http.ValidatorStore.Validators;
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.BrotliInputStream;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Fetches pages over one shared {@link HttpClient} and parses them with Jsoup.
+ * <p>
+ * Connections are pooled and kept alive by the client, HTTP/2 is used where the server
+ * offers it, and pages are requested compressed (gzip, deflate, and brotli where its
+ * native decoder loads). Every request, including each redirect hop, waits for a permit
+ * from the {@link PolitenessScheduler}, which paces and caps the requests per host and
+ * backs off when a host throttles. The whole response, body included, must arrive within
+ * the read timeout, so a stalled body cannot hold the permit; it is then decoded and parsed.
+ * Bodies are buffered rather than parsed as they stream in, which keeps the deadline simple
+ * to enforce, so both the received and the decoded body are capped at {@code max-body-size}.
+ * <p>
+ * The ETag and Last-Modified validators of a fetched page come with its result. Callers store
+ * them with {@link #storeValidators(FetchResult)} once they have handled the page, so later
+ * conditional fetches of the page, if it did not change, come back as a 304 without a body.
+ */
+@ApplicationScoped
+public class FetchService {
+
+    private static final Logger LOG = Logger.getLogger(FetchService.class);
+
+    private static final String ACCEPT = "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8";
+    private static final boolean BROTLI_AVAILABLE = loadBrotli();
+
+    private final CrawlerConfiguration.NetworkConfig network;
+    private final ValidatorStore validatorStore;
+    private final PolitenessScheduler scheduler;
+    private final HttpClient client;
+
+    @Inject
+    public FetchService(CrawlerConfiguration config, ValidatorStore validatorStore, PolitenessScheduler scheduler) {
+        this.network = config.network();
+        this.validatorStore = validatorStore;
+        this.scheduler = scheduler;
+        // Redirects are followed here rather than by the client, to apply max-redirects
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(network.connectionTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        if (network.ignoreSslErrors()) {
+            LOG.warn("crawler.common.network.ignore-ssl-errors is not supported by FetchService, certificates are verified");
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        client.close();
+    }
+
+    /**
+     * Fetches and parses a page, conditionally if its validators are known.
+     *
+     * @param url the page URL
+     * @return the result; {@link FetchResult#notModified()} if the page did not change
+     * @throws NetworkException if the page cannot be fetched or the response is not a success
+     */
+    public FetchResult fetch(String url) throws NetworkException {
+        return fetch(url, true);
+    }
+
+    /**
+     * Fetches and parses a page.
+     *
+     * @param url the page URL
+     * @param conditional whether to send the stored validators of the URL
+     * @return the result; {@link FetchResult#notModified()} only for conditional fetches
+     * @throws NetworkException if the page cannot be fetched or the response is not a success
+     */
+    public FetchResult fetch(String url, boolean conditional) throws NetworkException {
+        URI uri = toUri(url);
+        Optional<Validators> validators = conditional && network.enableConditionalRequests()
+                ? validatorStore.get(url)
+                : Optional.empty();
+
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = send(url, uri, validators.orElse(null));
+        int status = response.statusCode();
+
+        if (status == FetchResult.NOT_MODIFIED && validators.isPresent()) {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            LOG.debugf("Not modified since last fetch (%d ms): %s", elapsed.toMillis(), url);
+            return new FetchResult(url, response.uri(), status, null, elapsed, null);
+        }
+        if (status < 200 || status >= 300) {
+            throw NetworkException.invalidResponse(url, status);
+        }
+
+        Document document;
+        try (InputStream body = new BoundedInputStream(
+                decode(new ByteArrayInputStream(response.body()), response.headers()), network.maxBodySize())) {
+            document = Jsoup.parse(body, charset(response.headers()), response.uri().toString());
+        } catch (BodyTooLargeException e) {
+            throw bodyTooLarge(url, e);
+        } catch (IOException e) {
+            throw NetworkException.connectionFailed(url, e);
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        LOG.debugf("Fetched %s in %d ms (%s, %s)", url, elapsed.toMillis(), response.version(),
+                response.headers().firstValue("Content-Encoding").orElse("identity"));
+        return new FetchResult(url, response.uri(), status, document, elapsed,
+                validators(response.headers()).orElse(null));
+    }
+
+    /**
+     * Stores the validators of a fetched page, so the next fetch of its URL is conditional.
+     * Called once the page has been handled: a page whose validators are stored comes back
+     * as not modified until it changes, so its content is not seen again.
+     *
+     * @param result the result of fetching the page
+     */
+    public void storeValidators(FetchResult result) {
+        if (network.enableConditionalRequests() && result.validators() != null) {
+            validatorStore.put(result.url(), result.validators());
+        }
+    }
+
+    /**
+     * Sends the request, following redirects.
+     */
+    private HttpResponse<byte[]> send(String url, URI uri, Validators validators) throws NetworkException {
+        URI current = uri;
+        for (int redirects = 0; ; redirects++) {
+            HttpResponse<byte[]> response = exchange(url, current, validators);
+            int status = response.statusCode();
+            if (!isRedirect(status) || !network.followRedirects()) {
+                return response;
+            }
+            if (redirects >= network.maxRedirects()) {
+                throw new NetworkException(CrawlingException.ErrorCode.NETWORK_INVALID_RESPONSE,
+                        "Too many redirects for: " + url, url, status);
+            }
+            Optional<String> location = response.headers().firstValue("Location");
+            if (location.isEmpty()) {
+                throw NetworkException.invalidResponse(url, status);
+            }
+            current = current.resolve(location.get());
+            LOG.debugf("Following redirect %d of %s to %s", redirects + 1, url, current);
+        }
+    }
+
+    /**
+     * Sends one request and reads its whole response under a permit of the host. The
+     * request timeout only bounds the wait for the headers, so the body is read within
+     * a deadline as well and the exchange is cancelled when it runs out. A body larger
+     * than {@code max-body-size} is abandoned as soon as it is known to be.
+     */
+    private HttpResponse<byte[]> exchange(String url, URI uri, Validators validators) throws NetworkException {
+        PolitenessScheduler.Permit permit;
+        try {
+            permit = scheduler.acquire(uri.getHost());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw NetworkException.connectionFailed(url, e);
+        }
+        try (permit) {
+            long sent = System.nanoTime();
+            CompletableFuture<HttpResponse<byte[]>> pending = client.sendAsync(request(uri, validators),
+                    boundedBody(network.maxBodySize()));
+            HttpResponse<byte[]> response;
+            try {
+                response = pending.get(network.readTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                pending.cancel(true);
+                throw NetworkException.timeout(url, new HttpTimeoutException("Response not read within "
+                        + network.readTimeout().toMillis() + " ms"));
+            } catch (InterruptedException e) {
+                pending.cancel(true);
+                Thread.currentThread().interrupt();
+                throw NetworkException.connectionFailed(url, e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof BodyTooLargeException tooLarge) {
+                    throw bodyTooLarge(url, tooLarge);
+                }
+                if (e.getCause() instanceof HttpTimeoutException timeout) {
+                    throw NetworkException.timeout(url, timeout);
+                }
+                if (e.getCause() instanceof IOException io) {
+                    throw NetworkException.connectionFailed(url, io);
+                }
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw NetworkException.connectionFailed(url, e.getCause());
+            }
+            permit.record(response.statusCode(), Duration.ofNanos(System.nanoTime() - sent),
+                    retryAfter(response.headers()));
+            return response;
+        }
+    }
+
+    private static NetworkException bodyTooLarge(String url, BodyTooLargeException e) {
+        return new NetworkException(CrawlingException.ErrorCode.NETWORK_INVALID_RESPONSE,
+                e.getMessage() + ": " + url, url, e);
+    }
+
+    private HttpRequest request(URI uri, Validators validators) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(network.readTimeout())
+                .header("User-Agent", network.userAgent())
+                .header("Accept", ACCEPT)
+                .header("Accept-Encoding", BROTLI_AVAILABLE ? "gzip, deflate, br" : "gzip, deflate")
+                .GET();
+        if (validators != null) {
+            if (validators.etag() != null) {
+                request.header("If-None-Match", validators.etag());
+            }
+            if (validators.lastModified() != null) {
+                request.header("If-Modified-Since", validators.lastModified());
+            }
+        }
+        return request.build();
+    }
+
+    private static URI toUri(String url) throws NetworkException {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() == null) {
+                throw new IllegalArgumentException("URL has no host");
+            }
+            return uri;
+        } catch (IllegalArgumentException e) {
+            throw new NetworkException(CrawlingException.ErrorCode.NETWORK_CONNECTION_FAILED,
+                    "Invalid URL: " + url, url, e);
+        }
+    }
+
+    private static boolean isRedirect(int status) {
+        return status == 301 || status == 302 || status == 303 || status == 307 || status == 308;
+    }
+
+    static InputStream decode(InputStream body, HttpHeaders headers) throws IOException {
+        String encoding = headers.firstValue("Content-Encoding").orElse("").trim().toLowerCase(Locale.ROOT);
+        try {
+            return switch (encoding) {
+                case "", "identity" -> body;
+                case "gzip", "x-gzip" -> new GZIPInputStream(body, 8192);
+                case "deflate" -> new InflaterInputStream(body);
+                case "br" -> new BrotliInputStream(body);
+                default -> throw new IOException("Unsupported content encoding: " + encoding);
+            };
+        } catch (IOException e) {
+            body.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Charset declared in the Content-Type header, or null to let Jsoup detect it from the page.
+     */
+    static String charset(HttpHeaders headers) {
+        String contentType = headers.firstValue("Content-Type").orElse("");
+        for (String parameter : contentType.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.regionMatches(true, 0, "charset=", 0, 8)) {
+                String charset = trimmed.substring(8).replace("\"", "").trim();
+                try {
+                    return Charset.isSupported(charset) ? charset : null;
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Delay requested by a Retry-After header, given either in seconds or as an HTTP date.
+     */
+    static Duration retryAfter(HttpHeaders headers) {
+        Optional<String> value = headers.firstValue("Retry-After").map(String::trim);
+        if (value.isEmpty() || value.get().isEmpty()) {
+            return Duration.ZERO;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.get())));
+        } catch (NumberFormatException e) {
+            // Not delta-seconds, try an HTTP date below
+        }
+        try {
+            Duration until = Duration.between(Instant.now(),
+                    ZonedDateTime.parse(value.get(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+            return until.isNegative() ? Duration.ZERO : until;
+        } catch (DateTimeParseException e) {
+            return Duration.ZERO;
+        }
+    }
+
+    static Optional<Validators> validators(HttpHeaders headers) {
+        Optional<String> etag = headers.firstValue("ETag");
+        Optional<String> lastModified = headers.firstValue("Last-Modified");
+        if (etag.isEmpty() && lastModified.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new Validators(etag.orElse(null), lastModified.orElse(null)));
+    }
+
+    private static boolean loadBrotli() {
+        try {
+            return Brotli4jLoader.isAvailable();
+        } catch (Throwable e) {
+            LOG.debugf("Brotli decoder not available: %s", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Body handler that buffers the body like {@link HttpResponse.BodyHandlers#ofByteArray()},
+     * but fails once the body grows beyond the given size, or right away if its declared
+     * Content-Length already does.
+     */
+    static HttpResponse.BodyHandler<byte[]> boundedBody(int maxBytes) {
+        return info -> new BoundedBodySubscriber(maxBytes,
+                info.headers().firstValueAsLong("Content-Length").orElse(-1L));
+    }
+
+    /**
+     * Collects a body into a byte array, cancelling the subscription when it exceeds the cap.
+     */
+    private static final class BoundedBodySubscriber implements HttpResponse.BodySubscriber<byte[]> {
+
+        private final int maxBytes;
+        private final long declaredBytes;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final CompletableFuture<byte[]> body = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        BoundedBodySubscriber(int maxBytes, long declaredBytes) {
+            this.maxBytes = maxBytes;
+            this.declaredBytes = declaredBytes;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (declaredBytes > maxBytes) {
+                subscription.cancel();
+                body.completeExceptionally(new BodyTooLargeException(maxBytes));
+                return;
+            }
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (body.isDone()) {
+                return;
+            }
+            for (ByteBuffer item : items) {
+                int length = item.remaining();
+                if (buffer.size() + (long) length > maxBytes) {
+                    subscription.cancel();
+                    body.completeExceptionally(new BodyTooLargeException(maxBytes));
+                    return;
+                }
+                byte[] chunk = new byte[length];
+                item.get(chunk);
+                buffer.write(chunk, 0, length);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            body.complete(buffer.toByteArray());
+        }
+
+        @Override
+        public CompletionStage<byte[]> getBody() {
+            return body;
+        }
+    }
+
+    /**
+     * Decoded body that fails once more than the cap has been read, so a small compressed
+     * body cannot expand into an unbounded page.
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private final int maxBytes;
+        private long read;
+
+        BoundedInputStream(InputStream in, int maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                count(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int count = super.read(bytes, offset, length);
+            if (count > 0) {
+                count(count);
+            }
+            return count;
+        }
+
+        private void count(int bytes) throws BodyTooLargeException {
+            read += bytes;
+            if (read > maxBytes) {
+                throw new BodyTooLargeException(maxBytes);
+            }
+        }
+    }
+
+    /**
+     * Raised when a page body exceeds {@code max-body-size}.
+     */
+    static final class BodyTooLargeException extends IOException {
+
+        BodyTooLargeException(int maxBytes) {
+            super("Response body exceeds " + maxBytes + " bytes");
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package ai.falsify.crawlers.common.service.http;
+
+import java.time.Duration;
+
+/**
+ * Token bucket pacing the requests to one host.
+ * <p>
+ * The bucket holds up to {@code burst} tokens and refills one token per interval.
+ * Callers reserve a token and wait for the returned delay, so the bucket may go into
+ * debt and concurrent callers queue up behind each other. The interval adapts to how
+ * the host responds: throttling responses (429, 503) double it and block the host for
+ * their Retry-After, latency well above the host's best observed latency stretches it,
+ * and healthy responses shrink it back towards the configured interval. All times are
+ * {@link System#nanoTime()} values passed in by the caller.
+ */
+final class HostRateLimiter {
+
+    static final int TOO_MANY_REQUESTS = 429;
+    static final int SERVICE_UNAVAILABLE = 503;
+
+    private static final double LATENCY_ALPHA = 0.2;
+    private static final double SLOW_LATENCY_FACTOR = 2.0;
+    private static final double SLOW_DOWN = 1.5;
+    private static final double SPEED_UP = 0.9;
+    private static final double THROTTLED = 2.0;
+    private static final long MIN_SLOW_DOWN_NANOS = Duration.ofMillis(100).toNanos();
+
+    private final long baseIntervalNanos;
+    private final long maxIntervalNanos;
+    private final int burst;
+
+    private long intervalNanos;
+    private double tokens;
+    private long lastRefill;
+    private long blockedUntil;
+    private double latencyEwma = -1;
+    private double latencyBaseline = -1;
+
+    /**
+     * @param interval    delay between requests once the burst is used up
+     * @param burst       requests allowed back to back
+     * @param maxInterval longest interval the host is slowed down to
+     * @param now         current time in nanos
+     */
+    HostRateLimiter(Duration interval, int burst, Duration maxInterval, long now) {
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be positive: " + burst);
+        }
+        this.baseIntervalNanos = Math.max(0, interval.toNanos());
+        this.maxIntervalNanos = Math.max(baseIntervalNanos, maxInterval.toNanos());
+        this.burst = burst;
+        this.intervalNanos = baseIntervalNanos;
+        this.tokens = burst;
+        this.lastRefill = now;
+        this.blockedUntil = now;
+    }
+
+    /**
+     * Takes a token.
+     *
+     * @return nanos to wait before the request may be sent
+     */
+    synchronized long reserve(long now) {
+        refill(now);
+        tokens -= 1;
+        long wait = tokens >= 0 ? 0 : (long) Math.ceil(-tokens * intervalNanos);
+        return Math.max(wait, blockedUntil - now);
+    }
+
+    /**
+     * Records the outcome of a request.
+     *
+     * @param status       HTTP status, or 0 if no response was received
+     * @param latencyNanos time until the response headers arrived
+     * @param retryAfter   nanos the host asked to wait, or 0 if it did not say
+     */
+    synchronized void record(long now, int status, long latencyNanos, long retryAfter) {
+        refill(now);
+        if (status == TOO_MANY_REQUESTS || status == SERVICE_UNAVAILABLE) {
+            adjust(THROTTLED);
+            blockedUntil = Math.max(blockedUntil, now + (retryAfter > 0 ? retryAfter : intervalNanos));
+            return;
+        }
+        if (status == 0) {
+            return;
+        }
+
+        latencyEwma = latencyEwma < 0 ? latencyNanos : latencyEwma + LATENCY_ALPHA * (latencyNanos - latencyEwma);
+        latencyBaseline = latencyBaseline < 0 ? latencyEwma : Math.min(latencyBaseline, latencyEwma);
+        adjust(latencyEwma > latencyBaseline * SLOW_LATENCY_FACTOR ? SLOW_DOWN : SPEED_UP);
+    }
+
+    synchronized Duration interval() {
+        return Duration.ofNanos(intervalNanos);
+    }
+
+    private void adjust(double factor) {
+        long adjusted = (long) (intervalNanos * factor);
+        if (intervalNanos == 0 && factor > 1) {
+            // Without a configured delay there is nothing to scale, start from a small step
+            adjusted = MIN_SLOW_DOWN_NANOS;
+        }
+        intervalNanos = Math.max(baseIntervalNanos, Math.min(maxIntervalNanos, adjusted));
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefill;
+        if (elapsed <= 0) {
+            return;
+        }
+        tokens = intervalNanos == 0 ? burst : Math.min(burst, tokens + (double) elapsed / intervalNanos);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,135 @@
+package ai.falsify.crawlers.common.service.http;
+
+import ai.falsify.crawlers.common.config.CrawlerConfiguration;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out permits for requests, pacing them per host instead of crawlers sleeping
+ * a fixed delay between requests.
+ * <p>
+ * Each host gets a token bucket ({@link HostRateLimiter}) that allows
+ * {@code crawler.common.performance.request-burst} requests back to back and then one per
+ * {@code request-delay}, slowing down to at most {@code max-request-delay} when the host
+ * throttles or gets slower. At most {@code crawler.common.network.max-connections-per-host}
+ * requests run against one host and {@code crawler.common.performance.max-concurrent-requests}
+ * in total. Callers hold the {@link Permit} for the duration of the request and report
+ * its outcome on it:
+ * <pre>{@code
+ * try (Permit permit = scheduler.acquire(host)) {
+ *     ... send the request ...
+ *     permit.record(status, latency, retryAfter);
+ * }
+ * }</pre>
+ */
+@ApplicationScoped
+public class PolitenessScheduler {
+
+    private static final Logger LOG = Logger.getLogger(PolitenessScheduler.class);
+
+    private final CrawlerConfiguration.PerformanceConfig performance;
+    private final int maxConnectionsPerHost;
+    private final Semaphore globalSlots;
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    @Inject
+    public PolitenessScheduler(CrawlerConfiguration config) {
+        this(config, System::nanoTime);
+    }
+
+    PolitenessScheduler(CrawlerConfiguration config, LongSupplier clock) {
+        this.performance = config.performance();
+        this.maxConnectionsPerHost = config.network().maxConnectionsPerHost();
+        this.globalSlots = new Semaphore(performance.maxConcurrentRequests(), true);
+        this.clock = clock;
+    }
+
+    /**
+     * Waits until a request to the host may be sent.
+     *
+     * @param host the host name of the request
+     * @return the permit, to be closed once the request completed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Permit acquire(String host) throws InterruptedException {
+        Host state = hosts.computeIfAbsent(host.toLowerCase(Locale.ROOT), this::newHost);
+        state.slots.acquire();
+        try {
+            long wait = state.limiter.reserve(clock.getAsLong());
+            if (wait > 0) {
+                LOG.tracef("Pacing request to %s for %d ms", state.name, TimeUnit.NANOSECONDS.toMillis(wait));
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            globalSlots.acquire();
+        } catch (InterruptedException e) {
+            state.slots.release();
+            throw e;
+        }
+        return new Permit(state);
+    }
+
+    /**
+     * Current delay between requests to the host once its burst is used up.
+     */
+    public Duration currentDelay(String host) {
+        Host state = hosts.get(host.toLowerCase(Locale.ROOT));
+        return state != null ? state.limiter.interval() : performance.requestDelay();
+    }
+
+    private Host newHost(String name) {
+        return new Host(name, new HostRateLimiter(performance.requestDelay(), performance.requestBurst(),
+                performance.maxRequestDelay(), clock.getAsLong()), new Semaphore(maxConnectionsPerHost, true));
+    }
+
+    private record Host(String name, HostRateLimiter limiter, Semaphore slots) {
+    }
+
+    /**
+     * Permission to send one request to a host.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final Host host;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Permit(Host host) {
+            this.host = host;
+        }
+
+        /**
+         * Reports how the host responded, so its pace can adapt.
+         *
+         * @param status     HTTP status of the response
+         * @param latency    time until the response headers arrived
+         * @param retryAfter how long the host asked to wait, {@link Duration#ZERO} if it did not say
+         */
+        public void record(int status, Duration latency, Duration retryAfter) {
+            Duration before = host.limiter.interval();
+            host.limiter.record(clock.getAsLong(), status, latency.toNanos(), retryAfter.toNanos());
+            Duration after = host.limiter.interval();
+            if (after.compareTo(before) > 0) {
+                LOG.debugf("Slowing down requests to %s to one per %d ms (status %d, latency %d ms)",
+                        host.name, after.toMillis(), status, latency.toMillis());
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                globalSlots.release();
+                host.slots.release();
+            }
+        }
+    }
+}
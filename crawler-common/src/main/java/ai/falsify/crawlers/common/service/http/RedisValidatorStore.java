@@ -0,0 +1,68 @@
+package ai.falsify.crawlers.common.service.http;
+
+import ai.falsify.crawlers.common.config.CrawlerConfiguration;
+import ai.falsify.crawlers.common.service.redis.RedisService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.Optional;
+
+/**
+ * Keeps validators in Redis, so they are shared by all crawlers and survive restarts.
+ * Each URL has its own key expiring after {@code crawler.common.network.validator-ttl}.
+ * Redis failures only cost the conditional request: lookups then report no validators.
+ */
+@ApplicationScoped
+public class RedisValidatorStore implements ValidatorStore {
+
+    private static final Logger LOG = Logger.getLogger(RedisValidatorStore.class);
+    private static final String KEY_PREFIX = "http:validators:";
+    private static final char SEPARATOR = '\n';
+
+    private final RedisService redisService;
+    private final CrawlerConfiguration config;
+
+    @Inject
+    public RedisValidatorStore(RedisService redisService, CrawlerConfiguration config) {
+        this.redisService = redisService;
+        this.config = config;
+    }
+
+    @Override
+    public Optional<Validators> get(String url) {
+        try {
+            return redisService.get(KEY_PREFIX + url).map(RedisValidatorStore::decode);
+        } catch (Exception e) {
+            LOG.debugf("Could not read validators of %s: %s", url, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void put(String url, Validators validators) {
+        try {
+            redisService.set(KEY_PREFIX + url, encode(validators), config.network().validatorTtl());
+        } catch (Exception e) {
+            LOG.debugf("Could not store validators of %s: %s", url, e.getMessage());
+        }
+    }
+
+    static String encode(Validators validators) {
+        return nullToEmpty(validators.etag()) + SEPARATOR + nullToEmpty(validators.lastModified());
+    }
+
+    static Validators decode(String value) {
+        int separator = value.indexOf(SEPARATOR);
+        String etag = separator < 0 ? value : value.substring(0, separator);
+        String lastModified = separator < 0 ? "" : value.substring(separator + 1);
+        if (etag.isEmpty() && lastModified.isEmpty()) {
+            return null;
+        }
+        return new Validators(etag.isEmpty() ? null : etag, lastModified.isEmpty() ? null : lastModified);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
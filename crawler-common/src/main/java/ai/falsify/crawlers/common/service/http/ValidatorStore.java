@@ -0,0 +1,37 @@
+package ai.falsify.crawlers.common.service.http;
+
+import java.util.Optional;
+
+/**
+ * Per-URL storage of the HTTP validators used for conditional requests.
+ */
+public interface ValidatorStore {
+
+    /**
+     * Gets the validators last seen for a URL.
+     *
+     * @param url the requested URL
+     * @return the validators, or empty if none are known
+     */
+    Optional<Validators> get(String url);
+
+    /**
+     * Stores the validators of a fetched URL.
+     *
+     * @param url the requested URL
+     * @param validators the validators of the response
+     */
+    void put(String url, Validators validators);
+
+    /**
+     * ETag and Last-Modified of a response; either may be null, but not both.
+     */
+    record Validators(String etag, String lastModified) {
+
+        public Validators {
+            if (etag == null && lastModified == null) {
+                throw new IllegalArgumentException("At least one validator is required");
+            }
+        }
+    }
+}
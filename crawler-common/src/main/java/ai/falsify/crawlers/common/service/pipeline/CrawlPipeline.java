@@ -0,0 +1,565 @@
+package ai.falsify.crawlers.common.service.pipeline;
+
+import ai.falsify.crawlers.common.config.CrawlerConfiguration;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Staged crawl pipeline: discovery, a chain of stages and a batching sink, connected by
+ * bounded queues so that a slow stage holds back only the stages in front of it.
+ * <p>
+ * Discovery emits item keys (article URLs) on a virtual thread. Each stage runs its own
+ * workers, on virtual threads for {@link StageType#IO} stages and on a small platform
+ * pool for {@link StageType#CPU} stages, and turns an item into the input of the next
+ * stage. A stage drops an item by returning null; an exception fails the item. Both are
+ * reported to the {@link DiscardListener}, and the remaining stages never see the item.
+ * The sink collects items into batches on a single thread, writing a batch once it is
+ * full, once no item arrived for the flush interval, and at the end of the run.
+ * <p>
+ * A pipeline runs once:
+ * <pre>{@code
+ * PipelineResult result = CrawlPipeline.builder("drucker", emitter -> listingUrls.forEach(emitter::emit))
+ *         .stage("fetch", StageType.IO, 5, url -> fetchService.fetch(url, false))
+ *         .stage("parse", StageType.CPU, 2, this::extractArticle)
+ *         .sink(10, batch -> articleService.ingestBatch(batch, ...))
+ *         .run();
+ * }</pre>
+ *
+ * @param <T> type of the items reaching the sink
+ */
+public final class CrawlPipeline<T> {
+
+    private static final Logger LOG = Logger.getLogger(CrawlPipeline.class);
+
+    private static final long POLL_MILLIS = 50;
+    private static final String SINK = "sink";
+
+    /**
+     * Kind of work a stage does, deciding which threads run it.
+     */
+    public enum StageType {
+        /** Blocking I/O, run on virtual threads */
+        IO,
+        /** CPU-bound work, run on a platform thread pool */
+        CPU
+    }
+
+    /**
+     * Produces the keys of the items to crawl.
+     */
+    @FunctionalInterface
+    public interface Discovery {
+        void discover(Emitter emitter) throws Exception;
+    }
+
+    /**
+     * Hands discovered keys to the pipeline, blocking while the first stage is full.
+     */
+    @FunctionalInterface
+    public interface Emitter {
+        void emit(String key) throws InterruptedException;
+    }
+
+    /**
+     * Work of one stage on one item.
+     */
+    @FunctionalInterface
+    public interface StageFunction<I, O> {
+        /**
+         * @return the input of the next stage, or null to drop the item
+         */
+        O apply(I input) throws Exception;
+    }
+
+    /**
+     * Writes a batch of items that passed all stages.
+     */
+    @FunctionalInterface
+    public interface BatchSink<T> {
+        void write(List<T> batch) throws Exception;
+    }
+
+    /**
+     * Told about items that did not reach the sink, or whose batch failed to be written.
+     * Called on the thread of the stage that gave up on the item.
+     */
+    @FunctionalInterface
+    public interface DiscardListener {
+        /**
+         * @param key   key the item was discovered under
+         * @param stage name of the stage that dropped or failed the item
+         * @param cause the failure, or null if the stage dropped the item
+         */
+        void discarded(String key, String stage, Exception cause);
+    }
+
+    private final String name;
+    private final Discovery discovery;
+    private final List<StageRuntime> stages;
+    private final SinkRuntime<T> sink;
+    private final DiscardListener listener;
+    private final boolean ordered;
+    private final AtomicLong discovered = new AtomicLong();
+    private volatile boolean started;
+
+    private CrawlPipeline(Builder<T> builder, int batchSize, BatchSink<T> sink) {
+        this.name = builder.name;
+        this.discovery = builder.discovery;
+        this.listener = builder.listener;
+        this.ordered = builder.ordered;
+        this.stages = new ArrayList<>(builder.stages.size());
+        for (StageSpec spec : builder.stages) {
+            this.stages.add(new StageRuntime(spec, new ArrayBlockingQueue<>(builder.queueCapacity)));
+        }
+        // The sink only ever takes from its queue, so stages blocking on it cannot deadlock
+        this.sink = new SinkRuntime<>(sink, batchSize, builder.flushInterval, new ArrayBlockingQueue<>(builder.queueCapacity));
+    }
+
+    /**
+     * Starts building a pipeline.
+     *
+     * @param name      name used in thread names and logs
+     * @param discovery source of the item keys, its keys are the input of the first stage
+     */
+    public static Builder<String> builder(String name, Discovery discovery) {
+        return new Builder<>(name, discovery);
+    }
+
+    /**
+     * Runs the pipeline until discovery is done and every item reached the sink or was discarded.
+     *
+     * @throws InterruptedException if interrupted; the workers are stopped
+     * @throws IllegalStateException if the pipeline already ran
+     */
+    public PipelineResult run() throws InterruptedException {
+        if (started) {
+            throw new IllegalStateException("Pipeline " + name + " already ran");
+        }
+        started = true;
+        long start = System.nanoTime();
+        LOG.infof("Starting pipeline %s: %s", name, describe());
+
+        List<ExecutorService> executors = new ArrayList<>();
+        AtomicReference<Exception> discoveryFailure = new AtomicReference<>();
+        try {
+            ExecutorService discoveryExecutor = executor("discover", StageType.IO, 1);
+            executors.add(discoveryExecutor);
+            AtomicLong sequence = new AtomicLong();
+            BlockingQueue<Item> first = stages.isEmpty() ? sink.queue : stages.get(0).queue;
+            discoveryExecutor.execute(() -> {
+                try {
+                    discovery.discover(key -> {
+                        first.put(new Item(sequence.getAndIncrement(), key, key));
+                        discovered.incrementAndGet();
+                    });
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    LOG.errorf(e, "Discovery of pipeline %s failed after %d items", name, discovered.get());
+                    discoveryFailure.set(e);
+                } finally {
+                    upstreamDone(0);
+                }
+            });
+
+            for (int i = 0; i < stages.size(); i++) {
+                StageRuntime stage = stages.get(i);
+                BlockingQueue<Item> next = i + 1 < stages.size() ? stages.get(i + 1).queue : sink.queue;
+                int index = i;
+                ExecutorService executor = executor(stage.spec.name, stage.spec.type, stage.spec.workers);
+                executors.add(executor);
+                stage.liveWorkers.set(stage.spec.workers);
+                for (int w = 0; w < stage.spec.workers; w++) {
+                    executor.execute(() -> work(index, stage, next));
+                }
+            }
+
+            ExecutorService sinkExecutor = executor(SINK, StageType.CPU, 1);
+            executors.add(sinkExecutor);
+            Future<?> sinkDone = sinkExecutor.submit(this::drain);
+            try {
+                sinkDone.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Sink of pipeline " + name + " failed", e.getCause());
+            }
+        } finally {
+            for (ExecutorService executor : executors) {
+                executor.shutdownNow();
+            }
+        }
+
+        PipelineResult result = new PipelineResult(discovered.get(), sink.written.get(), stats(),
+                Duration.ofNanos(System.nanoTime() - start), Optional.ofNullable(discoveryFailure.get()));
+        LOG.infof("Pipeline %s finished in %d ms: discovered=%d, written=%d, discarded=%d, failed=%d",
+                name, result.elapsed().toMillis(), result.discovered(), result.written(),
+                result.discarded(), result.failed());
+        for (StageStats stage : result.stages()) {
+            LOG.infof("  %s", stage);
+        }
+        return result;
+    }
+
+    /**
+     * Live snapshot of the stages and the sink, safe to call while the pipeline runs.
+     */
+    public List<StageStats> stats() {
+        List<StageStats> snapshot = new ArrayList<>(stages.size() + 1);
+        for (StageRuntime stage : stages) {
+            snapshot.add(stage.metrics.snapshot(stage.spec.name, stage.spec.workers, stage.queue.size()));
+        }
+        snapshot.add(sink.metrics.snapshot(SINK, 1, sink.queue.size()));
+        return snapshot;
+    }
+
+    private void work(int index, StageRuntime stage, BlockingQueue<Item> next) {
+        try {
+            while (true) {
+                Item item = stage.queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (item == null) {
+                    if (stage.upstreamDone && stage.queue.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+                stage.metrics.observeQueue(stage.queue.size() + 1);
+
+                long begin = System.nanoTime();
+                Object output;
+                try {
+                    output = stage.spec.function.apply(item.value);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    stage.metrics.record(System.nanoTime() - begin, Outcome.FAILED);
+                    LOG.debugf("Stage %s of pipeline %s failed on %s: %s", stage.spec.name, name, item.key, e.getMessage());
+                    discard(item, stage.spec.name, e);
+                    continue;
+                }
+
+                if (output == null) {
+                    stage.metrics.record(System.nanoTime() - begin, Outcome.DISCARDED);
+                    discard(item, stage.spec.name, null);
+                } else {
+                    stage.metrics.record(System.nanoTime() - begin, Outcome.PASSED);
+                    next.put(item.with(output));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (stage.liveWorkers.decrementAndGet() == 0) {
+                upstreamDone(index + 1);
+            }
+        }
+    }
+
+    private void discard(Item item, String stage, Exception cause) throws InterruptedException {
+        try {
+            listener.discarded(item.key, stage, cause);
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Discard listener of pipeline %s failed for %s", name, item.key);
+        }
+        // The sink still learns about the item, to keep ordered output moving
+        sink.queue.put(item.with(null));
+    }
+
+    private void upstreamDone(int stageIndex) {
+        if (stageIndex < stages.size()) {
+            stages.get(stageIndex).upstreamDone = true;
+        } else {
+            sink.upstreamDone = true;
+        }
+    }
+
+    private void drain() {
+        List<Item> batch = new ArrayList<>(sink.batchSize);
+        Map<Long, Item> parked = new HashMap<>();
+        long nextSequence = 0;
+        long lastArrival = System.nanoTime();
+        try {
+            while (true) {
+                Item item = sink.queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (item == null) {
+                    if (sink.upstreamDone && sink.queue.isEmpty()) {
+                        break;
+                    }
+                    // Idle: do not hold a partial batch back any longer
+                    if (System.nanoTime() - lastArrival >= sink.flushInterval.toNanos()) {
+                        write(batch);
+                    }
+                    continue;
+                }
+                lastArrival = System.nanoTime();
+                sink.metrics.observeQueue(sink.queue.size() + 1);
+
+                if (!ordered) {
+                    collect(item, batch);
+                    continue;
+                }
+                parked.put(item.sequence, item);
+                while (parked.containsKey(nextSequence)) {
+                    collect(parked.remove(nextSequence++), batch);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Items whose predecessors were lost to an interruption
+        parked.keySet().stream().sorted().forEach(sequence -> collect(parked.get(sequence), batch));
+        write(batch);
+    }
+
+    private void collect(Item item, List<Item> batch) {
+        if (item.value == null) {
+            return;
+        }
+        batch.add(item);
+        if (batch.size() >= sink.batchSize) {
+            write(batch);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void write(List<Item> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<T> values = new ArrayList<>(batch.size());
+        for (Item item : batch) {
+            values.add((T) item.value);
+        }
+
+        long begin = System.nanoTime();
+        try {
+            sink.sink.write(values);
+            sink.metrics.record(System.nanoTime() - begin, Outcome.PASSED, batch.size());
+            sink.written.addAndGet(batch.size());
+        } catch (Exception e) {
+            sink.metrics.record(System.nanoTime() - begin, Outcome.FAILED, batch.size());
+            LOG.errorf(e, "Sink of pipeline %s failed to write a batch of %d", name, batch.size());
+            for (Item item : batch) {
+                try {
+                    listener.discarded(item.key, SINK, e);
+                } catch (RuntimeException listenerException) {
+                    LOG.warnf(listenerException, "Discard listener of pipeline %s failed for %s", name, item.key);
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    private ExecutorService executor(String stage, StageType type, int workers) {
+        String prefix = name + "-" + stage + "-";
+        ThreadFactory factory = type == StageType.IO
+                ? Thread.ofVirtual().name(prefix, 0).factory()
+                : Thread.ofPlatform().name(prefix, 0).daemon(true).factory();
+        return type == StageType.IO
+                ? Executors.newThreadPerTaskExecutor(factory)
+                : Executors.newFixedThreadPool(workers, factory);
+    }
+
+    private String describe() {
+        StringBuilder description = new StringBuilder("discover");
+        for (StageRuntime stage : stages) {
+            description.append(" -> ").append(stage.spec.name)
+                    .append('(').append(stage.spec.type).append(" x").append(stage.spec.workers).append(')');
+        }
+        return description.append(" -> sink(batch ").append(sink.batchSize).append(')').toString();
+    }
+
+    /**
+     * Builder of a pipeline, typed by the output of the last stage added.
+     */
+    public static final class Builder<T> {
+
+        private final String name;
+        private final Discovery discovery;
+        private final List<StageSpec> stages = new ArrayList<>();
+        private int queueCapacity = 100;
+        private Duration flushInterval = Duration.ofSeconds(5);
+        private boolean ordered;
+        private DiscardListener listener = (key, stage, cause) -> { };
+
+        private Builder(String name, Discovery discovery) {
+            this.name = name;
+            this.discovery = discovery;
+        }
+
+        /**
+         * Adds a stage working on the output of the previous one.
+         *
+         * @param name     stage name, used in stats and thread names
+         * @param type     whether the stage blocks on I/O or uses the CPU
+         * @param workers  number of items the stage works on at once
+         * @param function the work, returning null to drop an item
+         */
+        @SuppressWarnings("unchecked")
+        public <O> Builder<O> stage(String name, StageType type, int workers, StageFunction<? super T, ? extends O> function) {
+            if (workers < 1) {
+                throw new IllegalArgumentException("Stage " + name + " needs at least one worker: " + workers);
+            }
+            stages.add(new StageSpec(name, type, workers, (StageFunction<Object, Object>) function));
+            return (Builder<O>) this;
+        }
+
+        /**
+         * Capacity of the queue in front of each stage (default 100).
+         */
+        public Builder<T> queueCapacity(int queueCapacity) {
+            if (queueCapacity < 1) {
+                throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * How long the sink holds a partial batch while no items arrive (default 5 seconds).
+         */
+        public Builder<T> flushInterval(Duration flushInterval) {
+            if (flushInterval.isNegative() || flushInterval.isZero()) {
+                throw new IllegalArgumentException("Flush interval must be positive: " + flushInterval);
+            }
+            this.flushInterval = flushInterval;
+            return this;
+        }
+
+        /**
+         * Applies the queue capacity and flush interval of {@code crawler.common.pipeline}.
+         */
+        public Builder<T> configure(CrawlerConfiguration.PipelineConfig config) {
+            return queueCapacity(config.queueCapacity()).flushInterval(config.flushInterval());
+        }
+
+        /**
+         * Hands items to the sink in discovery order instead of completion order.
+         * Items that finished early wait in memory for the ones discovered before them.
+         */
+        public Builder<T> ordered() {
+            this.ordered = true;
+            return this;
+        }
+
+        /**
+         * Sets the listener told about dropped and failed items.
+         */
+        public Builder<T> onDiscarded(DiscardListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * Completes the pipeline with its sink.
+         *
+         * @param batchSize most items written in one batch
+         * @param sink      writes the batches, on a single thread
+         */
+        public CrawlPipeline<T> sink(int batchSize, BatchSink<T> sink) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+            }
+            return new CrawlPipeline<>(this, batchSize, sink);
+        }
+    }
+
+    private record StageSpec(String name, StageType type, int workers, StageFunction<Object, Object> function) {
+    }
+
+    /**
+     * An item on its way through the stages; a null value marks a discarded item.
+     */
+    private record Item(long sequence, String key, Object value) {
+        Item with(Object next) {
+            return new Item(sequence, key, next);
+        }
+    }
+
+    private static final class StageRuntime {
+        final StageSpec spec;
+        final BlockingQueue<Item> queue;
+        final StageMetrics metrics = new StageMetrics();
+        final AtomicInteger liveWorkers = new AtomicInteger();
+        volatile boolean upstreamDone;
+
+        StageRuntime(StageSpec spec, BlockingQueue<Item> queue) {
+            this.spec = spec;
+            this.queue = queue;
+        }
+    }
+
+    private static final class SinkRuntime<T> {
+        final BatchSink<T> sink;
+        final int batchSize;
+        final Duration flushInterval;
+        final BlockingQueue<Item> queue;
+        final StageMetrics metrics = new StageMetrics();
+        final AtomicLong written = new AtomicLong();
+        volatile boolean upstreamDone;
+
+        SinkRuntime(BatchSink<T> sink, int batchSize, Duration flushInterval, BlockingQueue<Item> queue) {
+            this.sink = sink;
+            this.batchSize = batchSize;
+            this.flushInterval = flushInterval;
+            this.queue = queue;
+        }
+    }
+
+    private enum Outcome { PASSED, DISCARDED, FAILED }
+
+    private static final class StageMetrics {
+        final AtomicLong processed = new AtomicLong();
+        final AtomicLong discarded = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong totalNanos = new AtomicLong();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0);
+
+        void observeQueue(int depth) {
+            maxQueueDepth.accumulate(depth);
+        }
+
+        void record(long nanos, Outcome outcome) {
+            record(nanos, outcome, 1);
+        }
+
+        void record(long nanos, Outcome outcome, int items) {
+            processed.addAndGet(items);
+            if (outcome == Outcome.DISCARDED) {
+                discarded.addAndGet(items);
+            } else if (outcome == Outcome.FAILED) {
+                failed.addAndGet(items);
+            }
+            calls.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        StageStats snapshot(String name, int workers, int queueDepth) {
+            long count = calls.get();
+            return new StageStats(name, workers, processed.get(), discarded.get(), failed.get(), queueDepth,
+                    (int) maxQueueDepth.get(), Duration.ofNanos(count > 0 ? totalNanos.get() / count : 0),
+                    Duration.ofNanos(maxNanos.get()));
+        }
+    }
+}
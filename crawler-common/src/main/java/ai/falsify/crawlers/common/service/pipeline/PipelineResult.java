@@ -0,0 +1,37 @@
+package ai.falsify.crawlers.common.service.pipeline;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Outcome of a {@link CrawlPipeline} run.
+ *
+ * @param discovered        items emitted by discovery
+ * @param written           items handed to the sink in successful batches
+ * @param stages            stage snapshots in pipeline order, the sink last
+ * @param elapsed           wall time of the run
+ * @param discoveryFailure  the exception discovery stopped with, if any
+ */
+public record PipelineResult(
+        long discovered,
+        long written,
+        List<StageStats> stages,
+        Duration elapsed,
+        Optional<Exception> discoveryFailure
+) {
+
+    /**
+     * Items any stage, or the sink, failed on.
+     */
+    public long failed() {
+        return stages.stream().mapToLong(StageStats::failed).sum();
+    }
+
+    /**
+     * Items a stage dropped without an error.
+     */
+    public long discarded() {
+        return stages.stream().mapToLong(StageStats::discarded).sum();
+    }
+}
@@ -0,0 +1,36 @@
+package ai.falsify.crawlers.common.service.pipeline;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of one stage of a {@link CrawlPipeline}.
+ *
+ * @param name          stage name
+ * @param workers       number of workers of the stage
+ * @param processed     items the stage handled, including discarded and failed ones
+ * @param discarded     items the stage dropped without an error
+ * @param failed        items the stage failed on
+ * @param queueDepth    items currently waiting for the stage
+ * @param maxQueueDepth most items that waited for the stage at once
+ * @param averageLatency average time the stage spent on one item (one batch for the sink)
+ * @param maxLatency    longest time the stage spent on one item (one batch for the sink)
+ */
+public record StageStats(
+        String name,
+        int workers,
+        long processed,
+        long discarded,
+        long failed,
+        int queueDepth,
+        int maxQueueDepth,
+        Duration averageLatency,
+        Duration maxLatency
+) {
+
+    @Override
+    public String toString() {
+        return String.format("%s[workers=%d, processed=%d, discarded=%d, failed=%d, queue=%d (max %d), latency avg=%d ms max=%d ms]",
+                name, workers, processed, discarded, failed, queueDepth, maxQueueDepth,
+                averageLatency.toMillis(), maxLatency.toMillis());
+    }
+}
@@ -1,79 +1,71 @@
 package ai.falsify.crawlers.common.service.redis;
 
+import ai.falsify.crawlers.common.service.ContentScanner;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
 import java.time.Duration;
+import java.util.HashSet;
 import java.util.Set;
 
 /**
  * Redis-based cache for content hashes used in duplicate content detection.
- * Provides efficient storage and retrieval of content hashes with configurable expiration.
+ * Each hash is stored under its own key so Redis expires entries individually,
+ * which keeps the shared cache bounded by the configured TTL.
  */
 @ApplicationScoped
 public class ContentHashCache {
 
     private static final Logger LOG = Logger.getLogger(ContentHashCache.class);
     private static final String HASH_KEY_PREFIX = "content:hash:";
-    private static final String HASH_SET_KEY = "content:hashes";
 
     @Inject
     RedisService redisService;
 
     /**
      * Checks if a content hash already exists in the cache.
-     * 
+     *
      * @param contentHash the content hash to check
      * @return true if the hash exists (duplicate content), false if it's new
      */
     public boolean isDuplicateContent(String contentHash) {
-        boolean exists = redisService.sismember(HASH_SET_KEY, contentHash);
-        LOG.debugf("Content hash duplicate check: hash=%s, isDuplicate=%s", 
-                contentHash.substring(0, Math.min(8, contentHash.length())), exists);
+        boolean exists = redisService.exists(buildHashKey(contentHash));
+        LOG.debugf("Content hash duplicate check: hash=%s, isDuplicate=%s", shortHash(contentHash), exists);
         return exists;
     }
 
     /**
      * Adds a content hash to the cache.
-     * 
+     *
      * @param contentHash the content hash to add
      * @return true if the hash was added (new content), false if it already existed
      */
     public boolean addContentHash(String contentHash) {
-        boolean added = redisService.sadd(HASH_SET_KEY, contentHash);
-        if (added) {
-            LOG.debugf("Added new content hash: %s", 
-                    contentHash.substring(0, Math.min(8, contentHash.length())));
-        }
-        return added;
+        return addContentHash(contentHash, null, null);
     }
 
     /**
      * Adds a content hash with additional metadata.
-     * 
+     *
      * @param contentHash the content hash
      * @param url the URL of the content
      * @param crawlerName the name of the crawler
      * @return true if the hash was added, false if it already existed
      */
     public boolean addContentHash(String contentHash, String url, String crawlerName) {
-        boolean added = addContentHash(contentHash);
-        
+        boolean added = redisService.setnx(buildHashKey(contentHash), buildMetadata(url, crawlerName));
         if (added) {
-            // Store metadata for the hash
-            String metadataKey = HASH_KEY_PREFIX + contentHash;
-            String metadata = String.format("url=%s,crawler=%s,timestamp=%d", 
-                    url, crawlerName, System.currentTimeMillis());
-            redisService.set(metadataKey, metadata);
+            LOG.debugf("Added new content hash: %s", shortHash(contentHash));
         }
-        
         return added;
     }
 
     /**
      * Adds a content hash with expiration.
-     * 
+     * The check and the insert are a single atomic Redis command, so concurrent
+     * crawlers racing on the same content see exactly one winner.
+     *
      * @param contentHash the content hash
      * @param url the URL of the content
      * @param crawlerName the name of the crawler
@@ -81,133 +73,102 @@ public class ContentHashCache {
      * @return true if the hash was added, false if it already existed
      */
     public boolean addContentHash(String contentHash, String url, String crawlerName, Duration expiration) {
-        boolean added = addContentHash(contentHash, url, crawlerName);
-        
+        boolean added = redisService.setnx(buildHashKey(contentHash), buildMetadata(url, crawlerName), expiration);
         if (added) {
-            // Set expiration for the metadata
-            String metadataKey = HASH_KEY_PREFIX + contentHash;
-            redisService.expire(metadataKey, expiration);
-            
-            // Note: Redis sets don't support per-member expiration,
-            // so we rely on periodic cleanup for the main hash set
+            LOG.debugf("Added new content hash: %s (expires in %s)", shortHash(contentHash), expiration);
         }
-        
         return added;
     }
 
     /**
      * Removes a content hash from the cache.
-     * 
+     *
      * @param contentHash the content hash to remove
      * @return true if the hash was removed, false if it didn't exist
      */
     public boolean removeContentHash(String contentHash) {
-        boolean removed = redisService.srem(HASH_SET_KEY, contentHash);
-        
+        boolean removed = redisService.delete(buildHashKey(contentHash));
         if (removed) {
-            // Also remove metadata
-            String metadataKey = HASH_KEY_PREFIX + contentHash;
-            redisService.delete(metadataKey);
-            LOG.debugf("Removed content hash: %s", 
-                    contentHash.substring(0, Math.min(8, contentHash.length())));
+            LOG.debugf("Removed content hash: %s", shortHash(contentHash));
         }
-        
         return removed;
     }
 
     /**
      * Gets the metadata for a content hash.
-     * 
+     *
      * @param contentHash the content hash
      * @return metadata string if found, null otherwise
      */
     public String getContentHashMetadata(String contentHash) {
-        String metadataKey = HASH_KEY_PREFIX + contentHash;
-        return redisService.get(metadataKey).orElse(null);
+        return redisService.get(buildHashKey(contentHash)).orElse(null);
     }
 
     /**
      * Gets the total number of content hashes in the cache.
-     * 
+     * Walks the keys with SCAN, so it is linear in the cache size but does not block Redis.
+     *
      * @return the number of content hashes
      */
     public long getContentHashCount() {
-        return redisService.scard(HASH_SET_KEY);
+        return redisService.scan(HASH_KEY_PREFIX + "*", keys -> { });
     }
 
     /**
      * Gets all content hashes in the cache.
      * Note: This operation can be expensive for large caches.
-     * 
+     *
      * @return set of all content hashes
      */
     public Set<String> getAllContentHashes() {
-        // This would require SMEMBERS command which isn't directly available
-        // in the current RedisService interface. For now, return empty set.
-        LOG.warn("getAllContentHashes() not implemented - would require SMEMBERS command");
-        return Set.of();
+        Set<String> hashes = new HashSet<>();
+        redisService.scan(HASH_KEY_PREFIX + "*", keys -> {
+            for (String key : keys) {
+                hashes.add(key.substring(HASH_KEY_PREFIX.length()));
+            }
+        });
+        return hashes;
     }
 
     /**
      * Clears all content hashes from the cache.
-     * 
-     * @return true if the cache was cleared
+     * Keys are deleted with UNLINK one SCAN batch at a time.
+     *
+     * @return true if any hash was removed
      */
     public boolean clearCache() {
-        boolean cleared = redisService.delete(HASH_SET_KEY);
-        
-        // Also clear all metadata keys
-        Set<String> metadataKeys = redisService.keys(HASH_KEY_PREFIX + "*");
-        for (String key : metadataKeys) {
-            redisService.delete(key);
-        }
-        
-        LOG.info("Content hash cache cleared");
-        return cleared;
-    }
+        long cleared = redisService.unlinkByPattern(HASH_KEY_PREFIX + "*");
 
-    /**
-     * Performs cleanup of expired metadata entries.
-     * This should be called periodically to clean up orphaned metadata.
-     */
-    public void cleanup() {
-        Set<String> metadataKeys = redisService.keys(HASH_KEY_PREFIX + "*");
-        int cleaned = 0;
-        
-        for (String metadataKey : metadataKeys) {
-            if (!redisService.exists(metadataKey)) {
-                // Metadata key has expired, remove corresponding hash from set
-                String contentHash = metadataKey.substring(HASH_KEY_PREFIX.length());
-                if (redisService.srem(HASH_SET_KEY, contentHash)) {
-                    cleaned++;
-                }
-            }
-        }
-        
-        if (cleaned > 0) {
-            LOG.infof("Cleaned up %d expired content hashes", cleaned);
-        }
+        LOG.infof("Content hash cache cleared (%d entries)", cleared);
+        return cleared > 0;
     }
 
     /**
      * Generates a content hash from the given content.
-     * Uses a normalized version of the content to handle minor formatting differences.
-     * 
+     * Uses a normalized version of the content to handle minor formatting differences
+     * and returns the first 128 bits of its SHA-256 digest as hex.
+     *
      * @param content the content to hash
      * @return the content hash
+     * @see ContentScanner#contentHash(String)
      */
     public String generateContentHash(String content) {
         if (content == null || content.trim().isEmpty()) {
             return "";
         }
-        
-        // Normalize content for hashing
-        String normalized = content
-                .replaceAll("\\s+", " ") // Normalize whitespace
-                .replaceAll("[\\p{Punct}&&[^.!?]]", "") // Remove punctuation except sentence endings
-                .toLowerCase()
-                .trim();
-
-        return String.valueOf(normalized.hashCode());
+
+        return ContentScanner.contentHash(content);
+    }
+
+    private String buildHashKey(String contentHash) {
+        return HASH_KEY_PREFIX + contentHash;
+    }
+
+    private String buildMetadata(String url, String crawlerName) {
+        return String.format("url=%s,crawler=%s,timestamp=%d", url, crawlerName, System.currentTimeMillis());
+    }
+
+    private String shortHash(String contentHash) {
+        return contentHash.substring(0, Math.min(8, contentHash.length()));
     }
-}
\ No newline at end of file
+}
@@ -1,97 +1,277 @@
 package ai.falsify.crawlers.common.service.redis;
 
+import ai.falsify.crawlers.common.config.CrawlerConfiguration;
+import ai.falsify.crawlers.common.config.CrawlerConfiguration.RedisConfig.UrlStorageMode;
+import ai.falsify.crawlers.common.service.BloomFilter;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service for handling deduplication of crawled content using Redis.
  * Provides configurable key patterns and expiration policies.
+ * <p>
+ * Two storage layouts are supported, selected by {@code crawler.common.redis.url-storage-mode}:
+ * {@code keys} stores one top-level key per URL, {@code hashed} stores a 64-bit fingerprint
+ * of the canonical URL as a field of one of a fixed number of small Redis hashes, which Redis
+ * encodes as compact listpacks. Use {@link #migrateToHashedStorage(String, Collection, Duration)}
+ * to convert existing history when switching to the hashed layout.
  */
 @ApplicationScoped
 public class DeduplicationService {
 
     private static final Logger LOG = Logger.getLogger(DeduplicationService.class);
+    private static final double BLOOM_FILTER_FALSE_POSITIVE_RATE = 0.01;
+    private static final HexFormat HEX = HexFormat.of();
+    private static final String PROCESSED_VALUE = "1";
+    private static final int MIGRATION_BATCH_SIZE = 500;
 
     @Inject
     RedisService redisService;
 
+    @Inject
+    CrawlerConfiguration config;
+
+    // Per-crawler filters of URLs known to be in Redis, only used when enabled
+    private final Map<String, UrlFilter> bloomFilters = new ConcurrentHashMap<>();
+
+    // Crawlers whose URL counter has been checked to exist by this process
+    private final Set<String> countedCrawlers = ConcurrentHashMap.newKeySet();
+
     /**
      * Checks if a URL has already been processed by a specific crawler.
-     * 
+     *
      * @param crawlerName the name of the crawler
      * @param url the URL to check
      * @return true if the URL is new (not processed), false if it's a duplicate
      */
     public boolean isNewUrl(String crawlerName, String url) {
-        String key = buildUrlKey(crawlerName, url);
-        return redisService.setnx(key, "1");
+        return isNewUrl(crawlerName, url, null);
     }
 
     /**
      * Checks if a URL has already been processed with expiration.
-     * 
+     *
      * @param crawlerName the name of the crawler
      * @param url the URL to check
      * @param expiration the expiration duration for the deduplication entry
      * @return true if the URL is new (not processed), false if it's a duplicate
      */
     public boolean isNewUrl(String crawlerName, String url, Duration expiration) {
-        String key = buildUrlKey(crawlerName, url);
-        return redisService.setnx(key, "1", expiration);
+        boolean isNew = claimUrls(crawlerName, List.of(url), expiration, null).get(0);
+        if (isNew) {
+            adjustUrlCount(crawlerName, 1);
+        }
+        return isNew;
+    }
+
+    /**
+     * Checks and claims a batch of URLs, e.g. all links of a listing page, in one round trip.
+     * Behaves like calling {@link #isNewUrl(String, String)} for each distinct URL.
+     *
+     * @param crawlerName the name of the crawler
+     * @param urls the URLs to check
+     * @return the URLs that are new, in input order
+     */
+    public Set<String> isNewUrls(String crawlerName, List<String> urls) {
+        return isNewUrls(crawlerName, urls, null);
+    }
+
+    /**
+     * Checks and claims a batch of URLs with expiration in one round trip.
+     * When the local Bloom filter is enabled, URLs it has never seen are known to be new
+     * and are claimed without waiting for Redis; only possible duplicates are checked.
+     * The filter is per process, so it should only be enabled when a single instance
+     * runs each crawler.
+     *
+     * @param crawlerName the name of the crawler
+     * @param urls the URLs to check
+     * @param expiration the expiration duration for the deduplication entries, or null for none
+     * @return the URLs that are new, in input order
+     */
+    public Set<String> isNewUrls(String crawlerName, List<String> urls, Duration expiration) {
+        return isNewUrls(crawlerName, urls, expiration, null);
+    }
+
+    /**
+     * Checks and claims a batch of URLs like {@link #isNewUrls(String, List, Duration)}, recording
+     * the claim under a token. URLs already claimed with the same token are still reported as new,
+     * so a call that failed after a partial write can be retried with the same token without
+     * losing the URLs it had claimed. Create the token once per batch, outside the retry loop.
+     *
+     * @param crawlerName the name of the crawler
+     * @param urls the URLs to check
+     * @param expiration the expiration duration for the deduplication entries, or null for none
+     * @param claimToken the token from {@link #newClaimToken()}, or null for a plain claim
+     * @return the URLs that are new, in input order
+     */
+    public Set<String> isNewUrls(String crawlerName, List<String> urls, Duration expiration, String claimToken) {
+        Set<String> distinctUrls = new LinkedHashSet<>(urls);
+        if (distinctUrls.isEmpty()) {
+            return new LinkedHashSet<>();
+        }
+
+        UrlFilter bloomFilter = getBloomFilter(crawlerName);
+        List<String> candidates = new ArrayList<>(distinctUrls.size());
+        List<String> definitelyNew = new ArrayList<>();
+        for (String url : distinctUrls) {
+            if (bloomFilter != null && !bloomFilter.filter().mightContain(bloomValue(url))) {
+                definitelyNew.add(url);
+            } else {
+                candidates.add(url);
+            }
+        }
+
+        Set<String> newUrls = new LinkedHashSet<>();
+        if (!candidates.isEmpty()) {
+            List<Boolean> results = claimUrls(crawlerName, candidates, expiration, claimToken);
+            for (int i = 0; i < candidates.size(); i++) {
+                if (results.get(i)) {
+                    newUrls.add(candidates.get(i));
+                }
+            }
+            adjustUrlCount(crawlerName, newUrls.size());
+        }
+
+        if (!definitelyNew.isEmpty()) {
+            // Nothing to decide for these, so the claim is written without waiting for the reply
+            storeUrlsAsync(crawlerName, definitelyNew, expiration, claimValue(claimToken));
+            if (countedCrawlers.contains(crawlerName)) {
+                redisService.incrbyAsync(buildCountKey(crawlerName), definitelyNew.size());
+            } else {
+                adjustUrlCount(crawlerName, definitelyNew.size());
+            }
+            newUrls.addAll(definitelyNew);
+        }
+
+        if (bloomFilter != null) {
+            distinctUrls.forEach(url -> bloomFilter.filter().put(bloomValue(url)));
+            bloomFilter.entries().addAndGet(newUrls.size());
+        }
+
+        LOG.debugf("Batch deduplication for crawler %s: checked=%d, new=%d, bloomFiltered=%d",
+                crawlerName, distinctUrls.size(), newUrls.size(), definitelyNew.size());
+
+        // Keep input order so callers can process the page top to bottom
+        Set<String> ordered = new LinkedHashSet<>();
+        for (String url : distinctUrls) {
+            if (newUrls.contains(url)) {
+                ordered.add(url);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Marks a batch of URLs as processed in one round trip.
+     *
+     * @param crawlerName the name of the crawler
+     * @param urls the URLs to mark as processed
+     */
+    public void markProcessed(String crawlerName, Collection<String> urls) {
+        markProcessed(crawlerName, urls, null);
+    }
+
+    /**
+     * Marks a batch of URLs as processed with expiration in one round trip.
+     *
+     * @param crawlerName the name of the crawler
+     * @param urls the URLs to mark as processed
+     * @param expiration the expiration duration, or null for none
+     */
+    public void markProcessed(String crawlerName, Collection<String> urls, Duration expiration) {
+        if (urls.isEmpty()) {
+            return;
+        }
+
+        long created = storeUrls(crawlerName, urls, expiration);
+        adjustUrlCount(crawlerName, created);
+
+        UrlFilter bloomFilter = getBloomFilter(crawlerName);
+        if (bloomFilter != null) {
+            urls.forEach(url -> bloomFilter.filter().put(bloomValue(url)));
+            bloomFilter.entries().addAndGet(created);
+        }
+        LOG.debugf("Marked %d URLs as processed for crawler: %s", urls.size(), crawlerName);
     }
 
     /**
      * Marks a URL as processed by a specific crawler.
-     * 
+     *
      * @param crawlerName the name of the crawler
      * @param url the URL to mark as processed
      */
     public void markUrlProcessed(String crawlerName, String url) {
-        String key = buildUrlKey(crawlerName, url);
-        redisService.set(key, "1");
+        adjustUrlCount(crawlerName, storeUrls(crawlerName, List.of(url), null));
         LOG.debugf("Marked URL as processed: %s", url);
     }
 
     /**
      * Marks a URL as processed with expiration.
-     * 
+     *
      * @param crawlerName the name of the crawler
      * @param url the URL to mark as processed
      * @param expiration the expiration duration
      */
     public void markUrlProcessed(String crawlerName, String url, Duration expiration) {
-        String key = buildUrlKey(crawlerName, url);
-        redisService.set(key, "1", expiration);
+        adjustUrlCount(crawlerName, storeUrls(crawlerName, List.of(url), expiration));
         LOG.debugf("Marked URL as processed with expiration %s: %s", expiration, url);
     }
 
     /**
      * Checks if a URL has been processed.
-     * 
+     *
      * @param crawlerName the name of the crawler
      * @param url the URL to check
      * @return true if the URL has been processed, false otherwise
      */
     public boolean isUrlProcessed(String crawlerName, String url) {
-        String key = buildUrlKey(crawlerName, url);
-        return redisService.exists(key);
+        if (isHashedStorage()) {
+            String fingerprint = fingerprintUrl(url);
+            return redisService.hexists(buildBucketKey(crawlerName, fingerprint), fingerprint);
+        }
+        return redisService.exists(buildUrlKey(crawlerName, url));
     }
 
     /**
      * Removes a URL from the processed list.
-     * 
+     *
      * @param crawlerName the name of the crawler
      * @param url the URL to remove
      * @return true if the URL was removed, false if it wasn't found
      */
     public boolean removeUrl(String crawlerName, String url) {
-        String key = buildUrlKey(crawlerName, url);
-        boolean removed = redisService.delete(key);
+        boolean removed;
+        if (isHashedStorage()) {
+            String fingerprint = fingerprintUrl(url);
+            removed = redisService.hdel(buildBucketKey(crawlerName, fingerprint), fingerprint);
+        } else {
+            removed = redisService.delete(buildUrlKey(crawlerName, url));
+        }
+        // A Bloom filter cannot forget single values, drop it so it is rebuilt from Redis
+        bloomFilters.remove(crawlerName);
         if (removed) {
+            adjustUrlCount(crawlerName, -1);
             LOG.debugf("Removed URL from processed list: %s", url);
         }
         return removed;
@@ -99,57 +279,361 @@ public class DeduplicationService {
 
     /**
      * Gets all processed URLs for a crawler.
-     * 
+     * The hashed layout does not keep the URLs themselves, so in that mode the
+     * returned set holds the hex URL fingerprints instead.
+     *
      * @param crawlerName the name of the crawler
      * @return set of processed URLs
      */
     public Set<String> getProcessedUrls(String crawlerName) {
-        String pattern = buildUrlPattern(crawlerName);
-        Set<String> keys = redisService.keys(pattern);
-        
-        // Extract URLs from keys
+        Set<String> urls = new HashSet<>();
+
+        if (isHashedStorage()) {
+            redisService.scan(buildBucketPattern(crawlerName), buckets -> {
+                for (String bucket : buckets) {
+                    urls.addAll(redisService.hkeys(bucket));
+                }
+            });
+            return urls;
+        }
+
+        // Extract URLs from keys, one SCAN batch at a time
         String prefix = buildUrlPrefix(crawlerName);
-        return keys.stream()
-                .filter(key -> key.startsWith(prefix))
-                .map(key -> key.substring(prefix.length()))
-                .collect(java.util.stream.Collectors.toSet());
+        redisService.scan(buildUrlPattern(crawlerName), keys -> {
+            for (String key : keys) {
+                if (key.startsWith(prefix)) {
+                    urls.add(key.substring(prefix.length()));
+                }
+            }
+        });
+        return urls;
     }
 
     /**
      * Gets the count of processed URLs for a crawler.
-     * 
+     * Served from a counter maintained on every insert and removal, so the call is O(1).
+     * The counter is rebuilt with a SCAN if it is missing, and does not see entries
+     * that Redis expires on its own.
+     *
      * @param crawlerName the name of the crawler
      * @return count of processed URLs
      */
     public long getProcessedUrlCount(String crawlerName) {
-        String pattern = buildUrlPattern(crawlerName);
-        return redisService.keys(pattern).size();
+        Optional<Long> count = readUrlCount(crawlerName);
+        return count.isPresent() ? Math.max(0, count.get()) : rebuildUrlCount(crawlerName);
     }
 
     /**
-     * Clears all processed URLs for a crawler.
-     * 
+     * Clears all processed URLs for a crawler, in both storage layouts.
+     * Keys are deleted with UNLINK one SCAN batch at a time, so other Redis clients are not stalled.
+     *
      * @param crawlerName the name of the crawler
      * @return number of URLs cleared
      */
     public long clearProcessedUrls(String crawlerName) {
-        String pattern = buildUrlPattern(crawlerName);
-        Set<String> keys = redisService.keys(pattern);
-        
-        long cleared = 0;
-        for (String key : keys) {
-            if (redisService.delete(key)) {
-                cleared++;
+        long cleared = redisService.unlinkByPattern(buildUrlPattern(crawlerName));
+
+        long[] clearedFromBuckets = {0};
+        redisService.scan(buildBucketPattern(crawlerName), buckets -> {
+            for (String bucket : buckets) {
+                clearedFromBuckets[0] += redisService.hlen(bucket);
             }
-        }
-        
+            redisService.unlink(buckets);
+        });
+        cleared += clearedFromBuckets[0];
+
+        redisService.delete(buildCountKey(crawlerName));
+        countedCrawlers.add(crawlerName);
+
+        bloomFilters.remove(crawlerName);
         LOG.infof("Cleared %d processed URLs for crawler: %s", cleared, crawlerName);
         return cleared;
     }
 
+    /**
+     * Converts the per-URL keys of a crawler into the hashed layout.
+     * Old keys only hold a sanitized, lossy form of the URL, which cannot be turned back
+     * into the canonical URL the hashed layout fingerprints. The URLs therefore come from
+     * the caller, e.g. the stored articles of the crawler: each one with an old key is
+     * written as a fingerprint, then all old keys are removed. Old keys without a matching
+     * URL are dropped. Per-key TTLs are not carried over.
+     *
+     * @param crawlerName the name of the crawler
+     * @param knownUrls the URLs the crawler may have recorded
+     * @param expiration the expiration of the written buckets, or null for none
+     * @return number of URLs migrated
+     */
+    public long migrateToHashedStorage(String crawlerName, Collection<String> knownUrls, Duration expiration) {
+        long migrated = 0;
+        List<String> urls = new ArrayList<>(knownUrls);
+        for (int from = 0; from < urls.size(); from += MIGRATION_BATCH_SIZE) {
+            List<String> batch = urls.subList(from, Math.min(from + MIGRATION_BATCH_SIZE, urls.size()));
+            List<Optional<String>> recorded = redisService.getBatch(buildUrlKeys(crawlerName, batch));
+
+            List<String> recordedUrls = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                if (recorded.get(i).isPresent()) {
+                    recordedUrls.add(batch.get(i));
+                }
+            }
+            List<String> fingerprints = fingerprintUrls(recordedUrls);
+            redisService.hsetBatch(buildBucketKeys(crawlerName, fingerprints), fingerprints, PROCESSED_VALUE,
+                    expiration);
+            migrated += recordedUrls.size();
+        }
+        long removed = redisService.unlinkByPattern(buildUrlPattern(crawlerName));
+
+        // Entries may have existed in both layouts, so recount instead of adjusting
+        redisService.delete(buildCountKey(crawlerName));
+        bloomFilters.remove(crawlerName);
+
+        LOG.infof("Migrated %d processed URLs of crawler %s to hashed storage, removed %d old keys",
+                migrated, crawlerName, removed);
+        return migrated;
+    }
+
+    /**
+     * Creates a token for {@link #isNewUrls(String, List, Duration, String)}.
+     * It is random, so two batches never share one by accident.
+     *
+     * @return a short random token
+     */
+    public static String newClaimToken() {
+        return Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, Character.MAX_RADIX);
+    }
+
+    /**
+     * Claims URLs in the configured layout.
+     * With a token, URLs that were refused are read back in one more round trip and
+     * count as claimed if they hold the same token.
+     *
+     * @return one result per URL, true if it was not recorded before or was claimed with the token
+     */
+    private List<Boolean> claimUrls(String crawlerName, List<String> urls, Duration expiration, String claimToken) {
+        String value = claimValue(claimToken);
+        List<Boolean> results;
+        List<String> keys;
+        List<String> fingerprints = null;
+        if (isHashedStorage()) {
+            fingerprints = fingerprintUrls(urls);
+            keys = buildBucketKeys(crawlerName, fingerprints);
+            results = redisService.hsetnxBatch(keys, fingerprints, value, expiration);
+        } else {
+            keys = buildUrlKeys(crawlerName, urls);
+            results = redisService.setnxBatch(keys, value, expiration);
+        }
+        if (claimToken == null || !results.contains(false)) {
+            return results;
+        }
+
+        List<Integer> refused = new ArrayList<>();
+        List<String> refusedKeys = new ArrayList<>();
+        List<String> refusedFields = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            if (!results.get(i)) {
+                refused.add(i);
+                refusedKeys.add(keys.get(i));
+                if (fingerprints != null) {
+                    refusedFields.add(fingerprints.get(i));
+                }
+            }
+        }
+        List<Optional<String>> owners = fingerprints != null
+                ? redisService.hgetBatch(refusedKeys, refusedFields)
+                : redisService.getBatch(refusedKeys);
+
+        List<Boolean> claimed = new ArrayList<>(results);
+        for (int i = 0; i < refused.size(); i++) {
+            if (owners.get(i).filter(value::equals).isPresent()) {
+                claimed.set(refused.get(i), true);
+            }
+        }
+        return claimed;
+    }
+
+    private static String claimValue(String claimToken) {
+        return claimToken != null ? claimToken : PROCESSED_VALUE;
+    }
+
+    /**
+     * Records URLs in the configured layout.
+     *
+     * @return the number of URLs that were not recorded before
+     */
+    private long storeUrls(String crawlerName, Collection<String> urls, Duration expiration) {
+        if (isHashedStorage()) {
+            List<String> fingerprints = fingerprintUrls(urls);
+            return redisService.hsetBatch(buildBucketKeys(crawlerName, fingerprints), fingerprints, PROCESSED_VALUE,
+                    expiration);
+        }
+        return redisService.setBatch(buildUrlKeys(crawlerName, urls), PROCESSED_VALUE, expiration);
+    }
+
+    private void storeUrlsAsync(String crawlerName, Collection<String> urls, Duration expiration, String value) {
+        if (isHashedStorage()) {
+            List<String> fingerprints = fingerprintUrls(urls);
+            redisService.hsetBatchAsync(buildBucketKeys(crawlerName, fingerprints), fingerprints, value, expiration);
+        } else {
+            redisService.setBatchAsync(buildUrlKeys(crawlerName, urls), value, expiration);
+        }
+    }
+
+    /**
+     * Gets the local Bloom filter of a crawler, warming it from Redis on first use.
+     * A filter that has taken in more URLs than it was sized for is rebuilt larger,
+     * so its false positive rate stays near the configured one.
+     *
+     * @param crawlerName the name of the crawler
+     * @return the filter, or null if local Bloom filters are disabled
+     */
+    private UrlFilter getBloomFilter(String crawlerName) {
+        if (!config.redis().enableLocalBloomFilter()) {
+            return null;
+        }
+        UrlFilter bloomFilter = bloomFilters.computeIfAbsent(crawlerName, this::warmBloomFilter);
+        if (bloomFilter.entries().get() > bloomFilter.capacity()) {
+            bloomFilters.remove(crawlerName, bloomFilter);
+            bloomFilter = bloomFilters.computeIfAbsent(crawlerName, this::warmBloomFilter);
+        }
+        return bloomFilter;
+    }
+
+    /**
+     * Builds the Bloom filter of a crawler from Redis. It is sized for the configured number
+     * of URLs or twice the stored count, whichever is larger, leaving room to grow before
+     * the next rebuild.
+     */
+    private UrlFilter warmBloomFilter(String crawlerName) {
+        long stored = getProcessedUrlCount(crawlerName);
+        int capacity = (int) Math.min(Integer.MAX_VALUE,
+                Math.max(config.redis().bloomFilterExpectedUrls(), stored * 2));
+        BloomFilter bloomFilter = new BloomFilter(capacity, BLOOM_FILTER_FALSE_POSITIVE_RATE);
+
+        long warmed;
+        if (isHashedStorage()) {
+            long[] fields = {0};
+            redisService.scan(buildBucketPattern(crawlerName), buckets -> {
+                for (String bucket : buckets) {
+                    Set<String> fingerprints = redisService.hkeys(bucket);
+                    fingerprints.forEach(bloomFilter::put);
+                    fields[0] += fingerprints.size();
+                }
+            });
+            warmed = fields[0];
+        } else {
+            String prefix = buildUrlPrefix(crawlerName);
+            warmed = redisService.scan(buildUrlPattern(crawlerName), keys -> {
+                for (String key : keys) {
+                    bloomFilter.put(key.substring(prefix.length()));
+                }
+            });
+        }
+
+        LOG.infof("Warmed URL Bloom filter for crawler %s with %d entries (capacity %d, %d bits)",
+                crawlerName, warmed, capacity, bloomFilter.bitSize());
+        return new UrlFilter(bloomFilter, capacity, new AtomicLong(warmed));
+    }
+
+    /**
+     * Gets the value a URL is recorded under in the Bloom filter, matching what
+     * the warm-up reads back from Redis.
+     */
+    private String bloomValue(String url) {
+        return isHashedStorage() ? fingerprintUrl(url) : hashUrl(url);
+    }
+
+    /**
+     * Updates the per-crawler URL counter.
+     * The first update of a crawler in this process makes sure the counter exists,
+     * so URLs recorded before the counter was introduced are not missed.
+     */
+    private void adjustUrlCount(String crawlerName, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (countedCrawlers.add(crawlerName) && readUrlCount(crawlerName).isEmpty()) {
+            // The rebuild scan already sees the keys written by the caller
+            rebuildUrlCount(crawlerName);
+            return;
+        }
+        redisService.incrby(buildCountKey(crawlerName), delta);
+    }
+
+    private Optional<Long> readUrlCount(String crawlerName) {
+        String countKey = buildCountKey(crawlerName);
+        Optional<String> count = redisService.get(countKey);
+        if (count.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(count.get()));
+        } catch (NumberFormatException e) {
+            LOG.warnf("Invalid URL counter for crawler %s, rebuilding it", crawlerName);
+            redisService.delete(countKey);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Recomputes the URL counter with a non-blocking SCAN.
+     */
+    private long rebuildUrlCount(String crawlerName) {
+        String countKey = buildCountKey(crawlerName);
+        long scanned;
+        if (isHashedStorage()) {
+            long[] fields = {0};
+            redisService.scan(buildBucketPattern(crawlerName), buckets -> {
+                for (String bucket : buckets) {
+                    fields[0] += redisService.hlen(bucket);
+                }
+            });
+            scanned = fields[0];
+        } else {
+            scanned = redisService.scan(buildUrlPattern(crawlerName), keys -> { });
+        }
+
+        if (!redisService.setnx(countKey, String.valueOf(scanned))) {
+            // Another caller created the counter in the meantime
+            return redisService.getCounter(countKey);
+        }
+        LOG.infof("Rebuilt processed URL counter for crawler %s: %d", crawlerName, scanned);
+        return scanned;
+    }
+
+    private boolean isHashedStorage() {
+        return config.redis().urlStorageMode() == UrlStorageMode.HASHED;
+    }
+
+    /**
+     * Builds the Redis key of the per-crawler URL counter.
+     * It sits outside the URL key pattern so scans over URLs never see it.
+     *
+     * @param crawlerName the name of the crawler
+     * @return the Redis key
+     */
+    private String buildCountKey(String crawlerName) {
+        return String.format("crawler:%s:url-count", crawlerName);
+    }
+
+    private List<String> buildUrlKeys(String crawlerName, Collection<String> urls) {
+        List<String> keys = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            keys.add(buildUrlKey(crawlerName, url));
+        }
+        return keys;
+    }
+
+    private List<String> buildBucketKeys(String crawlerName, List<String> fingerprints) {
+        List<String> keys = new ArrayList<>(fingerprints.size());
+        for (String fingerprint : fingerprints) {
+            keys.add(buildBucketKey(crawlerName, fingerprint));
+        }
+        return keys;
+    }
+
     /**
      * Builds a Redis key for URL deduplication.
-     * 
+     *
      * @param crawlerName the name of the crawler
      * @param url the URL
      * @return the Redis key
@@ -158,9 +642,23 @@ public class DeduplicationService {
         return String.format("crawler:%s:url:%s", crawlerName, hashUrl(url));
     }
 
+    /**
+     * Builds the Redis key of the hash bucket holding a URL fingerprint.
+     * The bucket is taken from the top bits of the fingerprint, so with the default
+     * 2^14 buckets each one stays within Redis' listpack limits up to ~2M URLs.
+     *
+     * @param crawlerName the name of the crawler
+     * @param fingerprint the hex URL fingerprint
+     * @return the Redis key
+     */
+    private String buildBucketKey(String crawlerName, String fingerprint) {
+        long bucket = HexFormat.fromHexDigitsToLong(fingerprint) >>> (64 - config.redis().urlHashBucketBits());
+        return String.format("crawler:%s:urls:%x", crawlerName, bucket);
+    }
+
     /**
      * Builds a Redis key pattern for URL deduplication.
-     * 
+     *
      * @param crawlerName the name of the crawler
      * @return the Redis key pattern
      */
@@ -168,9 +666,13 @@ public class DeduplicationService {
         return String.format("crawler:%s:url:*", crawlerName);
     }
 
+    private String buildBucketPattern(String crawlerName) {
+        return String.format("crawler:%s:urls:*", crawlerName);
+    }
+
     /**
      * Builds a Redis key prefix for URL deduplication.
-     * 
+     *
      * @param crawlerName the name of the crawler
      * @return the Redis key prefix
      */
@@ -181,7 +683,7 @@ public class DeduplicationService {
     /**
      * Creates a hash of the URL for use as a Redis key.
      * This helps with very long URLs and ensures consistent key format.
-     * 
+     *
      * @param url the URL to hash
      * @return the hashed URL
      */
@@ -190,4 +692,74 @@ public class DeduplicationService {
         // to handle very long URLs and special characters
         return url.replaceAll("[^a-zA-Z0-9._-]", "_");
     }
-}
\ No newline at end of file
+
+    private List<String> fingerprintUrls(Collection<String> urls) {
+        List<String> fingerprints = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            fingerprints.add(fingerprintUrl(url));
+        }
+        return fingerprints;
+    }
+
+    /**
+     * Computes the 64-bit fingerprint of a URL for the hashed layout, over the UTF-8 bytes
+     * of the canonical URL, so URLs that differ after canonicalization never share one
+     * except by a hash collision.
+     *
+     * @param url the URL
+     * @return the fingerprint as 16 hex digits
+     */
+    static String fingerprintUrl(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonicalizeUrl(url).getBytes(StandardCharsets.UTF_8));
+            return HEX.formatHex(digest, 0, Long.BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Canonicalizes a URL: lower-case scheme and host, no default port, no fragment.
+     * URLs that cannot be parsed are only trimmed.
+     *
+     * @param url the URL
+     * @return the canonical URL
+     */
+    static String canonicalizeUrl(String url) {
+        String trimmed = url.trim();
+        try {
+            URI uri = new URI(trimmed);
+            if (uri.getScheme() == null || uri.getRawAuthority() == null) {
+                return trimmed;
+            }
+
+            String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+            String host = uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : uri.getRawAuthority();
+            int port = uri.getPort();
+            boolean defaultPort = port == -1
+                    || ("http".equals(scheme) && port == 80)
+                    || ("https".equals(scheme) && port == 443);
+
+            StringBuilder canonical = new StringBuilder(trimmed.length())
+                    .append(scheme).append("://").append(host);
+            if (!defaultPort) {
+                canonical.append(':').append(port);
+            }
+            String path = uri.getRawPath();
+            canonical.append(path == null || path.isEmpty() ? "/" : path);
+            if (uri.getRawQuery() != null) {
+                canonical.append('?').append(uri.getRawQuery());
+            }
+            return canonical.toString();
+        } catch (URISyntaxException e) {
+            return trimmed;
+        }
+    }
+
+    /**
+     * A crawler's Bloom filter with the number of URLs it was sized for and has taken in.
+     */
+    private record UrlFilter(BloomFilter filter, long capacity, AtomicLong entries) {
+    }
+}
@@ -0,0 +1,220 @@
+package ai.falsify.crawlers.common.service.redis;
+
+import ai.falsify.crawlers.common.config.CrawlerConfiguration;
+import ai.falsify.crawlers.common.service.SimHash;
+import ai.falsify.crawlers.common.service.redis.RedisServiceImpl.RedisOperationException;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of SimHash fingerprints for finding near-duplicate articles, e.g. the same
+ * column syndicated under another headline or republished with a correction.
+ * <p>
+ * Fingerprints are split into {@value #BANDS} bands of {@value #BAND_BITS} bits and
+ * stored in Redis under one small hash per band value (LSH banding), so a lookup
+ * reads {@value #BANDS} buckets instead of every fingerprint. Two fingerprints within
+ * {@value #BANDS} - 1 bits of each other always share a band; more distant ones are
+ * found when they happen to share one. Recently indexed fingerprints are mirrored in
+ * memory, where a popcount scan finds them without a round trip and while Redis is down.
+ */
+@ApplicationScoped
+public class NearDuplicateIndex {
+
+    private static final Logger LOG = Logger.getLogger(NearDuplicateIndex.class);
+    private static final String BAND_KEY_PREFIX = "content:simhash:";
+    private static final int BANDS = 4;
+    private static final int BAND_BITS = SimHash.BITS / BANDS;
+    private static final HexFormat HEX = HexFormat.of();
+
+    // How long to stop calling Redis after it failed, relying on the local mirror only
+    private static final Duration REDIS_RETRY_INTERVAL = Duration.ofSeconds(30);
+
+    @Inject
+    RedisService redisService;
+
+    @Inject
+    CrawlerConfiguration config;
+
+    private LocalMirror mirror;
+
+    private volatile long redisRetryAt;
+
+    @PostConstruct
+    void init() {
+        mirror = new LocalMirror(config.content().duplicateCacheLocalSize(), config.content().duplicateCacheTtl());
+    }
+
+    /**
+     * Finds indexed articles whose text is similar to the given text.
+     *
+     * @param text the text to look up
+     * @param threshold the minimum SimHash similarity, between 0 and 1
+     * @return the matches, most similar first
+     */
+    public List<NearDuplicate> findNearDuplicates(String text, double threshold) {
+        return findNearDuplicates(SimHash.fingerprint(text), threshold);
+    }
+
+    /**
+     * Finds indexed articles whose fingerprint is similar to the given one.
+     *
+     * @param fingerprint the SimHash fingerprint to look up
+     * @param threshold the minimum SimHash similarity, between 0 and 1
+     * @return the matches, most similar first
+     */
+    public List<NearDuplicate> findNearDuplicates(long fingerprint, double threshold) {
+        int maxDistance = SimHash.maxDistance(threshold);
+        if (fingerprint == 0L) {
+            return List.of();
+        }
+
+        Map<String, NearDuplicate> matches = new LinkedHashMap<>();
+        mirror.collect(fingerprint, maxDistance, matches);
+
+        if (isRedisAvailable()) {
+            try {
+                for (Map<String, String> bucket : redisService.hgetallBatch(buildBandKeys(fingerprint))) {
+                    for (Map.Entry<String, String> entry : bucket.entrySet()) {
+                        long candidate = HexFormat.fromHexDigitsToLong(entry.getKey());
+                        String url = entry.getValue();
+                        if (SimHash.distance(fingerprint, candidate) <= maxDistance && !matches.containsKey(url)) {
+                            matches.put(url, new NearDuplicate(url, SimHash.similarity(fingerprint, candidate)));
+                            mirror.add(candidate, url);
+                        }
+                    }
+                }
+            } catch (RedisOperationException e) {
+                markRedisUnavailable(e);
+            }
+        }
+
+        List<NearDuplicate> result = new ArrayList<>(matches.values());
+        result.sort(Comparator.comparingDouble(NearDuplicate::similarity).reversed());
+        LOG.debugf("Near-duplicate lookup: fingerprint=%016x, matches=%d", fingerprint, result.size());
+        return result;
+    }
+
+    /**
+     * Adds an article to the index.
+     *
+     * @param text the article text
+     * @param url the article URL, returned by later lookups
+     */
+    public void add(String text, String url) {
+        add(SimHash.fingerprint(text), url);
+    }
+
+    /**
+     * Adds a fingerprint to the index. The Redis write is not awaited.
+     *
+     * @param fingerprint the SimHash fingerprint
+     * @param url the article URL, returned by later lookups
+     */
+    public void add(long fingerprint, String url) {
+        if (fingerprint == 0L) {
+            return;
+        }
+
+        mirror.add(fingerprint, url);
+        if (isRedisAvailable()) {
+            String field = HEX.toHexDigits(fingerprint);
+            redisService.hsetBatchAsync(buildBandKeys(fingerprint), List.of(field, field, field, field), url,
+                    config.content().duplicateCacheTtl());
+        }
+    }
+
+    /**
+     * Removes all fingerprints from the index.
+     */
+    public void clear() {
+        mirror.clear();
+        try {
+            long cleared = redisService.unlinkByPattern(BAND_KEY_PREFIX + "*");
+            LOG.infof("Near-duplicate index cleared (%d buckets)", cleared);
+        } catch (RedisOperationException e) {
+            LOG.warnf("Failed to clear shared near-duplicate index: %s", e.getMessage());
+        }
+    }
+
+    private boolean isRedisAvailable() {
+        return System.currentTimeMillis() >= redisRetryAt;
+    }
+
+    private void markRedisUnavailable(RedisOperationException e) {
+        redisRetryAt = System.currentTimeMillis() + REDIS_RETRY_INTERVAL.toMillis();
+        LOG.warnf("Redis unavailable for near-duplicate detection, using local index only for %s: %s",
+                REDIS_RETRY_INTERVAL, e.getMessage());
+    }
+
+    private List<String> buildBandKeys(long fingerprint) {
+        List<String> keys = new ArrayList<>(BANDS);
+        for (int band = 0; band < BANDS; band++) {
+            long value = (fingerprint >>> (band * BAND_BITS)) & ((1L << BAND_BITS) - 1);
+            keys.add(String.format("%s%d:%04x", BAND_KEY_PREFIX, band, value));
+        }
+        return keys;
+    }
+
+    /**
+     * An indexed article similar to the looked up text.
+     *
+     * @param url the URL the article was indexed under
+     * @param similarity the SimHash similarity, between 0 and 1
+     */
+    public record NearDuplicate(String url, double similarity) {
+    }
+
+    /**
+     * Fixed-size ring of the most recent fingerprints with their expiry.
+     * Fingerprints sit in one contiguous array, so scanning all of them is a tight
+     * XOR/popcount loop that beats band lookups at local sizes.
+     */
+    private static final class LocalMirror {
+
+        private final long[] fingerprints;
+        private final String[] urls;
+        private final long[] expiresAt;
+        private final long ttlMillis;
+        private int next;
+
+        LocalMirror(int capacity, Duration ttl) {
+            this.fingerprints = new long[capacity];
+            this.urls = new String[capacity];
+            this.expiresAt = new long[capacity];
+            this.ttlMillis = ttl.toMillis();
+        }
+
+        synchronized void add(long fingerprint, String url) {
+            fingerprints[next] = fingerprint;
+            urls[next] = url;
+            expiresAt[next] = System.currentTimeMillis() + ttlMillis;
+            next = (next + 1) % fingerprints.length;
+        }
+
+        synchronized void collect(long fingerprint, int maxDistance, Map<String, NearDuplicate> matches) {
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < fingerprints.length; i++) {
+                if (urls[i] != null && expiresAt[i] > now
+                        && SimHash.distance(fingerprint, fingerprints[i]) <= maxDistance) {
+                    matches.putIfAbsent(urls[i], new NearDuplicate(urls[i], SimHash.similarity(fingerprint, fingerprints[i])));
+                }
+            }
+        }
+
+        synchronized void clear() {
+            Arrays.fill(urls, null);
+            next = 0;
+        }
+    }
+}
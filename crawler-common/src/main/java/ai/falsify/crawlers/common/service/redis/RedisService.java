@@ -1,8 +1,12 @@
 package ai.falsify.crawlers.common.service.redis;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Interface for common Redis operations used across crawler implementations.
@@ -29,6 +33,54 @@ public interface RedisService {
      */
     boolean setnx(String key, String value, Duration expiration);
 
+    /**
+     * Sets several keys if they don't exist, sending all commands in one pipeline.
+     * 
+     * @param keys the Redis keys
+     * @param value the value to set for every key
+     * @return one result per key, in order: true if the key was set, false if it already existed
+     */
+    List<Boolean> setnxBatch(List<String> keys, String value);
+
+    /**
+     * Sets several keys with expiration if they don't exist, sending all commands in one pipeline.
+     * 
+     * @param keys the Redis keys
+     * @param value the value to set for every key
+     * @param expiration the expiration duration
+     * @return one result per key, in order: true if the key was set, false if it already existed
+     */
+    List<Boolean> setnxBatch(List<String> keys, String value, Duration expiration);
+
+    /**
+     * Sets several keys, sending all commands in one pipeline.
+     * 
+     * @param keys the Redis keys
+     * @param value the value to set for every key
+     * @return the number of keys that did not exist before
+     */
+    long setBatch(Collection<String> keys, String value);
+
+    /**
+     * Sets several keys with expiration, sending all commands in one pipeline.
+     * 
+     * @param keys the Redis keys
+     * @param value the value to set for every key
+     * @param expiration the expiration duration
+     * @return the number of keys that did not exist before
+     */
+    long setBatch(Collection<String> keys, String value, Duration expiration);
+
+    /**
+     * Sets several keys with expiration in one pipeline without waiting for the reply.
+     * Failures are logged, not reported to the caller.
+     * 
+     * @param keys the Redis keys
+     * @param value the value to set for every key
+     * @param expiration the expiration duration, or null for none
+     */
+    void setBatchAsync(Collection<String> keys, String value, Duration expiration);
+
     /**
      * Gets the value for a key.
      * 
@@ -37,6 +89,14 @@ public interface RedisService {
      */
     Optional<String> get(String key);
 
+    /**
+     * Gets the values of several keys, sending all commands in one pipeline.
+     * 
+     * @param keys the Redis keys
+     * @return one value per key, in order, empty where the key does not exist
+     */
+    List<Optional<String>> getBatch(List<String> keys);
+
     /**
      * Sets a key-value pair.
      * 
@@ -54,6 +114,16 @@ public interface RedisService {
      */
     void set(String key, String value, Duration expiration);
 
+    /**
+     * Sets a key-value pair and returns the previous value (SET ... GET).
+     * 
+     * @param key the Redis key
+     * @param value the value to set
+     * @param expiration the expiration duration, or null to keep the key persistent
+     * @return Optional containing the previous value, empty if the key didn't exist
+     */
+    Optional<String> setAndGet(String key, String value, Duration expiration);
+
     /**
      * Deletes a key.
      * 
@@ -81,12 +151,42 @@ public interface RedisService {
 
     /**
      * Gets all keys matching a pattern.
+     * Note: KEYS blocks the Redis server while it walks the whole keyspace,
+     * prefer {@link #scan(String, Consumer)} outside of tests.
      * 
      * @param pattern the key pattern (supports wildcards)
      * @return set of matching keys
      */
     Set<String> keys(String pattern);
 
+    /**
+     * Iterates over keys matching a pattern with the cursor-based SCAN command.
+     * Each call to the consumer receives one batch of keys; a key may be reported
+     * more than once if the keyspace changes during the iteration.
+     * 
+     * @param pattern the key pattern (supports wildcards)
+     * @param batchConsumer receives the keys of each SCAN step
+     * @return the total number of keys reported
+     */
+    long scan(String pattern, Consumer<Set<String>> batchConsumer);
+
+    /**
+     * Deletes keys with UNLINK, which reclaims memory in the background.
+     * Large collections are sent in chunks.
+     * 
+     * @param keys the Redis keys to delete
+     * @return the number of keys that were deleted
+     */
+    long unlink(Collection<String> keys);
+
+    /**
+     * Deletes all keys matching a pattern, one SCAN batch at a time.
+     * 
+     * @param pattern the key pattern (supports wildcards)
+     * @return the number of keys that were deleted
+     */
+    long unlinkByPattern(String pattern);
+
     /**
      * Adds a value to a set.
      * 
@@ -122,6 +222,92 @@ public interface RedisService {
      */
     long scard(String key);
 
+    /**
+     * Sets hash fields if they don't exist, sending all commands in one pipeline.
+     * When an expiration is given, touched hashes without a TTL get it in the same pipeline;
+     * an existing TTL is kept, so a hash expires that long after it was created.
+     * 
+     * @param keys the Redis hash key of each entry
+     * @param fields the hash field of each entry, same size and order as keys
+     * @param value the value to set for every field
+     * @param expiration the expiration duration of newly created hashes, or null for none
+     * @return one result per entry, in order: true if the field was set, false if it already existed
+     */
+    List<Boolean> hsetnxBatch(List<String> keys, List<String> fields, String value, Duration expiration);
+
+    /**
+     * Sets hash fields, sending all commands in one pipeline.
+     * 
+     * @param keys the Redis hash key of each entry
+     * @param fields the hash field of each entry, same size and order as keys
+     * @param value the value to set for every field
+     * @param expiration the expiration duration of newly created hashes, or null for none
+     * @return the number of fields that did not exist before
+     */
+    long hsetBatch(List<String> keys, List<String> fields, String value, Duration expiration);
+
+    /**
+     * Sets hash fields in one pipeline without waiting for the reply.
+     * Failures are logged, not reported to the caller.
+     * 
+     * @param keys the Redis hash key of each entry
+     * @param fields the hash field of each entry, same size and order as keys
+     * @param value the value to set for every field
+     * @param expiration the expiration duration of newly created hashes, or null for none
+     */
+    void hsetBatchAsync(List<String> keys, List<String> fields, String value, Duration expiration);
+
+    /**
+     * Gets hash field values, sending all commands in one pipeline.
+     * 
+     * @param keys the Redis hash key of each entry
+     * @param fields the hash field of each entry, same size and order as keys
+     * @return one value per entry, in order, empty where the field does not exist
+     */
+    List<Optional<String>> hgetBatch(List<String> keys, List<String> fields);
+
+    /**
+     * Checks if a field exists in a hash.
+     * 
+     * @param key the Redis key for the hash
+     * @param field the hash field
+     * @return true if the field exists, false otherwise
+     */
+    boolean hexists(String key, String field);
+
+    /**
+     * Removes a field from a hash.
+     * 
+     * @param key the Redis key for the hash
+     * @param field the hash field
+     * @return true if the field was removed, false if it didn't exist
+     */
+    boolean hdel(String key, String field);
+
+    /**
+     * Gets the number of fields in a hash.
+     * 
+     * @param key the Redis key for the hash
+     * @return the number of fields, 0 if the hash doesn't exist
+     */
+    long hlen(String key);
+
+    /**
+     * Gets all field names of a hash.
+     * 
+     * @param key the Redis key for the hash
+     * @return the field names
+     */
+    Set<String> hkeys(String key);
+
+    /**
+     * Gets all fields and values of several hashes in one pipeline.
+     * 
+     * @param keys the Redis hash keys
+     * @return one map per key, in order, empty if the hash doesn't exist
+     */
+    List<Map<String, String>> hgetallBatch(List<String> keys);
+
     /**
      * Increments a counter.
      * 
@@ -139,6 +325,15 @@ public interface RedisService {
      */
     long incrby(String key, long increment);
 
+    /**
+     * Increments a counter without waiting for the reply.
+     * Failures are logged, not reported to the caller.
+     * 
+     * @param key the Redis key for the counter
+     * @param increment the amount to increment by, may be negative
+     */
+    void incrbyAsync(String key, long increment);
+
     /**
      * Gets the current value of a counter.
      * 
@@ -1,17 +1,29 @@
 package ai.falsify.crawlers.common.service.redis;
 
 import io.quarkus.redis.datasource.RedisDataSource;
+import io.quarkus.redis.datasource.hash.HashCommands;
 import io.quarkus.redis.datasource.keys.KeyCommands;
+import io.quarkus.redis.datasource.keys.KeyScanArgs;
+import io.quarkus.redis.datasource.keys.KeyScanCursor;
 import io.quarkus.redis.datasource.set.SetCommands;
 import io.quarkus.redis.datasource.string.StringCommands;
+import io.quarkus.redis.datasource.value.SetArgs;
 import io.quarkus.redis.datasource.value.ValueCommands;
+import io.vertx.mutiny.redis.client.Command;
+import io.vertx.mutiny.redis.client.Request;
+import io.vertx.mutiny.redis.client.Response;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Implementation of RedisService using Quarkus Redis client.
@@ -22,15 +34,25 @@ public class RedisServiceImpl implements RedisService {
 
     private static final Logger LOG = Logger.getLogger(RedisServiceImpl.class);
 
+    // Upper bound on commands written per pipeline, keeps request buffers small
+    private static final int MAX_PIPELINE_SIZE = 500;
+
+    // Keys requested per SCAN step and deleted per UNLINK command
+    private static final int SCAN_BATCH_SIZE = 500;
+
+    private final RedisDataSource redisDataSource;
     private final ValueCommands<String, String> valueCommands;
     private final KeyCommands<String> keyCommands;
     private final SetCommands<String, String> setCommands;
+    private final HashCommands<String, String, String> hashCommands;
 
     @Inject
     public RedisServiceImpl(RedisDataSource redisDataSource) {
+        this.redisDataSource = redisDataSource;
         this.valueCommands = redisDataSource.value(String.class);
         this.keyCommands = redisDataSource.key();
         this.setCommands = redisDataSource.set(String.class);
+        this.hashCommands = redisDataSource.hash(String.class);
     }
 
     @Override
@@ -48,19 +70,100 @@ public class RedisServiceImpl implements RedisService {
     @Override
     public boolean setnx(String key, String value, Duration expiration) {
         try {
-            // Use setnx first, then set expiration if successful
-            Boolean result = valueCommands.setnx(key, value);
-            if (Boolean.TRUE.equals(result)) {
-                keyCommands.expire(key, expiration);
-            }
+            // Single SET NX PX so the key can never be left behind without a TTL
+            Response response = redisDataSource.execute(Command.SET, key, value, "NX", "PX",
+                    String.valueOf(expiration.toMillis()));
+            boolean result = response != null;
             LOG.debugf("SETNX with expiration operation: key=%s, expiration=%s, result=%s", key, expiration, result);
-            return Boolean.TRUE.equals(result);
+            return result;
         } catch (Exception e) {
             LOG.errorf(e, "Failed to execute SETNX with expiration for key: %s", key);
             throw new RedisOperationException("SETNX with expiration failed for key: " + key, e);
         }
     }
 
+    @Override
+    public List<Boolean> setnxBatch(List<String> keys, String value) {
+        return setnxBatch(keys, value, null);
+    }
+
+    @Override
+    public List<Boolean> setnxBatch(List<String> keys, String value, Duration expiration) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            List<Request> requests = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                requests.add(buildSetRequest(key, value, expiration).arg("NX"));
+            }
+
+            List<Response> responses = executePipelined(requests);
+            List<Boolean> results = new ArrayList<>(responses.size());
+            int created = 0;
+            for (Response response : responses) {
+                boolean set = response != null;
+                results.add(set);
+                if (set) {
+                    created++;
+                }
+            }
+            LOG.debugf("SETNX batch operation: keys=%d, created=%d, expiration=%s", keys.size(), created, expiration);
+            return results;
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to execute SETNX batch for %d keys", keys.size());
+            throw new RedisOperationException("SETNX batch failed for " + keys.size() + " keys", e);
+        }
+    }
+
+    @Override
+    public long setBatch(Collection<String> keys, String value) {
+        return setBatch(keys, value, null);
+    }
+
+    @Override
+    public long setBatch(Collection<String> keys, String value, Duration expiration) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            List<Request> requests = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                // GET returns the previous value, so new keys can be counted without a second round trip
+                requests.add(buildSetRequest(key, value, expiration).arg("GET"));
+            }
+
+            long created = 0;
+            for (Response response : executePipelined(requests)) {
+                if (response == null) {
+                    created++;
+                }
+            }
+            LOG.debugf("SET batch operation: keys=%d, created=%d, expiration=%s", keys.size(), created, expiration);
+            return created;
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to execute SET batch for %d keys", keys.size());
+            throw new RedisOperationException("SET batch failed for " + keys.size() + " keys", e);
+        }
+    }
+
+    @Override
+    public void setBatchAsync(Collection<String> keys, String value, Duration expiration) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        List<Request> requests = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            requests.add(buildSetRequest(key, value, expiration));
+        }
+        redisDataSource.getReactive().getRedis().batch(requests).subscribe().with(
+                responses -> LOG.debugf("Async SET batch operation: keys=%d, expiration=%s", responses.size(), expiration),
+                failure -> LOG.errorf(failure, "Failed to execute async SET batch for %d keys", requests.size()));
+    }
+
     @Override
     public Optional<String> get(String key) {
         try {
@@ -73,6 +176,27 @@ public class RedisServiceImpl implements RedisService {
         }
     }
 
+    @Override
+    public List<Optional<String>> getBatch(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            List<Request> requests = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                requests.add(Request.cmd(Command.GET).arg(key));
+            }
+
+            List<Optional<String>> values = toValues(executePipelined(requests));
+            LOG.debugf("GET batch operation: keys=%d", keys.size());
+            return values;
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to execute GET batch for %d keys", keys.size());
+            throw new RedisOperationException("GET batch failed for " + keys.size() + " keys", e);
+        }
+    }
+
     @Override
     public void set(String key, String value) {
         try {
@@ -96,6 +220,22 @@ public class RedisServiceImpl implements RedisService {
         }
     }
 
+    @Override
+    public Optional<String> setAndGet(String key, String value, Duration expiration) {
+        try {
+            SetArgs args = new SetArgs();
+            if (expiration != null) {
+                args.px(expiration);
+            }
+            String previous = valueCommands.setGet(key, value, args);
+            LOG.debugf("SET GET operation: key=%s, expiration=%s, existed=%s", key, expiration, previous != null);
+            return Optional.ofNullable(previous);
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to execute SET GET for key: %s", key);
+            throw new RedisOperationException("SET GET failed for key: " + key, e);
+        }
+    }
+
     @Override
     public boolean delete(String key) {
         try {
@@ -147,6 +287,59 @@ public class RedisServiceImpl implements RedisService {
         }
     }
 
+    @Override
+    public long scan(String pattern, Consumer<Set<String>> batchConsumer) {
+        try {
+            KeyScanCursor<String> cursor = keyCommands.scan(new KeyScanArgs().match(pattern).count(SCAN_BATCH_SIZE));
+            long total = 0;
+            int steps = 0;
+            while (cursor.hasNext()) {
+                Set<String> batch = cursor.next();
+                steps++;
+                if (!batch.isEmpty()) {
+                    total += batch.size();
+                    batchConsumer.accept(batch);
+                }
+            }
+            LOG.debugf("SCAN operation: pattern=%s, count=%d, steps=%d", pattern, total, steps);
+            return total;
+        } catch (RedisOperationException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to execute SCAN for pattern: %s", pattern);
+            throw new RedisOperationException("SCAN failed for pattern: " + pattern, e);
+        }
+    }
+
+    @Override
+    public long unlink(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            List<String> keyList = new ArrayList<>(keys);
+            long unlinked = 0;
+            for (int from = 0; from < keyList.size(); from += SCAN_BATCH_SIZE) {
+                List<String> chunk = keyList.subList(from, Math.min(from + SCAN_BATCH_SIZE, keyList.size()));
+                unlinked += keyCommands.unlink(chunk.toArray(new String[0]));
+            }
+            LOG.debugf("UNLINK operation: keys=%d, unlinked=%d", keys.size(), unlinked);
+            return unlinked;
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to execute UNLINK for %d keys", keys.size());
+            throw new RedisOperationException("UNLINK failed for " + keys.size() + " keys", e);
+        }
+    }
+
+    @Override
+    public long unlinkByPattern(String pattern) {
+        long[] unlinked = {0};
+        scan(pattern, batch -> unlinked[0] += unlink(batch));
+        LOG.debugf("UNLINK by pattern operation: pattern=%s, unlinked=%d", pattern, unlinked[0]);
+        return unlinked[0];
+    }
+
     @Override
     public boolean sadd(String key, String value) {
         try {
@@ -199,6 +392,176 @@ public class RedisServiceImpl implements RedisService {
         }
     }
 
+    @Override
+    public List<Boolean> hsetnxBatch(List<String> keys, List<String> fields, String value, Duration expiration) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            List<Request> requests = buildHashRequests(Command.HSETNX, keys, fields, value);
+            int fieldCount = requests.size();
+            addHashExpirations(requests, keys, expiration);
+
+            List<Response> responses = executePipelined(requests);
+            List<Boolean> results = new ArrayList<>(fieldCount);
+            int created = 0;
+            for (int i = 0; i < fieldCount; i++) {
+                boolean set = responses.get(i).toInteger() == 1;
+                results.add(set);
+                if (set) {
+                    created++;
+                }
+            }
+            LOG.debugf("HSETNX batch operation: fields=%d, created=%d, expiration=%s", fieldCount, created, expiration);
+            return results;
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to execute HSETNX batch for %d fields", keys.size());
+            throw new RedisOperationException("HSETNX batch failed for " + keys.size() + " fields", e);
+        }
+    }
+
+    @Override
+    public long hsetBatch(List<String> keys, List<String> fields, String value, Duration expiration) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            List<Request> requests = buildHashRequests(Command.HSET, keys, fields, value);
+            int fieldCount = requests.size();
+            addHashExpirations(requests, keys, expiration);
+
+            List<Response> responses = executePipelined(requests);
+            long created = 0;
+            for (int i = 0; i < fieldCount; i++) {
+                created += responses.get(i).toLong();
+            }
+            LOG.debugf("HSET batch operation: fields=%d, created=%d, expiration=%s", fieldCount, created, expiration);
+            return created;
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to execute HSET batch for %d fields", keys.size());
+            throw new RedisOperationException("HSET batch failed for " + keys.size() + " fields", e);
+        }
+    }
+
+    @Override
+    public void hsetBatchAsync(List<String> keys, List<String> fields, String value, Duration expiration) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        List<Request> requests = buildHashRequests(Command.HSET, keys, fields, value);
+        addHashExpirations(requests, keys, expiration);
+        redisDataSource.getReactive().getRedis().batch(requests).subscribe().with(
+                responses -> LOG.debugf("Async HSET batch operation: commands=%d, expiration=%s", responses.size(), expiration),
+                failure -> LOG.errorf(failure, "Failed to execute async HSET batch for %d fields", keys.size()));
+    }
+
+    @Override
+    public List<Optional<String>> hgetBatch(List<String> keys, List<String> fields) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        if (keys.size() != fields.size()) {
+            throw new IllegalArgumentException("Keys and fields must have the same size");
+        }
+
+        try {
+            List<Request> requests = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                requests.add(Request.cmd(Command.HGET).arg(keys.get(i)).arg(fields.get(i)));
+            }
+
+            List<Optional<String>> values = toValues(executePipelined(requests));
+            LOG.debugf("HGET batch operation: fields=%d", keys.size());
+            return values;
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to execute HGET batch for %d fields", keys.size());
+            throw new RedisOperationException("HGET batch failed for " + keys.size() + " fields", e);
+        }
+    }
+
+    @Override
+    public boolean hexists(String key, String field) {
+        try {
+            boolean exists = hashCommands.hexists(key, field);
+            LOG.debugf("HEXISTS operation: key=%s, field=%s, exists=%s", key, field, exists);
+            return exists;
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to execute HEXISTS for key: %s", key);
+            throw new RedisOperationException("HEXISTS failed for key: " + key, e);
+        }
+    }
+
+    @Override
+    public boolean hdel(String key, String field) {
+        try {
+            boolean removed = hashCommands.hdel(key, field) > 0;
+            LOG.debugf("HDEL operation: key=%s, field=%s, removed=%s", key, field, removed);
+            return removed;
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to execute HDEL for key: %s", key);
+            throw new RedisOperationException("HDEL failed for key: " + key, e);
+        }
+    }
+
+    @Override
+    public long hlen(String key) {
+        try {
+            long size = hashCommands.hlen(key);
+            LOG.debugf("HLEN operation: key=%s, size=%d", key, size);
+            return size;
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to execute HLEN for key: %s", key);
+            throw new RedisOperationException("HLEN failed for key: " + key, e);
+        }
+    }
+
+    @Override
+    public Set<String> hkeys(String key) {
+        try {
+            Set<String> fields = new java.util.HashSet<>(hashCommands.hkeys(key));
+            LOG.debugf("HKEYS operation: key=%s, count=%d", key, fields.size());
+            return fields;
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to execute HKEYS for key: %s", key);
+            throw new RedisOperationException("HKEYS failed for key: " + key, e);
+        }
+    }
+
+    @Override
+    public List<Map<String, String>> hgetallBatch(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            List<Request> requests = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                requests.add(Request.cmd(Command.HGETALL).arg(key));
+            }
+
+            List<Map<String, String>> results = new ArrayList<>(keys.size());
+            int fields = 0;
+            for (Response response : executePipelined(requests)) {
+                Map<String, String> hash = new java.util.HashMap<>();
+                if (response != null) {
+                    for (String field : response.getKeys()) {
+                        hash.put(field, response.get(field).toString());
+                    }
+                }
+                fields += hash.size();
+                results.add(hash);
+            }
+            LOG.debugf("HGETALL batch operation: keys=%d, fields=%d", keys.size(), fields);
+            return results;
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to execute HGETALL batch for %d keys", keys.size());
+            throw new RedisOperationException("HGETALL batch failed for " + keys.size() + " keys", e);
+        }
+    }
+
     @Override
     public long incr(String key) {
         try {
@@ -225,6 +588,13 @@ public class RedisServiceImpl implements RedisService {
         }
     }
 
+    @Override
+    public void incrbyAsync(String key, long increment) {
+        redisDataSource.getReactive().value(String.class).incrby(key, increment).subscribe().with(
+                value -> LOG.debugf("Async INCRBY operation: key=%s, increment=%d, newValue=%d", key, increment, value),
+                failure -> LOG.errorf(failure, "Failed to execute async INCRBY for key: %s", key));
+    }
+
     @Override
     public long getCounter(String key) {
         try {
@@ -241,7 +611,61 @@ public class RedisServiceImpl implements RedisService {
         }
     }
 
+    private Request buildSetRequest(String key, String value, Duration expiration) {
+        Request request = Request.cmd(Command.SET).arg(key).arg(value);
+        if (expiration != null) {
+            request.arg("PX").arg(expiration.toMillis());
+        }
+        return request;
+    }
+
+    private List<Request> buildHashRequests(Command command, List<String> keys, List<String> fields, String value) {
+        if (keys.size() != fields.size()) {
+            throw new IllegalArgumentException("Keys and fields must have the same size");
+        }
+        List<Request> requests = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            requests.add(Request.cmd(command).arg(keys.get(i)).arg(fields.get(i)).arg(value));
+        }
+        return requests;
+    }
+
+    /**
+     * Appends one PEXPIRE NX per distinct hash; the replies follow the field replies.
+     * NX only sets a TTL on hashes that have none, so writes into a bucket do not keep
+     * pushing its expiry out and it still ages out with its first entries.
+     */
+    private void addHashExpirations(List<Request> requests, List<String> keys, Duration expiration) {
+        if (expiration == null) {
+            return;
+        }
+        for (String key : new java.util.LinkedHashSet<>(keys)) {
+            requests.add(Request.cmd(Command.PEXPIRE).arg(key).arg(expiration.toMillis()).arg("NX"));
+        }
+    }
+
+    private static List<Optional<String>> toValues(List<Response> responses) {
+        List<Optional<String>> values = new ArrayList<>(responses.size());
+        for (Response response : responses) {
+            values.add(response != null ? Optional.of(response.toString()) : Optional.empty());
+        }
+        return values;
+    }
+
     /**
+     * Writes the requests as pipelines of at most {@link #MAX_PIPELINE_SIZE} commands,
+     * so N commands cost one round trip per chunk instead of N.
+     */
+    private List<Response> executePipelined(List<Request> requests) {
+        List<Response> responses = new ArrayList<>(requests.size());
+        for (int from = 0; from < requests.size(); from += MAX_PIPELINE_SIZE) {
+            int to = Math.min(from + MAX_PIPELINE_SIZE, requests.size());
+            responses.addAll(redisDataSource.getReactive().getRedis().batchAndAwait(requests.subList(from, to)));
+        }
+        return responses;
+    }
+
+        /**
      * Exception thrown when Redis operations fail.
      */
     public static class RedisOperationException extends RuntimeException {
@@ -0,0 +1,7 @@
+-- Migration script to support keyset (cursor) pagination of article listings
+-- Listings are ordered by (created_at DESC, id DESC); this index lets each page
+-- seek directly to the cursor position instead of scanning and discarding OFFSET rows
+
+CREATE INDEX IF NOT EXISTS idx_article_created_at_id ON articles(created_at DESC, id DESC);
+
+COMMENT ON INDEX idx_article_created_at_id IS 'Supports keyset pagination of article listings ordered by created_at, id';
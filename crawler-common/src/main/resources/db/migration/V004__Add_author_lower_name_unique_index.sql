@@ -0,0 +1,24 @@
+-- Migration script to make author names unique regardless of case
+-- Authors are looked up with LOWER(name) = LOWER(?), which the plain index on name
+-- cannot serve; the unique functional index serves the lookup and lets concurrent
+-- crawlers race to create an author without producing duplicates
+
+-- Merge authors whose names differ only in case into the oldest one
+UPDATE articles a
+SET author_id = keep.id
+FROM authors dup
+JOIN (
+    SELECT LOWER(name) AS lower_name, MIN(id) AS id
+    FROM authors
+    GROUP BY LOWER(name)
+    HAVING COUNT(*) > 1
+) keep ON LOWER(dup.name) = keep.lower_name AND dup.id <> keep.id
+WHERE a.author_id = dup.id;
+
+DELETE FROM authors dup
+USING authors keep
+WHERE LOWER(dup.name) = LOWER(keep.name) AND dup.id > keep.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_author_lower_name ON authors(LOWER(name));
+
+COMMENT ON INDEX uq_author_lower_name IS 'Case-insensitive author lookups and race-free author creation';
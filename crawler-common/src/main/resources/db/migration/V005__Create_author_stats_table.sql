@@ -0,0 +1,35 @@
+-- Migration script to create the precomputed author statistics table
+-- Rows are maintained incrementally by the article and prediction persistence paths
+-- when articles.author-stats.enabled=true, so author listings read one row per author
+-- instead of aggregating the articles and prediction_instances tables
+
+CREATE TABLE IF NOT EXISTS author_stats (
+    author_id BIGINT PRIMARY KEY REFERENCES authors(id) ON DELETE CASCADE,
+    article_count BIGINT NOT NULL DEFAULT 0,
+    latest_article_at TIMESTAMP,
+    prediction_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Backfill from the existing data
+INSERT INTO author_stats (author_id, article_count, latest_article_at, prediction_count, updated_at)
+SELECT au.id,
+       COALESCE(ac.article_count, 0),
+       ac.latest_article_at,
+       COALESCE(pc.prediction_count, 0),
+       CURRENT_TIMESTAMP
+FROM authors au
+LEFT JOIN (
+    SELECT author_id, COUNT(*) AS article_count, MAX(created_at) AS latest_article_at
+    FROM articles
+    GROUP BY author_id
+) ac ON ac.author_id = au.id
+LEFT JOIN (
+    SELECT a.author_id, COUNT(*) AS prediction_count
+    FROM prediction_instances pi
+    JOIN articles a ON a.id = pi.article_id
+    GROUP BY a.author_id
+) pc ON pc.author_id = au.id
+ON CONFLICT (author_id) DO NOTHING;
+
+COMMENT ON TABLE author_stats IS 'Per-author article and prediction totals, maintained incrementally';
@@ -0,0 +1,26 @@
+-- Migration script to track article analysis state on the articles table
+-- Unanalyzed listings previously counted prediction_instances per article; the
+-- denormalized state and a partial index over pending rows turn them into index range scans
+
+ALTER TABLE articles ADD COLUMN IF NOT EXISTS analysis_state VARCHAR(20) NOT NULL DEFAULT 'PENDING';
+ALTER TABLE articles ADD COLUMN IF NOT EXISTS last_analyzed_at TIMESTAMP;
+
+-- Backfill from the existing prediction instances
+UPDATE articles a
+SET analysis_state = 'ANALYZED',
+    last_analyzed_at = pi.last_extracted_at
+FROM (
+    SELECT article_id, MAX(extracted_at) AS last_extracted_at
+    FROM prediction_instances
+    GROUP BY article_id
+) pi
+WHERE pi.article_id = a.id;
+
+-- Only pending rows are indexed, in listing order, so the index stays small as articles get analyzed
+CREATE INDEX IF NOT EXISTS idx_article_pending_created_at_id
+    ON articles(created_at DESC, id DESC)
+    WHERE analysis_state = 'PENDING';
+
+COMMENT ON COLUMN articles.analysis_state IS 'PENDING until prediction instances are stored for the article, then ANALYZED';
+COMMENT ON COLUMN articles.last_analyzed_at IS 'When prediction instances were last stored for the article';
+COMMENT ON INDEX idx_article_pending_created_at_id IS 'Supports listing unanalyzed articles ordered by created_at, id';
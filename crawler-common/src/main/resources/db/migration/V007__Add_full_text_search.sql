@@ -0,0 +1,56 @@
+-- Migration script to add indexed full-text and substring search
+-- Title/text searches previously used LOWER(column) LIKE '%term%', which cannot use an index.
+-- Articles and predictions get generated tsvector columns with GIN indexes for ranked word
+-- search, plus pg_trgm GIN indexes over the normalized title/prediction text for substring search.
+-- Note: adding the generated columns rewrites both tables once.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Normalizes text for matching: lower-cases, decodes the entities escaped by the title
+-- sanitizer, strips Hebrew points and cantillation marks, drops geresh/gershayim (and the
+-- quotes typed in their place) inside abbreviations such as צה"ל, and maps final letters to
+-- their regular forms so prefix matches work across word endings
+CREATE OR REPLACE FUNCTION search_normalize(input TEXT) RETURNS TEXT
+LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+    SELECT translate(
+        regexp_replace(
+            regexp_replace(
+                replace(replace(replace(replace(replace(lower(coalesce(input, '')),
+                    '&quot;', '"'), '&#x27;', ''''), '&lt;', '<'), '&gt;', '>'), '&amp;', '&'),
+                '[\u0591-\u05BD\u05BF\u05C1\u05C2\u05C4\u05C5\u05C7]', '', 'g'),
+            '([א-ת])["''׳״]+(?=[א-ת])', '\1', 'g'),
+        'ךםןףץ', 'כמנפצ')
+$$;
+
+-- Builds a search document from normalized text. Hebrew attaches the prefixes ו ה ב כ ל מ ש
+-- to the following word, so words of at least three letters are also indexed without one
+-- or two leading prefix letters; "ממשלה" then matches "והממשלה"
+CREATE OR REPLACE FUNCTION search_document(input TEXT) RETURNS tsvector
+LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+    SELECT to_tsvector('simple', normalized)
+        || to_tsvector('simple', regexp_replace(normalized,
+               '(^|[^א-ת])[והבכלמש](?=[א-ת]{3})', '\1', 'g'))
+        || to_tsvector('simple', regexp_replace(normalized,
+               '(^|[^א-ת])[והבכלמש]{2}(?=[א-ת]{3})', '\1', 'g'))
+    FROM search_normalize(input) AS normalized
+$$;
+
+-- Search documents, maintained by PostgreSQL on every insert and update
+ALTER TABLE articles ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (setweight(search_document(title), 'A') || setweight(search_document(text), 'B')) STORED;
+
+ALTER TABLE predictions ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (search_document(prediction_text)) STORED;
+
+-- Word search
+CREATE INDEX IF NOT EXISTS idx_article_search_vector ON articles USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_prediction_search_vector ON predictions USING GIN (search_vector);
+
+-- Substring search and title filters
+CREATE INDEX IF NOT EXISTS idx_article_title_trgm ON articles USING GIN (search_normalize(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_prediction_text_trgm ON predictions USING GIN (search_normalize(prediction_text) gin_trgm_ops);
+
+COMMENT ON COLUMN articles.search_vector IS 'Full-text search document over title (weight A) and text (weight B)';
+COMMENT ON COLUMN predictions.search_vector IS 'Full-text search document over prediction_text';
+COMMENT ON INDEX idx_article_title_trgm IS 'Supports substring title search and title filters';
+COMMENT ON INDEX idx_prediction_text_trgm IS 'Supports substring prediction text search';
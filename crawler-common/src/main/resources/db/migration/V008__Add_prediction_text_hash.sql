@@ -0,0 +1,51 @@
+-- Migration script to deduplicate predictions on a hash of their normalized text
+-- Predictions were looked up through a B-tree over the unbounded prediction_text column,
+-- which is bloated and rejects values larger than an index row. A fixed-width SHA-256
+-- of the normalized text with a unique index serves bulk IN lookups and prevents duplicates.
+-- Normalization must stay in line with PredictionEntity: collapse whitespace, ignore case.
+
+ALTER TABLE predictions ADD COLUMN IF NOT EXISTS text_hash VARCHAR(64);
+
+UPDATE predictions
+SET text_hash = encode(sha256(convert_to(lower(regexp_replace(btrim(prediction_text), '\s+', ' ', 'g')), 'UTF8')), 'hex')
+WHERE text_hash IS NULL;
+
+-- Merge predictions whose normalized text is equal into the oldest one
+CREATE TEMPORARY TABLE prediction_merge AS
+SELECT dup.id AS duplicate_id, keep.id AS keep_id
+FROM predictions dup
+JOIN (
+    SELECT text_hash, MIN(id) AS id
+    FROM predictions
+    GROUP BY text_hash
+    HAVING COUNT(*) > 1
+) keep ON dup.text_hash = keep.text_hash AND dup.id <> keep.id;
+
+UPDATE prediction_instances pi
+SET prediction_id = m.keep_id
+FROM prediction_merge m
+WHERE pi.prediction_id = m.duplicate_id;
+
+INSERT INTO article_predictions (article_id, prediction_id)
+SELECT DISTINCT ap.article_id, m.keep_id
+FROM article_predictions ap
+JOIN prediction_merge m ON ap.prediction_id = m.duplicate_id
+ON CONFLICT (article_id, prediction_id) DO NOTHING;
+
+DELETE FROM article_predictions ap
+USING prediction_merge m
+WHERE ap.prediction_id = m.duplicate_id;
+
+DELETE FROM predictions p
+USING prediction_merge m
+WHERE p.id = m.duplicate_id;
+
+DROP TABLE prediction_merge;
+
+ALTER TABLE predictions ALTER COLUMN text_hash SET NOT NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_prediction_text_hash ON predictions(text_hash);
+
+DROP INDEX IF EXISTS idx_prediction_text;
+
+COMMENT ON COLUMN predictions.text_hash IS 'SHA-256 of the whitespace-collapsed, lower-cased prediction text';
@@ -0,0 +1,40 @@
+-- Migration script to move article bodies out of the articles table
+-- Bodies were stored inline in articles.text, so every article scan and entity load carried
+-- them. They move to article_content, which is only read when the text is needed; the
+-- application stores new bodies deflate-compressed (encoding 'DEFLATE').
+-- Existing bodies are copied as UTF-8 (encoding 'NONE'); PostgreSQL still TOAST-compresses
+-- the large ones, and they are rewritten compressed whenever the text is updated.
+
+CREATE TABLE IF NOT EXISTS article_content (
+    article_id BIGINT PRIMARY KEY REFERENCES articles(id) ON DELETE CASCADE,
+    encoding VARCHAR(16) NOT NULL,
+    body BYTEA
+);
+
+ALTER TABLE articles ADD COLUMN IF NOT EXISTS text_length INTEGER;
+
+-- The body is no longer readable by the database once compressed, so the search document
+-- becomes a plain column written by the application (SearchService) when an article is stored
+DROP INDEX IF EXISTS idx_article_search_vector;
+ALTER TABLE articles DROP COLUMN IF EXISTS search_vector;
+ALTER TABLE articles ADD COLUMN search_vector tsvector;
+
+-- Copy the bodies and backfill the derived columns
+INSERT INTO article_content (article_id, encoding, body)
+SELECT id, 'NONE', convert_to(text, 'UTF8')
+FROM articles
+WHERE text IS NOT NULL
+ON CONFLICT (article_id) DO NOTHING;
+
+UPDATE articles
+SET text_length = length(text),
+    search_vector = setweight(search_document(title), 'A') || setweight(search_document(text), 'B');
+
+ALTER TABLE articles DROP COLUMN text;
+
+CREATE INDEX IF NOT EXISTS idx_article_search_vector ON articles USING GIN (search_vector);
+
+COMMENT ON TABLE article_content IS 'Article bodies, stored apart from articles and compressed by the application';
+COMMENT ON COLUMN article_content.encoding IS 'NONE for UTF-8 bytes, DEFLATE for zlib-compressed UTF-8 bytes';
+COMMENT ON COLUMN articles.text_length IS 'Body length in characters';
+COMMENT ON COLUMN articles.search_vector IS 'Full-text search document over title (weight A) and text (weight B), written by the application';
@@ -18,6 +18,8 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -202,6 +204,39 @@ class CommonModuleIntegrationTest {
             assertFalse(redisService.sismember(setKey, member1), "Removed member should not be in set");
             assertEquals(1, redisService.scard(setKey), "Set should have 1 member after removal");
         }
+
+        @Test
+        @DisplayName("Should scan and unlink keys by pattern")
+        void shouldScanAndUnlinkKeysByPattern() {
+            for (int i = 0; i < 1200; i++) {
+                redisService.set("test:scan:key:" + i, "value");
+            }
+            redisService.set("test:scan:other", "value");
+
+            Set<String> scanned = new java.util.HashSet<>();
+            redisService.scan("test:scan:key:*", scanned::addAll);
+            assertEquals(1200, scanned.size(), "SCAN should report every matching key");
+
+            assertEquals(1200, redisService.unlinkByPattern("test:scan:key:*"), "Should unlink every matching key");
+            assertFalse(redisService.exists("test:scan:key:0"), "Matching keys should be gone");
+            assertTrue(redisService.exists("test:scan:other"), "Non-matching keys should be kept");
+        }
+
+        @Test
+        @DisplayName("Should set hash fields in batches")
+        void shouldSetHashFieldsInBatches() {
+            List<String> keys = List.of("test:hash:a", "test:hash:a", "test:hash:b");
+            List<String> fields = List.of("f1", "f2", "f1");
+
+            assertEquals(List.of(true, true, true), redisService.hsetnxBatch(keys, fields, "1", null));
+            assertEquals(List.of(false, false, false), redisService.hsetnxBatch(keys, fields, "1", null));
+            assertEquals(1, redisService.hsetBatch(List.of("test:hash:b"), List.of("f2"), "1", null));
+
+            assertTrue(redisService.hexists("test:hash:a", "f2"), "Field should exist");
+            assertEquals(2, redisService.hlen("test:hash:b"), "Bucket should hold both fields");
+            assertTrue(redisService.hdel("test:hash:b", "f1"), "Should delete existing field");
+            assertEquals(Set.of("f2"), redisService.hkeys("test:hash:b"));
+        }
     }
 
     @Nested
@@ -226,6 +261,38 @@ class CommonModuleIntegrationTest {
                        "URL should not be new on second check for caspit crawler");
         }
 
+        @Test
+        @DisplayName("Should check a batch of URLs in one call")
+        void shouldCheckBatchOfUrls() {
+            String crawlerName = "batch-crawler";
+            String known = "https://example.com/known-article";
+            String fresh = "https://example.com/fresh-article";
+
+            deduplicationService.markProcessed(crawlerName, List.of(known));
+
+            Set<String> newUrls = deduplicationService.isNewUrls(crawlerName, List.of(known, fresh, fresh));
+
+            assertEquals(Set.of(fresh), newUrls, "Only the unseen URL should be reported as new");
+            assertTrue(deduplicationService.isUrlProcessed(crawlerName, fresh),
+                      "New URLs should be claimed by the batch check");
+            assertTrue(deduplicationService.isNewUrls(crawlerName, List.of(known, fresh)).isEmpty(),
+                      "A repeated batch should contain no new URLs");
+        }
+
+        @Test
+        @DisplayName("Should keep reporting URLs claimed with the same token as new")
+        void shouldRetryBatchWithSameClaimToken() {
+            String crawlerName = "claim-crawler";
+            List<String> urls = List.of("https://example.com/claimed-1", "https://example.com/claimed-2");
+            String claimToken = DeduplicationService.newClaimToken();
+
+            assertEquals(Set.copyOf(urls), deduplicationService.isNewUrls(crawlerName, urls, null, claimToken));
+            assertEquals(Set.copyOf(urls), deduplicationService.isNewUrls(crawlerName, urls, null, claimToken),
+                      "A retry with the same token should report the same URLs as new");
+            assertTrue(deduplicationService.isNewUrls(crawlerName, urls, null, DeduplicationService.newClaimToken())
+                      .isEmpty(), "Another claim should see the URLs as processed");
+        }
+
         @Test
         @DisplayName("Should handle URL deduplication with expiration")
         void shouldHandleUrlDeduplicationWithExpiration() {
@@ -375,7 +442,7 @@ class CommonModuleIntegrationTest {
                 ArticleEntity article = new ArticleEntity();
                 article.title = "Integration Test Article";
                 article.url = "https://example.com/integration-test";
-                article.text = "This is a test article for integration testing of the common module.";
+                article.setText("This is a test article for integration testing of the common module.");
 
                 // Persist article
                 article.persist();
@@ -386,7 +453,7 @@ class CommonModuleIntegrationTest {
                 assertNotNull(retrieved, "Should retrieve persisted article");
                 assertEquals(article.title, retrieved.title, "Title should match");
                 assertEquals(article.url, retrieved.url, "URL should match");
-                assertEquals(article.text, retrieved.text, "Text should match");
+                assertEquals(article.getText(), retrieved.getText(), "Text should match");
                 
                 userTransaction.commit();
             } catch (Exception e) {
@@ -409,13 +476,13 @@ class CommonModuleIntegrationTest {
                 ArticleEntity article1 = new ArticleEntity();
                 article1.title = "First Test Article";
                 article1.url = "https://example.com/first";
-                article1.text = "First test article content";
+                article1.setText("First test article content");
                 article1.persist();
 
                 ArticleEntity article2 = new ArticleEntity();
                 article2.title = "Second Test Article";
                 article2.url = "https://example.com/second";
-                article2.text = "Second test article content";
+                article2.setText("Second test article content");
                 article2.persist();
 
                 // Test find by URL
@@ -0,0 +1,59 @@
+package ai.falsify.crawlers.common.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArticleCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip cursor through its encoded form")
+    void testEncodeDecode() {
+        // Given
+        ArticleCursor cursor = new ArticleCursor(Instant.parse("2024-05-01T10:15:30.123456Z"), 42L);
+
+        // When
+        String token = cursor.encode();
+        ArticleCursor decoded = ArticleCursor.decode(token);
+
+        // Then
+        assertEquals(cursor, decoded);
+        assertFalse(token.contains("|"));
+        assertFalse(token.contains("="));
+    }
+
+    @Test
+    @DisplayName("Should treat missing cursor as first page")
+    void testDecodeEmpty() {
+        assertNull(ArticleCursor.decode(null));
+        assertNull(ArticleCursor.decode(""));
+        assertNull(ArticleCursor.decode("   "));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors")
+    void testDecodeInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> ArticleCursor.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> ArticleCursor.decode("bm90LWEtY3Vyc29y"));
+        assertThrows(IllegalArgumentException.class, () -> new ArticleCursor(null, 1L));
+    }
+
+    @Test
+    @DisplayName("Should build cursors at database timestamp precision")
+    void testOfTruncatesToMicros() {
+        // Given
+        ArticleEntity article = new ArticleEntity();
+        article.id = 7L;
+        article.createdAt = Instant.parse("2024-05-01T10:15:30.123456789Z");
+
+        // When
+        ArticleCursor cursor = ArticleCursor.of(article);
+
+        // Then
+        assertEquals(Instant.parse("2024-05-01T10:15:30.123456Z"), cursor.createdAt());
+        assertEquals(0, new ArticleEntity().createdAt.getNano() % 1000);
+    }
+}
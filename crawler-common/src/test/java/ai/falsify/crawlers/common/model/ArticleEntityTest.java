@@ -70,7 +70,7 @@ class ArticleEntityTest {
         assertNotNull(articleEntity.id);
         assertEquals("Test Title", articleEntity.title);
         assertEquals("https://example.com/article", articleEntity.url);
-        assertEquals("Test content", articleEntity.text);
+        assertEquals("Test content", articleEntity.getText());
         assertEquals(crawlerSource, articleEntity.crawlerSource);
         assertEquals(testAuthor.id, articleEntity.author.id);
         assertNotNull(articleEntity.createdAt);
@@ -347,7 +347,7 @@ class ArticleEntityTest {
         assertTrue(articleEntity.title.contains("&lt;script&gt;"));
         assertEquals(2048, articleEntity.url.length()); // Should be truncated
         assertEquals(50, articleEntity.crawlerSource.length()); // Should be truncated
-        assertEquals("Content with <script> tags", articleEntity.text); // Text should not be HTML escaped
+        assertEquals("Content with <script> tags", articleEntity.getText()); // Text should not be HTML escaped
     }
 
     @Test
@@ -426,4 +426,79 @@ class ArticleEntityTest {
         assertNotNull(found);
         assertEquals(articleEntity.id, found.id);
     }
-}
\ No newline at end of file
+
+    @Test
+    @TestTransaction
+    @DisplayName("Should track analysis state without loading prediction instances")
+    void shouldTrackAnalysisState() {
+        // Given
+        AuthorEntity testAuthor = createTestAuthor();
+        ArticleEntity articleEntity = new ArticleEntity(
+                new Article("Test Title", "https://example.com/analyzed", "Test content"), "test-crawler", testAuthor);
+        articleEntity.persist();
+        Instant earlier = Instant.now().minus(1, ChronoUnit.HOURS);
+        Instant later = Instant.now();
+
+        // Then - new articles are pending
+        assertEquals(ArticleAnalysisState.PENDING, articleEntity.analysisState);
+        assertFalse(articleEntity.hasBeenAnalyzed());
+        assertNull(articleEntity.getLastAnalysisDate());
+
+        // When
+        articleEntity.markAnalyzed(later);
+        articleEntity.markAnalyzed(earlier);
+
+        // Then - the latest analysis date is kept
+        assertTrue(articleEntity.hasBeenAnalyzed());
+        assertEquals(later, articleEntity.getLastAnalysisDate());
+    }
+
+    @Test
+    @TestTransaction
+    @DisplayName("Should store the text compressed and load it back on access")
+    void shouldStoreTextCompressed() {
+        // Given
+        AuthorEntity testAuthor = createTestAuthor();
+        String text = "The economy will grow next year, experts say. ".repeat(50).trim();
+        ArticleEntity articleEntity = new ArticleEntity(
+                new Article("Long Title", "https://example.com/long", text), "test-crawler", testAuthor);
+        articleEntity.persist();
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ArticleEntity found = ArticleEntity.findById(articleEntity.id);
+
+        // Then
+        assertEquals(text.length(), found.textLength);
+        assertEquals(text, found.getText());
+        assertEquals(ArticleContentEntity.Encoding.DEFLATE, found.content.encoding);
+        assertTrue(found.content.body.length < text.length());
+    }
+
+    @Test
+    @TestTransaction
+    @DisplayName("Should store short and missing text uncompressed")
+    void shouldStoreShortTextUncompressed() {
+        // Given
+        AuthorEntity testAuthor = createTestAuthor();
+        ArticleEntity shortArticle = new ArticleEntity(
+                new Article("Short Title", "https://example.com/short", "Short content"), "test-crawler", testAuthor);
+        shortArticle.persist();
+        ArticleEntity emptyArticle = new ArticleEntity(
+                new Article("Empty Title", "https://example.com/empty", null), "test-crawler", testAuthor);
+        emptyArticle.persist();
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ArticleEntity foundShort = ArticleEntity.findById(shortArticle.id);
+        ArticleEntity foundEmpty = ArticleEntity.findById(emptyArticle.id);
+
+        // Then
+        assertEquals("Short content", foundShort.getText());
+        assertEquals(ArticleContentEntity.Encoding.NONE, foundShort.content.encoding);
+        assertNull(foundEmpty.getText());
+        assertNull(foundEmpty.textLength);
+    }
+}
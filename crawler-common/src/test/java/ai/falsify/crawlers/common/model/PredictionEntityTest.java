@@ -1,5 +1,6 @@
 package ai.falsify.crawlers.common.model;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.TestTransaction;
 import jakarta.inject.Inject;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.DisplayName;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -128,6 +130,37 @@ class PredictionEntityTest {
         assertEquals("political", created.predictionType);
     }
 
+    @Test
+    @DisplayName("Should find or create a batch of predictions by normalized text")
+    void shouldFindOrCreateAllPredictions() {
+        PredictionEntity existing = QuarkusTransaction.requiringNew().call(() -> {
+            PredictionEntity prediction = new PredictionEntity("Rates will fall next year", "economic");
+            prediction.persist();
+            return prediction;
+        });
+
+        try {
+            Map<String, PredictionEntity> resolved = QuarkusTransaction.requiringNew().call(() ->
+                    PredictionEntity.findOrCreateAll(List.of(
+                            new PredictionEntity.PredictionKey("rates  will FALL next year", "political"),
+                            new PredictionEntity.PredictionKey("Unemployment will rise", "economic"),
+                            new PredictionEntity.PredictionKey("Unemployment will rise ", "economic"))));
+
+            assertEquals(existing.id, resolved.get("rates  will FALL next year").id);
+            assertNotNull(resolved.get("Unemployment will rise").id);
+            assertEquals(resolved.get("Unemployment will rise").id, resolved.get("Unemployment will rise ").id);
+
+            PredictionEntity created = QuarkusTransaction.requiringNew().call(
+                    () -> PredictionEntity.findByText("UNEMPLOYMENT WILL RISE"));
+            assertEquals(resolved.get("Unemployment will rise").id, created.id);
+            assertEquals("economic", created.predictionType);
+        } finally {
+            QuarkusTransaction.requiringNew().run(() -> PredictionEntity.delete("textHash IN ?1", List.of(
+                    PredictionEntity.hashText("Rates will fall next year"),
+                    PredictionEntity.hashText("Unemployment will rise"))));
+        }
+    }
+
     @Test
     @TestTransaction
     @DisplayName("Should throw exception when findOrCreate called with null text")
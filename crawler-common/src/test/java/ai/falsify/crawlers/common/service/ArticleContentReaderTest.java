@@ -0,0 +1,69 @@
+package ai.falsify.crawlers.common.service;
+
+import ai.falsify.crawlers.common.model.*;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class ArticleContentReaderTest {
+
+    @Inject
+    ArticleContentReader contentReader;
+
+    @Test
+    @DisplayName("Should stream article bodies in batches in the requested order")
+    void testStreamBodies() {
+        String longText = "Long body text that compresses well. ".repeat(40).trim();
+        List<Long> ids = QuarkusTransaction.requiringNew().call(() -> {
+            AuthorEntity author = new AuthorEntity("Reader Author", null);
+            author.persist();
+            List<Long> created = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                ArticleEntity article = new ArticleEntity(
+                        new Article("Reader Article " + i, "https://example.com/reader" + i, i == 1 ? longText : "Body " + i),
+                        "test-crawler", author);
+                article.persist();
+                created.add(article.id);
+            }
+            return created;
+        });
+
+        try {
+            List<Long> requested = List.of(ids.get(2), ids.get(0), -1L, ids.get(1));
+
+            List<List<ArticleContentReader.ArticleBody>> batches;
+            try (var stream = contentReader.streamBodies(requested, 2)) {
+                batches = stream.toList();
+            }
+
+            assertEquals(2, batches.size());
+            assertEquals(List.of(ids.get(2), ids.get(0)),
+                    batches.get(0).stream().map(ArticleContentReader.ArticleBody::id).toList());
+            assertEquals("Body 2", batches.get(0).get(0).text());
+            assertEquals("Reader Article 2", batches.get(0).get(0).title());
+
+            // Missing articles are left out
+            assertEquals(1, batches.get(1).size());
+            assertEquals(longText, batches.get(1).get(0).text());
+        } finally {
+            QuarkusTransaction.requiringNew().run(() -> {
+                ArticleEntity.delete("id IN ?1", ids);
+                AuthorEntity.delete("name", "Reader Author");
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive batch sizes")
+    void testInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> contentReader.streamBodies(List.of(1L), 0));
+    }
+}
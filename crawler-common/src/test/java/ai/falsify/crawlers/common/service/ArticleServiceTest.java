@@ -1,6 +1,7 @@
 package ai.falsify.crawlers.common.service;
 
 import ai.falsify.crawlers.common.model.*;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.TestTransaction;
 import jakarta.inject.Inject;
@@ -24,6 +25,9 @@ class ArticleServiceTest {
     @Inject
     EntityManager entityManager;
 
+    @Inject
+    AuthorCache authorCache;
+
     private AuthorEntity testAuthor1;
     private AuthorEntity testAuthor2;
     private ArticleEntity testArticle1;
@@ -54,6 +58,7 @@ class ArticleServiceTest {
         ArticleEntity.deleteAll();
         AuthorEntity.deleteAll();
         entityManager.flush();
+        authorCache.invalidateAll();
     }
 
     private void createTestData() {
@@ -346,46 +351,66 @@ class ArticleServiceTest {
 
     @Test
     @DisplayName("Should create article with author")
-    @TestTransaction
     void testCreateArticleWithAuthor() {
-        // Given
+        // The author cache commits authors on its own, so this test runs outside a test transaction
         Article newArticle = new Article("New Article", "https://example.com/new", "New content");
         String authorName = "New Author";
         String avatarUrl = "https://example.com/new-author.jpg";
 
-        // When
-        ArticleEntity createdArticle = articleService.createArticleWithAuthor(
-                newArticle, "test-crawler", authorName, avatarUrl);
-
-        // Then
-        assertNotNull(createdArticle);
-        assertNotNull(createdArticle.id);
-        assertEquals("New Article", createdArticle.title);
-        assertEquals("https://example.com/new", createdArticle.url);
-        assertEquals("test-crawler", createdArticle.crawlerSource);
-
-        assertNotNull(createdArticle.author);
-        assertEquals("New Author", createdArticle.author.name);
-        assertEquals("https://example.com/new-author.jpg", createdArticle.author.avatarUrl);
+        try {
+            // When
+            ArticleEntity createdArticle = articleService.createArticleWithAuthor(
+                    newArticle, "author-crawler", authorName, avatarUrl);
+
+            // Then
+            assertNotNull(createdArticle);
+            assertNotNull(createdArticle.id);
+            assertEquals("New Article", createdArticle.title);
+            assertEquals("https://example.com/new", createdArticle.url);
+            assertEquals("author-crawler", createdArticle.crawlerSource);
+
+            AuthorEntity author = QuarkusTransaction.requiringNew().call(() -> AuthorEntity.find(
+                    "SELECT a.author FROM ArticleEntity a WHERE a.id = ?1", createdArticle.id).firstResult());
+            assertEquals("New Author", author.name);
+            assertEquals("https://example.com/new-author.jpg", author.avatarUrl);
+        } finally {
+            deleteAuthorTestData(authorName);
+        }
     }
 
     @Test
     @DisplayName("Should reuse existing author when creating article")
-    @TestTransaction
     void testCreateArticleWithExistingAuthor() {
         // Given
-        createTestData();
-        Article newArticle = new Article("Another Article", "https://example.com/another", "Another content");
         String existingAuthorName = "John Doe";
+        Long existingAuthorId = QuarkusTransaction.requiringNew().call(() -> {
+            AuthorEntity author = new AuthorEntity(existingAuthorName, "https://example.com/john.jpg");
+            author.persist();
+            return author.id;
+        });
+        Article newArticle = new Article("Another Article", "https://example.com/another", "Another content");
 
-        // When
-        ArticleEntity createdArticle = articleService.createArticleWithAuthor(
-                newArticle, "test-crawler", existingAuthorName, null);
+        try {
+            // When
+            ArticleEntity createdArticle = articleService.createArticleWithAuthor(
+                    newArticle, "author-crawler", "john doe", null);
+
+            // Then
+            assertNotNull(createdArticle);
+            assertEquals(existingAuthorId, createdArticle.author.id);
+            assertEquals(1, QuarkusTransaction.requiringNew().call(
+                    () -> AuthorEntity.count("LOWER(name) = LOWER(?1)", existingAuthorName)));
+        } finally {
+            deleteAuthorTestData(existingAuthorName);
+        }
+    }
 
-        // Then
-        assertNotNull(createdArticle);
-        assertEquals(testAuthor1.id, createdArticle.author.id);
-        assertEquals("John Doe", createdArticle.author.name);
+    private void deleteAuthorTestData(String authorName) {
+        authorCache.invalidateAll();
+        QuarkusTransaction.requiringNew().run(() -> {
+            ArticleEntity.delete("crawlerSource", "author-crawler");
+            AuthorEntity.delete("LOWER(name) = LOWER(?1)", authorName);
+        });
     }
 
     @Test
@@ -434,6 +459,27 @@ class ArticleServiceTest {
         assertEquals(3, unanalyzedArticles.size());
     }
 
+    @Test
+    @DisplayName("Should exclude analyzed articles from unanalyzed listings")
+    @TestTransaction
+    void testGetUnanalyzedArticlesExcludesAnalyzed() {
+        // Given
+        createTestData();
+        testArticle3.markAnalyzed(Instant.now());
+        entityManager.flush();
+        ArticleFilter filter = ArticleFilter.withDefaults();
+
+        // When
+        List<ArticleEntity> unanalyzedArticles = articleService.getUnanalyzedArticles(filter);
+        ArticlePage<ArticleEntity> page = articleService.getUnanalyzedArticlesAfterCursor(filter, null);
+
+        // Then
+        assertEquals(List.of(testArticle2.id, testArticle1.id),
+                unanalyzedArticles.stream().map(article -> article.id).toList());
+        assertEquals(List.of(testArticle2.id, testArticle1.id),
+                page.items().stream().map(article -> article.id).toList());
+    }
+
     @Test
     @DisplayName("Should handle case-insensitive title search")
     @TestTransaction
@@ -496,4 +542,253 @@ class ArticleServiceTest {
         // Then
         assertTrue(articles.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should page through articles with a cursor")
+    @TestTransaction
+    void testGetArticlesAfterCursor() {
+        // Given
+        createTestData();
+        ArticleFilter filter = ArticleFilter.builder()
+                .size(2)
+                .build();
+
+        // When
+        ArticlePage<ArticleEntity> firstPage = articleService.getArticlesAfterCursor(filter, null);
+        ArticlePage<ArticleEntity> secondPage = articleService.getArticlesAfterCursor(filter, firstPage.nextCursor());
+
+        // Then
+        assertEquals(2, firstPage.items().size());
+        assertTrue(firstPage.hasMore());
+        assertNotNull(firstPage.nextCursor());
+        assertEquals(testArticle3.id, firstPage.items().get(0).id);
+        assertEquals(testArticle2.id, firstPage.items().get(1).id);
+
+        assertEquals(1, secondPage.items().size());
+        assertFalse(secondPage.hasMore());
+        assertNull(secondPage.nextCursor());
+        assertEquals(testArticle1.id, secondPage.items().get(0).id);
+    }
+
+    @Test
+    @DisplayName("Should break createdAt ties by id when paging with a cursor")
+    @TestTransaction
+    void testGetArticlesAfterCursorWithEqualTimestamps() {
+        // Given
+        createTestData();
+        testArticle2.createdAt = testArticle3.createdAt;
+        entityManager.flush();
+        ArticleFilter filter = ArticleFilter.builder()
+                .size(1)
+                .build();
+
+        // When
+        ArticlePage<ArticleEntity> page1 = articleService.getArticlesAfterCursor(filter, null);
+        ArticlePage<ArticleEntity> page2 = articleService.getArticlesAfterCursor(filter, page1.nextCursor());
+        ArticlePage<ArticleEntity> page3 = articleService.getArticlesAfterCursor(filter, page2.nextCursor());
+
+        // Then - no article is skipped or repeated
+        assertEquals(testArticle3.id, page1.items().get(0).id);
+        assertEquals(testArticle2.id, page2.items().get(0).id);
+        assertEquals(testArticle1.id, page3.items().get(0).id);
+        assertFalse(page3.hasMore());
+    }
+
+    @Test
+    @DisplayName("Should apply filters when paging unanalyzed articles with a cursor")
+    @TestTransaction
+    void testGetUnanalyzedArticlesAfterCursor() {
+        // Given
+        createTestData();
+        ArticleFilter filter = ArticleFilter.builder()
+                .authorId(testAuthor1.id)
+                .size(1)
+                .build();
+
+        // When
+        ArticlePage<ArticleEntity> firstPage = articleService.getUnanalyzedArticlesAfterCursor(filter, null);
+        ArticlePage<ArticleEntity> secondPage = articleService.getUnanalyzedArticlesAfterCursor(filter, firstPage.nextCursor());
+
+        // Then
+        assertEquals(testArticle3.id, firstPage.items().get(0).id);
+        assertTrue(firstPage.hasMore());
+        assertEquals(testArticle1.id, secondPage.items().get(0).id);
+        assertFalse(secondPage.hasMore());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors")
+    @TestTransaction
+    void testGetArticlesAfterCursorInvalid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> articleService.getArticlesAfterCursor(ArticleFilter.withDefaults(), "not-a-cursor"));
+    }
+
+    @Test
+    @DisplayName("Should list article summaries with author and text length instead of text")
+    @TestTransaction
+    void testGetArticleSummariesForAnalysis() {
+        // Given
+        createTestData();
+        ArticleFilter filter = ArticleFilter.builder()
+                .authorId(testAuthor1.id)
+                .build();
+
+        // When
+        List<ArticleSummary> summaries = articleService.getArticleSummariesForAnalysis(filter);
+
+        // Then
+        assertEquals(2, summaries.size());
+        ArticleSummary first = summaries.get(0);
+        assertEquals(testArticle3.id, first.id());
+        assertEquals("Third Article", first.title());
+        assertEquals("https://example.com/article3", first.url());
+        assertEquals("John Doe", first.author().name());
+        assertEquals("https://example.com/john.jpg", first.author().avatarUrl());
+        assertEquals(ArticleAnalysisState.PENDING, first.analysisState());
+        assertEquals("Content of article 3".length(), first.textLength());
+        assertEquals(testArticle1.id, summaries.get(1).id());
+    }
+
+    @Test
+    @DisplayName("Should report the length of compressed article bodies in summaries")
+    @TestTransaction
+    void testGetArticleSummariesTextLength() {
+        // Given
+        AuthorEntity author = new AuthorEntity("Long Author", null);
+        author.persist();
+        String text = "Long article content. ".repeat(100);
+        new ArticleEntity(new Article("Long Article", "https://example.com/long", text), "test-crawler", author).persist();
+
+        // When
+        List<ArticleSummary> summaries = articleService.getArticleSummariesForAnalysis(ArticleFilter.withDefaults());
+
+        // Then
+        assertEquals(1, summaries.size());
+        assertEquals(text.trim().length(), summaries.get(0).textLength());
+    }
+
+    @Test
+    @DisplayName("Should page through article summaries with a cursor")
+    @TestTransaction
+    void testGetArticleSummariesAfterCursor() {
+        // Given
+        createTestData();
+        ArticleFilter filter = ArticleFilter.builder()
+                .size(2)
+                .build();
+
+        // When
+        ArticlePage<ArticleSummary> firstPage = articleService.getArticleSummariesAfterCursor(filter, null);
+        ArticlePage<ArticleSummary> secondPage = articleService.getArticleSummariesAfterCursor(filter, firstPage.nextCursor());
+
+        // Then
+        assertEquals(List.of(testArticle3.id, testArticle2.id),
+                firstPage.items().stream().map(ArticleSummary::id).toList());
+        assertTrue(firstPage.hasMore());
+        assertEquals(1, secondPage.items().size());
+        assertEquals(testArticle1.id, secondPage.items().get(0).id());
+        assertFalse(secondPage.hasMore());
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should load a single article with text and author")
+    @TestTransaction
+    void testGetArticleWithText() {
+        // Given
+        createTestData();
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ArticleEntity article = articleService.getArticleWithText(testArticle2.id);
+
+        // Then
+        assertNotNull(article);
+        assertEquals("Content of article 2", article.getText());
+        assertEquals("Jane Smith", article.author.name);
+        assertNull(articleService.getArticleWithText(-1L));
+    }
+
+    @Test
+    @DisplayName("Should stream all matching articles in listing order")
+    @TestTransaction
+    void testStreamArticlesForAnalysis() {
+        // Given
+        createTestData();
+
+        // When
+        List<Long> ids;
+        try (var stream = articleService.streamArticlesForAnalysis(ArticleFilter.withPagination(0, 1))) {
+            ids = stream.map(article -> article.id).toList();
+        }
+
+        // Then - pagination fields are ignored
+        assertEquals(List.of(testArticle3.id, testArticle2.id, testArticle1.id), ids);
+    }
+
+    @Test
+    @DisplayName("Should serve cached article counts")
+    @TestTransaction
+    void testGetCachedArticleCountForAnalysis() {
+        // Given
+        createTestData();
+        articleService.invalidateArticleCounts();
+        ArticleFilter filter = ArticleFilter.builder()
+                .authorId(testAuthor1.id)
+                .build();
+
+        // When
+        long first = articleService.getCachedArticleCountForAnalysis(filter);
+        Article extra = new Article("Extra Article", "https://example.com/extra", "Extra content");
+        new ArticleEntity(extra, "test-crawler", testAuthor1).persist();
+        long cached = articleService.getCachedArticleCountForAnalysis(ArticleFilter.builder()
+                .authorId(testAuthor1.id)
+                .page(3)
+                .build());
+        articleService.invalidateArticleCounts();
+        long refreshed = articleService.getCachedArticleCountForAnalysis(filter);
+
+        // Then
+        assertEquals(2, first);
+        assertEquals(2, cached);
+        assertEquals(3, refreshed);
+    }
+
+    @Test
+    @DisplayName("Should ingest a batch and report which URLs were new")
+    void testIngestBatch() {
+        // ingestBatch commits on its own, so this test runs outside a test transaction
+        List<Article> firstBatch = List.of(
+                new Article("Batch Article 1", "https://example.com/batch1", "Content of batch article 1"),
+                new Article("Batch Article 2", "https://example.com/batch2", "Content of batch article 2"));
+        List<Article> secondBatch = List.of(
+                new Article("Batch Article 2", "https://example.com/batch2", "Content of batch article 2"),
+                new Article("Batch Article 3", "https://example.com/batch3 ", "Content of batch article 3"),
+                new Article("Batch Article 3", "https://example.com/batch3", "Content of batch article 3"));
+
+        try {
+            // When
+            ArticleService.IngestResult first = articleService.ingestBatch(firstBatch, "batch-crawler",
+                    "Batch Author", "https://example.com/batch.jpg");
+            ArticleService.IngestResult second = articleService.ingestBatch(secondBatch, "batch-crawler",
+                    "Batch Author", null);
+
+            // Then
+            assertEquals(List.of("https://example.com/batch1", "https://example.com/batch2"), first.newUrls());
+            assertTrue(first.existingUrls().isEmpty());
+            assertEquals(List.of("https://example.com/batch3"), second.newUrls());
+            assertEquals(2, second.existingUrls().size());
+            assertTrue(second.existingUrls().contains("https://example.com/batch2"));
+
+            assertEquals(3, ArticleEntity.count("crawlerSource", "batch-crawler"));
+            assertEquals(3, ArticleEntity.count("crawlerSource = ?1 and author.name = ?2", "batch-crawler", "Batch Author"));
+        } finally {
+            QuarkusTransaction.requiringNew().run(() -> {
+                ArticleEntity.delete("crawlerSource", "batch-crawler");
+                AuthorEntity.delete("name", "Batch Author");
+            });
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ai.falsify.crawlers.common.service;
+
+import ai.falsify.crawlers.common.model.AuthorEntity;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class AuthorCacheTest {
+
+    private static final String NAME = "Cached Author";
+
+    @Inject
+    AuthorCache authorCache;
+
+    @AfterEach
+    void tearDown() {
+        authorCache.invalidateAll();
+        QuarkusTransaction.requiringNew().run(() -> AuthorEntity.delete("LOWER(name) = LOWER(?1)", NAME));
+    }
+
+    @Test
+    @DisplayName("Should resolve names case-insensitively to one stored author")
+    void testResolvesCaseInsensitively() {
+        Long first = resolveId(NAME, null);
+        Long second = resolveId("  cached AUTHOR ", null);
+
+        assertEquals(first, second);
+        assertEquals(1, QuarkusTransaction.requiringNew().call(
+                () -> AuthorEntity.count("LOWER(name) = LOWER(?1)", NAME)));
+    }
+
+    @Test
+    @DisplayName("Should update the avatar when it changes")
+    void testUpdatesAvatar() {
+        Long id = resolveId(NAME, "https://example.com/old.jpg");
+        assertEquals(id, resolveId(NAME, "https://example.com/new.jpg"));
+
+        AuthorEntity stored = QuarkusTransaction.requiringNew().call(() -> AuthorEntity.findById(id));
+        assertEquals("https://example.com/new.jpg", stored.avatarUrl);
+    }
+
+    @Test
+    @DisplayName("Should resolve blank names to the unknown author")
+    void testBlankNames() {
+        AuthorEntity unknown = QuarkusTransaction.requiringNew().call(AuthorEntity::getUnknownAuthor);
+
+        assertEquals(unknown.id, resolveId(null, "https://example.com/avatar.jpg"));
+        assertEquals(unknown.id, resolveId("   ", null));
+    }
+
+    private Long resolveId(String name, String avatarUrl) {
+        return QuarkusTransaction.requiringNew().call(() -> authorCache.resolve(name, avatarUrl).id);
+    }
+}
@@ -0,0 +1,120 @@
+package ai.falsify.crawlers.common.service;
+
+import ai.falsify.crawlers.common.model.*;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(AuthorStatsServiceTest.TestProfile.class)
+class AuthorStatsServiceTest {
+
+    @Inject
+    AuthorStatsService authorStatsService;
+
+    @Inject
+    ArticleService articleService;
+
+    @Test
+    @DisplayName("Should add articles and predictions to the author's totals")
+    @TestTransaction
+    void testRecordsIncrementally() {
+        AuthorEntity author = new AuthorEntity("Stats Author", null);
+        author.persist();
+        Instant older = Instant.now().minus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS);
+        Instant newer = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        authorStatsService.recordArticles(author.id, 2, newer);
+        authorStatsService.recordArticles(author.id, 1, older);
+        authorStatsService.recordPredictions(author.id, 4);
+
+        AuthorStatsEntity.getEntityManager().clear();
+        AuthorStatsEntity stats = AuthorStatsEntity.findById(author.id);
+        assertEquals(3, stats.articleCount);
+        assertEquals(newer, stats.latestArticleAt);
+        assertEquals(4, stats.predictionCount);
+    }
+
+    @Test
+    @DisplayName("Should rebuild totals and serve them to author listings")
+    @TestTransaction
+    void testRebuildAndRead() {
+        AuthorEntity author = new AuthorEntity("Rebuilt Author", null);
+        author.persist();
+        new ArticleEntity(new Article("Stats Article 1", "https://example.com/stats1", "Content 1"),
+                "test-crawler", author).persist();
+        new ArticleEntity(new Article("Stats Article 2", "https://example.com/stats2", "Content 2"),
+                "test-crawler", author).persist();
+        AuthorEntity idle = new AuthorEntity("Idle Author", null);
+        idle.persist();
+
+        authorStatsService.rebuild();
+
+        List<ArticleService.AuthorStats> stats = articleService.getAuthorStats();
+        ArticleService.AuthorStats rebuilt = stats.stream()
+                .filter(entry -> entry.author().id().equals(author.id))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, rebuilt.articleCount());
+        assertNotNull(rebuilt.latestArticleAt());
+        assertEquals(0, rebuilt.predictionCount());
+
+        ArticleService.AuthorWithCount idleCount = articleService.getAuthorsWithCounts().stream()
+                .filter(entry -> entry.author().id().equals(idle.id))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(0, idleCount.articleCount());
+    }
+
+    @Test
+    @DisplayName("Should add up concurrent first writes for the same author")
+    void testConcurrentFirstWrites() throws Exception {
+        Long authorId = QuarkusTransaction.requiringNew().call(() -> {
+            AuthorEntity author = new AuthorEntity("Concurrent Stats Author", null);
+            author.persist();
+            return author.id;
+        });
+        CountDownLatch start = new CountDownLatch(1);
+        Instant now = Instant.now();
+
+        List<CompletableFuture<Void>> writers = List.of(1, 2, 3, 4).stream()
+                .map(count -> CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    authorStatsService.recordArticles(authorId, count, now);
+                }))
+                .toList();
+        start.countDown();
+        CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).get();
+
+        AuthorStatsEntity stats = QuarkusTransaction.requiringNew().call(() -> AuthorStatsEntity.findById(authorId));
+        assertEquals(10, stats.articleCount);
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            AuthorStatsEntity.deleteById(authorId);
+            AuthorEntity.deleteById(authorId);
+        });
+    }
+
+    public static class TestProfile implements io.quarkus.test.junit.QuarkusTestProfile {
+        @Override
+        public java.util.Map<String, String> getConfigOverrides() {
+            return java.util.Map.of("articles.author-stats.enabled", "true");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ai.falsify.crawlers.common.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should never report an added value as absent")
+    void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("https://example.com/article-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("https://example.com/article-" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep false positives near the configured rate")
+    void testFalsePositiveRate() {
+        // Given
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("https://example.com/article-" + i);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("https://example.com/other-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertTrue(falsePositives < 300, "Unexpected false positive count: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Should forget all values when cleared")
+    void testClear() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        filter.put("a");
+
+        filter.clear();
+
+        assertFalse(filter.mightContain("a"));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid configuration")
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.0));
+    }
+}
@@ -0,0 +1,76 @@
+package ai.falsify.crawlers.common.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedExpiringSetTest {
+
+    @Test
+    @DisplayName("Should report repeated values as already present")
+    void testAddAndContains() {
+        BoundedExpiringSet set = new BoundedExpiringSet(100, Duration.ofMinutes(1));
+
+        assertTrue(set.add("a"));
+        assertFalse(set.add("a"));
+        assertTrue(set.contains("a"));
+        assertFalse(set.contains("b"));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    @DisplayName("Should expire entries after their TTL")
+    void testExpiration() {
+        // Given
+        AtomicLong now = new AtomicLong(1_000);
+        BoundedExpiringSet set = new BoundedExpiringSet(100, Duration.ofSeconds(10), now::get);
+        set.add("a");
+
+        // When
+        now.addAndGet(Duration.ofSeconds(10).toMillis());
+
+        // Then
+        assertFalse(set.contains("a"));
+        assertTrue(set.add("a"));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    @DisplayName("Should never grow beyond its capacity")
+    void testBoundedCapacity() {
+        BoundedExpiringSet set = new BoundedExpiringSet(1_000, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 50_000; i++) {
+            set.add("value-" + i);
+        }
+
+        assertTrue(set.size() <= set.capacity());
+        assertTrue(set.contains("value-49999"));
+        assertFalse(set.contains("value-0"));
+    }
+
+    @Test
+    @DisplayName("Should remove and clear entries")
+    void testRemoveAndClear() {
+        BoundedExpiringSet set = new BoundedExpiringSet(100, Duration.ofMinutes(1));
+        set.add("a");
+        set.add("b");
+
+        assertTrue(set.remove("a"));
+        assertFalse(set.remove("a"));
+
+        set.clear();
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid configuration")
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedExpiringSet(0, Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class, () -> new BoundedExpiringSet(10, Duration.ZERO));
+    }
+}
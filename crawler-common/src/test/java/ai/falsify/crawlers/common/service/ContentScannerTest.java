@@ -0,0 +1,112 @@
+package ai.falsify.crawlers.common.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentScannerTest {
+
+    // The regular expressions the scanner replaces, used as the reference
+    private static final Pattern HTML_TAG_PATTERN = Pattern.compile("<[^>]+>");
+    private static final Pattern EXCESSIVE_WHITESPACE_PATTERN = Pattern.compile("\\s{3,}");
+    private static final Pattern SCRIPT_TAG_PATTERN = Pattern.compile("<script[^>]*>.*?</script>",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern STYLE_TAG_PATTERN = Pattern.compile("<style[^>]*>.*?</style>",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private static final String[] FRAGMENTS = {
+            "a", "B", "word", "שלום", "ממשלה", " ", "  ", "\t", "\n", ".", "!", "?", "...", ",", "-", "'",
+            "<", ">", "<b>", "</p>", "<>", "<script>", "</SCRIPT>", "<Style type=x>", "</style>",
+            "The same sentence again", "İ", "Σ", "😀", "é", "Ü"
+    };
+
+    @Test
+    @DisplayName("Should report the same statistics as the regular expressions")
+    void testMatchesRegularExpressions() {
+        Random random = new Random(42);
+        for (int run = 0; run < 5_000; run++) {
+            StringBuilder text = new StringBuilder();
+            int fragments = 1 + random.nextInt(60);
+            for (int i = 0; i < fragments; i++) {
+                text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            assertMatchesReference(text.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should handle typical article text")
+    void testArticleText() {
+        String article = "  <p>The minister said the vote will pass.</p> Analysts disagree!   "
+                + "The same sentence again. The same sentence again. The same sentence again? "
+                + "<script type=\"text/javascript\">var x = 1;</script> Done.  ";
+
+        ContentScanner.Stats stats = ContentScanner.scan(article);
+
+        assertTrue(stats.hasScriptTags());
+        assertFalse(stats.hasStyleTags());
+        assertTrue(stats.hasExcessiveWhitespace());
+        assertEquals(2, stats.duplicateSentences());
+        assertMatchesReference(article);
+    }
+
+    @Test
+    @DisplayName("Should hash the same as the regular expression normalization")
+    void testContentHash() {
+        String text = "Hello,   World!  Ünïcödé \t text -- with (punctuation).";
+        assertEquals(referenceHash(text), ContentScanner.contentHash(text));
+        assertEquals(ContentScanner.contentHash("hello world!"), ContentScanner.contentHash("  HELLO, world! "));
+    }
+
+    private static void assertMatchesReference(String text) {
+        ContentScanner.Stats stats = ContentScanner.scan(text);
+
+        String tagsRemoved = HTML_TAG_PATTERN.matcher(text).replaceAll("");
+        double htmlRatio = (double) (text.length() - tagsRemoved.length()) / text.length();
+        String[] sentences = tagsRemoved.split("[.!?]+");
+
+        assertEquals(htmlRatio, stats.htmlRatio(), 1e-12, text);
+        assertEquals(SCRIPT_TAG_PATTERN.matcher(text).find(), stats.hasScriptTags(), text);
+        assertEquals(STYLE_TAG_PATTERN.matcher(text).find(), stats.hasStyleTags(), text);
+        assertEquals(EXCESSIVE_WHITESPACE_PATTERN.matcher(text).find(), stats.hasExcessiveWhitespace(), text);
+        assertEquals(tagsRemoved.trim().split("\\s+").length, stats.wordCount(), text);
+        if (sentences.length >= 3) {
+            assertEquals(sentences.length, stats.sentenceCount(), text);
+            assertEquals(referenceDuplicates(sentences), stats.duplicateSentences(), text);
+        }
+        assertEquals(referenceHash(text), stats.contentHash(), text);
+    }
+
+    private static int referenceDuplicates(String[] sentences) {
+        Set<String> unique = new HashSet<>();
+        int duplicates = 0;
+        for (String sentence : sentences) {
+            String normalized = sentence.trim().toLowerCase();
+            if (normalized.length() > 10 && !unique.add(normalized)) {
+                duplicates++;
+            }
+        }
+        return duplicates;
+    }
+
+    private static String referenceHash(String text) {
+        String normalized = text.replaceAll("\\s+", " ");
+        normalized = normalized.replaceAll("[\\p{Punct}&&[^.!?]]", "");
+        normalized = normalized.toLowerCase().trim();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
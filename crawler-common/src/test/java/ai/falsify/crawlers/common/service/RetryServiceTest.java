@@ -0,0 +1,80 @@
+package ai.falsify.crawlers.common.service;
+
+import ai.falsify.crawlers.common.config.CrawlerConfiguration;
+import ai.falsify.crawlers.common.exception.CrawlingException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class RetryServiceTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private RetryService retryService;
+    private SlidingWindowCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        CrawlerConfiguration config = Mockito.mock(CrawlerConfiguration.class, Mockito.RETURNS_DEEP_STUBS);
+        when(config.retry().maxAttempts()).thenReturn(3);
+        when(config.retry().enableCircuitBreaker()).thenReturn(true);
+
+        retryService = new RetryService();
+        retryService.config = config;
+
+        // An open breaker whose open duration has passed, so the next call is the half-open trial
+        breaker = new SlidingWindowCircuitBreaker(Duration.ofSeconds(10), 1, 1.0, Duration.ofSeconds(30), now::get);
+        assertTrue(breaker.recordFailure());
+        now.addAndGet(Duration.ofSeconds(31).toMillis());
+        retryService.circuitBreakers.put("redis_operation", breaker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        retryService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should release the half-open trial when it fails with a non-retryable exception")
+    void testNonRetryableTrialReleased() {
+        assertThrows(CrawlingException.class, () -> retryService.executeWithRetry(() -> {
+            throw new IllegalStateException("Bad input");
+        }, "redis_operation", IOException.class));
+
+        assertTrue(breaker.allowRequest(), "The next caller gets the trial");
+    }
+
+    @Test
+    @DisplayName("Should release the half-open trial when an async attempt fails with an error")
+    void testAsyncErrorTrialReleased() {
+        CompletableFuture<String> result = retryService.<String, IOException>executeWithRetryAsync(
+                () -> CompletableFuture.failedFuture(new AssertionError("Broken")),
+                "redis_operation", IOException.class).toCompletableFuture();
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, exception.getCause());
+        assertTrue(breaker.allowRequest(), "The next caller gets the trial");
+    }
+
+    @Test
+    @DisplayName("Should close the breaker once a later trial succeeds")
+    void testBreakerClosesAfterReleasedTrial() throws CrawlingException {
+        assertThrows(CrawlingException.class, () -> retryService.executeWithRetry(() -> {
+            throw new IllegalStateException("Bad input");
+        }, "redis_operation", IOException.class));
+
+        assertEquals("ok", retryService.executeWithRetry(() -> "ok", "redis_operation", IOException.class));
+        assertFalse(breaker.isOpen());
+    }
+}
@@ -0,0 +1,114 @@
+package ai.falsify.crawlers.common.service;
+
+import ai.falsify.crawlers.common.model.Article;
+import ai.falsify.crawlers.common.model.ArticleEntity;
+import ai.falsify.crawlers.common.model.AuthorEntity;
+import ai.falsify.crawlers.common.model.PredictionEntity;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the PostgreSQL database of the test profile, where {@link SchemaMaintenance}
+ * installs the search schema at startup.
+ */
+@QuarkusTest
+class SearchServicePostgresTest {
+
+    private static final String CRAWLER = "search-crawler";
+    private static final String AUTHOR = "Search Author";
+
+    @Inject
+    SearchService searchService;
+
+    @Inject
+    SchemaMaintenance schemaMaintenance;
+
+    @Inject
+    ArticleService articleService;
+
+    @AfterEach
+    void tearDown() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            ArticleEntity.delete("crawlerSource", CRAWLER);
+            AuthorEntity.delete("name", AUTHOR);
+            PredictionEntity.delete("predictionText LIKE ?1", "%תקציב המדינה%");
+        });
+    }
+
+    @Test
+    @DisplayName("Should install the search schema at startup")
+    void testSchemaInstalled() {
+        assertTrue(searchService.isSearchSchemaAvailable());
+    }
+
+    @Test
+    @DisplayName("Should find compressed article bodies through the word index")
+    void testArticleFullTextSearch() {
+        Long id = ingest("https://example.com/search1", "והממשלה אישרה את התוכנית. ".repeat(60));
+
+        SearchService.SearchResults<SearchService.ArticleHit> results = search("ממשלה");
+
+        assertEquals(SearchService.SearchMode.FULL_TEXT, results.mode());
+        assertEquals(List.of(id), results.hits().stream().map(SearchService.ArticleHit::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the trigram index for title substrings")
+    void testArticleSubstringSearch() {
+        Long id = ingest("https://example.com/search2", "Body");
+
+        SearchService.SearchResults<SearchService.ArticleHit> results = search("ticle Ti");
+
+        assertEquals(SearchService.SearchMode.SUBSTRING, results.mode());
+        assertEquals(List.of(id), results.hits().stream().map(SearchService.ArticleHit::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should backfill search documents of articles stored without one")
+    void testBackfill() {
+        Long id = ingest("https://example.com/search3", "הבחירות הוקדמו. ".repeat(60));
+        QuarkusTransaction.requiringNew().run(() -> ArticleEntity.getEntityManager()
+                .createNativeQuery("UPDATE articles SET search_vector = NULL WHERE id = ?1")
+                .setParameter(1, id)
+                .executeUpdate());
+        assertTrue(search("בחירות").hits().isEmpty());
+
+        schemaMaintenance.onStart(null);
+
+        assertEquals(List.of(id), search("בחירות").hits().stream().map(SearchService.ArticleHit::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should find predictions through the generated word index")
+    void testPredictionFullTextSearch() {
+        Long id = QuarkusTransaction.requiringNew().call(() -> {
+            PredictionEntity prediction = new PredictionEntity("תקציב המדינה יאושר עד סוף השנה", "politics");
+            prediction.persist();
+            return prediction.id;
+        });
+
+        SearchService.SearchResults<SearchService.PredictionHit> results = QuarkusTransaction.requiringNew()
+                .call(() -> searchService.searchPredictions("תקציב", 0, 10));
+
+        assertEquals(SearchService.SearchMode.FULL_TEXT, results.mode());
+        assertEquals(List.of(id), results.hits().stream().map(SearchService.PredictionHit::id).toList());
+    }
+
+    private Long ingest(String url, String text) {
+        articleService.ingestBatch(List.of(new Article("Search Article Title", url, text)), CRAWLER, AUTHOR, null);
+        return QuarkusTransaction.requiringNew().call(
+                () -> ArticleEntity.<ArticleEntity>find("url", url).firstResult().id);
+    }
+
+    private SearchService.SearchResults<SearchService.ArticleHit> search(String query) {
+        return QuarkusTransaction.requiringNew().call(() -> searchService.searchArticles(query, 0, 10));
+    }
+}
@@ -0,0 +1,37 @@
+package ai.falsify.crawlers.common.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchServiceTest {
+
+    @Test
+    @DisplayName("Should require every term as a prefix match")
+    void testPrefixQuery() {
+        assertEquals("budget:* & vote:*", SearchService.toPrefixQuery("  Budget, VOTE! "));
+    }
+
+    @Test
+    @DisplayName("Should strip Hebrew points and gershayim before splitting terms")
+    void testPrefixQueryHebrew() {
+        assertEquals("שלום:*", SearchService.toPrefixQuery("שָׁלוֹם"));
+        assertEquals("צהל:*", SearchService.toPrefixQuery("צה\"ל"));
+        assertEquals("צהל:*", SearchService.toPrefixQuery("צה״ל"));
+    }
+
+    @Test
+    @DisplayName("Should drop operators, single characters and repeated terms")
+    void testPrefixQuerySanitized() {
+        assertEquals("a1b2:* & cd:*", SearchService.toPrefixQuery("a1b2 & !cd | x cd:* (a1b2)"));
+        assertNull(SearchService.toPrefixQuery("& | ! x"));
+        assertNull(SearchService.toPrefixQuery(null));
+    }
+
+    @Test
+    @DisplayName("Should escape LIKE wildcards")
+    void testEscapeLike() {
+        assertEquals("50\\% off\\_now\\\\", SearchService.escapeLike("50% off_now\\"));
+    }
+}
@@ -0,0 +1,61 @@
+package ai.falsify.crawlers.common.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimHashTest {
+
+    private static final String COLUMN = "The government announced today that the new budget will be approved "
+            + "before the end of the month. Analysts expect the coalition to survive the vote, "
+            + "although several ministers have threatened to resign over the cuts to education. "
+            + "The opposition leader predicted that elections will be held within a year and that "
+            + "the prime minister will not complete his term. Markets reacted calmly to the news, "
+            + "and the shekel remained stable against the dollar throughout the trading day.";
+
+    @Test
+    @DisplayName("Should give equal texts equal fingerprints regardless of case and spacing")
+    void testEqualTexts() {
+        assertEquals(SimHash.fingerprint(COLUMN), SimHash.fingerprint(COLUMN));
+        assertEquals(SimHash.fingerprint(COLUMN), SimHash.fingerprint(COLUMN.toUpperCase().replace(" ", "  ")));
+    }
+
+    @Test
+    @DisplayName("Should keep lightly edited texts within a few bits")
+    void testNearDuplicate() {
+        String edited = COLUMN + " Correction: an earlier version misstated the date of the vote.";
+
+        long original = SimHash.fingerprint(COLUMN);
+        long copy = SimHash.fingerprint(edited);
+
+        assertTrue(SimHash.similarity(original, copy) >= 0.85,
+                "Similarity was " + SimHash.similarity(original, copy));
+    }
+
+    @Test
+    @DisplayName("Should keep unrelated texts far apart")
+    void testUnrelatedTexts() {
+        String other = "A local football club won the national cup on Saturday after a dramatic penalty "
+                + "shootout. Thousands of fans celebrated in the streets until the early morning hours, "
+                + "and the coach thanked the supporters for their patience during a difficult season.";
+
+        assertTrue(SimHash.similarity(SimHash.fingerprint(COLUMN), SimHash.fingerprint(other)) < 0.85);
+    }
+
+    @Test
+    @DisplayName("Should ignore Hebrew niqqud")
+    void testHebrewNiqqud() {
+        assertEquals(SimHash.fingerprint("שָׁלוֹם עוֹלָם וּמְלוֹאוֹ"), SimHash.fingerprint("שלום עולם ומלואו"));
+    }
+
+    @Test
+    @DisplayName("Should convert similarity thresholds to bit distances")
+    void testMaxDistance() {
+        assertEquals(0, SimHash.maxDistance(1.0));
+        assertEquals(6, SimHash.maxDistance(0.9));
+        assertEquals(3, SimHash.maxDistance(0.95));
+        assertEquals(0L, SimHash.fingerprint("  ... "));
+        assertThrows(IllegalArgumentException.class, () -> SimHash.maxDistance(1.5));
+    }
+}
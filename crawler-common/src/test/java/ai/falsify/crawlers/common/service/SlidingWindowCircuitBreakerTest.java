@@ -0,0 +1,107 @@
+package ai.falsify.crawlers.common.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private SlidingWindowCircuitBreaker breaker(int minimumFailures, double failureRate) {
+        return new SlidingWindowCircuitBreaker(Duration.ofSeconds(10), minimumFailures, failureRate,
+                Duration.ofSeconds(30), now::get);
+    }
+
+    @Test
+    @DisplayName("Should open once failures and failure rate reach the thresholds")
+    void testOpensOnFailureRate() {
+        SlidingWindowCircuitBreaker breaker = breaker(3, 0.5);
+        for (int i = 0; i < 4; i++) {
+            breaker.recordSuccess();
+        }
+
+        assertFalse(breaker.recordFailure());
+        assertFalse(breaker.recordFailure());
+        assertFalse(breaker.recordFailure(), "3 of 7 calls failed, below the rate");
+        assertTrue(breaker.recordFailure(), "4 of 8 calls failed");
+
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.allowRequest());
+        assertEquals(4, breaker.getFailureCount());
+    }
+
+    @Test
+    @DisplayName("Should forget outcomes that left the window")
+    void testSlidingWindow() {
+        SlidingWindowCircuitBreaker breaker = breaker(3, 0.5);
+        breaker.recordFailure();
+        breaker.recordFailure();
+
+        now.addAndGet(Duration.ofSeconds(11).toMillis());
+
+        assertEquals(0, breaker.getFailureCount());
+        assertFalse(breaker.recordFailure());
+        assertFalse(breaker.isOpen());
+    }
+
+    @Test
+    @DisplayName("Should let one trial call through after the open duration")
+    void testHalfOpen() {
+        SlidingWindowCircuitBreaker breaker = breaker(1, 1.0);
+        assertTrue(breaker.recordFailure());
+
+        now.addAndGet(Duration.ofSeconds(31).toMillis());
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.allowRequest(), "Only one trial call while half-open");
+
+        // A failed trial keeps the breaker open for another period
+        assertTrue(breaker.recordFailure());
+        assertFalse(breaker.allowRequest());
+
+        now.addAndGet(Duration.ofSeconds(31).toMillis());
+        assertTrue(breaker.allowRequest());
+        breaker.recordSuccess();
+
+        assertFalse(breaker.isOpen());
+        assertTrue(breaker.allowRequest());
+        assertEquals(0, breaker.getFailureCount());
+    }
+
+    @Test
+    @DisplayName("Should count concurrent outcomes without losing updates")
+    void testConcurrentFailures() throws InterruptedException {
+        SlidingWindowCircuitBreaker breaker = breaker(100_000, 1.0);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    breaker.recordFailure();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(8_000, breaker.getFailureCount());
+    }
+
+    @Test
+    @DisplayName("Should reset to closed")
+    void testReset() {
+        SlidingWindowCircuitBreaker breaker = breaker(1, 1.0);
+        breaker.recordFailure();
+
+        breaker.reset();
+
+        assertFalse(breaker.isOpen());
+        assertEquals(0, breaker.getFailureCount());
+        assertNull(breaker.getLastFailureTime());
+    }
+}
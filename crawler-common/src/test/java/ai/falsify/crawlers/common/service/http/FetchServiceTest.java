@@ -0,0 +1,339 @@
+package ai.falsify.crawlers.common.service.http;
+
+import ai.falsify.crawlers.common.config.CrawlerConfiguration;
+import ai.falsify.crawlers.common.exception.CrawlingException;
+import ai.falsify.crawlers.common.exception.NetworkException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpHeaders;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FetchServiceTest {
+
+    private static final String PAGE = "<html><head><title>כותרת</title></head><body><p>שלום עולם</p></body></html>";
+
+    private final Map<String, ValidatorStore.Validators> stored = new ConcurrentHashMap<>();
+    private final List<String> ifNoneMatch = new ArrayList<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    private volatile String acceptEncoding;
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String baseUrl;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/gzip", exchange -> {
+            acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=windows-1255");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            respond(exchange, 200, gzip(PAGE.getBytes(Charset.forName("windows-1255"))));
+        });
+        server.createContext("/etag", exchange -> {
+            String validator = exchange.getRequestHeaders().getFirst("If-None-Match");
+            synchronized (ifNoneMatch) {
+                ifNoneMatch.add(validator);
+            }
+            if ("\"v1\"".equals(validator)) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.getResponseHeaders().add("Last-Modified", "Wed, 01 Jan 2025 00:00:00 GMT");
+            respond(exchange, 200, PAGE.getBytes(StandardCharsets.UTF_8));
+        });
+        server.createContext("/redirect", exchange -> {
+            exchange.getResponseHeaders().add("Location", "/etag");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        server.createContext("/loop", exchange -> {
+            exchange.getResponseHeaders().add("Location", "/loop");
+            exchange.sendResponseHeaders(301, -1);
+            exchange.close();
+        });
+        server.createContext("/missing", exchange -> respond(exchange, 404, new byte[0]));
+        server.createContext("/throttled", exchange -> {
+            exchange.getResponseHeaders().add("Retry-After", "120");
+            respond(exchange, 429, new byte[0]);
+        });
+        server.createContext("/slow", exchange -> {
+            int now = active.incrementAndGet();
+            maxActive.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            active.decrementAndGet();
+            respond(exchange, 200, PAGE.getBytes(StandardCharsets.UTF_8));
+        });
+        server.createContext("/stalled", exchange -> {
+            exchange.sendResponseHeaders(200, PAGE.length() * 2L);
+            exchange.getResponseBody().write(PAGE.getBytes(StandardCharsets.UTF_8), 0, 10);
+            exchange.getResponseBody().flush();
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.createContext("/large", exchange -> {
+            byte[] page = ("<html><body><p>" + "x".repeat(4096) + "</p></body></html>").getBytes(StandardCharsets.UTF_8);
+            // Without a declared length the body is sent chunked and the cap applies while reading
+            boolean declared = !"chunked".equals(exchange.getRequestURI().getQuery());
+            exchange.sendResponseHeaders(200, declared ? page.length : 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(page);
+            } catch (IOException e) {
+                // The client hung up
+            }
+        });
+        server.createContext("/expanding", exchange -> {
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            respond(exchange, 200, gzip(("<html><body><p>" + "x".repeat(8192) + "</p></body></html>")
+                    .getBytes(StandardCharsets.UTF_8)));
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private FetchService fetchService(int maxConnectionsPerHost) {
+        CrawlerConfiguration config = config(maxConnectionsPerHost);
+        return fetchService(config, new PolitenessScheduler(config));
+    }
+
+    private FetchService fetchService(CrawlerConfiguration config, PolitenessScheduler scheduler) {
+        return new FetchService(config, new ValidatorStore() {
+            @Override
+            public Optional<Validators> get(String url) {
+                return Optional.ofNullable(stored.get(url));
+            }
+
+            @Override
+            public void put(String url, Validators validators) {
+                stored.put(url, validators);
+            }
+        }, scheduler);
+    }
+
+    private static CrawlerConfiguration config(int maxConnectionsPerHost) {
+        return config(maxConnectionsPerHost, "PT30S");
+    }
+
+    private static CrawlerConfiguration config(int maxConnectionsPerHost, String readTimeout) {
+        return config(maxConnectionsPerHost, readTimeout, "10485760");
+    }
+
+    private static CrawlerConfiguration config(int maxConnectionsPerHost, String readTimeout, String maxBodySize) {
+        return new SmallRyeConfigBuilder()
+                .withMapping(CrawlerConfiguration.class)
+                .withDefaultValue("crawler.common.network.max-connections-per-host", String.valueOf(maxConnectionsPerHost))
+                .withDefaultValue("crawler.common.network.read-timeout", readTimeout)
+                .withDefaultValue("crawler.common.network.max-body-size", maxBodySize)
+                .withDefaultValue("crawler.common.performance.request-delay", "PT0.01S")
+                .build()
+                .getConfigMapping(CrawlerConfiguration.class);
+    }
+
+    @Test
+    @DisplayName("Should decode compressed pages in the declared charset")
+    void testCompressedPage() throws NetworkException {
+        FetchResult result = fetchService(4).fetch(baseUrl + "/gzip");
+
+        assertEquals(200, result.statusCode());
+        assertFalse(result.notModified());
+        assertTrue(acceptEncoding.contains("gzip"));
+        assertEquals("כותרת", result.document().title());
+        assertEquals("שלום עולם", result.document().selectFirst("p").text());
+    }
+
+    @Test
+    @DisplayName("Should re-fetch unchanged pages conditionally")
+    void testConditionalFetch() throws NetworkException {
+        FetchService fetchService = fetchService(4);
+        String url = baseUrl + "/etag";
+
+        FetchResult first = fetchService.fetch(url);
+        assertEquals(200, first.statusCode());
+        assertTrue(stored.isEmpty(), "validators are only stored once the page is handled");
+        fetchService.storeValidators(first);
+        assertEquals(new ValidatorStore.Validators("\"v1\"", "Wed, 01 Jan 2025 00:00:00 GMT"), stored.get(url));
+
+        FetchResult second = fetchService.fetch(url);
+        assertTrue(second.notModified());
+        assertNull(second.document());
+
+        FetchResult unconditional = fetchService.fetch(url, false);
+        assertEquals(200, unconditional.statusCode());
+        assertNotNull(unconditional.document());
+
+        assertEquals(Arrays.asList(null, "\"v1\"", null), ifNoneMatch);
+    }
+
+    @Test
+    @DisplayName("Should follow redirects up to the configured limit")
+    void testRedirects() throws NetworkException {
+        FetchService fetchService = fetchService(4);
+
+        FetchResult result = fetchService.fetch(baseUrl + "/redirect");
+        assertEquals(200, result.statusCode());
+        assertEquals(baseUrl + "/etag", result.finalUri().toString());
+
+        NetworkException e = assertThrows(NetworkException.class, () -> fetchService.fetch(baseUrl + "/loop"));
+        assertEquals(301, e.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should give up on a stalled body and release the host")
+    void testStalledBody() throws NetworkException {
+        CrawlerConfiguration config = config(1, "PT0.5S");
+        FetchService fetchService = fetchService(config, new PolitenessScheduler(config));
+
+        long start = System.nanoTime();
+        NetworkException e = assertThrows(NetworkException.class, () -> fetchService.fetch(baseUrl + "/stalled"));
+        assertEquals(CrawlingException.ErrorCode.NETWORK_TIMEOUT, e.getErrorCode());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(3)) < 0);
+
+        // The only permit of the host was released
+        assertEquals(200, fetchService.fetch(baseUrl + "/gzip").statusCode());
+    }
+
+    @Test
+    @DisplayName("Should reject bodies larger than the cap, declared or not")
+    void testBodyTooLarge() throws NetworkException {
+        CrawlerConfiguration config = config(1, "PT30S", "1024");
+        FetchService fetchService = fetchService(config, new PolitenessScheduler(config));
+
+        for (String path : List.of("/large", "/large?chunked", "/expanding")) {
+            NetworkException e = assertThrows(NetworkException.class, () -> fetchService.fetch(baseUrl + path));
+            assertEquals(CrawlingException.ErrorCode.NETWORK_INVALID_RESPONSE, e.getErrorCode(), path);
+            assertInstanceOf(FetchService.BodyTooLargeException.class, e.getCause(), path);
+        }
+
+        // Pages within the cap are still fetched, and the only permit of the host was released
+        assertEquals(200, fetchService.fetch(baseUrl + "/gzip").statusCode());
+    }
+
+    @Test
+    @DisplayName("Should fail on error responses")
+    void testErrorResponse() {
+        NetworkException e = assertThrows(NetworkException.class, () -> fetchService(4).fetch(baseUrl + "/missing"));
+        assertEquals(404, e.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should slow a host down when it throttles")
+    void testThrottledResponse() {
+        CrawlerConfiguration config = config(4);
+        PolitenessScheduler scheduler = new PolitenessScheduler(config);
+        FetchService fetchService = fetchService(config, scheduler);
+
+        NetworkException e = assertThrows(NetworkException.class, () -> fetchService.fetch(baseUrl + "/throttled"));
+        assertEquals(429, e.getStatusCode());
+        assertEquals(Duration.ofMillis(20), scheduler.currentDelay("127.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("Should read Retry-After as seconds or as an HTTP date")
+    void testRetryAfter() {
+        assertEquals(Duration.ofSeconds(120), FetchService.retryAfter(headers("120")));
+        assertEquals(Duration.ZERO, FetchService.retryAfter(headers("Wed, 01 Jan 2025 00:00:00 GMT")));
+        assertEquals(Duration.ZERO, FetchService.retryAfter(headers("soon")));
+
+        String inAMinute = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(1));
+        Duration untilDate = FetchService.retryAfter(headers(inAMinute));
+        assertTrue(untilDate.compareTo(Duration.ofSeconds(50)) > 0 && untilDate.compareTo(Duration.ofSeconds(61)) < 0,
+                "Unexpected delay " + untilDate);
+    }
+
+    @Test
+    @DisplayName("Should cap concurrent requests to one host")
+    void testPerHostLimit() throws Exception {
+        FetchService fetchService = fetchService(2);
+        ExecutorService clients = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<FetchResult>> results = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                results.add(clients.submit(() -> fetchService.fetch(baseUrl + "/slow")));
+            }
+            for (Future<FetchResult> result : results) {
+                assertEquals(200, result.get().statusCode());
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        assertTrue(maxActive.get() <= 2, "At most 2 concurrent requests, saw " + maxActive.get());
+    }
+
+    @Test
+    @DisplayName("Should round-trip validators through their Redis encoding")
+    void testRedisValidatorEncoding() {
+        ValidatorStore.Validators both = new ValidatorStore.Validators("\"abc\"", "Wed, 01 Jan 2025 00:00:00 GMT");
+        assertEquals(both, RedisValidatorStore.decode(RedisValidatorStore.encode(both)));
+
+        ValidatorStore.Validators etagOnly = new ValidatorStore.Validators("W/\"abc\"", null);
+        assertEquals(etagOnly, RedisValidatorStore.decode(RedisValidatorStore.encode(etagOnly)));
+
+        assertNull(RedisValidatorStore.decode("\n"));
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private static HttpHeaders headers(String retryAfter) {
+        return HttpHeaders.of(Map.of("Retry-After", List.of(retryAfter)), (name, value) -> true);
+    }
+
+    private static byte[] gzip(byte[] raw) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(raw);
+        }
+        return output.toByteArray();
+    }
+}
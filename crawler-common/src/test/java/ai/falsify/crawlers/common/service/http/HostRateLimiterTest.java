@@ -0,0 +1,98 @@
+package ai.falsify.crawlers.common.service.http;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HostRateLimiterTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+    private static final long MILLI = Duration.ofMillis(1).toNanos();
+
+    @Test
+    @DisplayName("Should allow a burst and then pace requests one interval apart")
+    void testBurstThenPace() {
+        HostRateLimiter limiter = new HostRateLimiter(Duration.ofSeconds(1), 3, Duration.ofSeconds(30), 0);
+
+        assertEquals(0, limiter.reserve(0));
+        assertEquals(0, limiter.reserve(0));
+        assertEquals(0, limiter.reserve(0));
+        assertEquals(SECOND, limiter.reserve(0));
+        assertEquals(2 * SECOND, limiter.reserve(0));
+
+        // Debt is paid back over time before the bucket fills up again
+        assertEquals(0, limiter.reserve(3 * SECOND));
+        assertEquals(SECOND, limiter.reserve(3 * SECOND));
+    }
+
+    @Test
+    @DisplayName("Should block the host for Retry-After and double the interval on 429")
+    void testRetryAfter() {
+        HostRateLimiter limiter = new HostRateLimiter(Duration.ofSeconds(1), 3, Duration.ofSeconds(30), 0);
+
+        limiter.record(0, HostRateLimiter.TOO_MANY_REQUESTS, 10 * MILLI, 5 * SECOND);
+
+        assertEquals(Duration.ofSeconds(2), limiter.interval());
+        assertEquals(5 * SECOND, limiter.reserve(0));
+        assertEquals(SECOND, limiter.reserve(4 * SECOND));
+    }
+
+    @Test
+    @DisplayName("Should block the host for one interval on 503 without Retry-After")
+    void testUnavailableWithoutRetryAfter() {
+        HostRateLimiter limiter = new HostRateLimiter(Duration.ofSeconds(1), 3, Duration.ofSeconds(30), 0);
+
+        limiter.record(0, HostRateLimiter.SERVICE_UNAVAILABLE, 10 * MILLI, 0);
+
+        assertEquals(2 * SECOND, limiter.reserve(0));
+    }
+
+    @Test
+    @DisplayName("Should never slow down beyond the maximum interval")
+    void testMaximumInterval() {
+        HostRateLimiter limiter = new HostRateLimiter(Duration.ofSeconds(1), 1, Duration.ofSeconds(5), 0);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.record(0, HostRateLimiter.TOO_MANY_REQUESTS, 10 * MILLI, 0);
+        }
+
+        assertEquals(Duration.ofSeconds(5), limiter.interval());
+    }
+
+    @Test
+    @DisplayName("Should slow down when latency rises and recover when it drops")
+    void testAdaptsToLatency() {
+        HostRateLimiter limiter = new HostRateLimiter(Duration.ofSeconds(1), 3, Duration.ofSeconds(30), 0);
+
+        limiter.record(0, 200, 100 * MILLI, 0);
+        assertEquals(Duration.ofSeconds(1), limiter.interval());
+
+        for (int i = 0; i < 10; i++) {
+            limiter.record(0, 200, 1000 * MILLI, 0);
+        }
+        Duration slowed = limiter.interval();
+        assertTrue(slowed.compareTo(Duration.ofSeconds(2)) > 0, "Expected a slow-down, got " + slowed);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.record(0, 200, 100 * MILLI, 0);
+        }
+        assertEquals(Duration.ofSeconds(1), limiter.interval());
+    }
+
+    @Test
+    @DisplayName("Should start slowing down a host without a configured delay once it throttles")
+    void testZeroInterval() {
+        HostRateLimiter limiter = new HostRateLimiter(Duration.ZERO, 1, Duration.ofSeconds(30), 0);
+
+        assertEquals(0, limiter.reserve(0));
+        assertEquals(0, limiter.reserve(0));
+
+        limiter.record(0, HostRateLimiter.TOO_MANY_REQUESTS, 10 * MILLI, 0);
+
+        assertEquals(Duration.ofMillis(100), limiter.interval());
+        assertTrue(limiter.reserve(0) >= 100 * MILLI);
+    }
+}
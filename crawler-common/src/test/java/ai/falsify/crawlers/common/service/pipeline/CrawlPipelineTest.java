@@ -0,0 +1,176 @@
+package ai.falsify.crawlers.common.service.pipeline;
+
+import ai.falsify.crawlers.common.service.pipeline.CrawlPipeline.StageType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrawlPipelineTest {
+
+    @Test
+    @DisplayName("Should pass every item through all stages into batches")
+    void testAllItemsWritten() throws InterruptedException {
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        PipelineResult result = CrawlPipeline.builder("test", emitter -> {
+                    for (int i = 0; i < 25; i++) {
+                        emitter.emit(String.valueOf(i));
+                    }
+                })
+                .stage("parse", StageType.CPU, 2, Integer::parseInt)
+                .stage("double", StageType.IO, 4, value -> value * 2)
+                .sink(10, batch -> batches.add(List.copyOf(batch)))
+                .run();
+
+        assertEquals(25, result.discovered());
+        assertEquals(25, result.written());
+        assertEquals(0, result.failed());
+        assertEquals(List.of(10, 10, 5), batches.stream().map(List::size).toList());
+        assertEquals(IntStream.range(0, 25).map(i -> i * 2).sum(),
+                batches.stream().flatMap(List::stream).mapToInt(Integer::intValue).sum());
+
+        assertEquals(List.of("parse", "double", "sink"), result.stages().stream().map(StageStats::name).toList());
+        assertEquals(25, result.stages().get(0).processed());
+        assertEquals(25, result.stages().get(2).processed());
+    }
+
+    @Test
+    @DisplayName("Should report dropped and failed items and leave them out of the batches")
+    void testDiscardedItems() throws InterruptedException {
+        Map<String, String> discarded = new ConcurrentHashMap<>();
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+
+        PipelineResult result = CrawlPipeline.builder("test", emitter -> {
+                    for (int i = 0; i < 10; i++) {
+                        emitter.emit(String.valueOf(i));
+                    }
+                })
+                .stage("fetch", StageType.IO, 3, key -> {
+                    if (key.equals("3")) {
+                        throw new IOException("not found");
+                    }
+                    return Integer.parseInt(key);
+                })
+                .stage("validate", StageType.CPU, 1, value -> value % 2 == 0 ? value : null)
+                .onDiscarded((key, stage, cause) -> discarded.put(key, stage + (cause != null ? ":failed" : ":dropped")))
+                .sink(4, written::addAll)
+                .run();
+
+        assertEquals(Map.of("1", "validate:dropped", "3", "fetch:failed", "5", "validate:dropped",
+                "7", "validate:dropped", "9", "validate:dropped"), discarded);
+        assertEquals(5, written.size());
+        assertEquals(1, result.failed());
+        assertEquals(4, result.discarded());
+        assertEquals(5, result.written());
+    }
+
+    @Test
+    @DisplayName("Should hand items to the sink in discovery order when ordered")
+    void testOrdered() throws InterruptedException {
+        List<Integer> written = new ArrayList<>();
+
+        CrawlPipeline.builder("test", emitter -> {
+                    for (int i = 0; i < 50; i++) {
+                        emitter.emit(String.valueOf(i));
+                    }
+                })
+                .stage("fetch", StageType.IO, 8, key -> {
+                    Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+                    return Integer.parseInt(key);
+                })
+                .stage("validate", StageType.CPU, 2, value -> value % 10 == 0 ? null : value)
+                .ordered()
+                .sink(7, written::addAll)
+                .run();
+
+        assertEquals(IntStream.range(0, 50).filter(i -> i % 10 != 0).boxed().toList(), written);
+    }
+
+    @Test
+    @DisplayName("Should bound the work in flight by the stage's workers")
+    void testWorkerLimit() throws InterruptedException {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+
+        PipelineResult result = CrawlPipeline.builder("test", emitter -> {
+                    for (int i = 0; i < 20; i++) {
+                        emitter.emit(String.valueOf(i));
+                    }
+                })
+                .stage("fetch", StageType.IO, 3, key -> {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    Thread.sleep(10);
+                    active.decrementAndGet();
+                    return key;
+                })
+                .queueCapacity(2)
+                .sink(5, batch -> { })
+                .run();
+
+        assertEquals(20, result.written());
+        assertTrue(maxActive.get() <= 3, "At most 3 items in flight, saw " + maxActive.get());
+        assertTrue(result.stages().get(0).maxQueueDepth() <= 2);
+    }
+
+    @Test
+    @DisplayName("Should flush a partial batch once the flush interval passes")
+    void testFlushInterval() throws InterruptedException {
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+        CrawlPipeline.builder("test", emitter -> {
+                    emitter.emit("a");
+                    emitter.emit("b");
+                    Thread.sleep(300);
+                    emitter.emit("c");
+                })
+                .flushInterval(Duration.ofMillis(100))
+                .sink(10, batch -> batchSizes.add(batch.size()))
+                .run();
+
+        assertEquals(List.of(2, 1), batchSizes);
+    }
+
+    @Test
+    @DisplayName("Should report a failed discovery and a failed batch")
+    void testFailures() throws InterruptedException {
+        List<String> sinkFailures = Collections.synchronizedList(new ArrayList<>());
+
+        PipelineResult result = CrawlPipeline.builder("test", emitter -> {
+                    emitter.emit("a");
+                    throw new IOException("listing unavailable");
+                })
+                .onDiscarded((key, stage, cause) -> sinkFailures.add(stage + ":" + key))
+                .sink(10, batch -> {
+                    throw new IllegalStateException("database down");
+                })
+                .run();
+
+        assertTrue(result.discoveryFailure().isPresent());
+        assertEquals("listing unavailable", result.discoveryFailure().get().getMessage());
+        assertEquals(0, result.written());
+        assertEquals(1, result.failed());
+        assertEquals(List.of("sink:a"), sinkFailures);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void testInvalidSettings() {
+        CrawlPipeline.Builder<String> builder = CrawlPipeline.builder("test", emitter -> { });
+        assertThrows(IllegalArgumentException.class, () -> builder.stage("fetch", StageType.IO, 0, key -> key));
+        assertThrows(IllegalArgumentException.class, () -> builder.queueCapacity(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.flushInterval(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> builder.sink(0, batch -> { }));
+    }
+}
@@ -0,0 +1,27 @@
+package ai.falsify.crawlers.common.service.redis;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeduplicationServiceTest {
+
+    @Test
+    @DisplayName("Should give URLs that only differ in punctuation different fingerprints")
+    void testDistinctUrls() {
+        assertNotEquals(DeduplicationService.fingerprintUrl("https://example.com/a?b=1"),
+                DeduplicationService.fingerprintUrl("https://example.com/a_b_1"));
+        assertNotEquals(DeduplicationService.fingerprintUrl("https://example.com/news/1"),
+                DeduplicationService.fingerprintUrl("https://example.com/news_1"));
+    }
+
+    @Test
+    @DisplayName("Should give equivalent URLs the fingerprint of their canonical form")
+    void testCanonicalUrls() {
+        String fingerprint = DeduplicationService.fingerprintUrl("https://example.com/a?b=1");
+
+        assertEquals(16, fingerprint.length());
+        assertEquals(fingerprint, DeduplicationService.fingerprintUrl(" HTTPS://Example.com:443/a?b=1#comments"));
+    }
+}
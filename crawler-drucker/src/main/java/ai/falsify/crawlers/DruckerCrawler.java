@@ -1,23 +1,26 @@
 package ai.falsify.crawlers;
 
+import ai.falsify.crawlers.common.config.CrawlerConfiguration;
 import ai.falsify.crawlers.common.exception.ContentValidationException;
 import ai.falsify.crawlers.common.exception.CrawlingException;
 import ai.falsify.crawlers.common.exception.NetworkException;
 import ai.falsify.crawlers.common.exception.PersistenceException;
 import ai.falsify.crawlers.common.model.Article;
-import ai.falsify.crawlers.common.model.ArticleEntity;
-import ai.falsify.crawlers.common.model.AuthorEntity;
 import ai.falsify.crawlers.common.model.CrawlResult;
+import ai.falsify.crawlers.common.service.ArticleService;
 import ai.falsify.crawlers.common.service.ContentValidator;
 import ai.falsify.crawlers.common.service.RetryService;
+import ai.falsify.crawlers.common.service.http.FetchResult;
+import ai.falsify.crawlers.common.service.http.FetchService;
+import ai.falsify.crawlers.common.service.pipeline.CrawlPipeline;
+import ai.falsify.crawlers.common.service.pipeline.CrawlPipeline.StageType;
+import ai.falsify.crawlers.common.service.pipeline.PipelineResult;
 import ai.falsify.crawlers.common.service.redis.DeduplicationService;
 import ai.falsify.crawlers.service.CrawlingMetrics;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.transaction.Transactional;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -26,7 +29,12 @@ import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @ApplicationScoped
 public class DruckerCrawler {
@@ -37,7 +45,10 @@ public class DruckerCrawler {
     private final CrawlingMetrics metrics;
     private final RetryService retryService;
     private final ContentValidator contentValidator;
+    private final ArticleService articleService;
+    private final FetchService fetchService;
     private final DruckerCrawlerConfig config;
+    private final CrawlerConfiguration crawlerConfig;
     
     @ConfigProperty(name = "crawler.source.name")
     String crawlerSourceName;
@@ -46,19 +57,29 @@ public class DruckerCrawler {
     private int emptyPagesCount = 0;
 
     @Inject
-    public DruckerCrawler(DeduplicationService deduplicationService, CrawlingMetrics metrics, RetryService retryService, ContentValidator contentValidator, DruckerCrawlerConfig config) {
+    public DruckerCrawler(DeduplicationService deduplicationService, CrawlingMetrics metrics, RetryService retryService, ContentValidator contentValidator,
+                          ArticleService articleService, FetchService fetchService, DruckerCrawlerConfig config,
+                          CrawlerConfiguration crawlerConfig) {
         this.deduplicationService = deduplicationService;
         this.metrics = metrics;
         this.retryService = retryService;
         this.contentValidator = contentValidator;
+        this.articleService = articleService;
+        this.fetchService = fetchService;
         this.config = config;
+        this.crawlerConfig = crawlerConfig;
     }
 
     /**
      * Crawl multiple pages with early termination support when no articles are found.
-     * A transactional context is required for PanacheEntity.persist().
+     * Validated articles are stored in batches, each in its own transaction.
+     * <p>
+     * Runs on a {@link CrawlPipeline}: listing pages are walked by discovery while article
+     * pages are fetched on virtual threads, then parsed and validated on small platform
+     * pools, each stage sized by {@code crawler.common.pipeline}. Articles reach the batch
+     * writer in listing order, so batches and counts come out as in a sequential crawl.
+     * Requests stay paced by the politeness scheduler of {@link FetchService}.
      */
-    @Transactional
     public CrawlResult crawl() throws IOException {
         Instant crawlStart = Instant.now();
         LOG.infof("CRAWL_INITIATED: Starting crawl session at %s from URL: %s", crawlStart, config.baseUrl());
@@ -68,189 +89,53 @@ public class DruckerCrawler {
         
         // Reset metrics for this crawl session
         emptyPagesCount = 0;
-        
-        List<Article> articles = new ArrayList<>();
-        int processedCount = 0;
-        int skippedCount = 0;
-        int failedCount = 0;
-        int totalArticlesFound = 0;
-        boolean earlyTerminated = false;
+
+        CrawlState state = new CrawlState();
+        CrawlerConfiguration.PipelineConfig pipelineConfig = crawlerConfig.pipeline();
+        int fetchWorkers = config.concurrentFetch() ? pipelineConfig.fetchWorkers() : 1;
+        LOG.infof("FETCH_MODE: %s, up to %d articles in flight", config.concurrentFetch() ? "concurrent" : "sequential", fetchWorkers);
 
         try {
-            // Main pagination loop with early termination support
-            int pageNumber = 1;
-            int consecutiveEmptyPages = 0;
-            
-            while (pageNumber <= config.maxPages()) {
-                LOG.infof("PAGE_PROCESSING: Starting to process page %d/%d", pageNumber, config.maxPages());
-                
-                // Build page URL (for Drucker, we'll use the base URL for page 1, and add pagination for subsequent pages)
-                String pageUrl = buildPageUrl(pageNumber);
-                
-                try {
-                    // Track network operation for fetching the listing page
-                    LOG.debugf("NETWORK_REQUEST: Fetching listing page %d from %s", pageNumber, pageUrl);
-                    Instant networkStart = Instant.now();
-                    Document listingDoc = Jsoup.connect(pageUrl).get();
-                    Duration networkDuration = Duration.between(networkStart, Instant.now());
-                    metrics.recordNetworkOperation("listing_page_fetch", networkDuration);
-                    LOG.debugf("NETWORK_RESPONSE: Listing page %d fetched in %d ms", pageNumber, networkDuration.toMillis());
-                    
-                    Elements articleElements = listingDoc.select("article");
-                    int newArticlesOnPage = 0;
-                    
-                    LOG.infof("ARTICLES_DISCOVERED: Found %d article elements on page %d", articleElements.size(), pageNumber);
-                    totalArticlesFound += articleElements.size();
-
-                    // Process articles on this page
-                    for (Element articleEl : articleElements) {
-                        Element linkEl = articleEl.selectFirst("a");
-                        if (linkEl != null) {
-                            String url = linkEl.absUrl("href");
-
-                            // Check for duplicates using deduplication service
-                            if (!isNewUrl(url)) {
-                                skippedCount++;
-                                LOG.debugf("ARTICLE_SKIPPED: Article already exists in Redis (skipped=%d): %s", skippedCount, url);
-                                continue;
-                            }
-
-                            processedCount++;
-                            newArticlesOnPage++;
-                            LOG.infof("ARTICLE_PROCESSING: Starting processing of article %d (page %d): %s", processedCount, pageNumber, url);
-                            
-                            // Start metrics tracking for this article
-                            CrawlingMetrics.MetricsContext context = metrics.startArticleProcessing(url);
-                            
-                            try {
-                                Article article = fetchArticleWithRetry(url);
-                                if (article != null) {
-                                    LOG.debugf("ARTICLE_FETCHED: Successfully fetched article (title_length=%d, content_length=%d): %s", 
-                                            article.title().length(), article.text().length(), article.title());
-
-                                    // Validate article content
-                                    try {
-                                        LOG.debugf("CONTENT_VALIDATION: Starting content validation for article: %s", url);
-                                        Instant validationStart = Instant.now();
-                                        contentValidator.validateArticle(article.title(), article.url(), article.text());
-                                        Duration validationDuration = Duration.between(validationStart, Instant.now());
-                                        metrics.recordDatabaseOperation("content_validation", validationDuration);
-                                        LOG.debugf("CONTENT_VALIDATION_SUCCESS: Content validation passed in %d ms: %s", validationDuration.toMillis(), url);
-                                        
-                                        articles.add(article);
-                                        
-                                        // Persist article with retry logic
-                                        try {
-                                            persistArticleWithRetry(article);
-                                            LOG.debugf("ARTICLE_SUCCESS: Article processing completed successfully: %s", url);
-                                            // Record successful article processing
-                                            metrics.recordArticleCompletion(context, true);
-                                        } catch (PersistenceException e) {
-                                            failedCount++;
-                                            LOG.errorf(e, "PERSISTENCE_ERROR: Failed to persist article (failed=%d): %s", failedCount, url);
-                                            // Remove from articles list since persistence failed
-                                            articles.remove(article);
-                                            metrics.recordArticleCompletion(context, false);
-                                        }
-                                    } catch (ContentValidationException e) {
-                                        failedCount++;
-                                        LOG.warnf(e, "CONTENT_VALIDATION_FAILED: Article content validation failed (failed=%d): %s - %s", 
-                                                failedCount, url, e.getMessage());
-                                        // Record failed article processing due to validation
-                                        metrics.recordArticleCompletion(context, false);
-                                    }
-                                } else {
-                                    failedCount++;
-                                    LOG.warnf("ARTICLE_FAILED: Failed to fetch or parse article (failed=%d): %s", failedCount, url);
-                                    // Record failed article processing
-                                    metrics.recordArticleCompletion(context, false);
-                                }
-                            } catch (Exception e) {
-                                failedCount++;
-                                LOG.errorf(e, "ARTICLE_ERROR: Unexpected exception during article processing (failed=%d): %s", failedCount, url);
-                                metrics.recordArticleCompletion(context, false);
-                            }
-                        } else {
-                            LOG.debugf("PARSING_WARNING: No link found in article element on page %d, skipping", pageNumber);
-                        }
-                    }
-                    
-                    // Track empty pages for metrics and early termination
-                    if (newArticlesOnPage == 0) {
-                        emptyPagesCount++;
-                        consecutiveEmptyPages++;
-                        LOG.infof("EMPTY_PAGE_DETECTED: Page %d had no new articles (total empty pages: %d, consecutive: %d)", 
-                                pageNumber, emptyPagesCount, consecutiveEmptyPages);
-                    } else {
-                        consecutiveEmptyPages = 0; // Reset consecutive counter
-                        LOG.infof("PAGE_COMPLETED: Page %d processed successfully with %d new articles", pageNumber, newArticlesOnPage);
-                    }
-                    
-                    // Check for early termination
-                    if (config.enableEarlyTermination() && consecutiveEmptyPages >= config.emptyPageThreshold()) {
-                        LOG.infof("EARLY_TERMINATION: Stopping crawl after %d consecutive empty pages (threshold: %d)", 
-                                consecutiveEmptyPages, config.emptyPageThreshold());
-                        LOG.infof("EARLY_TERMINATION: Total articles collected before termination: %d", articles.size());
-                        earlyTerminated = true;
-                        break;
-                    }
-                    
-                    // Log progress
-                    Duration elapsed = Duration.between(crawlStart, Instant.now());
-                    LOG.infof("CRAWL_PROGRESS: Page %d completed - processed=%d, skipped=%d, failed=%d, elapsed=%d ms", 
-                            pageNumber, processedCount, skippedCount, failedCount, elapsed.toMillis());
-                    
-                    // Wait before processing next page (except for the last page)
-                    if (pageNumber < config.maxPages() && !earlyTerminated) {
-                        try {
-                            Thread.sleep(config.pageDelay().toMillis());
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            LOG.warn("PAGE_DELAY_INTERRUPTED: Page delay interrupted, stopping crawl");
-                            break;
-                        }
-                    }
-                    
-                } catch (IOException e) {
-                    LOG.errorf(e, "PAGE_ERROR: Failed to fetch page %d: %s", pageNumber, pageUrl);
-                    // Continue with next page instead of failing completely
-                    consecutiveEmptyPages++;
-                    if (config.enableEarlyTermination() && consecutiveEmptyPages >= config.emptyPageThreshold()) {
-                        LOG.warnf("EARLY_TERMINATION_ERROR: Stopping crawl due to consecutive page errors (%d)", consecutiveEmptyPages);
-                        earlyTerminated = true;
-                        break;
-                    }
-                }
-                
-                pageNumber++;
+            PipelineResult result = CrawlPipeline.builder("drucker", emitter -> discoverArticles(emitter, state, crawlStart))
+                    .stage("fetch", StageType.IO, fetchWorkers, this::fetchArticlePage)
+                    .stage("parse", StageType.CPU, pipelineConfig.parseWorkers(), this::extractArticle)
+                    .stage("validate", StageType.CPU, pipelineConfig.validateWorkers(), this::validateArticle)
+                    .configure(pipelineConfig)
+                    .ordered()
+                    .onDiscarded((url, stage, cause) -> articleDiscarded(state, url, stage, cause))
+                    .sink(crawlerConfig.performance().batchSize(), batch -> persistValidated(state, batch))
+                    .run();
+
+            if (result.discoveryFailure().isPresent()) {
+                throw result.discoveryFailure().get();
             }
 
             Duration totalDuration = Duration.between(crawlStart, Instant.now());
             
             // Log completion status with detailed reason
-            if (earlyTerminated) {
-                LOG.infof("CRAWL_COMPLETED_EARLY: Crawling terminated early after %d pages due to empty page threshold", pageNumber - 1);
-            } else if (pageNumber > config.maxPages()) {
+            if (state.earlyTerminated) {
+                LOG.infof("CRAWL_COMPLETED_EARLY: Crawling terminated early after %d pages due to empty page threshold", state.pagesCrawled);
+            } else if (state.pagesCrawled >= config.maxPages()) {
                 LOG.infof("CRAWL_COMPLETED_MAX: Crawling completed after reaching maximum pages limit (%d)", config.maxPages());
             } else {
                 LOG.infof("CRAWL_COMPLETED: Crawling completed naturally");
             }
             
             LOG.infof("CRAWL_SUMMARY: Session completed in %d ms - processed=%d, skipped=%d, failed=%d, fetched=%d", 
-                    totalDuration.toMillis(), processedCount, skippedCount, failedCount, articles.size());
-            LOG.infof("PAGINATION_METRICS: %d pages processed, %d empty pages encountered", pageNumber - 1, emptyPagesCount);
+                    totalDuration.toMillis(), state.processed.get(), state.skipped.get(), state.failed.get(), state.articles.size());
+            LOG.infof("PAGINATION_METRICS: %d pages processed, %d empty pages encountered", state.pagesCrawled, emptyPagesCount);
             
             // Log metrics summary at the end of crawling
             metrics.logSummary();
             
             // Build and return CrawlResult
             return new CrawlResult.Builder()
-                    .totalArticlesFound(totalArticlesFound)
-                    .articlesProcessed(processedCount)
-                    .articlesSkipped(skippedCount)
-                    .articlesFailed(failedCount)
+                    .totalArticlesFound(state.totalFound.get())
+                    .articlesProcessed(state.processed.get())
+                    .articlesSkipped(state.skipped.get())
+                    .articlesFailed(state.failed.get())
                     .processingTimeMs(totalDuration.toMillis())
-                    .articles(articles)
+                    .articles(state.articles)
                     .startTime(crawlStart)
                     .endTime(Instant.now())
                     .crawlerSource(crawlerSourceName)
@@ -260,11 +145,158 @@ public class DruckerCrawler {
         } catch (Exception e) {
             Duration totalDuration = Duration.between(crawlStart, Instant.now());
             LOG.errorf(e, "CRAWL_ERROR: Unexpected error during crawling session after %d ms - processed=%d, skipped=%d, failed=%d", 
-                    totalDuration.toMillis(), processedCount, skippedCount, failedCount);
+                    totalDuration.toMillis(), state.processed.get(), state.skipped.get(), state.failed.get());
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             throw new IOException("Crawling failed due to unexpected error", e);
         }
     }
 
+    /**
+     * Walks the listing pages and emits the URLs of new articles, with early termination
+     * after consecutive pages without new articles. Runs as the discovery of the pipeline.
+     */
+    private void discoverArticles(CrawlPipeline.Emitter emitter, CrawlState state, Instant crawlStart) throws InterruptedException {
+        // Main pagination loop with early termination support
+        int pageNumber = 1;
+        int consecutiveEmptyPages = 0;
+        
+        while (pageNumber <= config.maxPages()) {
+            LOG.infof("PAGE_PROCESSING: Starting to process page %d/%d", pageNumber, config.maxPages());
+            
+            // Build page URL (for Drucker, we'll use the base URL for page 1, and add pagination for subsequent pages)
+            String pageUrl = buildPageUrl(pageNumber);
+            state.pagesCrawled = pageNumber;
+            
+            try {
+                // Track network operation for fetching the listing page
+                LOG.debugf("NETWORK_REQUEST: Fetching listing page %d from %s", pageNumber, pageUrl);
+                FetchResult listing = fetchService.fetch(pageUrl);
+                metrics.recordNetworkOperation("listing_page_fetch", listing.elapsed());
+                LOG.debugf("NETWORK_RESPONSE: Listing page %d fetched in %d ms", pageNumber, listing.elapsed().toMillis());
+
+                // An unchanged listing page only links to articles seen by an earlier crawl
+                if (listing.notModified()) {
+                    LOG.infof("PAGE_UNCHANGED: Page %d not modified since the last crawl", pageNumber);
+                }
+                Elements articleElements = listing.notModified() ? new Elements() : listing.document().select("article");
+                int newArticlesOnPage = 0;
+                
+                LOG.infof("ARTICLES_DISCOVERED: Found %d article elements on page %d", articleElements.size(), pageNumber);
+                state.totalFound.addAndGet(articleElements.size());
+
+                // Check all links of the page for duplicates in a single Redis round trip
+                List<String> pageUrls = new ArrayList<>(articleElements.size());
+                for (Element articleEl : articleElements) {
+                    Element linkEl = articleEl.selectFirst("a");
+                    if (linkEl != null) {
+                        pageUrls.add(linkEl.absUrl("href"));
+                    } else {
+                        LOG.debugf("PARSING_WARNING: No link found in article element on page %d, skipping", pageNumber);
+                    }
+                }
+                Set<String> newUrls = findNewUrls(pageUrls);
+
+                List<String> emitted = new ArrayList<>(newUrls.size());
+                for (String url : pageUrls) {
+                    // Claimed URLs are consumed so repeated links on a page are skipped
+                    if (!newUrls.remove(url)) {
+                        int skipped = state.skipped.incrementAndGet();
+                        LOG.debugf("ARTICLE_SKIPPED: Article already exists in Redis (skipped=%d): %s", skipped, url);
+                        continue;
+                    }
+
+                    int processed = state.processed.incrementAndGet();
+                    newArticlesOnPage++;
+                    LOG.infof("ARTICLE_PROCESSING: Starting processing of article %d (page %d): %s", processed, pageNumber, url);
+                    
+                    // Start metrics tracking for this article, completion is recorded once it is stored or discarded
+                    state.contexts.put(url, metrics.startArticleProcessing(url));
+                    emitted.add(url);
+                }
+                trackListing(state, listing, emitted);
+                for (String url : emitted) {
+                    emitter.emit(url);
+                }
+                
+                // Track empty pages for metrics and early termination
+                if (newArticlesOnPage == 0) {
+                    emptyPagesCount++;
+                    consecutiveEmptyPages++;
+                    LOG.infof("EMPTY_PAGE_DETECTED: Page %d had no new articles (total empty pages: %d, consecutive: %d)", 
+                            pageNumber, emptyPagesCount, consecutiveEmptyPages);
+                } else {
+                    consecutiveEmptyPages = 0; // Reset consecutive counter
+                    LOG.infof("PAGE_COMPLETED: Page %d discovered with %d new articles", pageNumber, newArticlesOnPage);
+                }
+                
+                // Check for early termination
+                if (config.enableEarlyTermination() && consecutiveEmptyPages >= config.emptyPageThreshold()) {
+                    LOG.infof("EARLY_TERMINATION: Stopping crawl after %d consecutive empty pages (threshold: %d)", 
+                            consecutiveEmptyPages, config.emptyPageThreshold());
+                    LOG.infof("EARLY_TERMINATION: Total articles discovered before termination: %d", state.processed.get());
+                    state.earlyTerminated = true;
+                    return;
+                }
+                
+                // Log progress
+                Duration elapsed = Duration.between(crawlStart, Instant.now());
+                LOG.infof("CRAWL_PROGRESS: Page %d completed - processed=%d, skipped=%d, failed=%d, elapsed=%d ms", 
+                        pageNumber, state.processed.get(), state.skipped.get(), state.failed.get(), elapsed.toMillis());
+                
+            } catch (NetworkException e) {
+                LOG.errorf(e, "PAGE_ERROR: Failed to fetch page %d: %s", pageNumber, pageUrl);
+                // Continue with next page instead of failing completely
+                consecutiveEmptyPages++;
+                if (config.enableEarlyTermination() && consecutiveEmptyPages >= config.emptyPageThreshold()) {
+                    LOG.warnf("EARLY_TERMINATION_ERROR: Stopping crawl due to consecutive page errors (%d)", consecutiveEmptyPages);
+                    state.earlyTerminated = true;
+                    return;
+                }
+            }
+            
+            pageNumber++;
+        }
+    }
+
+    /**
+     * Arranges for the validators of a listing page to be stored once all articles it
+     * led to are stored. Were they stored on fetch, an article that then failed would
+     * never be seen again: the next crawl would get the page back as not modified.
+     */
+    private void trackListing(CrawlState state, FetchResult listing, List<String> emitted) {
+        if (listing.notModified() || listing.validators() == null) {
+            return;
+        }
+        if (emitted.isEmpty()) {
+            fetchService.storeValidators(listing);
+            return;
+        }
+        ListingPage page = new ListingPage(listing, emitted.size());
+        for (String url : emitted) {
+            state.listings.put(url, page);
+        }
+    }
+
+    /**
+     * Records that an article left the pipeline, stored or not, and stores the validators
+     * of its listing page when it was the last article of the page and none failed.
+     */
+    private void articleHandled(CrawlState state, String url, boolean stored) {
+        ListingPage page = state.listings.remove(url);
+        if (page == null) {
+            return;
+        }
+        if (!stored) {
+            page.incomplete = true;
+        }
+        if (page.pending.decrementAndGet() == 0 && !page.incomplete) {
+            fetchService.storeValidators(page.listing);
+            LOG.debugf("VALIDATORS_STORED: All articles of listing page stored: %s", page.listing.url());
+        }
+    }
+
     /**
      * Build the URL for a specific page number.
      * For Drucker site, pagination typically uses page parameter.
@@ -280,97 +312,231 @@ public class DruckerCrawler {
     }
 
     /**
-     * Fetch article content with retry logic and comprehensive error handling
+     * Fetch an article page with retry logic. Runs as the fetch stage of the pipeline.
      */
-    private Article fetchArticleWithRetry(String url) {
-        try {
-            return retryService.executeWithRetry(() -> {
-                LOG.debugf("ARTICLE_FETCH: Starting to fetch article content from: %s", url);
+    private FetchedPage fetchArticlePage(String url) throws CrawlingException {
+        return retryService.executeWithRetry(() -> {
+            LOG.debugf("ARTICLE_FETCH: Starting to fetch article content from: %s", url);
+            
+            try {
+                // Only new URLs are fetched, so the body is always wanted: no conditional request
+                FetchResult fetched = fetchService.fetch(url, false);
+                metrics.recordNetworkOperation("article_fetch", fetched.elapsed());
+                LOG.debugf("NETWORK_RESPONSE: Article page fetched in %d ms: %s", fetched.elapsed().toMillis(), url);
+                return new FetchedPage(url, fetched.document());
                 
-                try {
-                    // Track network operation for fetching individual article
-                    Instant networkStart = Instant.now();
-                    Document doc = Jsoup.connect(url).get();
-                    Duration networkDuration = Duration.between(networkStart, Instant.now());
-                    metrics.recordNetworkOperation("article_fetch", networkDuration);
-                    LOG.debugf("NETWORK_RESPONSE: Article page fetched in %d ms: %s", networkDuration.toMillis(), url);
-                    
-                    Element contentEl = doc.selectFirst("div.entry-content");
-                    if (contentEl == null) {
-                        LOG.warnf("CONTENT_MISSING: No content element found in article: %s", url);
-                        throw new RuntimeException(new NetworkException(
-                            CrawlingException.ErrorCode.CONTENT_PARSING_FAILED,
-                            "No content element found in article",
-                            url
-                        ));
-                    }
+            } catch (NetworkException e) {
+                LOG.debugf(e, "NETWORK_ERROR: Network error fetching article: %s", url);
+                throw new RuntimeException(e);
+            }
+        }, "fetch_article_" + url, IOException.class);
+    }
 
-                    String cleanText = contentEl.text();
-                    String title = doc.title();
-                    
-                    LOG.debugf("CONTENT_EXTRACTED: Article content extracted (title_length=%d, content_length=%d): %s", 
-                            title.length(), cleanText.length(), title);
+    /**
+     * Extract the article from its page. Runs as the parse stage of the pipeline.
+     */
+    private Article extractArticle(FetchedPage page) throws NetworkException {
+        Document doc = page.document();
+        Element contentEl = doc.selectFirst("div.entry-content");
+        if (contentEl == null) {
+            throw new NetworkException(
+                CrawlingException.ErrorCode.CONTENT_PARSING_FAILED,
+                "No content element found in article",
+                page.url()
+            );
+        }
 
-                    return new Article(title, url, cleanText);
-                    
-                } catch (IOException e) {
-                    LOG.debugf(e, "NETWORK_ERROR: Network error fetching article: %s", url);
-                    throw new RuntimeException(NetworkException.connectionFailed(url, e));
-                } catch (Exception e) {
-                    LOG.debugf(e, "PARSING_ERROR: Error parsing article content: %s", url);
-                    throw new RuntimeException(new NetworkException(
-                        CrawlingException.ErrorCode.CONTENT_PARSING_FAILED,
-                        "Failed to parse article content",
-                        url,
-                        e
-                    ));
-                }
-            }, "fetch_article_" + url, IOException.class);
-            
-        } catch (CrawlingException e) {
-            LOG.errorf(e, "ARTICLE_FETCH_FAILED: Failed to fetch article after retries: %s", url);
-            return null;
+        String cleanText = contentEl.text();
+        String title = doc.title();
+        
+        LOG.debugf("CONTENT_EXTRACTED: Article content extracted (title_length=%d, content_length=%d): %s", 
+                title.length(), cleanText.length(), title);
+
+        return new Article(title, page.url(), cleanText);
+    }
+
+    /**
+     * Validate article content. Runs as the validate stage of the pipeline.
+     */
+    private Article validateArticle(Article article) throws ContentValidationException {
+        LOG.debugf("CONTENT_VALIDATION: Starting content validation for article: %s", article.url());
+        Instant validationStart = Instant.now();
+        contentValidator.validateArticle(article.title(), article.url(), article.text());
+        Duration validationDuration = Duration.between(validationStart, Instant.now());
+        metrics.recordDatabaseOperation("content_validation", validationDuration);
+        LOG.debugf("CONTENT_VALIDATION_SUCCESS: Content validation passed in %d ms: %s", validationDuration.toMillis(), article.url());
+        return article;
+    }
+
+    /**
+     * Counts an article that failed a stage of the pipeline and records its completion.
+     */
+    private void articleDiscarded(CrawlState state, String url, String stage, Exception cause) {
+        state.failed.incrementAndGet();
+        if (cause instanceof ContentValidationException) {
+            LOG.warnf(cause, "CONTENT_VALIDATION_FAILED: Article content validation failed: %s - %s", url, cause.getMessage());
+        } else if (cause instanceof CrawlingException) {
+            LOG.errorf(cause, "ARTICLE_FETCH_FAILED: Failed to fetch article after retries: %s", url);
+        } else {
+            LOG.warnf(cause, "ARTICLE_FAILED: Article failed in %s stage: %s", stage, url);
         }
+
+        CrawlingMetrics.MetricsContext context = state.contexts.remove(url);
+        if (context != null) {
+            metrics.recordArticleCompletion(context, false);
+        }
+        articleHandled(state, url, false);
     }
 
     /**
-     * Check if URL is new using deduplication service with retry logic
+     * Stores a batch of validated articles. Runs as the sink of the pipeline.
      */
-    private boolean isNewUrl(String url) {
+    private void persistValidated(CrawlState state, List<Article> batch) {
+        List<PendingArticle> pending = new ArrayList<>(batch.size());
+        for (Article article : batch) {
+            LOG.debugf("ARTICLE_FETCHED: Successfully fetched article (title_length=%d, content_length=%d): %s", 
+                    article.title().length(), article.text().length(), article.title());
+            state.articles.add(article);
+            pending.add(new PendingArticle(article, state.contexts.remove(article.url())));
+        }
+
+        BatchOutcome outcome = flushPendingArticles(state, pending);
+        // Counted as processed when discovered; already stored articles count as skipped instead
+        state.processed.addAndGet(-outcome.existing());
+        state.skipped.addAndGet(outcome.existing());
+        state.failed.addAndGet(outcome.failed());
+    }
+
+    /**
+     * Check which URLs of a listing page are new using one pipelined deduplication call with retry logic
+     */
+    private Set<String> findNewUrls(List<String> urls) {
+        if (urls.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        // One token for all attempts, so a retry keeps the URLs an earlier attempt had claimed
+        String claimToken = DeduplicationService.newClaimToken();
         try {
             return retryService.executeWithRetry(() -> {
-                LOG.debugf("DEDUPLICATION_CHECK: Checking if article already processed: %s", url);
+                LOG.debugf("DEDUPLICATION_CHECK: Checking %d article URLs for prior processing", urls.size());
                 
                 try {
                     // Track Redis deduplication operation
                     Instant redisStart = Instant.now();
-                    boolean isNew = deduplicationService.isNewUrl("drucker", url);
+                    Set<String> newUrls = deduplicationService.isNewUrls("drucker", urls, null, claimToken);
                     Duration redisDuration = Duration.between(redisStart, Instant.now());
                     metrics.recordDatabaseOperation("redis_dedup_check", redisDuration);
-                    LOG.debugf("REDIS_OPERATION: Deduplication check completed in %d ms for %s", redisDuration.toMillis(), url);
+                    LOG.debugf("REDIS_OPERATION: Batch deduplication check of %d URLs completed in %d ms (new=%d)", 
+                            urls.size(), redisDuration.toMillis(), newUrls.size());
                     
-                    return isNew;
+                    return newUrls;
                     
                 } catch (Exception e) {
-                    LOG.debugf(e, "REDIS_ERROR: Error during deduplication check: %s", url);
+                    LOG.debugf(e, "REDIS_ERROR: Error during batch deduplication check of %d URLs", urls.size());
                     throw new RuntimeException(new CrawlingException(
                         CrawlingException.ErrorCode.PERSISTENCE_CONNECTION_FAILED,
                         "Redis deduplication check failed",
-                        url,
+                        urls.get(0),
                         e
                     ));
                 }
-            }, "redis_dedup_" + url, Exception.class);
+            }, "redis_dedup_batch", Exception.class);
             
         } catch (CrawlingException e) {
-            LOG.errorf(e, "DEDUPLICATION_FAILED: Failed to check duplication after retries, treating as new: %s", url);
-            // If Redis is completely unavailable, treat as new article to avoid losing data
-            return true;
+            LOG.errorf(e, "DEDUPLICATION_FAILED: Failed to check duplication after retries, treating %d URLs as new", urls.size());
+            // If Redis is completely unavailable, treat as new articles to avoid losing data
+            return new HashSet<>(urls);
+        }
+    }
+
+    /**
+     * Stores the pending articles as one batch and records their completion.
+     * Falls back to storing the articles one by one if the batch keeps failing,
+     * so a single bad article does not fail the whole batch.
+     */
+    private BatchOutcome flushPendingArticles(CrawlState state, List<PendingArticle> pending) {
+        if (pending.isEmpty()) {
+            return new BatchOutcome(0, 0);
+        }
+
+        List<Article> batch = new ArrayList<>(pending.size());
+        for (PendingArticle entry : pending) {
+            batch.add(entry.article());
+        }
+
+        int existing = 0;
+        int failed = 0;
+        try {
+            ArticleService.IngestResult result = persistBatchWithRetry(batch);
+            Set<String> existingUrls = new HashSet<>(result.existingUrls());
+            for (PendingArticle entry : pending) {
+                if (existingUrls.contains(entry.article().url().trim())) {
+                    existing++;
+                    state.articles.remove(entry.article());
+                    LOG.debugf("ARTICLE_SKIPPED: Article already exists in database: %s", entry.article().url());
+                    metrics.recordArticleSkipped(entry.context());
+                } else {
+                    LOG.debugf("ARTICLE_SUCCESS: Article processing completed successfully: %s", entry.article().url());
+                    metrics.recordArticleCompletion(entry.context(), true);
+                }
+                articleHandled(state, entry.article().url(), true);
+            }
+        } catch (PersistenceException batchException) {
+            LOG.warnf("BATCH_PERSIST_FAILED: Storing %d articles one by one: %s", batch.size(), batchException.getMessage());
+            for (PendingArticle entry : pending) {
+                try {
+                    persistArticleWithRetry(entry.article());
+                    metrics.recordArticleCompletion(entry.context(), true);
+                    articleHandled(state, entry.article().url(), true);
+                } catch (PersistenceException e) {
+                    failed++;
+                    LOG.errorf(e, "PERSISTENCE_ERROR: Failed to persist article: %s", entry.article().url());
+                    // Remove from articles list since persistence failed
+                    state.articles.remove(entry.article());
+                    metrics.recordArticleCompletion(entry.context(), false);
+                    articleHandled(state, entry.article().url(), false);
+                }
+            }
+        }
+
+        pending.clear();
+        return new BatchOutcome(existing, failed);
+    }
+
+    /**
+     * Persist a batch of articles to the database with retry logic
+     */
+    private ArticleService.IngestResult persistBatchWithRetry(List<Article> batch) throws PersistenceException {
+        try {
+            return retryService.executeWithRetry(() -> {
+                LOG.debugf("DATABASE_PERSIST: Persisting batch of %d articles to database", batch.size());
+                Instant dbStart = Instant.now();
+
+                ArticleService.IngestResult result = articleService.ingestBatch(batch, crawlerSourceName,
+                        config.author().name(), config.author().avatarUrl().orElse(null));
+
+                Duration dbDuration = Duration.between(dbStart, Instant.now());
+                metrics.recordDatabaseOperation("article_batch_persist", dbDuration);
+                LOG.debugf("DATABASE_OPERATION: Batch persisted in %d ms - new=%d, existing=%d",
+                        dbDuration.toMillis(), result.newUrls().size(), result.existingUrls().size());
+                return result;
+            }, "persist_article_batch", Exception.class);
+
+        } catch (CrawlingException e) {
+            throw new PersistenceException(
+                CrawlingException.ErrorCode.PERSISTENCE_SAVE_FAILED,
+                "Failed to persist article batch after retries",
+                "persist",
+                "ArticleEntity",
+                batch.get(0).url(),
+                e
+            );
         }
     }
 
     /**
-     * Persist article to database with retry logic
+     * Persist a single article to database with retry logic
      */
     private void persistArticleWithRetry(Article article) throws PersistenceException {
         try {
@@ -380,23 +546,8 @@ public class DruckerCrawler {
                 try {
                     // Track database persistence operation
                     Instant dbStart = Instant.now();
-                    
-                    // Find or create author entity using configured author information with error handling
-                    AuthorEntity author;
-                    try {
-                        author = AuthorEntity.findOrCreate(
-                            config.author().name(), 
-                            config.author().avatarUrl().orElse(null)
-                        );
-                    } catch (Exception authorException) {
-                        LOG.warnf("Failed to create or find author '%s', using unknown author fallback: %s", 
-                                 config.author().name(), authorException.getMessage());
-                        author = AuthorEntity.getUnknownAuthor();
-                    }
-                    
-                    // Create ArticleEntity with author
-                    ArticleEntity entity = new ArticleEntity(article, crawlerSourceName, author);
-                    entity.persist();
+                    articleService.createArticleWithAuthor(article, crawlerSourceName,
+                            config.author().name(), config.author().avatarUrl().orElse(null));
                     Duration dbDuration = Duration.between(dbStart, Instant.now());
                     metrics.recordDatabaseOperation("article_persist", dbDuration);
                     LOG.debugf("DATABASE_OPERATION: Article persisted in %d ms: %s", dbDuration.toMillis(), article.url());
@@ -424,5 +575,53 @@ public class DruckerCrawler {
         }
     }
 
+    /**
+     * An article page on its way from the fetch to the parse stage.
+     */
+    private record FetchedPage(String url, Document document) {
+    }
+
+    /**
+     * Counters and results of one crawl, shared by the stages of its pipeline.
+     */
+    private static final class CrawlState {
+        final AtomicInteger totalFound = new AtomicInteger();
+        final AtomicInteger processed = new AtomicInteger();
+        final AtomicInteger skipped = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        // Metrics of the articles in flight, by URL
+        final Map<String, CrawlingMetrics.MetricsContext> contexts = new ConcurrentHashMap<>();
+        // Listing pages waiting for their articles before their validators are stored, by article URL
+        final Map<String, ListingPage> listings = new ConcurrentHashMap<>();
+        // Only touched by the sink
+        final List<Article> articles = new ArrayList<>();
+        volatile int pagesCrawled;
+        volatile boolean earlyTerminated;
+    }
+
+    /**
+     * A fetched listing page and the number of its articles still in the pipeline.
+     */
+    private static final class ListingPage {
+        final FetchResult listing;
+        final AtomicInteger pending;
+        volatile boolean incomplete;
 
+        ListingPage(FetchResult listing, int articles) {
+            this.listing = listing;
+            this.pending = new AtomicInteger(articles);
+        }
+    }
+
+    /**
+     * A validated article waiting for the next batch, with its metrics context.
+     */
+    private record PendingArticle(Article article, CrawlingMetrics.MetricsContext context) {
+    }
+
+    /**
+     * Articles of a batch that were already stored or could not be stored.
+     */
+    private record BatchOutcome(int existing, int failed) {
+    }
 }
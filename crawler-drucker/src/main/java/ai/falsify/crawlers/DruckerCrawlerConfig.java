@@ -30,6 +30,10 @@ public class DruckerCrawlerConfig {
     @ConfigProperty(name = "crawler.drucker.pagination.empty-page-threshold", defaultValue = "1")
     int emptyPageThreshold;
 
+    // Fetch articles with crawler.common.pipeline.fetch-workers workers instead of one
+    @ConfigProperty(name = "crawler.drucker.network.concurrent-fetch", defaultValue = "true")
+    boolean concurrentFetch;
+
     // Author metadata configuration
     @ConfigProperty(name = "crawler.drucker.author.name", defaultValue = "Unknown Author")
     String authorName;
@@ -48,6 +52,10 @@ public class DruckerCrawlerConfig {
         return maxPages;
     }
 
+    /**
+     * No longer applied between pages, requests are paced by the common
+     * {@code crawler.common.performance.request-delay}
+     */
     public Duration pageDelay() {
         return pageDelay;
     }
@@ -60,6 +68,10 @@ public class DruckerCrawlerConfig {
         return emptyPageThreshold;
     }
 
+    public boolean concurrentFetch() {
+        return concurrentFetch;
+    }
+
     // Author configuration getters
     public AuthorConfig author() {
         return new AuthorConfig();
@@ -142,6 +154,7 @@ public class DruckerCrawlerConfig {
         LOG.infof("  Page Delay: %s", pageDelay);
         LOG.infof("  Early Termination: %s", enableEarlyTermination);
         LOG.infof("  Empty Page Threshold: %d", emptyPageThreshold);
+        LOG.infof("  Concurrent Fetch: %s", concurrentFetch);
         LOG.infof("  Author: name=%s, avatarUrl=%s, fallback=%s", 
                  authorName, authorAvatarUrl.orElse("not configured"), authorFallbackName);
     }
@@ -28,6 +28,7 @@ public class CrawlingMetrics {
     private final AtomicInteger totalArticlesProcessed = new AtomicInteger(0);
     private final AtomicInteger successfulArticles = new AtomicInteger(0);
     private final AtomicInteger failedArticles = new AtomicInteger(0);
+    private final AtomicInteger skippedArticles = new AtomicInteger(0);
 
     // Timing metrics (in milliseconds)
     private final AtomicLong totalProcessingTime = new AtomicLong(0);
@@ -86,6 +87,21 @@ public class CrawlingMetrics {
         updateOperationMetrics("article_processing", processingTime);
     }
 
+    /**
+     * Records an article that turned out to be stored already. It is counted as skipped,
+     * apart from the processed articles, so it does not inflate the success rate.
+     *
+     * @param context the metrics context from startArticleProcessing
+     */
+    public void recordArticleSkipped(MetricsContext context) {
+        if (!config.performance().enableMetrics() || context instanceof NoOpMetricsContext) {
+            return;
+        }
+
+        skippedArticles.incrementAndGet();
+        LOG.debugf("Article skipped as already stored: %s", context.getUrl());
+    }
+
     /**
      * Records network operation timing.
      *
@@ -134,6 +150,7 @@ public class CrawlingMetrics {
             totalArticlesProcessed.get(),
             successfulArticles.get(),
             failedArticles.get(),
+            skippedArticles.get(),
             calculateSuccessRate(),
             totalProcessingTime.get(),
             calculateAverageProcessingTime(),
@@ -154,6 +171,7 @@ public class CrawlingMetrics {
         totalArticlesProcessed.set(0);
         successfulArticles.set(0);
         failedArticles.set(0);
+        skippedArticles.set(0);
         totalProcessingTime.set(0);
         totalNetworkTime.set(0);
         totalDatabaseTime.set(0);
@@ -175,8 +193,8 @@ public class CrawlingMetrics {
 
         MetricsSummary summary = getSummary();
         LOG.infof("=== Crawling Metrics Summary ===");
-        LOG.infof("Total Articles: %d (Success: %d, Failed: %d)", 
-            summary.totalArticles(), summary.successfulArticles(), summary.failedArticles());
+        LOG.infof("Total Articles: %d (Success: %d, Failed: %d), Skipped: %d", 
+            summary.totalArticles(), summary.successfulArticles(), summary.failedArticles(), summary.skippedArticles());
         LOG.infof("Success Rate: %.2f%%", summary.successRate());
         LOG.infof("Average Processing Time: %.2fms", summary.averageProcessingTime());
         LOG.infof("Average Network Time: %.2fms", summary.averageNetworkTime());
@@ -305,6 +323,7 @@ public class CrawlingMetrics {
         int totalArticles,
         int successfulArticles,
         int failedArticles,
+        int skippedArticles,
         double successRate,
         long totalProcessingTime,
         double averageProcessingTime,
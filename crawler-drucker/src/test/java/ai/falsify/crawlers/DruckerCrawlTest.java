@@ -0,0 +1,270 @@
+package ai.falsify.crawlers;
+
+import ai.falsify.crawlers.common.config.CrawlerConfiguration;
+import ai.falsify.crawlers.common.exception.ContentValidationException;
+import ai.falsify.crawlers.common.exception.NetworkException;
+import ai.falsify.crawlers.common.model.Article;
+import ai.falsify.crawlers.common.model.CrawlResult;
+import ai.falsify.crawlers.common.service.ArticleService;
+import ai.falsify.crawlers.common.service.ContentValidator;
+import ai.falsify.crawlers.common.service.RetryService;
+import ai.falsify.crawlers.common.service.http.FetchResult;
+import ai.falsify.crawlers.common.service.http.FetchService;
+import ai.falsify.crawlers.common.service.http.ValidatorStore;
+import ai.falsify.crawlers.common.service.redis.DeduplicationService;
+import ai.falsify.crawlers.service.CrawlingMetrics;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for a Drucker crawl over stubbed listing and article pages.
+ */
+@ExtendWith(MockitoExtension.class)
+class DruckerCrawlTest {
+
+    private static final String BASE_URL = "https://drucker.example.com/";
+
+    @Mock(lenient = true)
+    DeduplicationService deduplicationService;
+
+    @Mock(lenient = true)
+    CrawlingMetrics metrics;
+
+    @Mock(lenient = true)
+    RetryService retryService;
+
+    @Mock(lenient = true)
+    ContentValidator contentValidator;
+
+    @Mock(lenient = true)
+    ArticleService articleService;
+
+    @Mock(lenient = true)
+    FetchService fetchService;
+
+    private DruckerCrawlerConfig config;
+    private DruckerCrawler crawler;
+
+    // Pages served by the stubbed FetchService, by URL
+    private final Map<String, String> pages = new ConcurrentHashMap<>();
+    private final Map<String, Long> articleDelays = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+    // Pages answered as not modified, and articles the database already holds
+    private final Set<String> notModified = ConcurrentHashMap.newKeySet();
+    private final Set<String> existing = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        config = new DruckerCrawlerConfig();
+        config.baseUrl = BASE_URL;
+        config.maxPages = 2;
+        config.pageDelay = Duration.ofSeconds(1);
+        config.enableEarlyTermination = true;
+        config.emptyPageThreshold = 1;
+        config.concurrentFetch = true;
+        config.authorName = "Test Drucker Author";
+        config.authorAvatarUrl = Optional.empty();
+        config.authorFallbackName = "Unknown Author";
+
+        doAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get())
+                .when(retryService).executeWithRetry(any(Supplier.class), anyString(), any(Class.class));
+        when(metrics.startArticleProcessing(anyString()))
+                .thenAnswer(invocation -> mock(CrawlingMetrics.MetricsContext.class));
+        when(deduplicationService.isNewUrls(anyString(), anyList(), isNull(), anyString()))
+                .thenAnswer(invocation -> new LinkedHashSet<String>(invocation.getArgument(1)));
+        when(fetchService.fetch(anyString())).thenAnswer(invocation -> serve(invocation.getArgument(0)));
+        when(fetchService.fetch(anyString(), anyBoolean())).thenAnswer(invocation -> serve(invocation.getArgument(0)));
+        when(articleService.ingestBatch(anyList(), any(), any(), any())).thenAnswer(invocation -> {
+            List<Article> batch = invocation.getArgument(0);
+            List<String> urls = batch.stream().map(Article::url).toList();
+            batches.add(urls);
+            return new ArticleService.IngestResult(
+                    urls.stream().filter(url -> !existing.contains(url)).toList(),
+                    urls.stream().filter(existing::contains).toList());
+        });
+
+        CrawlerConfiguration crawlerConfig = new SmallRyeConfigBuilder()
+                .withMapping(CrawlerConfiguration.class)
+                .withDefaultValue("crawler.common.pipeline.fetch-workers", "2")
+                .withDefaultValue("crawler.common.performance.batch-size", "2")
+                .build()
+                .getConfigMapping(CrawlerConfiguration.class);
+
+        crawler = new DruckerCrawler(deduplicationService, metrics, retryService, contentValidator, articleService,
+                fetchService, config, crawlerConfig);
+        crawler.crawlerSourceName = "drucker";
+    }
+
+    @Test
+    @DisplayName("Should fetch articles concurrently and store them in listing order")
+    void testConcurrentFetchKeepsPageOrder() throws Exception {
+        listing(BASE_URL, "a1", "a2", "a3");
+        listing(BASE_URL + "?paged=2", "b1");
+        // The first article finishes last
+        articleDelays.put(BASE_URL + "a1", 300L);
+
+        CrawlResult result = crawler.crawl();
+
+        assertEquals(4, result.articlesProcessed());
+        assertEquals(List.of(BASE_URL + "a1", BASE_URL + "a2", BASE_URL + "a3", BASE_URL + "b1"), stored());
+        assertEquals(2, maxInFlight.get(), "at most fetch-workers articles in flight");
+    }
+
+    @Test
+    @DisplayName("Should fetch one article at a time with concurrent fetch off")
+    void testSequentialFetch() throws Exception {
+        config.concurrentFetch = false;
+        listing(BASE_URL, "a1", "a2", "a3");
+        listing(BASE_URL + "?paged=2", "b1");
+
+        CrawlResult result = crawler.crawl();
+
+        assertEquals(4, result.articlesProcessed());
+        assertEquals(1, maxInFlight.get());
+    }
+
+    @Test
+    @DisplayName("Should count failed fetches without storing them")
+    void testFailedFetch() throws Exception {
+        listing(BASE_URL, "a1", "missing", "a3");
+        listing(BASE_URL + "?paged=2");
+
+        CrawlResult result = crawler.crawl();
+
+        assertEquals(3, result.articlesProcessed());
+        assertEquals(1, result.articlesFailed());
+        assertEquals(List.of(BASE_URL + "a1", BASE_URL + "a3"), stored());
+    }
+
+    @Test
+    @DisplayName("Should stop at a listing page that did not change since the last crawl")
+    void testNotModifiedListingStopsCrawl() throws Exception {
+        listing(BASE_URL, "a1");
+        listing(BASE_URL + "?paged=2", "b1");
+        notModified.add(BASE_URL);
+
+        CrawlResult result = crawler.crawl();
+
+        assertEquals(0, result.totalArticlesFound());
+        assertEquals(0, result.articlesProcessed());
+        assertTrue(stored().isEmpty());
+        verify(fetchService, never()).fetch(eq(BASE_URL + "?paged=2"));
+        verify(fetchService, never()).fetch(eq(BASE_URL + "a1"), anyBoolean());
+        verify(deduplicationService, never()).isNewUrls(anyString(), anyList(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should count articles failing validation as failed and record their completion")
+    void testDiscardedArticle() throws Exception {
+        listing(BASE_URL, "a1", "a2", "a3");
+        listing(BASE_URL + "?paged=2");
+        doThrow(ContentValidationException.contentTooShort(8, 100))
+                .when(contentValidator).validateArticle(anyString(), eq(BASE_URL + "a2"), anyString());
+
+        CrawlResult result = crawler.crawl();
+
+        assertEquals(3, result.articlesProcessed());
+        assertEquals(1, result.articlesFailed());
+        assertEquals(List.of(BASE_URL + "a1", BASE_URL + "a3"), stored());
+        verify(metrics, times(1)).recordArticleCompletion(any(), eq(false));
+        verify(metrics, times(2)).recordArticleCompletion(any(), eq(true));
+    }
+
+    @Test
+    @DisplayName("Should store articles in batches and count already stored ones as skipped")
+    void testBatchPersistence() throws Exception {
+        listing(BASE_URL, "a1", "a2", "a3");
+        listing(BASE_URL + "?paged=2");
+        existing.add(BASE_URL + "a2");
+
+        CrawlResult result = crawler.crawl();
+
+        assertEquals(List.of(List.of(BASE_URL + "a1", BASE_URL + "a2"), List.of(BASE_URL + "a3")), batches);
+        assertEquals(2, result.articlesProcessed());
+        assertEquals(1, result.articlesSkipped());
+        assertEquals(0, result.articlesFailed());
+        assertEquals(List.of(BASE_URL + "a1", BASE_URL + "a3"), result.articles().stream().map(Article::url).toList());
+        verify(metrics, times(1)).recordArticleSkipped(any());
+        verify(metrics, times(2)).recordArticleCompletion(any(), eq(true));
+        verify(metrics, never()).recordArticleCompletion(any(), eq(false));
+    }
+
+    @Test
+    @DisplayName("Should store listing validators only once all articles of the page are stored")
+    void testListingValidatorsAfterArticles() throws Exception {
+        config.emptyPageThreshold = 2;
+        listing(BASE_URL, "a1", "missing", "a3");
+        listing(BASE_URL + "?paged=2", "b1", "b2");
+
+        crawler.crawl();
+
+        verify(fetchService).storeValidators(argThat(result -> result.url().equals(BASE_URL + "?paged=2")));
+        verify(fetchService, never()).storeValidators(argThat(result -> result.url().equals(BASE_URL)));
+    }
+
+    private List<String> stored() {
+        return batches.stream().flatMap(List::stream).toList();
+    }
+
+    private FetchResult serve(String url) throws Exception {
+        boolean article = !url.equals(BASE_URL) && !url.contains("paged=");
+        if (article) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        }
+        try {
+            Thread.sleep(articleDelays.getOrDefault(url, article ? 50L : 0L));
+            if (notModified.contains(url)) {
+                return new FetchResult(url, URI.create(url), FetchResult.NOT_MODIFIED, null, Duration.ofMillis(1), null);
+            }
+            String body = pages.get(url);
+            if (body == null) {
+                throw NetworkException.invalidResponse(url, 404);
+            }
+            // Listing pages carry validators, stored once their articles are
+            ValidatorStore.Validators validators = article ? null : new ValidatorStore.Validators("\"" + url + "\"", null);
+            return new FetchResult(url, URI.create(url), 200, Jsoup.parse(body, url), Duration.ofMillis(1), validators);
+        } finally {
+            if (article) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private void listing(String url, String... slugs) {
+        StringBuilder html = new StringBuilder("<html><body>");
+        for (String slug : slugs) {
+            html.append("<article><a href=\"").append(BASE_URL).append(slug).append("\">").append(slug)
+                    .append("</a></article>");
+            if (!slug.startsWith("missing")) {
+                pages.put(BASE_URL + slug, "<html><head><title>" + slug + "</title></head><body>"
+                        + "<div class=\"entry-content\">Body of " + slug + "</div></body></html>");
+            }
+        }
+        pages.put(url, html.append("</body></html>").toString());
+    }
+}
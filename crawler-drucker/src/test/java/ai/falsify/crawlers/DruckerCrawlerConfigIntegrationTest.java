@@ -28,6 +28,7 @@ class DruckerCrawlerConfigIntegrationTest {
         assertEquals(Duration.ofSeconds(1), config.pageDelay());
         assertTrue(config.enableEarlyTermination());
         assertEquals(2, config.emptyPageThreshold());
+        assertTrue(config.concurrentFetch());
         
         // Test Author configuration
         assertNotNull(config.author());
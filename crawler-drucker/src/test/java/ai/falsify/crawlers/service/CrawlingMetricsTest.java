@@ -111,6 +111,24 @@ class CrawlingMetricsTest {
             assertEquals(1, summary.failedArticles());
             assertEquals(66.67, summary.successRate(), 0.01);
         }
+
+        @Test
+        void testSkippedArticle() {
+            // Given
+            CrawlingMetrics.MetricsContext stored = crawlingMetrics.startArticleProcessing("https://example.com/article1");
+            CrawlingMetrics.MetricsContext existing = crawlingMetrics.startArticleProcessing("https://example.com/article2");
+
+            // When
+            crawlingMetrics.recordArticleCompletion(stored, true);
+            crawlingMetrics.recordArticleSkipped(existing);
+
+            // Then
+            CrawlingMetrics.MetricsSummary summary = crawlingMetrics.getSummary();
+            assertEquals(1, summary.totalArticles());
+            assertEquals(1, summary.successfulArticles());
+            assertEquals(1, summary.skippedArticles());
+            assertEquals(100.0, summary.successRate());
+        }
     }
 
     @Nested
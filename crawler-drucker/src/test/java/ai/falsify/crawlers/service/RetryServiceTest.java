@@ -8,6 +8,9 @@ import jakarta.inject.Inject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
@@ -188,4 +191,51 @@ class RetryServiceTest {
         assertTrue(exception.getMessage().contains("my-test-operation"));
         assertEquals("my-test-operation", exception.getContext());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAsyncOperationSucceeds() throws Exception {
+        // When
+        String result = retryService.executeWithRetryAsync(
+                () -> CompletableFuture.completedFuture("success"), "test-async-operation")
+                .toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals("success", result);
+    }
+
+    @Test
+    void testAsyncOperationFailsAfterMaxAttempts() {
+        // Given
+        AtomicInteger attemptCount = new AtomicInteger(0);
+
+        // When
+        CompletableFuture<String> result = retryService.<String>executeWithRetryAsync(() -> {
+            attemptCount.incrementAndGet();
+            return CompletableFuture.failedFuture(new RuntimeException("Async failure"));
+        }, "test-async-operation").toCompletableFuture();
+
+        // Then
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(30, TimeUnit.SECONDS));
+        assertInstanceOf(CrawlingException.class, exception.getCause());
+        assertEquals(config.retry().maxAttempts(), attemptCount.get());
+    }
+
+    @Test
+    void testCircuitBreakersAreKeyedByOperation() throws CrawlingException {
+        // Given - Enough failures of one operation to open its breaker
+        Supplier<String> failingOperation = () -> {
+            throw new RuntimeException("Redis down");
+        };
+        for (int i = 0; i < config.retry().circuitBreakerFailureThreshold() * config.retry().maxAttempts(); i++) {
+            assertThrows(CrawlingException.class, () -> retryService.executeWithRetry(failingOperation, "redis_operation"));
+        }
+
+        // When & Then - The failing operation is cancelled, unrelated ones still run
+        CrawlingException exception = assertThrows(CrawlingException.class,
+                () -> retryService.executeWithRetry(() -> "unused", "redis_operation"));
+        assertEquals(CrawlingException.ErrorCode.OPERATION_CANCELLED, exception.getErrorCode());
+        assertEquals("success", retryService.executeWithRetry(() -> "success", "database_operation"));
+        assertTrue(retryService.getCircuitBreakerStatuses().get("redis_operation").isOpen());
+        assertFalse(retryService.getCircuitBreakerStatuses().get("database_operation").isOpen());
+    }
+}
@@ -3,8 +3,11 @@ package ai.falsify.prediction.resource;
 import ai.falsify.crawlers.common.model.AnalysisJobEntity;
 import ai.falsify.crawlers.common.model.ArticleEntity;
 import ai.falsify.crawlers.common.model.ArticleFilter;
+import ai.falsify.crawlers.common.model.ArticlePage;
+import ai.falsify.crawlers.common.model.ArticleSummary;
 import ai.falsify.crawlers.common.model.PredictionInstanceEntity;
 import ai.falsify.crawlers.common.service.ArticleService;
+import ai.falsify.crawlers.common.service.SearchService;
 import ai.falsify.prediction.service.PredictionAnalysisService;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
@@ -14,6 +17,7 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.jboss.logging.Logger;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -34,6 +38,9 @@ public class PredictionAnalysisResource {
     @Inject
     ArticleService articleService;
     
+    @Inject
+    SearchService searchService;
+    
     /**
      * Start a new prediction analysis job.
      * 
@@ -377,8 +384,8 @@ public class PredictionAnalysisResource {
                     .build();
             
             // Get articles
-            List<ArticleEntity> articles = articleService.getArticlesForAnalysis(filter);
-            long totalCount = articleService.getArticleCountForAnalysis(filter);
+            List<ArticleSummary> articles = articleService.getArticleSummariesForAnalysis(filter);
+            long totalCount = articleService.getCachedArticleCountForAnalysis(filter);
             
             // Calculate pagination info
             int totalPages = (int) Math.ceil((double) totalCount / size);
@@ -407,6 +414,199 @@ public class PredictionAnalysisResource {
         }
     }
     
+    /**
+     * Get articles available for analysis using cursor (keyset) pagination.
+     * Deep pages cost the same as the first page; the total count is optional and cached.
+     * 
+     * @param authorId Filter by author ID (optional)
+     * @param titleSearch Filter by title search (optional)
+     * @param fromDate Filter by date from (optional, ISO format)
+     * @param toDate Filter by date to (optional, ISO format)
+     * @param cursor Cursor returned by the previous page (optional, omit for first page)
+     * @param size Page size (default: 20)
+     * @param includeTotal Whether to include an approximate total count (default: false)
+     * @return Page of articles with the cursor for the next page
+     */
+    @GET
+    @Path("/articles/cursor")
+    public Response getArticlesForAnalysisByCursor(
+            @QueryParam("authorId") Long authorId,
+            @QueryParam("titleSearch") String titleSearch,
+            @QueryParam("fromDate") String fromDate,
+            @QueryParam("toDate") String toDate,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("size") @DefaultValue("20") int size,
+            @QueryParam("includeTotal") @DefaultValue("false") boolean includeTotal) {
+        
+        LOG.debugf("Getting articles for analysis by cursor: authorId=%s, titleSearch=%s, cursor=%s, size=%d", 
+                  authorId, titleSearch, cursor, size);
+        
+        try {
+            // Validate pagination parameters
+            if (size < 1 || size > 100) size = 20;
+            
+            // Parse dates
+            Instant fromInstant = null;
+            Instant toInstant = null;
+            
+            try {
+                if (fromDate != null && !fromDate.trim().isEmpty()) {
+                    fromInstant = Instant.parse(fromDate);
+                }
+                if (toDate != null && !toDate.trim().isEmpty()) {
+                    toInstant = Instant.parse(toDate);
+                }
+            } catch (DateTimeParseException e) {
+                LOG.warnf("Invalid date format: %s", e.getMessage());
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(Map.of("error", "Invalid date format. Use ISO format (e.g., 2024-01-01T00:00:00Z)"))
+                        .build();
+            }
+            
+            ArticleFilter filter = ArticleFilter.builder()
+                    .authorId(authorId)
+                    .titleSearch(titleSearch)
+                    .fromDate(fromInstant)
+                    .toDate(toInstant)
+                    .size(size)
+                    .build();
+            
+            ArticlePage<ArticleSummary> articlePage = articleService.getArticleSummariesAfterCursor(filter, cursor);
+            
+            Map<String, Object> pagination = new HashMap<>();
+            pagination.put("size", size);
+            pagination.put("nextCursor", articlePage.nextCursor());
+            pagination.put("hasMore", articlePage.hasMore());
+            if (includeTotal) {
+                pagination.put("approximateTotalElements", articleService.getCachedArticleCountForAnalysis(filter));
+            }
+            
+            Map<String, Object> response = Map.of(
+                "articles", articlePage.items(),
+                "pagination", pagination
+            );
+            
+            return Response.ok(response).build();
+            
+        } catch (IllegalArgumentException e) {
+            LOG.warnf("Invalid cursor: %s", e.getMessage());
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", "Invalid cursor"))
+                    .build();
+        } catch (Exception e) {
+            LOG.errorf(e, "Error getting articles for analysis by cursor");
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(Map.of("error", "Failed to get articles"))
+                    .build();
+        }
+    }
+    
+    /**
+     * Get a single article with its full text.
+     * Listings only return summaries; this is the place to load the text.
+     * 
+     * @param articleId Article ID
+     * @return The article with its author and text
+     */
+    @GET
+    @Path("/articles/{articleId: \\d+}")
+    public Response getArticle(@PathParam("articleId") Long articleId) {
+        LOG.debugf("Getting article: %d", articleId);
+        
+        try {
+            ArticleEntity article = articleService.getArticleWithText(articleId);
+            if (article == null) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity(Map.of("error", "Article not found"))
+                        .build();
+            }
+            
+            return Response.ok(article).build();
+            
+        } catch (Exception e) {
+            LOG.errorf(e, "Error getting article: %d", articleId);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(Map.of("error", "Failed to get article"))
+                    .build();
+        }
+    }
+    
+    /**
+     * Search articles by title and text, best matches first.
+     * 
+     * @param query Search query
+     * @param page Page number (default: 0)
+     * @param size Page size (default: 20)
+     * @return Ranked page of matching articles
+     */
+    @GET
+    @Path("/search/articles")
+    public Response searchArticles(
+            @QueryParam("q") String query,
+            @QueryParam("page") @DefaultValue("0") int page,
+            @QueryParam("size") @DefaultValue("20") int size) {
+        
+        LOG.debugf("Searching articles: q=%s, page=%d, size=%d", query, page, size);
+        
+        if (query == null || query.trim().isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", "Search query is required"))
+                    .build();
+        }
+        
+        try {
+            // Validate pagination parameters
+            if (page < 0) page = 0;
+            if (size < 1 || size > 100) size = 20;
+            
+            return Response.ok(toSearchResponse(searchService.searchArticles(query, page, size))).build();
+            
+        } catch (Exception e) {
+            LOG.errorf(e, "Error searching articles");
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(Map.of("error", "Failed to search articles"))
+                    .build();
+        }
+    }
+    
+    /**
+     * Search predictions by text, best matches first.
+     * 
+     * @param query Search query
+     * @param page Page number (default: 0)
+     * @param size Page size (default: 20)
+     * @return Ranked page of matching predictions
+     */
+    @GET
+    @Path("/search/predictions")
+    public Response searchPredictions(
+            @QueryParam("q") String query,
+            @QueryParam("page") @DefaultValue("0") int page,
+            @QueryParam("size") @DefaultValue("20") int size) {
+        
+        LOG.debugf("Searching predictions: q=%s, page=%d, size=%d", query, page, size);
+        
+        if (query == null || query.trim().isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", "Search query is required"))
+                    .build();
+        }
+        
+        try {
+            // Validate pagination parameters
+            if (page < 0) page = 0;
+            if (size < 1 || size > 100) size = 20;
+            
+            return Response.ok(toSearchResponse(searchService.searchPredictions(query, page, size))).build();
+            
+        } catch (Exception e) {
+            LOG.errorf(e, "Error searching predictions");
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(Map.of("error", "Failed to search predictions"))
+                    .build();
+        }
+    }
+    
     /**
      * Get all authors for filter dropdowns.
      * 
@@ -524,6 +724,22 @@ public class PredictionAnalysisResource {
         }
     }
     
+    /**
+     * Builds the response body for a page of search results.
+     */
+    private Map<String, Object> toSearchResponse(SearchService.SearchResults<?> results) {
+        return Map.of(
+            "results", results.hits(),
+            "mode", results.mode().name(),
+            "pagination", Map.of(
+                "page", results.page(),
+                "size", results.size(),
+                "hasNext", results.hasMore(),
+                "hasPrevious", results.page() > 0
+            )
+        );
+    }
+    
     /**
      * Test request DTO.
      */
@@ -808,7 +808,7 @@ public class BatchJobMonitor {
      * @param originalText the original article text
      * @return list of parsed predictions
      */
-    private List<PredictionResult> parsePredictionResponse(String response, String originalText) {
+    List<PredictionResult> parsePredictionResponse(String response, String originalText) {
         if (response == null || response.trim().isEmpty()) {
             LOG.debug("GenAI response is null or empty");
             return List.of();
@@ -672,7 +672,7 @@ public class GeminiNativePredictionExtractor implements BatchPredictionExtractor
     /**
      * Parse prediction response from GenAI API.
      */
-    private List<PredictionResult> parsePredictionResponse(String response, String originalText) {
+    List<PredictionResult> parsePredictionResponse(String response, String originalText) {
         LOG.debugf("Starting to parse GenAI response: %s", response != null ? "present" : "null");
 
         if (response == null || response.trim().isEmpty()) {
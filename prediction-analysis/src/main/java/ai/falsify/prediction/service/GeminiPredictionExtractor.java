@@ -515,7 +515,7 @@ public class GeminiPredictionExtractor implements BatchPredictionExtractor {
     /**
      * Parse prediction response from Gemini for a single article.
      */
-    private List<PredictionResult> parsePredictionResponse(String response, String originalText) {
+    List<PredictionResult> parsePredictionResponse(String response, String originalText) {
         LOG.debugf("Starting to parse Gemini response: %s", response != null ? "present" : "null");
 
         if (response == null || response.trim().isEmpty()) {
@@ -568,7 +568,7 @@ public class GeminiPredictionExtractor implements BatchPredictionExtractor {
     /**
      * Parse batch prediction response from Gemini.
      */
-    private Map<String, List<PredictionResult>> parseBatchPredictionResponse(String response,
+    Map<String, List<PredictionResult>> parseBatchPredictionResponse(String response,
             Map<String, ArticleData> articles) {
         Map<String, List<PredictionResult>> results = new HashMap<>();
 
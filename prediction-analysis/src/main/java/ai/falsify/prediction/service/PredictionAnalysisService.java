@@ -3,7 +3,10 @@ package ai.falsify.prediction.service;
 import ai.falsify.crawlers.common.model.AnalysisJobEntity;
 import ai.falsify.crawlers.common.model.AnalysisStatus;
 import ai.falsify.crawlers.common.model.ArticleEntity;
+import ai.falsify.crawlers.common.model.PredictionEntity;
 import ai.falsify.crawlers.common.model.PredictionInstanceEntity;
+import ai.falsify.crawlers.common.service.ArticleContentReader;
+import ai.falsify.crawlers.common.service.AuthorStatsService;
 import ai.falsify.prediction.model.PredictionResult;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -21,6 +24,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for managing prediction analysis jobs.
@@ -39,6 +43,12 @@ public class PredictionAnalysisService {
     @Inject
     AnalysisNotificationService notificationService;
 
+    @Inject
+    AuthorStatsService authorStatsService;
+
+    @Inject
+    ArticleContentReader contentReader;
+
     @ConfigProperty(name = "prediction.analysis.max-concurrent-jobs", defaultValue = "3")
     int maxConcurrentJobs;
 
@@ -149,27 +159,35 @@ public class PredictionAnalysisService {
                 throw new IllegalStateException("Prediction extractor not available for type: " + job.analysisType);
             }
 
-            // Prepare articles for batch processing (no transaction needed)
-            Map<String, BatchPredictionExtractor.ArticleData> articleData = new HashMap<>();
-            for (ArticleEntity article : job.analyzedArticles) {
-                articleData.put(
-                        article.id.toString(),
-                        new BatchPredictionExtractor.ArticleData(
-                                article.text,
-                                article.title,
-                                Map.of("url", article.url, "crawlerSource", article.crawlerSource)));
+            List<Long> articleIds = job.analyzedArticles.stream().map(article -> article.id).toList();
+            int articleCount = articleIds.size();
+            int batchSize = Math.max(1, extractor.getMaxBatchSize());
+            LOG.infof("Processing %d articles for job: %s in batches of %d", articleCount, jobId, batchSize);
+
+            // Read article bodies one extractor batch at a time, so only the batch in
+            // flight is held in memory
+            int totalPredictions = 0;
+            try (Stream<List<ArticleContentReader.ArticleBody>> batches = contentReader.streamBodies(articleIds, batchSize)) {
+                Iterator<List<ArticleContentReader.ArticleBody>> iterator = batches.iterator();
+                while (iterator.hasNext()) {
+                    Map<String, BatchPredictionExtractor.ArticleData> articleData = new LinkedHashMap<>();
+                    for (ArticleContentReader.ArticleBody article : iterator.next()) {
+                        articleData.put(
+                                article.id().toString(),
+                                new BatchPredictionExtractor.ArticleData(
+                                        article.text(),
+                                        article.title(),
+                                        Map.of("url", article.url(), "crawlerSource", article.crawlerSource())));
+                    }
+
+                    // Extract predictions (NO TRANSACTION - this is the long-running operation)
+                    Map<String, List<PredictionResult>> results = extractor.extractPredictionsBatch(articleData);
+
+                    // Store results (transactional)
+                    totalPredictions += storePredictionResultsTransactional(jobId, results);
+                }
             }
 
-            int articleCount = articleData.size();
-            LOG.infof("Processing %d articles for job: %s", articleCount, jobId);
-
-            // Extract predictions in batches (NO TRANSACTION - this is the long-running
-            // operation)
-            Map<String, List<PredictionResult>> results = extractor.extractPredictionsBatch(articleData);
-
-            // Store results (transactional)
-            int totalPredictions = storePredictionResultsTransactional(jobId, results);
-
             // Update job completion (short transaction)
             completeJob(jobId, articleCount, totalPredictions);
 
@@ -196,26 +214,36 @@ public class PredictionAnalysisService {
      */
     public int storePredictionResults(AnalysisJobEntity job, Map<String, List<PredictionResult>> results) {
         int totalPredictions = 0;
+        if (results.isEmpty()) {
+            return totalPredictions;
+        }
+
+        List<Long> articleIds = results.keySet().stream().map(Long::parseLong).toList();
+        Map<Long, ArticleEntity> articlesById = ArticleEntity.<ArticleEntity>list("id IN ?1", articleIds).stream()
+                .collect(Collectors.toMap(article -> article.id, article -> article));
+
+        // Resolve every distinct prediction of the job with one lookup and one batched insert
+        List<PredictionEntity.PredictionKey> keys = results.entrySet().stream()
+                .filter(entry -> articlesById.containsKey(Long.parseLong(entry.getKey())))
+                .flatMap(entry -> entry.getValue().stream())
+                .map(result -> new PredictionEntity.PredictionKey(result.predictionText(), result.predictionType()))
+                .toList();
+        Map<String, PredictionEntity> predictionsByText = PredictionEntity.findOrCreateAll(keys);
 
         for (Map.Entry<String, List<PredictionResult>> entry : results.entrySet()) {
             Long articleId = Long.parseLong(entry.getKey());
             List<PredictionResult> predictions = entry.getValue();
 
-            ArticleEntity article = ArticleEntity.findById(articleId);
+            ArticleEntity article = articlesById.get(articleId);
             if (article == null) {
                 LOG.warnf("Article not found for ID: %s", articleId);
                 continue;
             }
 
             for (PredictionResult predictionResult : predictions) {
-                // Find or create prediction entity
-                var predictionEntity = ai.falsify.crawlers.common.model.PredictionEntity.findOrCreate(
-                        predictionResult.predictionText(),
-                        predictionResult.predictionType());
-
                 // Create prediction instance
                 PredictionInstanceEntity instance = new PredictionInstanceEntity();
-                instance.prediction = predictionEntity;
+                instance.prediction = predictionsByText.get(predictionResult.predictionText());
                 instance.article = article;
                 instance.analysisJob = job;
                 instance.confidenceScore = predictionResult.confidenceScore();
@@ -226,6 +254,10 @@ public class PredictionAnalysisService {
                 instance.persist();
                 totalPredictions++;
             }
+            if (!predictions.isEmpty()) {
+                article.markAnalyzed(Instant.now());
+            }
+            authorStatsService.recordPredictions(article.author.id, predictions.size());
 
             // Send progress update
             notificationService.sendProgressUpdate(job.jobId, entry.getKey(), predictions.size());
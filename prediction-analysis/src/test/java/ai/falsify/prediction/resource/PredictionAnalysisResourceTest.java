@@ -63,4 +63,27 @@ public class PredictionAnalysisResourceTest {
                 .statusCode(404)
                 .body("error", containsString("Job not found"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSearchArticlesWithoutQuery() {
+        given()
+            .when()
+                .get("/api/prediction-analysis/search/articles?q=")
+            .then()
+                .statusCode(400)
+                .body("error", containsString("Search query is required"));
+    }
+
+    @Test
+    public void testSearchPredictions() {
+        given()
+            .when()
+                .get("/api/prediction-analysis/search/predictions?q=election")
+            .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("results", instanceOf(List.class))
+                .body("mode", notNullValue())
+                .body("pagination.page", equalTo(0));
+    }
+}